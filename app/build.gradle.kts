@@ -1,3 +1,10 @@
+import java.awt.RenderingHints
+import java.awt.image.BufferedImage
+import java.io.ByteArrayOutputStream
+import javax.imageio.ImageIO
+import javax.inject.Inject
+import kotlin.math.roundToInt
+
 plugins {
     alias(libs.plugins.android.application)
     id("com.google.gms.google-services")
@@ -56,6 +63,10 @@ dependencies {
     implementation(platform("com.google.firebase:firebase-bom:34.4.0"))
     implementation("com.google.firebase:firebase-analytics")
     implementation("com.github.bumptech.glide:glide:5.0.5")
+    implementation("com.github.bumptech.glide:recyclerview-integration:5.0.5") {
+        isTransitive = false
+    }
+    annotationProcessor("com.github.bumptech.glide:compiler:5.0.5")
     
     // Supabase Storage
     implementation(platform("io.github.jan-tennert.supabase:bom:3.0.2"))
@@ -67,4 +78,203 @@ dependencies {
         exclude(group = "com.android.support", module = "appcompat-v7")
     }
 
-}
\ No newline at end of file
+}
+
+// Carousel and onboarding artwork lives in src/main/art as full-resolution PNGs.
+// It is resized per density bucket and encoded to WebP at build time, so the APK
+// only carries images sized for the screens that show them.
+val optimizeImageAssets = tasks.register<OptimizeImageAssetsTask>("optimizeImageAssets") {
+    sourceDir.set(layout.projectDirectory.dir("src/main/art"))
+    outputDir.set(layout.buildDirectory.dir("generated/res/optimizedImages"))
+    // Widest on-screen size of each image in dp
+    targetWidthsDp.set(
+        mapOf(
+            "img0" to 320, "img1" to 320, "img2" to 320, "img3" to 320,
+            "img4" to 320, "img5" to 320, "img6" to 320,
+            "on_1" to 360, "on_2" to 360, "on_3" to 360, "on_4" to 360
+        )
+    )
+    quality.set(80)
+    cwebpPath.set(providers.gradleProperty("cwebpPath").orElse("cwebp"))
+    encodingFile.set(layout.buildDirectory.file("intermediates/optimizedImages/encoding.txt"))
+}
+
+val verifyImageBudgets = tasks.register<VerifyImageBudgetsTask>("verifyImageBudgets") {
+    imageDirs.from(optimizeImageAssets.flatMap { it.outputDir }, layout.projectDirectory.dir("src/main/res"))
+    // The PNG fallback written without cwebp is not what ships, so it is left out of the budget
+    generatedDir.set(optimizeImageAssets.flatMap { it.outputDir })
+    generatedEncoding.set(optimizeImageAssets.flatMap { it.encodingFile })
+    maxFileBytes.set(300L * 1024)
+    maxTotalBytes.set(4L * 1024 * 1024)
+    reportFile.set(layout.buildDirectory.file("reports/imageBudgets.txt"))
+}
+
+tasks.named("check") {
+    dependsOn(verifyImageBudgets)
+}
+
+androidComponents {
+    onVariants { variant ->
+        variant.sources.res?.addGeneratedSourceDirectory(optimizeImageAssets, OptimizeImageAssetsTask::outputDir)
+    }
+}
+
+abstract class OptimizeImageAssetsTask : DefaultTask() {
+
+    @get:InputDirectory
+    @get:PathSensitive(PathSensitivity.RELATIVE)
+    abstract val sourceDir: DirectoryProperty
+
+    @get:Input
+    abstract val targetWidthsDp: MapProperty<String, Int>
+
+    @get:Input
+    abstract val quality: Property<Int>
+
+    @get:Input
+    abstract val cwebpPath: Property<String>
+
+    @get:OutputDirectory
+    abstract val outputDir: DirectoryProperty
+
+    // "webp", or "png" when cwebp was unavailable and the fallback was written
+    @get:OutputFile
+    abstract val encodingFile: RegularFileProperty
+
+    @get:Inject
+    abstract val execOperations: ExecOperations
+
+    private val densities = mapOf("mdpi" to 1.0, "hdpi" to 1.5, "xhdpi" to 2.0, "xxhdpi" to 3.0)
+
+    @TaskAction
+    fun optimize() {
+        val out = outputDir.get().asFile
+        out.deleteRecursively()
+
+        val webpAvailable = isWebpEncoderAvailable()
+        if (!webpAvailable) {
+            logger.warn("cwebp not found at '${cwebpPath.get()}'; writing resized PNGs instead of WebP. " +
+                    "These are not checked against the image size budget. " +
+                    "Install libwebp or pass -PcwebpPath=... to get WebP output.")
+        }
+        encodingFile.get().asFile.apply { parentFile.mkdirs() }.writeText(if (webpAvailable) "webp" else "png")
+
+        targetWidthsDp.get().forEach { (name, widthDp) ->
+            val source = sourceDir.file("$name.png").get().asFile
+            val image = ImageIO.read(source) ?: throw GradleException("Cannot decode $source")
+
+            densities.forEach { (bucket, scale) ->
+                // Never upscale past the source resolution
+                val width = minOf(image.width, (widthDp * scale).roundToInt())
+                val height = (image.height.toLong() * width / image.width).toInt()
+                val resized = resize(image, width, height)
+                val bucketDir = File(out, "drawable-$bucket").apply { mkdirs() }
+
+                if (webpAvailable) {
+                    val intermediate = File(temporaryDir, "$name-$bucket.png")
+                    ImageIO.write(resized, "png", intermediate)
+                    execOperations.exec {
+                        commandLine(
+                            cwebpPath.get(), "-quiet", "-q", quality.get().toString(),
+                            intermediate.absolutePath, "-o", File(bucketDir, "$name.webp").absolutePath
+                        )
+                    }
+                } else {
+                    ImageIO.write(resized, "png", File(bucketDir, "$name.png"))
+                }
+            }
+        }
+    }
+
+    private fun isWebpEncoderAvailable(): Boolean = try {
+        execOperations.exec {
+            commandLine(cwebpPath.get(), "-version")
+            standardOutput = ByteArrayOutputStream()
+            errorOutput = ByteArrayOutputStream()
+        }.exitValue == 0
+    } catch (e: Exception) {
+        false
+    }
+
+    private fun resize(source: BufferedImage, width: Int, height: Int): BufferedImage {
+        // Halve step by step before the final pass to avoid aliasing on large reductions
+        var current = source
+        var currentWidth = source.width
+        var currentHeight = source.height
+        do {
+            currentWidth = maxOf(width, currentWidth / 2)
+            currentHeight = maxOf(height, currentHeight / 2)
+            val next = BufferedImage(currentWidth, currentHeight, BufferedImage.TYPE_INT_ARGB)
+            val graphics = next.createGraphics()
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR)
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY)
+            graphics.drawImage(current, 0, 0, currentWidth, currentHeight, null)
+            graphics.dispose()
+            current = next
+        } while (currentWidth != width || currentHeight != height)
+        return current
+    }
+}
+
+abstract class VerifyImageBudgetsTask : DefaultTask() {
+
+    @get:InputFiles
+    @get:PathSensitive(PathSensitivity.RELATIVE)
+    abstract val imageDirs: ConfigurableFileCollection
+
+    @get:Input
+    abstract val maxFileBytes: Property<Long>
+
+    @get:Input
+    abstract val maxTotalBytes: Property<Long>
+
+    @get:OutputFile
+    abstract val reportFile: RegularFileProperty
+
+    // Already part of imageDirs; only used to recognise the generated images
+    @get:Internal
+    abstract val generatedDir: DirectoryProperty
+
+    @get:InputFile
+    @get:PathSensitive(PathSensitivity.NONE)
+    abstract val generatedEncoding: RegularFileProperty
+
+    @TaskAction
+    fun verify() {
+        val allImages = imageDirs.asFileTree.matching {
+            include("drawable*/*.png", "drawable*/*.webp", "drawable*/*.jpg")
+        }.files
+
+        val skipGenerated = generatedEncoding.get().asFile.readText().trim() != "webp"
+        val generated = generatedDir.get().asFile
+        val skipped = if (skipGenerated) allImages.filter { it.startsWith(generated) } else emptyList()
+        if (skipped.isNotEmpty()) {
+            logger.warn("Skipped ${skipped.size} generated images in the size budget: cwebp was not available, " +
+                    "so they are unoptimized PNG fallbacks rather than the WebP files a release would ship.")
+        }
+        val images = (allImages - skipped.toSet()).sortedByDescending { it.length() }
+
+        val oversized = images.filter { it.length() > maxFileBytes.get() }
+        val total = images.sumOf { it.length() }
+
+        val report = buildString {
+            appendLine("Total drawable image bytes: $total (budget ${maxTotalBytes.get()})")
+            if (skipped.isNotEmpty()) {
+                appendLine("Not checked: ${skipped.size} generated PNG fallbacks (cwebp unavailable)")
+            }
+            images.forEach { appendLine("${it.length()}\t${it.parentFile.name}/${it.name}") }
+        }
+        reportFile.get().asFile.writeText(report)
+
+        val failures = mutableListOf<String>()
+        oversized.forEach {
+            failures += "${it.parentFile.name}/${it.name} is ${it.length()} bytes (budget ${maxFileBytes.get()})"
+        }
+        if (total > maxTotalBytes.get()) {
+            failures += "Drawable images total $total bytes (budget ${maxTotalBytes.get()})"
+        }
+        if (failures.isNotEmpty()) {
+            throw GradleException("Image size budget exceeded:\n" + failures.joinToString("\n"))
+        }
+    }
+}
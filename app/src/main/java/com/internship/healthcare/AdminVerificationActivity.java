@@ -1,5 +1,6 @@
 package com.internship.healthcare;
 
+import android.app.ProgressDialog;
 import android.content.Intent;
 import android.os.Bundle;
 import android.view.View;
@@ -16,18 +17,24 @@ import com.google.android.material.dialog.MaterialAlertDialogBuilder;
 import com.google.android.material.progressindicator.CircularProgressIndicator;
 import com.google.android.material.textfield.TextInputEditText;
 import com.google.firebase.auth.FirebaseAuth;
+import com.google.firebase.database.ChildEventListener;
 import com.google.firebase.database.DataSnapshot;
 import com.google.firebase.database.DatabaseError;
 import com.google.firebase.database.DatabaseReference;
 import com.google.firebase.database.FirebaseDatabase;
+import com.google.firebase.database.Query;
 import com.google.firebase.database.ValueEventListener;
 import com.internship.healthcare.adapters.VerificationRequestAdapter;
 import com.internship.healthcare.models.VerificationRequest;
+import com.internship.healthcare.utils.VerificationUtils;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 /**
  * AdminVerificationActivity.java
  * A comprehensive healthcare management Android application
@@ -61,11 +68,21 @@ public class AdminVerificationActivity extends AppCompatActivity
     private FirebaseAuth auth;
 
     private DatabaseReference verificationRequestsRef;
-    private DatabaseReference usersRef;
 
     private VerificationRequestAdapter adapter;
     private List<VerificationRequest> verificationRequests;
     private Map<String, String> userIdToRequestIdMap; // Maps userId to requestId
+    private ProgressDialog verifyAllDialog;
+
+    private static final int PAGE_SIZE = 20;
+    private static final int LOAD_MORE_THRESHOLD = 5;
+
+    private Query pendingQuery;
+    private ChildEventListener pendingListener;
+    private final Set<String> pendingRequestIds = new HashSet<>(); // Request IDs in the live window
+    private int loadedLimit = PAGE_SIZE;
+    private boolean isLoadingPage = false;
+    private boolean hasMorePages = false;
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
@@ -74,7 +91,6 @@ public class AdminVerificationActivity extends AppCompatActivity
 
         auth = FirebaseAuth.getInstance();
         verificationRequestsRef = FirebaseDatabase.getInstance().getReference("verificationRequests");
-        usersRef = FirebaseDatabase.getInstance().getReference("users");
 
         verificationRequests = new ArrayList<>();
         userIdToRequestIdMap = new HashMap<>();
@@ -107,8 +123,20 @@ public class AdminVerificationActivity extends AppCompatActivity
 
     private void setupRecyclerView() {
         adapter = new VerificationRequestAdapter(verificationRequests, this);
-        verificationRequestsRecycler.setLayoutManager(new LinearLayoutManager(this));
+        LinearLayoutManager layoutManager = new LinearLayoutManager(this);
+        verificationRequestsRecycler.setLayoutManager(layoutManager);
         verificationRequestsRecycler.setAdapter(adapter);
+
+        verificationRequestsRecycler.addOnScrollListener(new RecyclerView.OnScrollListener() {
+            @Override
+            public void onScrolled(@NonNull RecyclerView recyclerView, int dx, int dy) {
+                if (dy <= 0) return;
+                int lastVisible = layoutManager.findLastVisibleItemPosition();
+                if (lastVisible >= adapter.getItemCount() - LOAD_MORE_THRESHOLD) {
+                    loadNextPage();
+                }
+            }
+        });
         
         // Setup Verify All button
         verifyAllButton.setOnClickListener(v -> showVerifyAllConfirmation());
@@ -116,42 +144,159 @@ public class AdminVerificationActivity extends AppCompatActivity
 
     private void loadPendingRequests() {
         showProgress(true);
+        VerificationUtils.seedPendingIndex(this);
+        attachPendingListener();
+    }
 
-        verificationRequestsRef.orderByChild("status").equalTo("pending")
-                .addValueEventListener(new ValueEventListener() {
-                    @Override
-    
-                    public void onDataChange(@NonNull DataSnapshot snapshot) {
-                        showProgress(false);
-                        verificationRequests.clear();
-                        userIdToRequestIdMap.clear();
-
-                        for (DataSnapshot requestSnapshot : snapshot.getChildren()) {
-                            VerificationRequest request = requestSnapshot.getValue(VerificationRequest.class);
-                            if (request != null) {
-                                verificationRequests.add(request);
-    
-                                userIdToRequestIdMap.put(request.getUserId(), requestSnapshot.getKey());
-                            }
-                        }
+    private void attachPendingListener() {
+        detachPendingListener();
+
+        // Oldest submissions first; each page widens the live window
+        isLoadingPage = true;
+        pendingQuery = VerificationUtils.getPendingIndexRef().orderByValue().limitToFirst(loadedLimit);
+        pendingListener = pendingQuery.addChildEventListener(new ChildEventListener() {
+            @Override
+            public void onChildAdded(@NonNull DataSnapshot snapshot, String previousChildName) {
+                String requestId = snapshot.getKey();
+                if (requestId == null || !pendingRequestIds.add(requestId)) return;
+                fetchRequest(requestId);
+            }
 
-                        adapter.updateRequests(verificationRequests);
-                        updateEmptyState();
-                    }
+            @Override
+            public void onChildChanged(@NonNull DataSnapshot snapshot, String previousChildName) {
+                // A resubmission replaces the request body and its submission time
+                String requestId = snapshot.getKey();
+                if (requestId == null) return;
+                pendingRequestIds.add(requestId);
+                fetchRequest(requestId);
+            }
 
-                    @Override
-                    public void onCancelled(@NonNull DatabaseError error) {
-    
-                        showProgress(false);
-                        Toast.makeText(AdminVerificationActivity.this,
-                                "Failed to load requests: " + error.getMessage(),
-                                Toast.LENGTH_SHORT).show();
+            @Override
+            public void onChildRemoved(@NonNull DataSnapshot snapshot) {
+                String requestId = snapshot.getKey();
+                pendingRequestIds.remove(requestId);
+                removeRow(requestId);
+            }
+
+            @Override
+            public void onChildMoved(@NonNull DataSnapshot snapshot, String previousChildName) {}
+
+            @Override
+            public void onCancelled(@NonNull DatabaseError error) {
+                isLoadingPage = false;
+                showProgress(false);
+                Toast.makeText(AdminVerificationActivity.this,
+                        "Failed to load requests: " + error.getMessage(),
+                        Toast.LENGTH_SHORT).show();
+            }
+        });
+
+        // Fires after the initial child events for the same query
+        pendingQuery.addListenerForSingleValueEvent(new ValueEventListener() {
+            @Override
+            public void onDataChange(@NonNull DataSnapshot snapshot) {
+                isLoadingPage = false;
+                hasMorePages = snapshot.getChildrenCount() >= loadedLimit;
+
+                // Drops rows removed while the listener was being swapped for a wider page
+                for (String requestId : new ArrayList<>(pendingRequestIds)) {
+                    if (!snapshot.hasChild(requestId)) {
+                        pendingRequestIds.remove(requestId);
+                        removeRow(requestId);
                     }
-                });
+                }
+                updateEmptyState();
+            }
+
+            @Override
+            public void onCancelled(@NonNull DatabaseError error) {
+                isLoadingPage = false;
+            }
+        });
+    }
+
+    private void detachPendingListener() {
+        if (pendingQuery != null && pendingListener != null) {
+            pendingQuery.removeEventListener(pendingListener);
+        }
+        pendingQuery = null;
+        pendingListener = null;
+    }
+
+    private void loadNextPage() {
+        if (isLoadingPage || !hasMorePages) return;
+        loadedLimit += PAGE_SIZE;
+        attachPendingListener();
+    }
+
+    private void fetchRequest(String requestId) {
+        verificationRequestsRef.child(requestId).addListenerForSingleValueEvent(new ValueEventListener() {
+            @Override
+            public void onDataChange(@NonNull DataSnapshot snapshot) {
+                if (isDestroyed() || !pendingRequestIds.contains(requestId)) return;
+
+                VerificationRequest request = snapshot.getValue(VerificationRequest.class);
+                if (request == null || !"pending".equals(request.getStatus())) {
+                    // Stale index entry: approving it again would overwrite the doctor's profile
+                    pendingRequestIds.remove(requestId);
+                    removeRow(requestId);
+                    updateEmptyState();
+                    VerificationUtils.removeFromPendingIndex(requestId);
+                    return;
+                }
+                request.setRequestId(requestId);
+                insertRow(request);
+            }
+
+            @Override
+            public void onCancelled(@NonNull DatabaseError error) {
+                if (isDestroyed()) return;
+                // Only forget it locally; the index entry may still be valid
+                pendingRequestIds.remove(requestId);
+                updateEmptyState();
+                Toast.makeText(AdminVerificationActivity.this,
+                        "Failed to load request: " + error.getMessage(),
+                        Toast.LENGTH_SHORT).show();
+            }
+        });
+    }
+
+    private void insertRow(VerificationRequest request) {
+        removeRow(request.getRequestId());
+
+        int position = 0;
+        while (position < verificationRequests.size()
+                && compareBySubmission(verificationRequests.get(position), request) <= 0) {
+            position++;
+        }
+        adapter.addRequest(position, request);
+        userIdToRequestIdMap.put(request.getUserId(), request.getRequestId());
+        updateEmptyState();
+    }
+
+    private void removeRow(String requestId) {
+        for (int i = 0; i < verificationRequests.size(); i++) {
+            VerificationRequest request = verificationRequests.get(i);
+            if (request.getRequestId().equals(requestId)) {
+                userIdToRequestIdMap.remove(request.getUserId());
+                adapter.removeRequest(i);
+                updateEmptyState();
+                return;
+            }
+        }
+    }
+
+    private int compareBySubmission(VerificationRequest a, VerificationRequest b) {
+        int bySubmittedAt = Long.compare(a.getSubmittedAt(), b.getSubmittedAt());
+        return bySubmittedAt != 0 ? bySubmittedAt : a.getRequestId().compareTo(b.getRequestId());
     }
 
     
     private void updateEmptyState() {
+        // Keep the spinner while the first request bodies are still loading
+        if (verificationRequests.isEmpty() && (isLoadingPage || !pendingRequestIds.isEmpty())) return;
+        showProgress(false);
+
         if (verificationRequests.isEmpty()) {
             verificationRequestsRecycler.setVisibility(View.GONE);
             emptyState.setVisibility(View.VISIBLE);
@@ -169,7 +314,8 @@ public class AdminVerificationActivity extends AppCompatActivity
         
         new MaterialAlertDialogBuilder(this)
                 .setTitle("Verify All Requests")
-                .setMessage("Are you sure you want to verify all " + requestCount + " pending requests?\n\nThis action cannot be undone.")
+                .setMessage("Are you sure you want to verify all " + requestCount
+                        + (hasMorePages ? " loaded" : "") + " pending requests?\n\nThis action cannot be undone.")
                 .setPositiveButton("Verify All", (dialog, which) -> verifyAllRequests())
                 .setNegativeButton("Cancel", null)
                 .show();
@@ -181,62 +327,80 @@ public class AdminVerificationActivity extends AppCompatActivity
             Toast.makeText(this, "No pending requests to verify", Toast.LENGTH_SHORT).show();
             return;
         }
-        
-        showProgress(true);
+
         verifyAllButton.setEnabled(false);
 
+        // Snapshot the queue; the pending listener rewrites the list as chunks land
+        Map<String, VerificationRequest> requestsById = new LinkedHashMap<>();
+        for (VerificationRequest request : verificationRequests) {
+            String requestId = userIdToRequestIdMap.get(request.getUserId());
+            if (requestId != null) {
+                requestsById.put(requestId, request);
+            }
+        }
+
+        verifyAllDialog = new ProgressDialog(this);
+        verifyAllDialog.setTitle("Verifying requests");
+        verifyAllDialog.setProgressStyle(ProgressDialog.STYLE_HORIZONTAL);
+        verifyAllDialog.setMax(requestsById.size());
+        verifyAllDialog.setCancelable(false);
+        verifyAllDialog.show();
+
         String adminId = auth.getCurrentUser().getUid();
-        long currentTime = System.currentTimeMillis();
+        VerificationUtils.approveAll(requestsById, adminId, new VerificationUtils.OnBulkApprovalListener() {
+            @Override
+            public void onProgress(int processed, int total) {
+                if (verifyAllDialog != null) {
+                    verifyAllDialog.setProgress(processed);
+                }
+            }
 
-        int totalRequests = verificationRequests.size();
-        final int[] successCount = {0};
-        final int[] failureCount = {0};
+            @Override
+            public void onComplete(int approved, List<String> failedRequestIds, String firstError) {
+                onVerifyAllComplete(requestsById, approved, failedRequestIds, firstError);
+            }
+        });
+    }
 
-        for (VerificationRequest request : verificationRequests) {
-            String userId = request.getUserId();
-
-            Map<String, Object> requestUpdates = new HashMap<>();
-            requestUpdates.put("status", "approved");
-            requestUpdates.put("reviewedBy", adminId);
-            requestUpdates.put("reviewedAt", currentTime);
-
-            verificationRequestsRef.child(userIdToRequestIdMap.get(userId))
-                    .updateChildren(requestUpdates)
-                    .addOnSuccessListener(aVoid -> {
-                        Map<String, Object> userUpdates = new HashMap<>();
-                        userUpdates.put("doctorVerificationStatus", "approved");
-                        userUpdates.put("isVerified", true);
-
-                        usersRef.child(userId).updateChildren(userUpdates)
-                                .addOnSuccessListener(aVoid2 -> {
-                                    successCount[0]++;
-                                    checkVerifyAllCompletion(totalRequests, successCount[0], failureCount[0]);
-                                })
-                                .addOnFailureListener(e -> {
-                                    failureCount[0]++;
-                                    checkVerifyAllCompletion(totalRequests, successCount[0], failureCount[0]);
-                                });
-                    })
-                    .addOnFailureListener(e -> {
-                        failureCount[0]++;
-                        checkVerifyAllCompletion(totalRequests, successCount[0], failureCount[0]);
-                    });
+    private void onVerifyAllComplete(Map<String, VerificationRequest> requestsById, int approved,
+                                     List<String> failedRequestIds, String firstError) {
+        if (verifyAllDialog != null) {
+            verifyAllDialog.dismiss();
+            verifyAllDialog = null;
+        }
+        if (isFinishing() || isDestroyed()) return;
+        verifyAllButton.setEnabled(true);
+
+        if (failedRequestIds.isEmpty()) {
+            Toast.makeText(this, "Successfully verified all " + approved + " requests!",
+                    Toast.LENGTH_LONG).show();
+            return;
         }
+
+        // Failed requests are left pending so they can be retried or reviewed one by one
+        StringBuilder names = new StringBuilder();
+        for (String requestId : failedRequestIds) {
+            VerificationRequest request = requestsById.get(requestId);
+            String name = request != null ? request.getUserName() : null;
+            names.append("\n\u2022 ").append(name != null ? name : requestId);
+        }
+
+        new MaterialAlertDialogBuilder(this)
+                .setTitle("Some requests were not verified")
+                .setMessage("Verified " + approved + " of " + requestsById.size() + " requests. "
+                        + "These are still pending:" + names
+                        + (firstError != null ? "\n\nError: " + firstError : ""))
+                .setPositiveButton("OK", null)
+                .show();
     }
-    
-    private void checkVerifyAllCompletion(int total, int success, int failure) {
-        if (success + failure >= total) {
-            showProgress(false);
-            verifyAllButton.setEnabled(true);
-            
-            String message;
-            if (failure == 0) {
-                message = "Successfully verified all " + success + " requests!";
-            } else {
-                message = "Verified " + success + " requests. Failed: " + failure;
-            }
-            
-            Toast.makeText(this, message, Toast.LENGTH_LONG).show();
+
+    @Override
+    protected void onDestroy() {
+        super.onDestroy();
+        detachPendingListener();
+        if (verifyAllDialog != null) {
+            verifyAllDialog.dismiss();
+            verifyAllDialog = null;
         }
     }
 
@@ -245,6 +409,15 @@ public class AdminVerificationActivity extends AppCompatActivity
         Intent intent = new Intent(this, VerificationReviewActivity.class);
         intent.putExtra("userId", userId);
         intent.putExtra("requestId", userIdToRequestIdMap.get(userId));
+
+        // Lets the review screen warm the next applicant's first certificate
+        int index = verificationRequests.indexOf(request);
+        if (index >= 0 && index + 1 < verificationRequests.size()) {
+            List<String> nextDocuments = verificationRequests.get(index + 1).getDocumentUrls();
+            if (nextDocuments != null && !nextDocuments.isEmpty()) {
+                intent.putExtra("nextDocumentUrl", nextDocuments.get(0));
+            }
+        }
         startActivity(intent);
     }
 
@@ -281,30 +454,14 @@ public class AdminVerificationActivity extends AppCompatActivity
 
         String adminId = auth.getCurrentUser().getUid();
         long currentTime = System.currentTimeMillis();
+        String requestId = userIdToRequestIdMap.get(userId);
+        if (requestId == null) return;
 
-        Map<String, Object> requestUpdates = new HashMap<>();
-        requestUpdates.put("status", "rejected");
-        requestUpdates.put("reviewedBy", adminId);
-        requestUpdates.put("reviewedAt", currentTime);
-        requestUpdates.put("rejectionReason", rejectionReason);
-
-    
-        verificationRequestsRef.child(userId).updateChildren(requestUpdates)
+        // The row is removed by the pending index listener once the write lands
+        VerificationUtils.reject(requestId, userId, adminId, rejectionReason, currentTime)
                 .addOnSuccessListener(aVoid -> {
-                    Map<String, Object> userUpdates = new HashMap<>();
-                    userUpdates.put("doctorVerificationStatus", "rejected");
-                    userUpdates.put("isVerified", false);
-
-                    usersRef.child(userId).updateChildren(userUpdates)
-                            .addOnSuccessListener(aVoid2 -> {
-                                Toast.makeText(this, "Application rejected", 
-                                        Toast.LENGTH_SHORT).show();
-                            })
-                            .addOnFailureListener(e -> {
-                                Toast.makeText(this, "Failed to update user status", 
-    
-                                        Toast.LENGTH_SHORT).show();
-                            });
+                    Toast.makeText(this, "Application rejected", 
+                            Toast.LENGTH_SHORT).show();
                 })
                 .addOnFailureListener(e -> {
                     Toast.makeText(this, "Failed to reject application: " + e.getMessage(), 
@@ -15,14 +15,20 @@ import androidx.appcompat.app.AppCompatActivity;
 import com.bumptech.glide.Glide;
 import com.google.android.material.button.MaterialButton;
 import com.google.android.material.card.MaterialCardView;
+import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.TaskCompletionSource;
+import com.google.android.gms.tasks.Tasks;
 import com.google.firebase.database.DataSnapshot;
 import com.google.firebase.database.DatabaseError;
 import com.google.firebase.database.DatabaseReference;
 import com.google.firebase.database.FirebaseDatabase;
+import com.google.firebase.database.Query;
 import com.google.firebase.database.ValueEventListener;
 import com.google.firebase.auth.FirebaseAuth;
+import com.google.firebase.auth.FirebaseUser;
 import com.internship.healthcare.models.UserAppointment;
 import com.internship.healthcare.models.DoctorProfile;
+import com.internship.healthcare.utils.AppointmentStatusUpdater;
 import com.internship.healthcare.utils.RatingDialogHelper;
 import com.internship.healthcare.utils.MessagingUtils;
 import com.internship.healthcare.utils.SessionManager;
@@ -77,6 +83,9 @@ public class AppointmentDetailActivity extends AppCompatActivity {
     private String appointmentId;
     private UserAppointment appointment;
     private DoctorProfile doctorProfile;
+    private boolean appointmentLoaded;
+    private String currentUserName;
+    private boolean ratingDialogShown;
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
@@ -94,7 +103,13 @@ public class AppointmentDetailActivity extends AppCompatActivity {
         
         initializeViews();
         
-        loadAppointmentFromFirebase();
+        // Lists already hold the summary fields, so show them before anything is read
+        appointment = readAppointmentFromIntent(intent);
+        if (appointment != null) {
+            displayAppointmentData();
+        }
+        
+        loadAppointmentFromFirebase(intent.getStringExtra("doctorId"));
         
         setupListeners();
     }
@@ -119,85 +134,126 @@ public class AppointmentDetailActivity extends AppCompatActivity {
         loadingIndicator = findViewById(R.id.loading_indicator);
     }
     
-    private void loadAppointmentFromFirebase() {
-        if (loadingIndicator != null) {
+    private UserAppointment readAppointmentFromIntent(Intent intent) {
+        String doctorId = intent.getStringExtra("doctorId");
+        if (doctorId == null) return null;
+        
+        UserAppointment preview = new UserAppointment();
+        preview.setId(appointmentId);
+        preview.setDoctorId(doctorId);
+        preview.setDoctorName(intent.getStringExtra("doctorName"));
+        preview.setDoctorSpeciality(intent.getStringExtra("doctorSpeciality"));
+        preview.setDoctorImage(intent.getStringExtra("doctorImage"));
+        preview.setAppointmentDate(intent.getStringExtra("appointmentDate"));
+        preview.setAppointmentTime(intent.getStringExtra("appointmentTime"));
+        preview.setStatus(intent.getStringExtra("status"));
+        return preview;
+    }
+    
+    private void loadAppointmentFromFirebase(String knownDoctorId) {
+        if (loadingIndicator != null && appointment == null) {
             loadingIndicator.setVisibility(View.VISIBLE);
         }
         
-        appointmentRef = FirebaseDatabase.getInstance()
-                .getReference("appointments")
-    
-                .child(appointmentId);
+        FirebaseDatabase database = FirebaseDatabase.getInstance();
+        appointmentRef = database.getReference("appointments").child(appointmentId);
         
-        appointmentRef.addListenerForSingleValueEvent(new ValueEventListener() {
+        // The appointment, the doctor profile and the patient's name are independent reads,
+        // so all of them are issued now; the profile only waits when the intent has no doctor ID
+        Task<DataSnapshot> appointmentTask = readOnce(appointmentRef);
+        
+        Task<DataSnapshot> doctorTask;
+        if (knownDoctorId != null) {
+            doctorTask = readDoctorProfile(knownDoctorId);
+        } else {
+            doctorTask = appointmentTask.continueWithTask(task -> {
+                String doctorId = task.isSuccessful() && task.getResult() != null
+                        ? task.getResult().child("doctorId").getValue(String.class) : null;
+                return doctorId != null ? readDoctorProfile(doctorId) : Tasks.<DataSnapshot>forResult(null);
+            });
+        }
+        
+        FirebaseUser currentUser = FirebaseAuth.getInstance().getCurrentUser();
+        Task<DataSnapshot> userNameTask = currentUser != null
+                ? readOnce(database.getReference("users").child(currentUser.getUid()).child("name"))
+                : Tasks.forResult(null);
+        
+        appointmentTask.addOnCompleteListener(this::onAppointmentLoaded);
+        doctorTask.addOnCompleteListener(this::onDoctorProfileLoaded);
+        userNameTask.addOnCompleteListener(task -> {
+            currentUserName = task.isSuccessful() && task.getResult() != null
+                    ? task.getResult().getValue(String.class) : null;
+        });
+        
+        // The rating prompt is the only step that needs both the fresh appointment and the name
+        Tasks.whenAllComplete(appointmentTask, userNameTask)
+                .addOnCompleteListener(task -> showRatingDialogIfNeeded());
+    }
+    
+    private Task<DataSnapshot> readDoctorProfile(String doctorId) {
+        doctorProfileRef = FirebaseDatabase.getInstance()
+                .getReference("doctorProfiles")
+                .child(doctorId);
+        return readOnce(doctorProfileRef);
+    }
+    
+    private Task<DataSnapshot> readOnce(Query query) {
+        TaskCompletionSource<DataSnapshot> source = new TaskCompletionSource<>();
+        query.addListenerForSingleValueEvent(new ValueEventListener() {
             @Override
             public void onDataChange(@NonNull DataSnapshot snapshot) {
-                if (snapshot.exists()) {
-                    appointment = snapshot.getValue(UserAppointment.class);
-                    if (appointment != null) {
-                        checkAndUpdateAppointmentStatus();
-                        
-                        loadDoctorProfile();
-                    } else {
-                        if (loadingIndicator != null) {
-                            loadingIndicator.setVisibility(View.GONE);
-                        }
-                        Toast.makeText(AppointmentDetailActivity.this, 
-                                "Failed to load appointment details", Toast.LENGTH_SHORT).show();
-                        finish();
-                    }
-                } else {
-                    finish();
-    
-                }
+                source.trySetResult(snapshot);
             }
 
             @Override
             public void onCancelled(@NonNull DatabaseError error) {
-                if (loadingIndicator != null) {
-                    loadingIndicator.setVisibility(View.GONE);
-                }
-                Toast.makeText(AppointmentDetailActivity.this, 
-                        "Error: " + error.getMessage(), Toast.LENGTH_SHORT).show();
-                finish();
+                source.trySetException(error.toException());
             }
         });
-    
+        return source.getTask();
     }
     
-    private void loadDoctorProfile() {
-        if (appointment == null || appointment.getDoctorId() == null) {
-            displayAppointmentData();
+    private void onAppointmentLoaded(Task<DataSnapshot> task) {
+        if (isFinishing() || isDestroyed()) return;
+        if (loadingIndicator != null) {
+            loadingIndicator.setVisibility(View.GONE);
+        }
+        
+        if (!task.isSuccessful()) {
+            Exception error = task.getException();
+            Toast.makeText(this, "Error: " + (error != null ? error.getMessage() : "unknown"),
+                    Toast.LENGTH_SHORT).show();
+            if (appointment == null) finish();
             return;
         }
         
-        doctorProfileRef = FirebaseDatabase.getInstance()
-                .getReference("doctorProfiles")
-                .child(appointment.getDoctorId());
+        DataSnapshot snapshot = task.getResult();
+        if (snapshot == null || !snapshot.exists()) {
+            finish();
+            return;
+        }
         
-        doctorProfileRef.addListenerForSingleValueEvent(new ValueEventListener() {
-            @Override
-            public void onDataChange(@NonNull DataSnapshot snapshot) {
-                if (loadingIndicator != null) {
-                    loadingIndicator.setVisibility(View.GONE);
-                }
-                
-                if (snapshot.exists()) {
-                    doctorProfile = snapshot.getValue(DoctorProfile.class);
-                }
-                
-                displayAppointmentData();
-            }
+        UserAppointment loaded = snapshot.getValue(UserAppointment.class);
+        if (loaded == null) {
+            Toast.makeText(this, "Failed to load appointment details", Toast.LENGTH_SHORT).show();
+            finish();
+            return;
+        }
+        
+        loaded.setId(appointmentId);
+        appointment = loaded;
+        appointmentLoaded = true;
+        displayAppointmentData();
+        checkAndUpdateAppointmentStatus();
+    }
     
-
-            @Override
-            public void onCancelled(@NonNull DatabaseError error) {
-                if (loadingIndicator != null) {
-                    loadingIndicator.setVisibility(View.GONE);
-                }
-                displayAppointmentData();
-            }
-        });
+    private void onDoctorProfileLoaded(Task<DataSnapshot> task) {
+        if (isFinishing() || isDestroyed()) return;
+        DataSnapshot snapshot = task.isSuccessful() ? task.getResult() : null;
+        if (snapshot != null && snapshot.exists()) {
+            doctorProfile = snapshot.getValue(DoctorProfile.class);
+        }
+        displayAppointmentData();
     }
     
     private void checkAndUpdateAppointmentStatus() {
@@ -211,78 +267,26 @@ public class AppointmentDetailActivity extends AppCompatActivity {
         }
         
         if (isAppointmentDatePassed()) {
-            appointmentRef.child("patientCounted").addListenerForSingleValueEvent(new ValueEventListener() {
-                @Override
-                public void onDataChange(@NonNull DataSnapshot snapshot) {
-                    Boolean patientCounted = snapshot.getValue(Boolean.class);
-                    
-                    if (patientCounted == null || !patientCounted) {
-                        appointmentRef.child("status").setValue("completed");
-                        appointmentRef.child("patientCounted").setValue(true);
-    
-                        
-                        // Increment doctor's patient count
-                        if (appointment.getDoctorId() != null) {
-                            incrementDoctorPatientCount(appointment.getDoctorId());
-                        }
-                        
-                        appointment.setStatus("completed");
-                        displayAppointmentData();
-                        
-                        showRatingDialogIfNeeded();
-                        
-                        Toast.makeText(AppointmentDetailActivity.this, 
-                                "Appointment marked as completed", Toast.LENGTH_SHORT).show();
-                    } else {
-                        // Just update status if already counted
-                        appointmentRef.child("status").setValue("completed")
-                                .addOnSuccessListener(aVoid -> {
-    
-                                    appointment.setStatus("completed");
-                                    displayAppointmentData();
-                                    
-                                    showRatingDialogIfNeeded();
-                                });
-                    }
-                }
+            AppointmentStatusUpdater.complete(appointment, counted -> {
+                if (isFinishing() || isDestroyed()) return;
+                appointment.setStatus("completed");
+                displayAppointmentData();
+                
+                showRatingDialogIfNeeded();
                 
-                @Override
-                public void onCancelled(@NonNull DatabaseError error) {
+                if (counted) {
                     Toast.makeText(AppointmentDetailActivity.this, 
-                            "Failed to check appointment status: " + error.getMessage(), 
-                            Toast.LENGTH_SHORT).show();
-    
+                            "Appointment marked as completed", Toast.LENGTH_SHORT).show();
                 }
             });
         }
     }
     
-    private void incrementDoctorPatientCount(String doctorId) {
-        DatabaseReference doctorRef = FirebaseDatabase.getInstance()
-                .getReference("doctorProfiles")
-                .child(doctorId)
-                .child("totalPatients");
-
-        doctorRef.addListenerForSingleValueEvent(new ValueEventListener() {
-            @Override
-            public void onDataChange(@NonNull DataSnapshot snapshot) {
-    
-                Integer currentCount = snapshot.getValue(Integer.class);
-                if (currentCount == null) {
-                    currentCount = 0;
-                }
-                doctorRef.setValue(currentCount + 1);
-            }
-
-            @Override
-            public void onCancelled(@NonNull DatabaseError error) {
-            }
-        });
-    }
-    
     private void showRatingDialogIfNeeded() {
-        if (appointment == null || appointment.isRatingGiven()) {
-            return; // Already rated
+        // Waits for the stored appointment; the intent copy does not carry ratingGiven
+        if (!appointmentLoaded || ratingDialogShown || isFinishing() || isDestroyed()) return;
+        if (!"completed".equals(appointment.getStatus()) || appointment.isRatingGiven()) {
+            return; // Not completed yet, or already rated
         }
         
         FirebaseAuth auth = FirebaseAuth.getInstance();
@@ -295,34 +299,19 @@ public class AppointmentDetailActivity extends AppCompatActivity {
             return; // Current user is not the patient
         }
         
-        DatabaseReference userRef = FirebaseDatabase.getInstance()
-                .getReference("users").child(currentUserId);
-        userRef.addListenerForSingleValueEvent(new ValueEventListener() {
-            @Override
-            public void onDataChange(@NonNull DataSnapshot snapshot) {
-                String userName = snapshot.child("name").getValue(String.class);
-                if (userName == null) userName = "Anonymous";
-                
-    
-                RatingDialogHelper.showRatingDialog(
-                    AppointmentDetailActivity.this,
-                    appointmentId,
-                    appointment.getDoctorId(),
-                    appointment.getDoctorName(),
-                    currentUserId,
-                    userName,
-                    rating -> {
-                        // Rating submitted successfully
-                        appointment.setRatingGiven(true);
-                    }
-                );
+        ratingDialogShown = true;
+        RatingDialogHelper.showRatingDialog(
+            this,
+            appointmentId,
+            appointment.getDoctorId(),
+            appointment.getDoctorName(),
+            currentUserId,
+            currentUserName != null ? currentUserName : "Anonymous",
+            rating -> {
+                // Rating submitted successfully
+                appointment.setRatingGiven(true);
             }
-    
-            
-            @Override
-            public void onCancelled(@NonNull DatabaseError error) {
-            }
-        });
+        );
     }
     
     private boolean isAppointmentDatePassed() {
@@ -442,16 +431,9 @@ public class AppointmentDetailActivity extends AppCompatActivity {
         }
         
         // 5. Set appointment fees (consultation fee from appointment or doctor profile)
-        double fee = appointment.getConsultationFee();
-        if (fee <= 0 && doctorProfile != null) {
-            fee = doctorProfile.getConsultationFee();
+        if (appointmentLoaded) {
+            displayFee();
         }
-        if (fee <= 0) {
-            fee = 90.0; // Default fallback
-        }
-        
-        totalCostAmount.setText("₹" + (int)fee);
-        toPayAmount.setText("₹" + (int)fee);
         
         // 6. Payment status always shows "Paid Successfully"
         paymentStatus.setText("Paid Successfully");
@@ -472,7 +454,7 @@ public class AppointmentDetailActivity extends AppCompatActivity {
         String reason = appointment.getReason();
         if (reason != null && !reason.isEmpty()) {
             problemDescription.setText(reason);
-        } else {
+        } else if (appointmentLoaded) {
             problemDescription.setText("No specific reason provided by the patient.");
         }
         
@@ -482,12 +464,19 @@ public class AppointmentDetailActivity extends AppCompatActivity {
             statusMessage.setText(statusText);
             statusMessage.setVisibility(View.VISIBLE);
         }
-        
-        // 9. Show rating dialog if appointment is completed and not yet rated
-        if ("completed".equals(status) && !appointment.isRatingGiven()) {
-            // Delay slightly to show dialog after UI updates
-            new android.os.Handler().postDelayed(this::showRatingDialogIfNeeded, 500);
+    }
+    
+    private void displayFee() {
+        double fee = appointment.getConsultationFee();
+        if (fee <= 0 && doctorProfile != null) {
+            fee = doctorProfile.getConsultationFee();
         }
+        if (fee <= 0) {
+            fee = 90.0; // Default fallback
+        }
+        
+        totalCostAmount.setText("₹" + (int)fee);
+        toPayAmount.setText("₹" + (int)fee);
     }
     
     private String getStatusMessage(String status) {
@@ -8,6 +8,8 @@ import android.widget.ImageView;
 import androidx.annotation.NonNull;
 import androidx.recyclerview.widget.RecyclerView;
 
+import com.bumptech.glide.Glide;
+
 import java.util.List;
 /**
  * CarouselAdapter.java
@@ -41,7 +43,10 @@ public class CarouselAdapter extends RecyclerView.Adapter<CarouselAdapter.ViewHo
 
     @Override
     public void onBindViewHolder(@NonNull ViewHolder holder, int position) {
-        holder.imageView.setImageResource(imageResources.get(position));
+        // Glide decodes off the main thread, downsampled to the item size
+        Glide.with(holder.imageView)
+                .load(imageResources.get(position))
+                .into(holder.imageView);
     }
 
     @Override
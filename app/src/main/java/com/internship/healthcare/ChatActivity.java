@@ -17,6 +17,7 @@ import android.widget.Toast;
 
 import androidx.activity.result.ActivityResultLauncher;
 import androidx.activity.result.contract.ActivityResultContracts;
+import androidx.annotation.NonNull;
 import androidx.appcompat.app.AppCompatActivity;
 import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
@@ -27,10 +28,11 @@ import com.google.firebase.database.DataSnapshot;
 import com.google.firebase.database.DatabaseError;
 import com.google.firebase.database.DatabaseReference;
 import com.google.firebase.database.FirebaseDatabase;
-import com.google.firebase.database.ValueEventListener;
 import com.internship.healthcare.adapters.ChatMessageAdapter;
 import com.internship.healthcare.models.ChatMessage;
+import com.internship.healthcare.services.MyFirebaseMessagingService;
 import com.internship.healthcare.utils.MessagingUtils;
+import com.internship.healthcare.utils.PresenceManager;
 import com.internship.healthcare.utils.SessionManager;
 import com.internship.healthcare.utils.SupabaseImageUploader;
 
@@ -88,6 +90,7 @@ public class ChatActivity extends AppCompatActivity implements ImagePreviewAdapt
     
     private DatabaseReference messagesRef;
     private ChildEventListener messagesListener;
+    private PresenceManager.Subscription presenceSubscription;
     private boolean isFirstLoad = true;
 
     private ActivityResultLauncher<String> imagePickerLauncher;
@@ -115,8 +118,9 @@ public class ChatActivity extends AppCompatActivity implements ImagePreviewAdapt
             return;
         }
 
+        PresenceManager.getInstance().start();
+
         initializeViews();
-    
 
         setupMessagesRecyclerView();
         setupImagePreviewRecyclerView();
@@ -184,6 +188,7 @@ public class ChatActivity extends AppCompatActivity implements ImagePreviewAdapt
             startActivity(intent);
         });
         messagesRecyclerView.setAdapter(chatMessageAdapter);
+        chatMessageAdapter.attachToRecyclerView(messagesRecyclerView);
     }
 
     private void setupImagePreviewRecyclerView() {
@@ -314,13 +319,13 @@ public class ChatActivity extends AppCompatActivity implements ImagePreviewAdapt
 
         SupabaseImageUploader imageUploader = new SupabaseImageUploader(this);
 
-        imageUploader.uploadImage(
+        imageUploader.uploadChatImage(
                 imageUri,
                 "chat-images",  // bucket name
                 fileName,
-                new SupabaseImageUploader.UploadCallback() {
+                new SupabaseImageUploader.ChatImageCallback() {
                     @Override
-                    public void onSuccess(String publicUrl) {
+                    public void onSuccess(@NonNull String publicUrl, int width, int height, String placeholder) {
                         runOnUiThread(() -> {
                             if (uploadDialog != null && uploadDialog.isShowing()) {
     
@@ -328,7 +333,8 @@ public class ChatActivity extends AppCompatActivity implements ImagePreviewAdapt
                             }
 
                             MessagingUtils.sendImageMessage(chatId, currentUserId, otherUserId,
-                                    publicUrl, currentUserName, new MessagingUtils.OnMessageSentListener() {
+                                    publicUrl, width, height, placeholder, currentUserName,
+                                    new MessagingUtils.OnMessageSentListener() {
                                         @Override
                                         public void onSuccess(String messageId) {
                                             runOnUiThread(() -> {
@@ -451,36 +457,19 @@ public class ChatActivity extends AppCompatActivity implements ImagePreviewAdapt
 
     
     private void listenForOnlineStatus() {
-        DatabaseReference presenceRef = FirebaseDatabase.getInstance()
-                .getReference("presence").child(otherUserId);
-        
-        presenceRef.addValueEventListener(new ValueEventListener() {
-            @Override
-            public void onDataChange(DataSnapshot snapshot) {
-                if (snapshot.exists()) {
-                    Boolean isOnline = snapshot.child("online").getValue(Boolean.class);
-                    if (isOnline != null && isOnline) {
+        // Shares the contact's presence listener with the chat list, if it is open
+        presenceSubscription = PresenceManager.getInstance().subscribe(otherUserId,
+                (userId, isOnline, lastSeen) -> {
+                    if (isOnline) {
                         onlineStatus.setText("Online");
                         onlineStatus.setVisibility(View.VISIBLE);
+                    } else if (lastSeen != null) {
+                        onlineStatus.setText(formatLastSeen(lastSeen));
+                        onlineStatus.setVisibility(View.VISIBLE);
                     } else {
-                        Long lastSeen = snapshot.child("lastSeen").getValue(Long.class);
-                        if (lastSeen != null) {
-                            onlineStatus.setText(formatLastSeen(lastSeen));
-                            onlineStatus.setVisibility(View.VISIBLE);
-                        } else {
-    
-                            onlineStatus.setVisibility(View.GONE);
-                        }
+                        onlineStatus.setVisibility(View.GONE);
                     }
-                } else {
-                    onlineStatus.setVisibility(View.GONE);
-                }
-    
-            }
-
-            @Override
-            public void onCancelled(DatabaseError error) {}
-        });
+                });
     }
 
     
@@ -524,13 +513,7 @@ public class ChatActivity extends AppCompatActivity implements ImagePreviewAdapt
     @Override
     protected void onResume() {
         super.onResume();
-        MessagingUtils.updateOnlineStatus(currentUserId, true);
-    }
-
-    @Override
-    protected void onPause() {
-        super.onPause();
-        MessagingUtils.updateOnlineStatus(currentUserId, false);
+        MyFirebaseMessagingService.clearChatNotification(this, chatId);
     }
 
     @Override
@@ -540,6 +523,9 @@ public class ChatActivity extends AppCompatActivity implements ImagePreviewAdapt
         if (messagesListener != null && messagesRef != null) {
             messagesRef.removeEventListener(messagesListener);
         }
+        if (presenceSubscription != null) {
+            presenceSubscription.cancel();
+        }
         if (uploadDialog != null && uploadDialog.isShowing()) {
             uploadDialog.dismiss();
         }
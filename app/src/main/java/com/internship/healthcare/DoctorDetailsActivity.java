@@ -9,16 +9,16 @@ import android.net.Uri;
 import android.os.Bundle;
 import android.view.MotionEvent;
 import android.view.View;
-import android.view.ViewGroup;
 import android.widget.FrameLayout;
 import android.widget.ImageButton;
 import android.widget.ImageView;
-import android.widget.LinearLayout;
 import android.widget.TextView;
 import android.widget.Toast;
 
 import androidx.annotation.NonNull;
 import androidx.appcompat.app.AppCompatActivity;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
 
 import com.bumptech.glide.Glide;
 import com.google.android.material.bottomsheet.BottomSheetDialog;
@@ -31,11 +31,19 @@ import com.google.firebase.database.DatabaseError;
 import com.google.firebase.database.DatabaseReference;
 import com.google.firebase.database.FirebaseDatabase;
 import com.google.firebase.database.ValueEventListener;
+import com.internship.healthcare.adapters.DateStripAdapter;
 import com.internship.healthcare.models.Doctor;
-import com.internship.healthcare.models.DaySchedule;
+import com.internship.healthcare.models.DoctorSchedule;
 import com.internship.healthcare.models.UserAppointment;
+import com.internship.healthcare.utils.DoctorDetailPrefetcher;
+import com.internship.healthcare.utils.DoctorDirectory;
+import com.internship.healthcare.utils.FavoritesRepository;
+import com.internship.healthcare.utils.FirstAvailableFinder;
 import com.internship.healthcare.utils.MessagingUtils;
+import com.internship.healthcare.utils.ProfileImageRenditions;
+import com.internship.healthcare.utils.RatingStats;
 import com.internship.healthcare.utils.SessionManager;
+import com.internship.healthcare.utils.SlotEngine;
 
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
@@ -74,7 +82,8 @@ public class DoctorDetailsActivity extends AppCompatActivity {
     private TextView doctorFee, patientsCount;
     private ImageView doctorAvatarImage;
 
-    private LinearLayout datesContainer;
+    private RecyclerView datesRecycler;
+    private DateStripAdapter dateStripAdapter;
     private ChipGroup morningTimeSlots, afternoonTimeSlots, eveningTimeSlots, nightTimeSlots;
     private FrameLayout slideButtonContainer;
 
@@ -103,14 +112,20 @@ public class DoctorDetailsActivity extends AppCompatActivity {
 
     private FirebaseAuth auth;
     private DatabaseReference appointmentsRef;
-    private DatabaseReference favoritesRef;
-    private DatabaseReference doctorProfilesRef;
+    private FavoritesRepository favoritesRepository;
+    private FavoritesRepository.OnFavoritesChangeListener favoritesListener;
     private DatabaseReference usersRef;
-    private DatabaseReference doctorSchedulesRef;
     
     private String doctorId;
     private int appointmentDuration = 30; // Default 30 minutes
-    private java.util.Map<String, DaySchedule> weekSchedule;
+    private java.util.Map<String, DoctorSchedule.DaySchedule> weekSchedule;
+    private SlotEngine slotEngine;
+    private SlotEngine.BookedIntervals bookedIntervals;
+    private boolean userSelectedDate = false;
+    private String preferredTime; // Slot picked from the first-available search
+    private static final int DATE_STRIP_DAYS = 8 * 7;
+    private final SimpleDateFormat shortDateFormat = new SimpleDateFormat("MMM dd", Locale.getDefault());
+    private final SimpleDateFormat fullDateFormat = new SimpleDateFormat("MMM dd, yyyy", Locale.getDefault());
 
     // Array of avatar background colors
     private final String[] avatarColors = {
@@ -125,16 +140,11 @@ public class DoctorDetailsActivity extends AppCompatActivity {
 
         auth = FirebaseAuth.getInstance();
         appointmentsRef = FirebaseDatabase.getInstance().getReference("appointments");
-        doctorProfilesRef = FirebaseDatabase.getInstance().getReference("doctorProfiles");
         usersRef = FirebaseDatabase.getInstance().getReference("users");
-        doctorSchedulesRef = FirebaseDatabase.getInstance().getReference("doctorSchedules");
         
+        favoritesRepository = FavoritesRepository.getInstance(this);
         if (auth.getCurrentUser() != null) {
-            String userId = auth.getCurrentUser().getUid();
-            favoritesRef = FirebaseDatabase.getInstance()
-                .getReference("users")
-                .child(userId)
-                .child("favoriteDoctors");
+            favoritesRepository.start(auth.getCurrentUser().getUid());
         }
 
         initializeViews();
@@ -174,7 +184,7 @@ public class DoctorDetailsActivity extends AppCompatActivity {
         callButton = findViewById(R.id.call_button);
         readMoreButton = findViewById(R.id.read_more_button);
         selectedDateText = findViewById(R.id.selected_date_text);
-        datesContainer = findViewById(R.id.dates_container);
+        datesRecycler = findViewById(R.id.dates_recycler);
         morningTimeSlots = findViewById(R.id.morning_time_slots);
         afternoonTimeSlots = findViewById(R.id.afternoon_time_slots);
         eveningTimeSlots = findViewById(R.id.evening_time_slots);
@@ -218,90 +228,73 @@ public class DoctorDetailsActivity extends AppCompatActivity {
 
     private void loadDoctorFromFirebase(String doctorId) {
         
-        // First, load doctor profile data
-        doctorProfilesRef.child(doctorId).addListenerForSingleValueEvent(new ValueEventListener() {
-            @Override
-            public void onDataChange(@NonNull DataSnapshot profileSnapshot) {
-                if (profileSnapshot.exists()) {
-                    String specialty = profileSnapshot.child("specialty").getValue(String.class);
-                    String degree = profileSnapshot.child("degree").getValue(String.class);
-                    String university = profileSnapshot.child("university").getValue(String.class);
-                    Integer experienceYears = profileSnapshot.child("experienceYears").getValue(Integer.class);
-                    Integer experience = profileSnapshot.child("experience").getValue(Integer.class);
-                    Double consultationFee = profileSnapshot.child("consultationFee").getValue(Double.class);
-                    String bio = profileSnapshot.child("bio").getValue(String.class);
-                    String about = profileSnapshot.child("about").getValue(String.class);
-                    String clinicAddress = profileSnapshot.child("clinicAddress").getValue(String.class);
-                    String contactNumber = profileSnapshot.child("contactNumber").getValue(String.class);
-                    String profileImageUrl = profileSnapshot.child("profileImageUrl").getValue(String.class);
-                    Double rating = profileSnapshot.child("rating").getValue(Double.class);
-                    Integer totalPatients = profileSnapshot.child("totalPatients").getValue(Integer.class);
-                    
-                    final int patientCount = totalPatients != null ? totalPatients : 0;
-                    
-                    final String clinic = clinicAddress;
-                    
-                    // Now load user data (name, phone) from users node
-                    usersRef.child(doctorId).addListenerForSingleValueEvent(new ValueEventListener() {
-                        @Override
-                        public void onDataChange(@NonNull DataSnapshot userSnapshot) {
-                            String name = userSnapshot.child("name").getValue(String.class);
-    
-                            String phone = userSnapshot.child("phone").getValue(String.class);
-                            
-                            doctor = new Doctor(
-                                doctorId,
-                                name != null ? name : "Dr. Unknown",
-                                specialty != null ? specialty : "General Physician",
-                                profileImageUrl != null ? profileImageUrl : "",
-                                consultationFee != null ? consultationFee : 500.0,
-                                contactNumber != null ? contactNumber : (phone != null ? phone : ""),
-    
-                                rating != null ? rating : 4.5,
-                                experienceYears != null ? experienceYears : (experience != null ? experience : 5),
-                                bio != null && !bio.isEmpty() ? bio : (about != null ? about : ""),
-                                degree != null ? degree : "MBBS",
-                                university != null ? university : "Medical College",
-                                clinic != null && !clinic.isEmpty() ? clinic : ""
-                            );
-                            
-                            setupDoctorInfo();
-                            
-                            updatePatientCount(patientCount);
-                            
-                            loadDoctorSchedule(doctorId);
-                        }
-                        
-                        @Override
-                        public void onCancelled(@NonNull DatabaseError error) {
-                            Toast.makeText(DoctorDetailsActivity.this, 
-                                "Failed to load doctor info: " + error.getMessage(), 
-                                Toast.LENGTH_SHORT).show();
-                            // Try to use intent data as fallback
-                            getDoctorDataFromIntent();
-                            setupDoctorInfo();
-                        }
-                    });
-                } else {
-                    Toast.makeText(DoctorDetailsActivity.this, 
-    
-                        "Doctor profile not found", 
-                        Toast.LENGTH_SHORT).show();
-                    // Try to use intent data as fallback
-                    getDoctorDataFromIntent();
-                    setupDoctorInfo();
-                }
+        // Usually answered from memory: the list screen prefetched this doctor while it was on screen
+        DoctorDetailPrefetcher.load(doctorId, bundle -> {
+            if (isFinishing() || isDestroyed()) return;
+            
+            if (bundle.getError() != null) {
+                Toast.makeText(DoctorDetailsActivity.this, 
+                    "Failed to load doctor data: " + bundle.getError().getMessage(), 
+                    Toast.LENGTH_SHORT).show();
+                // Try to use intent data as fallback
+                getDoctorDataFromIntent();
+                setupDoctorInfo();
+                return;
             }
             
-            @Override
-            public void onCancelled(@NonNull DatabaseError error) {
+            DataSnapshot profileSnapshot = bundle.getProfile();
+            if (!profileSnapshot.exists()) {
                 Toast.makeText(DoctorDetailsActivity.this, 
-                    "Failed to load doctor data: " + error.getMessage(), 
+                    "Doctor profile not found", 
                     Toast.LENGTH_SHORT).show();
                 // Try to use intent data as fallback
                 getDoctorDataFromIntent();
                 setupDoctorInfo();
+                return;
             }
+            
+            String specialty = profileSnapshot.child("specialty").getValue(String.class);
+            String degree = profileSnapshot.child("degree").getValue(String.class);
+            String university = profileSnapshot.child("university").getValue(String.class);
+            Integer experienceYears = profileSnapshot.child("experienceYears").getValue(Integer.class);
+            Integer experience = profileSnapshot.child("experience").getValue(Integer.class);
+            Double consultationFee = profileSnapshot.child("consultationFee").getValue(Double.class);
+            String bio = profileSnapshot.child("bio").getValue(String.class);
+            String about = profileSnapshot.child("about").getValue(String.class);
+            String clinicAddress = profileSnapshot.child("clinicAddress").getValue(String.class);
+            String contactNumber = profileSnapshot.child("contactNumber").getValue(String.class);
+            // The header avatar is small, so the medium rendition is plenty
+            String profileImageUrl = ProfileImageRenditions.pick(profileSnapshot, ProfileImageRenditions.MEDIUM_SIZE_PX);
+            Double rating = profileSnapshot.child("rating").getValue(Double.class);
+            Integer totalPatients = profileSnapshot.child("totalPatients").getValue(Integer.class);
+            
+            // Name and phone come from the users node
+            DataSnapshot userSnapshot = bundle.getUser();
+            String name = userSnapshot.child("name").getValue(String.class);
+            String phone = userSnapshot.child("phone").getValue(String.class);
+            
+            doctor = new Doctor(
+                doctorId,
+                name != null ? name : "Dr. Unknown",
+                specialty != null ? specialty : "General Physician",
+                profileImageUrl != null ? profileImageUrl : "",
+                consultationFee != null ? consultationFee : 500.0,
+                contactNumber != null ? contactNumber : (phone != null ? phone : ""),
+                rating != null ? rating : 4.5,
+                experienceYears != null ? experienceYears : (experience != null ? experience : 5),
+                bio != null && !bio.isEmpty() ? bio : (about != null ? about : ""),
+                degree != null ? degree : "MBBS",
+                university != null ? university : "Medical College",
+                clinicAddress != null && !clinicAddress.isEmpty() ? clinicAddress : ""
+            );
+            
+            DoctorDirectory.put(doctor);
+            setupDoctorInfo();
+            
+            updatePatientCount(totalPatients != null ? totalPatients : 0);
+            
+            showRatingSummary(bundle.getRatingStats());
+            showDoctorSchedule(bundle.getSchedule());
         });
     }
 
@@ -399,50 +392,91 @@ public class DoctorDetailsActivity extends AppCompatActivity {
         }
     }
 
-    private void loadDoctorSchedule(String doctorId) {
-        doctorSchedulesRef.child(doctorId).addListenerForSingleValueEvent(new ValueEventListener() {
-            @Override
-            public void onDataChange(@NonNull DataSnapshot snapshot) {
-                if (snapshot.exists()) {
-                    Integer duration = snapshot.child("appointmentDuration").getValue(Integer.class);
-                    if (duration != null) {
-                        appointmentDuration = duration;
-                    }
-                    
-                    weekSchedule = new HashMap<>();
-                    DataSnapshot scheduleSnapshot = snapshot.child("weekSchedule");
-                    for (DataSnapshot daySnapshot : scheduleSnapshot.getChildren()) {
-                        String day = daySnapshot.getKey();
-                        DaySchedule daySchedule = daySnapshot.getValue(DaySchedule.class);
-                        if (day != null && daySchedule != null) {
-                            weekSchedule.put(day.toLowerCase(), daySchedule);
-                        }
-                    }
-                    
-                    // Refresh date selector and time slots with schedule data
-                    refreshDateSelectorWithSchedule();
-                    updateTimeSlotsForSelectedDate();
-                } else {
-                    // No schedule found, keep default slots
-                    Toast.makeText(DoctorDetailsActivity.this, 
-                        "Doctor schedule not available", 
-                        Toast.LENGTH_SHORT).show();
-                }
+    private void showRatingSummary(DataSnapshot stats) {
+        // Only the aggregate is read; the individual reviews are never downloaded here
+        if (stats == null || doctor == null || RatingStats.getCount(stats) == 0) return;
+        doctor.setRating(RatingStats.getAverage(stats));
+        doctorRating.setText(String.format(Locale.getDefault(), "%.1f", doctor.getRating()));
+    }
+
+    private void showDoctorSchedule(DataSnapshot snapshot) {
+        if (snapshot == null) {
+            Toast.makeText(this, "Failed to load schedule", Toast.LENGTH_SHORT).show();
+            return;
+        }
+        
+        if (snapshot.exists()) {
+            Integer duration = snapshot.child("appointmentDuration").getValue(Integer.class);
+            if (duration != null) {
+                appointmentDuration = duration;
             }
             
-            @Override
-            public void onCancelled(@NonNull DatabaseError error) {
-    
-                Toast.makeText(DoctorDetailsActivity.this, 
-                    "Failed to load schedule: " + error.getMessage(), 
-                    Toast.LENGTH_SHORT).show();
+            weekSchedule = new HashMap<>();
+            DataSnapshot scheduleSnapshot = snapshot.child("weekSchedule");
+            for (DataSnapshot daySnapshot : scheduleSnapshot.getChildren()) {
+                String day = daySnapshot.getKey();
+                DoctorSchedule.DaySchedule daySchedule = daySnapshot.getValue(DoctorSchedule.DaySchedule.class);
+                if (day != null && daySchedule != null) {
+                    weekSchedule.put(day.toLowerCase(), daySchedule);
+                }
             }
-        });
+            
+            slotEngine = new SlotEngine(weekSchedule, appointmentDuration);
+
+            // Refresh date selector and time slots with schedule data
+            refreshDateSelectorWithSchedule();
+            updateTimeSlotsForSelectedDate();
+            loadBookedAppointments(doctorId);
+        } else {
+            // No schedule found, keep default slots
+            Toast.makeText(this, 
+                "Doctor schedule not available", 
+                Toast.LENGTH_SHORT).show();
+        }
+    }
+
+    private void loadBookedAppointments(String doctorId) {
+        FirebaseDatabase.getInstance().getReference("doctorAppointments").child(doctorId)
+                .addListenerForSingleValueEvent(new ValueEventListener() {
+                    @Override
+                    public void onDataChange(@NonNull DataSnapshot snapshot) {
+                        bookedIntervals = FirstAvailableFinder.readBookedIntervals(snapshot, appointmentDuration);
+                        refreshDateSelectorWithSchedule();
+                        updateTimeSlotsForSelectedDate();
+                    }
+
+                    @Override
+                    public void onCancelled(@NonNull DatabaseError error) {}
+                });
     }
 
     private void refreshDateSelectorWithSchedule() {
-        // Keep existing date cards but update their availability
-        // The visual update will happen when they are clicked
+        if (dateStripAdapter == null) return;
+
+        // Recomputed only when the schedule or bookings change, never on scroll or tap
+        Calendar now = Calendar.getInstance();
+        List<DateStripAdapter.DateItem> items = DateStripAdapter.buildItems(
+                now, DATE_STRIP_DAYS, slotEngine, bookedIntervals, SlotEngine.getMinuteOfDay(now));
+        dateStripAdapter.setItems(items, RecyclerView.NO_POSITION);
+
+        int position = dateStripAdapter.findPosition(selectedCalendar);
+        if (!userSelectedDate && slotEngine != null) {
+            // Until the patient picks a date, land on the first day with open slots
+            for (int i = 0; i < items.size(); i++) {
+                int state = items.get(i).state;
+                if (state == DateStripAdapter.STATE_AVAILABLE || state == DateStripAdapter.STATE_PARTIAL) {
+                    position = i;
+                    break;
+                }
+            }
+        }
+        if (position == RecyclerView.NO_POSITION) position = 0;
+
+        DateStripAdapter.DateItem item = items.get(position);
+        dateStripAdapter.setSelectedPosition(position);
+        selectedCalendar = (Calendar) item.date.clone();
+        updateSelectedDate(selectedCalendar);
+        datesRecycler.scrollToPosition(position);
     }
 
     private void setupClickListeners() {
@@ -462,156 +496,39 @@ public class DoctorDetailsActivity extends AppCompatActivity {
     }
 
     private void setupDateSelector() {
-    
         selectedCalendar = Calendar.getInstance();
-        
-        for (int i = 0; i < 7; i++) {
-            Calendar calendar = Calendar.getInstance();
-            calendar.add(Calendar.DAY_OF_YEAR, i);
-            
-            MaterialCardView dateCard = createDateCard(calendar, i == 0);
-    
-            datesContainer.addView(dateCard);
-        }
-
-        updateSelectedDate(Calendar.getInstance());
-    }
-
-    private MaterialCardView createDateCard(Calendar calendar, boolean isSelected) {
-        MaterialCardView card = new MaterialCardView(this);
-        LinearLayout.LayoutParams params = new LinearLayout.LayoutParams(
-            (int) (70 * getResources().getDisplayMetrics().density),
-            (int) (90 * getResources().getDisplayMetrics().density)
-        );
-        params.setMargins(0, 0, (int) (12 * getResources().getDisplayMetrics().density), 0);
-        card.setLayoutParams(params);
-        card.setRadius(1000);
-        card.setCardElevation(0);
-        card.setStrokeWidth(0);
-        card.setStrokeColor(Color.parseColor("#FFFFFF00"));
-
-        LinearLayout content = new LinearLayout(this);
-        content.setOrientation(LinearLayout.VERTICAL);
-        content.setGravity(android.view.Gravity.CENTER);
-        content.setPadding(
-            (int) (8 * getResources().getDisplayMetrics().density),
-            (int) (12 * getResources().getDisplayMetrics().density),
-            (int) (8 * getResources().getDisplayMetrics().density),
-            (int) (12 * getResources().getDisplayMetrics().density)
-        );
-
-        // Day of week
-        TextView dayText = new TextView(this);
-        dayText.setText(new SimpleDateFormat("EEE", Locale.getDefault()).format(calendar.getTime()).substring(0, 3));
-        dayText.setTextSize(12);
-    
-        dayText.setGravity(android.view.Gravity.CENTER);
-        
-        // Date number
-        TextView dateText = new TextView(this);
-        dateText.setText(String.valueOf(calendar.get(Calendar.DAY_OF_MONTH)));
-        dateText.setTextSize(20);
-        dateText.setTypeface(null, android.graphics.Typeface.BOLD);
-        dateText.setGravity(android.view.Gravity.CENTER);
-        LinearLayout.LayoutParams dateParams = new LinearLayout.LayoutParams(
-            ViewGroup.LayoutParams.WRAP_CONTENT,
-            ViewGroup.LayoutParams.WRAP_CONTENT
-        );
-    
-        dateParams.setMargins(0, (int) (4 * getResources().getDisplayMetrics().density), 0, 0);
-        dateText.setLayoutParams(dateParams);
-
-        content.addView(dayText);
-        content.addView(dateText);
-        card.addView(content);
 
-    
-        String dayName = new SimpleDateFormat("EEEE", Locale.getDefault()).format(calendar.getTime()).toLowerCase();
-        boolean isDoctorAvailable = isDoctorAvailableOnDay(dayName);
-
-        if (!isDoctorAvailable) {
-            // Grey out unavailable days
-            card.setCardBackgroundColor(Color.parseColor("#E0E0E0"));
-            card.setStrokeColor(Color.parseColor("#BDBDBD"));
-            dayText.setTextColor(Color.parseColor("#9E9E9E"));
-            dateText.setTextColor(Color.parseColor("#9E9E9E"));
-        } else if (isSelected) {
-            card.setCardBackgroundColor(Color.parseColor("#4772F5"));
-            card.setStrokeColor(Color.parseColor("#ffffff00"));
-            dayText.setTextColor(Color.WHITE);
-            dateText.setTextColor(Color.WHITE);
-            selectedCalendar = (Calendar) calendar.clone();
-            updateSelectedDate(calendar);
-        } else {
-    
-            card.setCardBackgroundColor(Color.parseColor("#f4f8fb"));
-            card.setStrokeColor(Color.parseColor("#2196F300"));
-            dayText.setTextColor(Color.parseColor("#C4000000"));
-            dateText.setTextColor(Color.parseColor("#C4000000"));
+        long preferredDate = getIntent().getLongExtra("preferredDate", 0);
+        if (preferredDate > 0) {
+            selectedCalendar.setTimeInMillis(preferredDate);
+            userSelectedDate = true;
+            preferredTime = getIntent().getStringExtra("preferredTime");
         }
 
-        card.setOnClickListener(v -> {
-            if (!isDoctorAvailable) {
-                Toast.makeText(this, "Doctor is not available on " + 
-                    new SimpleDateFormat("EEEE", Locale.getDefault()).format(calendar.getTime()), 
-                    Toast.LENGTH_SHORT).show();
-                return;
-            }
-            
-            // Deselect all cards
-            for (int i = 0; i < datesContainer.getChildCount(); i++) {
-    
-                MaterialCardView otherCard = (MaterialCardView) datesContainer.getChildAt(i);
-                LinearLayout otherContent = (LinearLayout) otherCard.getChildAt(0);
-                TextView otherDayText = (TextView) otherContent.getChildAt(0);
-                TextView otherDateText = (TextView) otherContent.getChildAt(1);
-                
-                Calendar otherCal = Calendar.getInstance();
-                otherCal.add(Calendar.DAY_OF_YEAR, i);
-                String otherDayName = new SimpleDateFormat("EEEE", Locale.getDefault())
-                    .format(otherCal.getTime()).toLowerCase();
-                boolean isOtherAvailable = isDoctorAvailableOnDay(otherDayName);
-                
-                if (!isOtherAvailable) {
-                    otherCard.setCardBackgroundColor(Color.parseColor("#E0E0E0"));
-                    otherCard.setStrokeColor(Color.parseColor("#BDBDBD"));
-                    otherDayText.setTextColor(Color.parseColor("#9E9E9E"));
-                    otherDateText.setTextColor(Color.parseColor("#9E9E9E"));
-                } else {
-                    otherCard.setCardBackgroundColor(Color.parseColor("#f4f8fb"));
-                    otherCard.setStrokeColor(Color.parseColor("#2196F300"));
-                    otherDayText.setTextColor(Color.parseColor("#757575"));
-                    otherDateText.setTextColor(Color.parseColor("#212121"));
-                }
-            }
-
-            // Select this card
-            card.setCardBackgroundColor(Color.parseColor("#4772F5"));
-            card.setStrokeColor(Color.parseColor("#2196F300"));
-            dayText.setTextColor(Color.WHITE);
-            dateText.setTextColor(Color.WHITE);
-            
-            selectedCalendar = (Calendar) calendar.clone();
-            updateSelectedDate(calendar);
-            
-            updateTimeSlotsForSelectedDate();
-        });
+        dateStripAdapter = new DateStripAdapter((item, position) -> onDateSelected(item));
+        datesRecycler.setLayoutManager(new LinearLayoutManager(this, LinearLayoutManager.HORIZONTAL, false));
+        datesRecycler.setAdapter(dateStripAdapter);
 
-        return card;
+        refreshDateSelectorWithSchedule();
     }
 
-    private boolean isDoctorAvailableOnDay(String dayName) {
-        if (weekSchedule == null || !weekSchedule.containsKey(dayName)) {
-            return true; // Default to available if schedule not loaded
+    private void onDateSelected(DateStripAdapter.DateItem item) {
+        if (!item.isSelectable()) {
+            Toast.makeText(this, "Doctor is not available on " + item.fullDayLabel,
+                Toast.LENGTH_SHORT).show();
+            return;
         }
-        DaySchedule schedule = weekSchedule.get(dayName);
-        return schedule != null && schedule.isAvailable();
+
+        userSelectedDate = true;
+        preferredTime = null;
+        selectedCalendar = (Calendar) item.date.clone();
+        updateSelectedDate(selectedCalendar);
+        updateTimeSlotsForSelectedDate();
     }
 
     private void updateSelectedDate(Calendar calendar) {
-        SimpleDateFormat dateFormat = new SimpleDateFormat("MMM dd", Locale.getDefault());
-        selectedDate = new SimpleDateFormat("MMM dd, yyyy", Locale.getDefault()).format(calendar.getTime());
-        selectedDateText.setText(dateFormat.format(calendar.getTime()));
+        selectedDate = fullDateFormat.format(calendar.getTime());
+        selectedDateText.setText(shortDateFormat.format(calendar.getTime()));
     }
 
     private void showDatePicker() {
@@ -622,25 +539,27 @@ public class DoctorDetailsActivity extends AppCompatActivity {
             (view, year, month, dayOfMonth) -> {
                 Calendar newCalendar = Calendar.getInstance();
                 newCalendar.set(year, month, dayOfMonth);
-                
-                selectedCalendar = newCalendar;
-                updateSelectedDate(newCalendar);
-                
-                // Refresh date selector
-                datesContainer.removeAllViews();
-                for (int i = 0; i < 7; i++) {
-                    Calendar cal = (Calendar) newCalendar.clone();
-                    cal.add(Calendar.DAY_OF_YEAR, i - 3);
-                    MaterialCardView dateCard = createDateCard(cal, i == 3);
-                    datesContainer.addView(dateCard);
+
+                int position = dateStripAdapter.findPosition(newCalendar);
+                if (position == RecyclerView.NO_POSITION) return;
+
+                DateStripAdapter.DateItem item = dateStripAdapter.getItem(position);
+                if (item.isSelectable()) {
+                    dateStripAdapter.setSelectedPosition(position);
+                    datesRecycler.scrollToPosition(position);
                 }
+                onDateSelected(item);
             },
             calendar.get(Calendar.YEAR),
             calendar.get(Calendar.MONTH),
             calendar.get(Calendar.DAY_OF_MONTH)
         );
         
+        // Limited to the range covered by the date strip
+        Calendar lastDay = Calendar.getInstance();
+        lastDay.add(Calendar.DAY_OF_YEAR, DATE_STRIP_DAYS - 1);
         datePickerDialog.getDatePicker().setMinDate(System.currentTimeMillis());
+        datePickerDialog.getDatePicker().setMaxDate(lastDay.getTimeInMillis());
         datePickerDialog.show();
     }
 
@@ -679,124 +598,65 @@ public class DoctorDetailsActivity extends AppCompatActivity {
     }
 
     private void updateTimeSlotsForSelectedDate() {
-        if (selectedCalendar == null || weekSchedule == null) {
+        if (selectedCalendar == null || slotEngine == null) {
             return;
         }
         
         morningTimeSlots.removeAllViews();
         afternoonTimeSlots.removeAllViews();
-    
         eveningTimeSlots.removeAllViews();
         nightTimeSlots.removeAllViews();
         
-        String dayName = new SimpleDateFormat("EEEE", Locale.getDefault())
-            .format(selectedCalendar.getTime()).toLowerCase();
-        
-        DaySchedule daySchedule = weekSchedule.get(dayName);
-        if (daySchedule == null || !daySchedule.isAvailable()) {
-            // No slots available
-            return;
-        }
-        
-        List<String> allSlots = generateTimeSlots(
-    
-            daySchedule.getStartTime(), 
-            daySchedule.getEndTime(), 
-            appointmentDuration
-        );
-        
-        List<String> bookedSlots = getDummyBookedSlots(allSlots);
+        int[] slotStarts = slotEngine.getSlotStarts(selectedCalendar.get(Calendar.DAY_OF_WEEK));
+        long[] bookedMinutes = bookedIntervals != null ? bookedIntervals.get(selectedCalendar) : null;
+        // Today's slots that have already started are shown like booked ones
+        Calendar now = Calendar.getInstance();
+        boolean isToday = now.get(Calendar.YEAR) == selectedCalendar.get(Calendar.YEAR)
+                && now.get(Calendar.DAY_OF_YEAR) == selectedCalendar.get(Calendar.DAY_OF_YEAR);
+        int pastUntilMinute = isToday ? SlotEngine.getMinuteOfDay(now) : -1;
         
         // Separate into morning, afternoon, evening, and night
-        for (String slot : allSlots) {
-            boolean isBooked = bookedSlots.contains(slot);
-    
+        for (int slotStart : slotStarts) {
+            boolean isBooked = slotStart <= pastUntilMinute || slotEngine.isBooked(bookedMinutes, slotStart);
+            String slot = SlotEngine.formatTime(slotStart);
             
-            String timeOfDay = getTimeOfDay(slot);
-            switch (timeOfDay) {
-                case "morning":
-                    Chip morningChip = createTimeChip(slot, morningTimeSlots, isBooked);
-                    morningTimeSlots.addView(morningChip);
+            switch (SlotEngine.getTimeOfDay(slotStart)) {
+                case SlotEngine.MORNING:
+                    morningTimeSlots.addView(createTimeChip(slot, morningTimeSlots, isBooked));
                     break;
-                case "afternoon":
-                    Chip afternoonChip = createTimeChip(slot, afternoonTimeSlots, isBooked);
-                    afternoonTimeSlots.addView(afternoonChip);
+                case SlotEngine.AFTERNOON:
+                    afternoonTimeSlots.addView(createTimeChip(slot, afternoonTimeSlots, isBooked));
                     break;
-                case "evening":
-                    Chip eveningChip = createTimeChip(slot, eveningTimeSlots, isBooked);
-                    eveningTimeSlots.addView(eveningChip);
+                case SlotEngine.EVENING:
+                    eveningTimeSlots.addView(createTimeChip(slot, eveningTimeSlots, isBooked));
                     break;
-                case "night":
-                    Chip nightChip = createTimeChip(slot, nightTimeSlots, isBooked);
-                    nightTimeSlots.addView(nightChip);
+                default:
+                    nightTimeSlots.addView(createTimeChip(slot, nightTimeSlots, isBooked));
                     break;
             }
         }
         
         // Select first available slot
         selectFirstAvailableSlot();
-    }
-
-    private List<String> generateTimeSlots(String startTime, String endTime, int durationMinutes) {
-        List<String> slots = new ArrayList<>();
-        
-        try {
-            SimpleDateFormat format24 = new SimpleDateFormat("HH:mm", Locale.getDefault());
-            SimpleDateFormat format12 = new SimpleDateFormat("hh:mm a", Locale.getDefault());
-    
-            
-            Calendar start = Calendar.getInstance();
-            Calendar end = Calendar.getInstance();
-            
-            start.setTime(format24.parse(startTime));
-            end.setTime(format24.parse(endTime));
-            
-            while (start.before(end)) {
-                slots.add(format12.format(start.getTime()));
-                start.add(Calendar.MINUTE, durationMinutes);
-            }
-        } catch (ParseException e) {
-            e.printStackTrace();
+        if (preferredTime != null) {
+            selectPreferredSlot(preferredTime);
         }
-        
-        return slots;
     }
 
-    private List<String> getDummyBookedSlots(List<String> allSlots) {
-        List<String> booked = new ArrayList<>();
-        for (int i = 0; i < allSlots.size(); i++) {
-            if (i % 3 == 1) { // Book every 3rd slot as an example
-                booked.add(allSlots.get(i));
-            }
-        }
-        return booked;
-    }
-
-    private String getTimeOfDay(String timeSlot) {
-        // Categorize time slots:
-        // Morning: 12:00 AM - 11:59 AM
-        // Afternoon: 12:00 PM - 4:59 PM
-        // Evening: 5:00 PM - 7:59 PM
-        // Night: 8:00 PM - 11:59 PM
-        try {
-            SimpleDateFormat format = new SimpleDateFormat("hh:mm a", Locale.getDefault());
-    
-            Calendar time = Calendar.getInstance();
-            time.setTime(format.parse(timeSlot));
-            
-            int hour = time.get(Calendar.HOUR_OF_DAY);
-            
-            if (hour >= 0 && hour < 12) {
-                return "morning";
-            } else if (hour >= 12 && hour < 17) {
-                return "afternoon";
-            } else if (hour >= 17 && hour < 20) {
-                return "evening";
-            } else {
-                return "night";
+    private void selectPreferredSlot(String time) {
+        for (ChipGroup group : new ChipGroup[]{morningTimeSlots, afternoonTimeSlots, eveningTimeSlots, nightTimeSlots}) {
+            for (int i = 0; i < group.getChildCount(); i++) {
+                Chip chip = (Chip) group.getChildAt(i);
+                if (chip.isEnabled() && time.contentEquals(chip.getText())) {
+                    morningTimeSlots.clearCheck();
+                    afternoonTimeSlots.clearCheck();
+                    eveningTimeSlots.clearCheck();
+                    nightTimeSlots.clearCheck();
+                    chip.setChecked(true);
+                    selectedTime = time;
+                    return;
+                }
             }
-        } catch (ParseException e) {
-            return "morning"; // default
         }
     }
 
@@ -1139,6 +999,8 @@ public class DoctorDetailsActivity extends AppCompatActivity {
                                 
                                 doctorAppointmentsRef.setValue(appointment)
                                     .addOnSuccessListener(aVoid3 -> {
+                                        FirstAvailableFinder.invalidate(doctor.getSpeciality() != null
+                                                ? doctor.getSpeciality() : "");
                                         slideText.setText("Request Sent!");
                                         slideButton.setImageResource(R.drawable.ic_heart);
                                         slideButtonContainer.setBackgroundColor(Color.parseColor("#4CAF50"));
@@ -1196,57 +1058,42 @@ public class DoctorDetailsActivity extends AppCompatActivity {
     }
     
     private void checkFavoriteStatus() {
-        if (auth.getCurrentUser() == null || favoritesRef == null) {
+        if (auth.getCurrentUser() == null || doctor == null) {
             return;
         }
         
-        favoritesRef.child(doctor.getId()).addListenerForSingleValueEvent(new ValueEventListener() {
-            @Override
-            public void onDataChange(@NonNull DataSnapshot snapshot) {
-                isFavorite = snapshot.exists();
+        // Answered from the in-memory favorites set, no read per page open
+        isFavorite = favoritesRepository.isFavorite(doctor.getId());
+        updateFavoriteIcon();
+        
+        if (favoritesListener == null) {
+            favoritesListener = doctorIds -> {
+                if (doctor == null) return;
+                isFavorite = doctorIds.contains(doctor.getId());
                 updateFavoriteIcon();
-    
-            }
-            
-            @Override
-            public void onCancelled(@NonNull DatabaseError error) {
-            }
-        });
+            };
+            favoritesRepository.addListener(favoritesListener);
+        }
     }
     
     private void toggleFavorite() {
-        if (auth.getCurrentUser() == null || favoritesRef == null) {
+        if (auth.getCurrentUser() == null || !favoritesRepository.isStarted()) {
             Toast.makeText(this, "Please login to add favorites", Toast.LENGTH_SHORT).show();
             return;
         }
         
-        isFavorite = !isFavorite;
-        updateFavoriteIcon();
-    
-        
-        if (isFavorite) {
-            favoritesRef.child(doctor.getId()).setValue(doctor)
-                .addOnSuccessListener(aVoid -> {
-                    Toast.makeText(this, "Added to favorites", Toast.LENGTH_SHORT).show();
-                })
-                .addOnFailureListener(e -> {
-                    // Revert on failure
-                    isFavorite = false;
-                    updateFavoriteIcon();
-                    Toast.makeText(this, "Failed to add to favorites", Toast.LENGTH_SHORT).show();
-                });
-        } else {
-            favoritesRef.child(doctor.getId()).removeValue()
-                .addOnSuccessListener(aVoid -> {
-                    Toast.makeText(this, "Removed from favorites", Toast.LENGTH_SHORT).show();
-                })
-                .addOnFailureListener(e -> {
-                    // Revert on failure
-                    isFavorite = true;
-                    updateFavoriteIcon();
-                    Toast.makeText(this, "Failed to remove from favorites", Toast.LENGTH_SHORT).show();
-                });
-        }
+        boolean favorite = !isFavorite;
+        DoctorDirectory.put(doctor);
+        favoritesRepository.setFavorite(doctor.getId(), favorite)
+            .addOnSuccessListener(aVoid -> {
+                Toast.makeText(this, favorite ? "Added to favorites" : "Removed from favorites",
+                        Toast.LENGTH_SHORT).show();
+            })
+            .addOnFailureListener(e -> {
+                // The repository has already restored the icon state
+                Toast.makeText(this, favorite ? "Failed to add to favorites" : "Failed to remove from favorites",
+                        Toast.LENGTH_SHORT).show();
+            });
     }
     
     private void updateFavoriteIcon() {
@@ -1314,12 +1161,12 @@ public class DoctorDetailsActivity extends AppCompatActivity {
             Toast.makeText(this, "Unable to make call: " + e.getMessage(), Toast.LENGTH_SHORT).show();
         }
     }
-    
-}
 
-    
-    
-    
-    
-    
-    
\ No newline at end of file
+    @Override
+    protected void onDestroy() {
+        super.onDestroy();
+        if (favoritesListener != null) {
+            favoritesRepository.removeListener(favoritesListener);
+        }
+    }
+}
@@ -8,14 +8,22 @@ import android.view.View;
 import android.widget.EditText;
 import android.widget.ImageButton;
 import android.widget.LinearLayout;
+import android.widget.ProgressBar;
 import android.widget.TextView;
 
 import androidx.appcompat.app.AppCompatActivity;
 import androidx.recyclerview.widget.GridLayoutManager;
+import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 
+import com.google.android.material.bottomsheet.BottomSheetDialog;
+import com.google.android.material.button.MaterialButton;
 import com.internship.healthcare.adapters.DoctorAdapter;
+import com.internship.healthcare.adapters.OpenSlotAdapter;
 import com.internship.healthcare.models.Doctor;
+import com.internship.healthcare.utils.DoctorDirectory;
+import com.internship.healthcare.utils.FirstAvailableFinder;
+import com.internship.healthcare.utils.ProfileImageRenditions;
 import com.google.firebase.database.DataSnapshot;
 import com.google.firebase.database.DatabaseError;
 import com.google.firebase.database.DatabaseReference;
@@ -23,7 +31,9 @@ import com.google.firebase.database.FirebaseDatabase;
 import com.google.firebase.database.ValueEventListener;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 /**
  * DoctorListActivity.java
  * A comprehensive healthcare management Android application
@@ -50,6 +60,7 @@ public class DoctorListActivity extends AppCompatActivity {
     private EditText searchInput;
     private RecyclerView doctorsRecycler;
     private LinearLayout emptyState;
+    private MaterialButton firstAvailableButton;
     
     private DoctorAdapter adapter;
 
@@ -77,23 +88,10 @@ public class DoctorListActivity extends AppCompatActivity {
         
         doctorsRecycler.setLayoutManager(new GridLayoutManager(this, 2));
         
-        adapter = new DoctorAdapter(filteredDoctors, doctor -> {
-            Intent intent = new Intent(this, DoctorDetailsActivity.class);
-    
-            intent.putExtra("doctorId", doctor.getId());
-            intent.putExtra("doctorName", doctor.getName());
-            intent.putExtra("doctorSpeciality", doctor.getSpeciality());
-            intent.putExtra("doctorImage", doctor.getImage());
-            intent.putExtra("consultationFee", doctor.getConsultationFee());
-            intent.putExtra("doctorPhone", doctor.getMobile());
-            intent.putExtra("doctorRating", doctor.getRating());
-            intent.putExtra("doctorExperience", doctor.getExperience());
-            intent.putExtra("doctorAbout", doctor.getAbout());
-            intent.putExtra("doctorDegree", doctor.getDegree());
-            intent.putExtra("doctorUniversity", doctor.getUniversity());
-            startActivity(intent);
-        });
+        adapter = new DoctorAdapter(filteredDoctors, doctor -> openDoctorDetails(doctor, null));
         doctorsRecycler.setAdapter(adapter);
+        adapter.attachPreloader(doctorsRecycler);
+        adapter.attachDetailPrefetcher(doctorsRecycler);
         
         setupListeners();
     }
@@ -104,6 +102,7 @@ public class DoctorListActivity extends AppCompatActivity {
         searchInput = findViewById(R.id.search_input);
         doctorsRecycler = findViewById(R.id.doctors_recycler);
         emptyState = findViewById(R.id.empty_state);
+        firstAvailableButton = findViewById(R.id.first_available_button);
     }
     
     private void loadDoctors() {
@@ -147,6 +146,8 @@ public class DoctorListActivity extends AppCompatActivity {
                                     doctor.setName(name != null ? name : "Dr. Unknown");
                                     doctor.setSpeciality(specialty);
                                     doctor.setImage(profileImageUrl != null ? profileImageUrl : "");
+                                    doctor.setThumbnailImage(ProfileImageRenditions.pick(doctorSnapshot,
+                                            ProfileImageRenditions.THUMB_SIZE_PX));
                                     doctor.setConsultationFee(consultationFee != null ? consultationFee : 0);
                                     doctor.setMobile(phone != null ? phone : "");
                                     doctor.setRating(rating != null ? rating : 0.0);
@@ -155,6 +156,7 @@ public class DoctorListActivity extends AppCompatActivity {
                                     doctor.setDegree(degree != null ? degree : "");
                                     doctor.setUniversity(university != null ? university : "");
                                     
+                                    DoctorDirectory.put(doctor);
                                     allDoctors.add(doctor);
                                     filteredDoctors.add(doctor);
                                     updateUI();
@@ -179,9 +181,76 @@ public class DoctorListActivity extends AppCompatActivity {
         });
     }
     
+    private void openDoctorDetails(Doctor doctor, FirstAvailableFinder.OpenSlot slot) {
+        Intent intent = new Intent(this, DoctorDetailsActivity.class);
+        intent.putExtra("doctorId", doctor.getId());
+        intent.putExtra("doctorName", doctor.getName());
+        intent.putExtra("doctorSpeciality", doctor.getSpeciality());
+        intent.putExtra("doctorImage", doctor.getImage());
+        intent.putExtra("consultationFee", doctor.getConsultationFee());
+        intent.putExtra("doctorPhone", doctor.getMobile());
+        intent.putExtra("doctorRating", doctor.getRating());
+        intent.putExtra("doctorExperience", doctor.getExperience());
+        intent.putExtra("doctorAbout", doctor.getAbout());
+        intent.putExtra("doctorDegree", doctor.getDegree());
+        intent.putExtra("doctorUniversity", doctor.getUniversity());
+        if (slot != null) {
+            // Opens the booking section on the chosen slot
+            intent.putExtra("preferredDate", slot.date.getTimeInMillis());
+            intent.putExtra("preferredTime", slot.timeLabel);
+        }
+        startActivity(intent);
+    }
+
+    private void showFirstAvailable() {
+        BottomSheetDialog bottomSheet = new BottomSheetDialog(this);
+        View view = getLayoutInflater().inflate(R.layout.bottom_sheet_first_available, null);
+        bottomSheet.setContentView(view);
+
+        ProgressBar progress = view.findViewById(R.id.slots_progress);
+        TextView emptyText = view.findViewById(R.id.slots_empty);
+        RecyclerView slotsRecycler = view.findViewById(R.id.slots_recycler);
+        slotsRecycler.setLayoutManager(new LinearLayoutManager(this));
+        view.findViewById(R.id.btn_close).setOnClickListener(v -> bottomSheet.dismiss());
+        bottomSheet.show();
+
+        Map<String, Doctor> doctorsById = new HashMap<>();
+        for (Doctor doctor : allDoctors) {
+            doctorsById.put(doctor.getId(), doctor);
+        }
+
+        FirstAvailableFinder.find(categoryName, new ArrayList<>(doctorsById.keySet()),
+                FirstAvailableFinder.DEFAULT_LIMIT, new FirstAvailableFinder.OnSlotsFoundListener() {
+            @Override
+            public void onSlotsFound(List<FirstAvailableFinder.OpenSlot> slots) {
+                if (isFinishing() || !bottomSheet.isShowing()) return;
+                progress.setVisibility(View.GONE);
+                if (slots.isEmpty()) {
+                    emptyText.setVisibility(View.VISIBLE);
+                    return;
+                }
+                slotsRecycler.setVisibility(View.VISIBLE);
+                slotsRecycler.setAdapter(new OpenSlotAdapter(slots, doctorsById, (doctor, slot) -> {
+                    bottomSheet.dismiss();
+                    openDoctorDetails(doctor, slot);
+                }));
+            }
+
+            @Override
+            public void onError(String message) {
+                if (isFinishing() || !bottomSheet.isShowing()) return;
+                progress.setVisibility(View.GONE);
+                emptyText.setText("Failed to load availability: " + message);
+                emptyText.setVisibility(View.VISIBLE);
+            }
+        });
+    }
+
     private void setupListeners() {
         // Back button
         backButton.setOnClickListener(v -> finish());
+
+        firstAvailableButton.setOnClickListener(v -> showFirstAvailable());
         
         // Search functionality
         searchInput.addTextChangedListener(new TextWatcher() {
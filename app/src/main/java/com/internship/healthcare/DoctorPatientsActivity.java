@@ -6,12 +6,14 @@ import android.text.TextWatcher;
 import android.view.View;
 import android.widget.Toast;
 
+import androidx.annotation.NonNull;
 import androidx.appcompat.app.AppCompatActivity;
 import androidx.recyclerview.widget.LinearLayoutManager;
 
 import com.internship.healthcare.adapters.PatientsAdapter;
 import com.internship.healthcare.models.PatientInfo;
 import com.google.firebase.auth.FirebaseAuth;
+import com.google.firebase.database.ChildEventListener;
 import com.google.firebase.database.DataSnapshot;
 import com.google.firebase.database.DatabaseError;
 import com.google.firebase.database.DatabaseReference;
@@ -19,8 +21,8 @@ import com.google.firebase.database.FirebaseDatabase;
 import com.google.firebase.database.ValueEventListener;
 import com.internship.healthcare.databinding.ActivityDoctorPatientsBinding;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.HashMap;
+import java.util.Map;
 /**
  * DoctorPatientsActivity.java
  * A comprehensive healthcare management Android application
@@ -42,13 +44,20 @@ import java.util.List;
 
 public class DoctorPatientsActivity extends AppCompatActivity {
 
+    private static final long ACTIVE_WINDOW_MS = 30L * 24 * 60 * 60 * 1000;
+
     private ActivityDoctorPatientsBinding binding;
     private FirebaseAuth mAuth;
     private DatabaseReference doctorPatientsRef;
     private DatabaseReference usersRef;
     private PatientsAdapter adapter;
-    private List<PatientInfo> patientList;
     private String doctorId;
+    private ChildEventListener patientsListener;
+    private final Map<String, PatientInfo> patientsById = new HashMap<>();
+    private int totalPatients;
+    private int activeThisMonth;
+    private long activeCutoff;
+    private boolean initialLoadDone;
 
 
     @Override
@@ -69,8 +78,6 @@ public class DoctorPatientsActivity extends AppCompatActivity {
         doctorPatientsRef = FirebaseDatabase.getInstance().getReference("doctorPatients").child(doctorId);
         usersRef = FirebaseDatabase.getInstance().getReference("users");
 
-        patientList = new ArrayList<>();
-
         setupToolbar();
         setupRecyclerView();
         setupSearchBar();
@@ -114,69 +121,106 @@ public class DoctorPatientsActivity extends AppCompatActivity {
     
         binding.progressIndicator.setVisibility(View.VISIBLE);
 
-        doctorPatientsRef.addValueEventListener(new ValueEventListener() {
-            @Override
-            public void onDataChange(DataSnapshot snapshot) {
-                patientList.clear();
-
-                if (snapshot.exists()) {
-                    int totalPatients = 0;
-                    int activeThisMonth = 0;
-                    long currentTime = System.currentTimeMillis();
-                    long thirtyDaysAgo = currentTime - (30L * 24 * 60 * 60 * 1000);
-    
+        // The cutoff is fixed per subscription so every event is judged against the same window
+        activeCutoff = System.currentTimeMillis() - ACTIVE_WINDOW_MS;
 
-                    for (DataSnapshot patientSnapshot : snapshot.getChildren()) {
-                        String patientId = patientSnapshot.getKey();
-                        
-                        PatientInfo patientInfo = patientSnapshot.getValue(PatientInfo.class);
-    
-                        if (patientInfo != null) {
-                            patientInfo.setPatientId(patientId);
-                            patientList.add(patientInfo);
-                            totalPatients++;
-
-                            // Count active patients this month
-                            if (patientInfo.getLastVisitDate() > thirtyDaysAgo) {
-                                activeThisMonth++;
-                            }
-                        }
-                    }
-    
-
-                    binding.tvTotalPatients.setText(String.valueOf(totalPatients));
-                    binding.tvActivePatients.setText(String.valueOf(activeThisMonth));
-
-                    adapter.setPatients(patientList);
-                    binding.layoutEmptyState.setVisibility(patientList.isEmpty() ? View.VISIBLE : View.GONE);
-                    binding.recyclerViewPatients.setVisibility(patientList.isEmpty() ? View.GONE : View.VISIBLE);
+        patientsListener = new ChildEventListener() {
+            @Override
+            public void onChildAdded(@NonNull DataSnapshot snapshot, String previousChildName) {
+                PatientInfo patientInfo = readPatient(snapshot);
+                if (patientInfo == null) return;
+
+                PatientInfo previous = patientsById.put(patientInfo.getPatientId(), patientInfo);
+                if (previous != null) {
+                    adjustCounts(previous, -1);
+                    adapter.updatePatient(patientInfo);
                 } else {
-                    // No patients
-                    binding.tvTotalPatients.setText("0");
-                    binding.tvActivePatients.setText("0");
-                    binding.layoutEmptyState.setVisibility(View.VISIBLE);
-    
-                    binding.recyclerViewPatients.setVisibility(View.GONE);
+                    adapter.addPatient(patientInfo);
                 }
+                adjustCounts(patientInfo, 1);
+                updateStats();
+            }
 
-                binding.progressIndicator.setVisibility(View.GONE);
+            @Override
+            public void onChildChanged(@NonNull DataSnapshot snapshot, String previousChildName) {
+                onChildAdded(snapshot, previousChildName);
             }
 
             @Override
-            public void onCancelled(DatabaseError error) {
+            public void onChildRemoved(@NonNull DataSnapshot snapshot) {
+                PatientInfo previous = patientsById.remove(snapshot.getKey());
+                if (previous == null) return;
+                adjustCounts(previous, -1);
+                adapter.removePatient(previous.getPatientId());
+                updateStats();
+            }
+
+            @Override
+            public void onChildMoved(@NonNull DataSnapshot snapshot, String previousChildName) {}
+
+            @Override
+            public void onCancelled(@NonNull DatabaseError error) {
                 binding.progressIndicator.setVisibility(View.GONE);
     
                 Toast.makeText(DoctorPatientsActivity.this,
                         "Error loading patients: " + error.getMessage(),
                         Toast.LENGTH_SHORT).show();
             }
+        };
+        doctorPatientsRef.addChildEventListener(patientsListener);
+
+        // Fires after the initial children, so an empty list is only shown once loading is done
+        doctorPatientsRef.addListenerForSingleValueEvent(new ValueEventListener() {
+            @Override
+            public void onDataChange(@NonNull DataSnapshot snapshot) {
+                if (binding == null) return;
+                initialLoadDone = true;
+                binding.progressIndicator.setVisibility(View.GONE);
+                updateStats();
+            }
+
+            @Override
+            public void onCancelled(@NonNull DatabaseError error) {
+                if (binding == null) return;
+                binding.progressIndicator.setVisibility(View.GONE);
+            }
         });
     }
 
+    private PatientInfo readPatient(DataSnapshot snapshot) {
+        PatientInfo patientInfo = snapshot.getValue(PatientInfo.class);
+        if (patientInfo == null) return null;
+        patientInfo.setPatientId(snapshot.getKey());
+        if (patientInfo.getPatientName() == null) patientInfo.setPatientName("Patient");
+        if (patientInfo.getPatientPhone() == null) patientInfo.setPatientPhone("");
+        return patientInfo;
+    }
+
+    private void adjustCounts(PatientInfo patientInfo, int delta) {
+        totalPatients += delta;
+        if (patientInfo.getLastVisitDate() > activeCutoff) {
+            activeThisMonth += delta;
+        }
+    }
+
+    private void updateStats() {
+        if (binding == null) return;
+        binding.tvTotalPatients.setText(String.valueOf(totalPatients));
+        binding.tvActivePatients.setText(String.valueOf(activeThisMonth));
+
+        if (!initialLoadDone && patientsById.isEmpty()) return;
+        binding.progressIndicator.setVisibility(View.GONE);
+        binding.layoutEmptyState.setVisibility(patientsById.isEmpty() ? View.VISIBLE : View.GONE);
+        binding.recyclerViewPatients.setVisibility(patientsById.isEmpty() ? View.GONE : View.VISIBLE);
+    }
+
     
     @Override
     protected void onDestroy() {
         super.onDestroy();
+        if (doctorPatientsRef != null && patientsListener != null) {
+            doctorPatientsRef.removeEventListener(patientsListener);
+        }
         binding = null;
     }
 }
@@ -28,6 +28,7 @@ import com.internship.healthcare.adapters.DocumentAdapter;
 import com.internship.healthcare.models.VerificationRequest;
 import com.internship.healthcare.utils.DoctorNameFormatter;
 import com.internship.healthcare.utils.SupabaseStorageHelper;
+import com.internship.healthcare.utils.VerificationUtils;
 
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -70,7 +71,6 @@ public class DoctorVerificationActivity extends AppCompatActivity {
     // Firebase
     private FirebaseAuth auth;
     private DatabaseReference databaseReference;
-    private DatabaseReference verificationRequestsRef;
 
     // Supabase Storage
     private SupabaseStorageHelper supabaseStorageHelper;
@@ -106,7 +106,6 @@ public class DoctorVerificationActivity extends AppCompatActivity {
 
         auth = FirebaseAuth.getInstance();
         databaseReference = FirebaseDatabase.getInstance().getReference("users");
-        verificationRequestsRef = FirebaseDatabase.getInstance().getReference("verificationRequests");
 
         supabaseStorageHelper = new SupabaseStorageHelper(this);
 
@@ -364,7 +363,7 @@ public class DoctorVerificationActivity extends AppCompatActivity {
                 request.setHospitalAffiliation(clinicAddress); // Using clinic address as hospital affiliation
                 request.setAbout(about);
 
-                verificationRequestsRef.child(userId).setValue(request)
+                VerificationUtils.submit(userId, request)
                         .addOnSuccessListener(aVoid -> {
                             updateUserVerificationStatus(userId);
                         })
@@ -0,0 +1,163 @@
+package com.internship.healthcare;
+
+import android.content.ActivityNotFoundException;
+import android.content.Intent;
+import android.net.Uri;
+import android.os.Bundle;
+import android.view.View;
+import android.widget.Toast;
+
+import androidx.appcompat.app.AppCompatActivity;
+import androidx.viewpager2.widget.ViewPager2;
+
+import com.google.android.material.appbar.MaterialToolbar;
+import com.google.android.material.progressindicator.CircularProgressIndicator;
+import com.internship.healthcare.adapters.PdfPageAdapter;
+import com.internship.healthcare.utils.DocumentCache;
+import com.internship.healthcare.utils.PdfPageRenderer;
+
+import java.io.File;
+import java.util.ArrayList;
+/**
+ * DocumentViewerActivity.java
+ * A comprehensive healthcare management Android application
+ * Activity showing a PDF document page by page without leaving the app.
+ * The document is streamed into {@link DocumentCache}, pages are rendered by
+ * {@link PdfPageRenderer}, and the next page plus any documents the caller expects
+ * to be opened next are prefetched while the current page is being read.
+ *
+ * <p>Extends: {@link AppCompatActivity}</p>
+ * Package: com.internship.healthcare
+ *
+ * @author Mustafa Merchant
+ * @version 1.0
+ * @since 2025
+ */
+
+
+public class DocumentViewerActivity extends AppCompatActivity {
+
+    public static final String EXTRA_DOCUMENT_URL = "documentUrl";
+    public static final String EXTRA_TITLE = "title";
+    public static final String EXTRA_PREFETCH_URLS = "prefetchUrls";
+
+    // Wider renders only cost memory; PhotoView zoom covers the rest
+    private static final int MAX_PAGE_WIDTH_PX = 1440;
+
+    private MaterialToolbar toolbar;
+    private ViewPager2 pagePager;
+    private CircularProgressIndicator progressIndicator;
+
+    private String documentUrl;
+    private PdfPageRenderer renderer;
+
+    @Override
+    protected void onCreate(Bundle savedInstanceState) {
+        super.onCreate(savedInstanceState);
+        setContentView(R.layout.activity_document_viewer);
+
+        documentUrl = getIntent().getStringExtra(EXTRA_DOCUMENT_URL);
+        if (documentUrl == null || documentUrl.isEmpty()) {
+            Toast.makeText(this, "Document not found", Toast.LENGTH_SHORT).show();
+            finish();
+            return;
+        }
+
+        toolbar = findViewById(R.id.toolbar);
+        pagePager = findViewById(R.id.page_pager);
+        progressIndicator = findViewById(R.id.progress_indicator);
+
+        String title = getIntent().getStringExtra(EXTRA_TITLE);
+        if (title != null) {
+            toolbar.setTitle(title);
+        }
+        toolbar.setNavigationOnClickListener(v -> finish());
+
+        loadDocument();
+    }
+
+    @Override
+    protected void onDestroy() {
+        super.onDestroy();
+        if (renderer != null) {
+            renderer.close();
+        }
+    }
+
+    private void loadDocument() {
+        progressIndicator.setVisibility(View.VISIBLE);
+
+        DocumentCache.fetch(this, documentUrl, new DocumentCache.OnDocumentReadyListener() {
+            @Override
+            public void onDocumentReady(File file) {
+                if (isFinishing() || isDestroyed()) return;
+                openRenderer(file);
+            }
+
+            @Override
+            public void onDocumentFailed(String error) {
+                if (isFinishing() || isDestroyed()) return;
+                progressIndicator.setVisibility(View.GONE);
+                Toast.makeText(DocumentViewerActivity.this,
+                        "Failed to download document: " + error, Toast.LENGTH_SHORT).show();
+            }
+        });
+    }
+
+    private void openRenderer(File file) {
+        renderer = new PdfPageRenderer(file);
+        renderer.open(new PdfPageRenderer.OnOpenListener() {
+            @Override
+            public void onOpened(int pageCount) {
+                pagePager.post(() -> showPages(pageCount));
+            }
+
+            @Override
+            public void onError(String error) {
+                progressIndicator.setVisibility(View.GONE);
+                openExternally();
+            }
+        });
+    }
+
+    private void showPages(int pageCount) {
+        if (isFinishing() || isDestroyed()) return;
+
+        progressIndicator.setVisibility(View.GONE);
+        renderer.setPageWidth(Math.min(pagePager.getWidth(), MAX_PAGE_WIDTH_PX));
+        pagePager.setAdapter(new PdfPageAdapter(renderer));
+        pagePager.registerOnPageChangeCallback(new ViewPager2.OnPageChangeCallback() {
+            @Override
+            public void onPageSelected(int position) {
+                updatePageIndicator(position, pageCount);
+                renderer.prefetch(position + 1);
+            }
+        });
+        updatePageIndicator(0, pageCount);
+        renderer.prefetch(1);
+
+        // Warm the cache for whatever the reviewer is likely to open next
+        ArrayList<String> prefetchUrls = getIntent().getStringArrayListExtra(EXTRA_PREFETCH_URLS);
+        if (prefetchUrls != null) {
+            for (String url : prefetchUrls) {
+                DocumentCache.prefetch(this, url);
+            }
+        }
+    }
+
+    private void updatePageIndicator(int position, int pageCount) {
+        toolbar.setSubtitle("Page " + (position + 1) + " of " + pageCount);
+    }
+
+    private void openExternally() {
+        // Not a PDF the platform renderer can read; fall back to another app
+        try {
+            Intent intent = new Intent(Intent.ACTION_VIEW);
+            intent.setData(Uri.parse(documentUrl));
+            startActivity(intent);
+        } catch (ActivityNotFoundException e) {
+            Toast.makeText(this, "No app available to open this document", Toast.LENGTH_SHORT).show();
+        }
+        finish();
+    }
+}
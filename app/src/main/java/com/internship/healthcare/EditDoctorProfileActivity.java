@@ -26,6 +26,7 @@ import com.google.firebase.database.DatabaseReference;
 import com.google.firebase.database.FirebaseDatabase;
 import com.google.firebase.database.ValueEventListener;
 import com.internship.healthcare.utils.DoctorNameFormatter;
+import com.internship.healthcare.utils.ProfileImageRenditions;
 import com.internship.healthcare.utils.SupabaseImageUploader;
 
 import java.util.HashMap;
@@ -372,16 +373,16 @@ public class EditDoctorProfileActivity extends AppCompatActivity {
                 .addOnSuccessListener(aVoid -> {
                     // Then update doctor profile
                     if (selectedImageUri != null) {
-                        uploadProfileImage(userId, imageUrl -> {
-                            if (imageUrl != null) {
-                                updateDoctorProfile(userId, experience, bio, consultationFee, clinicAddress, imageUrl);
+                        uploadProfileImage(userId, imageUpdates -> {
+                            if (imageUpdates != null) {
+                                updateDoctorProfile(userId, experience, bio, consultationFee, clinicAddress, imageUpdates);
                             } else {
                                 showProgress(false);
                                 Toast.makeText(this, "Failed to upload image", Toast.LENGTH_SHORT).show();
                             }
                         });
                     } else {
-                        updateDoctorProfile(userId, experience, bio, consultationFee, clinicAddress, currentProfileImageUrl);
+                        updateDoctorProfile(userId, experience, bio, consultationFee, clinicAddress, null);
                     }
                 })
                 .addOnFailureListener(e -> {
@@ -392,13 +393,14 @@ public class EditDoctorProfileActivity extends AppCompatActivity {
     }
 
     private void uploadProfileImage(String userId, OnImageUploadedListener listener) {
-        String fileName = "doctor_profile_" + userId + "_" + System.currentTimeMillis() + ".jpg";
-        
-        imageUploader.uploadImage(selectedImageUri, "doctor-profiles", fileName, 
-                new SupabaseImageUploader.UploadCallback() {
+        String baseName = "doctor_profile_" + userId + "_" + System.currentTimeMillis();
+
+        // Lists load the thumbnail, the details header the medium, the viewer the full image
+        imageUploader.uploadProfileRenditions(selectedImageUri, "doctor-profiles", baseName,
+                new SupabaseImageUploader.RenditionsCallback() {
             @Override
-            public void onSuccess(String publicUrl) {
-                listener.onImageUploaded(publicUrl);
+            public void onSuccess(@NonNull String thumbUrl, @NonNull String mediumUrl, @NonNull String fullUrl) {
+                listener.onImageUploaded(ProfileImageRenditions.toUpdates(thumbUrl, mediumUrl, fullUrl));
             }
 
             @Override
@@ -411,15 +413,15 @@ public class EditDoctorProfileActivity extends AppCompatActivity {
     }
 
     private void updateDoctorProfile(String userId, int experience, String bio, double consultationFee, 
-                                    String clinicAddress, String profileImageUrl) {
+                                    String clinicAddress, Map<String, Object> imageUpdates) {
         Map<String, Object> updates = new HashMap<>();
         updates.put("experience", experience);
         updates.put("bio", bio);
         updates.put("consultationFee", consultationFee);
         updates.put("clinicAddress", clinicAddress);
         
-        if (profileImageUrl != null && !profileImageUrl.isEmpty()) {
-            updates.put("profileImageUrl", profileImageUrl);
+        if (imageUpdates != null) {
+            updates.putAll(imageUpdates);
         }
 
         doctorProfilesRef.child(userId).updateChildren(updates)
@@ -445,7 +447,7 @@ public class EditDoctorProfileActivity extends AppCompatActivity {
     }
 
     interface OnImageUploadedListener {
-        void onImageUploaded(String imageUrl);
+        void onImageUploaded(Map<String, Object> imageUpdates);
     }
 }
 
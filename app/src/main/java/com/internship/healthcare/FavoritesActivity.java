@@ -0,0 +1,136 @@
+package com.internship.healthcare;
+
+import android.content.Intent;
+import android.os.Bundle;
+import android.view.View;
+import android.widget.ImageButton;
+import android.widget.LinearLayout;
+import android.widget.ProgressBar;
+import android.widget.Toast;
+
+import androidx.appcompat.app.AppCompatActivity;
+import androidx.recyclerview.widget.GridLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
+
+import com.google.firebase.auth.FirebaseAuth;
+import com.internship.healthcare.adapters.DoctorAdapter;
+import com.internship.healthcare.models.Doctor;
+import com.internship.healthcare.utils.DoctorDirectory;
+import com.internship.healthcare.utils.FavoritesRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+/**
+ * FavoritesActivity.java
+ * A comprehensive healthcare management Android application
+ * Activity listing the signed-in user's favorite doctors.
+ * The favorite IDs come from {@link FavoritesRepository} and are hydrated in a
+ * single batch from {@link DoctorDirectory}.
+ *
+ * <p>Extends: {@link AppCompatActivity}</p>
+ *
+ * <h3>Firebase Integration:</h3>
+ * <ul>
+ *   <li>Authentication</li>
+ *   <li>Realtime Database</li>
+ * </ul>
+ * Package: com.internship.healthcare
+ * 
+ * @author Mustafa Merchant
+ * @version 1.0
+ * @since 2025
+ */
+
+
+public class FavoritesActivity extends AppCompatActivity {
+
+    private ImageButton backButton;
+    private ProgressBar loadingIndicator;
+    private RecyclerView favoritesRecycler;
+    private LinearLayout emptyState;
+
+    private DoctorAdapter adapter;
+    private FavoritesRepository favoritesRepository;
+    private FavoritesRepository.OnFavoritesChangeListener favoritesListener;
+    private List<String> shownIds = new ArrayList<>();
+
+    @Override
+    protected void onCreate(Bundle savedInstanceState) {
+        super.onCreate(savedInstanceState);
+        setContentView(R.layout.activity_favorites);
+
+        FirebaseAuth auth = FirebaseAuth.getInstance();
+        if (auth.getCurrentUser() == null) {
+            Toast.makeText(this, "Please login to see favorites", Toast.LENGTH_SHORT).show();
+            finish();
+            return;
+        }
+
+        backButton = findViewById(R.id.back_button);
+        loadingIndicator = findViewById(R.id.loading_indicator);
+        favoritesRecycler = findViewById(R.id.favorites_recycler);
+        emptyState = findViewById(R.id.empty_state);
+
+        backButton.setOnClickListener(v -> finish());
+
+        favoritesRecycler.setLayoutManager(new GridLayoutManager(this, 2));
+        adapter = new DoctorAdapter(new ArrayList<>(), this::openDoctorDetails);
+        favoritesRecycler.setAdapter(adapter);
+        adapter.attachPreloader(favoritesRecycler);
+        adapter.attachDetailPrefetcher(favoritesRecycler);
+
+        favoritesRepository = FavoritesRepository.getInstance(this);
+        favoritesRepository.start(auth.getCurrentUser().getUid());
+        favoritesListener = this::showFavorites;
+        favoritesRepository.addListener(favoritesListener);
+    }
+
+    private void showFavorites(List<String> doctorIds) {
+        if (doctorIds.equals(shownIds)) return;
+        shownIds = doctorIds;
+
+        if (doctorIds.isEmpty()) {
+            adapter.updateData(new ArrayList<>());
+            updateUI();
+            return;
+        }
+
+        DoctorDirectory.load(doctorIds, doctors -> {
+            // A newer set may have arrived while this batch was loading
+            if (isFinishing() || doctorIds != shownIds) return;
+            adapter.updateData(doctors);
+            updateUI();
+        });
+    }
+
+    private void updateUI() {
+        loadingIndicator.setVisibility(View.GONE);
+        boolean empty = adapter.getItemCount() == 0;
+        emptyState.setVisibility(empty ? View.VISIBLE : View.GONE);
+        favoritesRecycler.setVisibility(empty ? View.GONE : View.VISIBLE);
+    }
+
+    private void openDoctorDetails(Doctor doctor) {
+        Intent intent = new Intent(this, DoctorDetailsActivity.class);
+        intent.putExtra("doctorId", doctor.getId());
+        intent.putExtra("doctorName", doctor.getName());
+        intent.putExtra("doctorSpeciality", doctor.getSpeciality());
+        intent.putExtra("doctorImage", doctor.getImage());
+        intent.putExtra("consultationFee", doctor.getConsultationFee());
+        intent.putExtra("doctorPhone", doctor.getMobile());
+        intent.putExtra("doctorRating", doctor.getRating());
+        intent.putExtra("doctorExperience", doctor.getExperience());
+        intent.putExtra("doctorAbout", doctor.getAbout());
+        intent.putExtra("doctorDegree", doctor.getDegree());
+        intent.putExtra("doctorUniversity", doctor.getUniversity());
+        startActivity(intent);
+    }
+
+    @Override
+    protected void onDestroy() {
+        super.onDestroy();
+        if (favoritesRepository != null && favoritesListener != null) {
+            favoritesRepository.removeListener(favoritesListener);
+        }
+    }
+}
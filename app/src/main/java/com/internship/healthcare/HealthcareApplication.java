@@ -0,0 +1,32 @@
+package com.internship.healthcare;
+
+import android.app.Application;
+
+import com.internship.healthcare.utils.PresenceManager;
+import com.internship.healthcare.utils.StartupOrchestrator;
+/**
+ * HealthcareApplication.java
+ * A comprehensive healthcare management Android application
+ * Application class that runs before any screen is created.
+ * Configures the Realtime Database for offline persistence through {@link StartupOrchestrator},
+ * which must happen before the first database reference is obtained, and
+ * registers the app-wide presence lifecycle tracking before any activity starts.
+ *
+ * <p>Extends: {@link Application}</p>
+ * Package: com.internship.healthcare
+ *
+ * @author Mustafa Merchant
+ * @version 1.0
+ * @since 2025
+ */
+
+
+public class HealthcareApplication extends Application {
+
+    @Override
+    public void onCreate() {
+        super.onCreate();
+        StartupOrchestrator.init(this);
+        PresenceManager.getInstance().init(this);
+    }
+}
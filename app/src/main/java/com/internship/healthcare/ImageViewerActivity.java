@@ -1,17 +1,34 @@
 package com.internship.healthcare;
 
+import android.graphics.BitmapFactory;
+import android.graphics.drawable.Drawable;
+import android.media.ExifInterface;
 import android.os.Bundle;
+import android.view.View;
 import android.widget.ImageButton;
+import android.widget.ProgressBar;
 import android.widget.Toast;
 
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 import androidx.appcompat.app.AppCompatActivity;
 
 import com.bumptech.glide.Glide;
+import com.bumptech.glide.request.target.CustomTarget;
+import com.bumptech.glide.request.target.Target;
+import com.bumptech.glide.request.transition.Transition;
 import com.github.chrisbanes.photoview.PhotoView;
+import com.internship.healthcare.views.TiledImageView;
+
+import java.io.File;
+import java.io.IOException;
 /**
  * ImageViewerActivity.java
  * A comprehensive healthcare management Android application
  * Activity handling image viewer screen and user interactions.
+ * The image is downloaded to Glide's disk cache first; ordinary images are shown
+ * in a PhotoView, while very large ones such as certificate scans switch to a
+ * {@link TiledImageView} that decodes only the visible region.
  *
  * <p>Extends: {@link AppCompatActivity}</p>
  * Package: com.internship.healthcare
@@ -24,7 +41,13 @@ import com.github.chrisbanes.photoview.PhotoView;
 
 public class ImageViewerActivity extends AppCompatActivity {
 
+    // Above this many pixels the whole bitmap is not decoded at once
+    private static final long TILED_MODE_MIN_PIXELS = 4_000_000L;
+    private static final int TILED_MODE_MIN_EDGE = 4096;
+
     private PhotoView photoView;
+    private TiledImageView tiledImageView;
+    private ProgressBar loadingProgress;
     private ImageButton backButton;
 
     @Override
@@ -34,14 +57,14 @@ public class ImageViewerActivity extends AppCompatActivity {
 
 
         photoView = findViewById(R.id.photo_view);
+        tiledImageView = findViewById(R.id.tiled_image_view);
+        loadingProgress = findViewById(R.id.loading_progress);
         backButton = findViewById(R.id.back_button);
 
         String imageUrl = getIntent().getStringExtra("imageUrl");
 
         if (imageUrl != null && !imageUrl.isEmpty()) {
-            Glide.with(this)
-                    .load(imageUrl)
-                    .into(photoView);
+            loadImage(imageUrl);
         } else {
             Toast.makeText(this, "Image not found", Toast.LENGTH_SHORT).show();
             finish();
@@ -50,4 +73,86 @@ public class ImageViewerActivity extends AppCompatActivity {
 
         backButton.setOnClickListener(v -> finish());
     }
+
+    @Override
+    protected void onDestroy() {
+        super.onDestroy();
+        tiledImageView.recycle();
+    }
+
+    private void loadImage(String imageUrl) {
+        // The original file is needed either way; the size decides how it is shown
+        Glide.with(this)
+                .asFile()
+                .load(imageUrl)
+                .into(new CustomTarget<File>() {
+                    @Override
+                    public void onResourceReady(@NonNull File file, @Nullable Transition<? super File> transition) {
+                        showImage(file);
+                    }
+
+                    @Override
+                    public void onLoadFailed(@Nullable Drawable errorDrawable) {
+                        loadingProgress.setVisibility(View.GONE);
+                        Toast.makeText(ImageViewerActivity.this, "Failed to load image", Toast.LENGTH_SHORT).show();
+                    }
+
+                    @Override
+                    public void onLoadCleared(@Nullable Drawable placeholder) {
+                    }
+                });
+    }
+
+    private void showImage(File file) {
+        BitmapFactory.Options bounds = new BitmapFactory.Options();
+        bounds.inJustDecodeBounds = true;
+        BitmapFactory.decodeFile(file.getAbsolutePath(), bounds);
+
+        boolean large = (long) bounds.outWidth * bounds.outHeight > TILED_MODE_MIN_PIXELS
+                || Math.max(bounds.outWidth, bounds.outHeight) > TILED_MODE_MIN_EDGE;
+
+        if (large) {
+            photoView.setVisibility(View.GONE);
+            tiledImageView.setVisibility(View.VISIBLE);
+            tiledImageView.setOnImageEventListener(new TiledImageView.OnImageEventListener() {
+                @Override
+                public void onImageReady() {
+                    loadingProgress.setVisibility(View.GONE);
+                }
+
+                @Override
+                public void onImageError(Exception e) {
+                    loadingProgress.setVisibility(View.GONE);
+                    Toast.makeText(ImageViewerActivity.this, "Failed to load image", Toast.LENGTH_SHORT).show();
+                }
+            });
+            tiledImageView.setImageFile(file, readRotation(file));
+        } else {
+            loadingProgress.setVisibility(View.GONE);
+            // Full resolution so zooming stays sharp
+            Glide.with(this)
+                    .load(file)
+                    .override(Target.SIZE_ORIGINAL)
+                    .into(photoView);
+        }
+    }
+
+    private int readRotation(File file) {
+        try {
+            int orientation = new ExifInterface(file.getAbsolutePath())
+                    .getAttributeInt(ExifInterface.TAG_ORIENTATION, ExifInterface.ORIENTATION_NORMAL);
+            switch (orientation) {
+                case ExifInterface.ORIENTATION_ROTATE_90:
+                    return 90;
+                case ExifInterface.ORIENTATION_ROTATE_180:
+                    return 180;
+                case ExifInterface.ORIENTATION_ROTATE_270:
+                    return 270;
+                default:
+                    return 0;
+            }
+        } catch (IOException e) {
+            return 0;
+        }
+    }
 }
@@ -1,18 +1,23 @@
 package com.internship.healthcare;
 
+import android.Manifest;
 import android.content.Intent;
+import android.content.pm.PackageManager;
+import android.os.Build;
 import android.os.Bundle;
 import android.util.Log;
 import android.view.View;
 import android.widget.ImageButton;
 import android.widget.LinearLayout;
 import android.widget.TextView;
-import android.widget.Toast;
 
 import androidx.activity.EdgeToEdge;
+import androidx.activity.result.ActivityResultLauncher;
+import androidx.activity.result.contract.ActivityResultContracts;
 import androidx.annotation.NonNull;
 import androidx.appcompat.app.AppCompatActivity;
 import androidx.appcompat.app.AppCompatDelegate;
+import androidx.core.content.ContextCompat;
 import androidx.core.graphics.Insets;
 import androidx.core.view.ViewCompat;
 import androidx.core.view.WindowCompat;
@@ -25,12 +30,17 @@ import com.google.firebase.auth.FirebaseAuth;
 import com.google.firebase.database.DataSnapshot;
 import com.google.firebase.database.DatabaseError;
 import com.google.firebase.database.DatabaseReference;
-import com.google.firebase.database.FirebaseDatabase;
 import com.google.firebase.database.ValueEventListener;
 import com.internship.healthcare.fragments.AppointmentsFragment;
 import com.internship.healthcare.fragments.CategoryFragment;
 import com.internship.healthcare.fragments.HomeFragment;
 import com.internship.healthcare.fragments.ProfileFragment;
+import com.internship.healthcare.utils.AppointmentReminderScheduler;
+import com.internship.healthcare.utils.FavoritesRepository;
+import com.internship.healthcare.utils.NotificationUtils;
+import com.internship.healthcare.utils.PresenceManager;
+import com.internship.healthcare.utils.StartupOrchestrator;
+import com.internship.healthcare.utils.UserSessionRepository;
 /**
  * MainActivity.java
  * A comprehensive healthcare management Android application
@@ -52,8 +62,13 @@ public class MainActivity extends AppCompatActivity {
     private TextView greetingText, subtitleText, notificationBadge;
     private ImageButton notificationButton;
     private FirebaseAuth auth;
-    private DatabaseReference databaseReference;
     private LinearLayout greetingContainer;
+    private DatabaseReference unreadCountRef;
+    private ValueEventListener unreadCountListener;
+    private UserSessionRepository.OnSessionChangeListener sessionListener;
+    private UserSessionRepository.UserSession currentSession;
+    private boolean isHomeAppBar = true;
+    private ActivityResultLauncher<String> notificationPermissionLauncher;
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
@@ -78,7 +93,9 @@ public class MainActivity extends AppCompatActivity {
         });
 
         auth = FirebaseAuth.getInstance();
-        databaseReference = FirebaseDatabase.getInstance().getReference("users");
+        // Denial only hides system notifications; the in-app inbox still works
+        notificationPermissionLauncher = registerForActivityResult(
+                new ActivityResultContracts.RequestPermission(), granted -> {});
 
         greetingText = findViewById(R.id.greeting_text);
         subtitleText = findViewById(R.id.subtitle_text);
@@ -87,11 +104,12 @@ public class MainActivity extends AppCompatActivity {
         bottomNavigationView = findViewById(R.id.bottom_navigation);
         fabMessages = findViewById(R.id.fab_messages);
 
-        com.internship.healthcare.utils.AppointmentStatusUpdater.updateExpiredAppointments();
+        PresenceManager.getInstance().start();
+        if (auth.getCurrentUser() != null) {
+            StartupOrchestrator.keepUserDataSynced(auth.getCurrentUser().getUid());
+        }
 
-        loadUserData();
-        checkUserRoleAndConfigureNav();
-        updateNotificationBadge();
+        startUserSession();
 
 
         if (savedInstanceState == null) {
@@ -138,14 +156,13 @@ public class MainActivity extends AppCompatActivity {
     protected void onResume() {
         super.onResume();
         Log.d("MainActivity", "onResume called");
-        updateNotificationBadge();
-        checkUserRoleAndConfigureNav();
     }
 
     @Override
     protected void onStart() {
         super.onStart();
         Log.d("MainActivity", "onStart called");
+        startNotificationBadge();
     }
 
     @Override
@@ -158,12 +175,16 @@ public class MainActivity extends AppCompatActivity {
     protected void onStop() {
         super.onStop();
         Log.d("MainActivity", "onStop called");
+        stopNotificationBadge();
     }
 
     @Override
     protected void onDestroy() {
         super.onDestroy();
         Log.d("MainActivity", "onDestroy called");
+        if (sessionListener != null) {
+            UserSessionRepository.getInstance(this).removeListener(sessionListener);
+        }
     }
 
     @Override
@@ -185,68 +206,47 @@ public class MainActivity extends AppCompatActivity {
     }
 
     
-    private void loadUserData() {
-        
+    private void startUserSession() {
+        UserSessionRepository sessionRepository = UserSessionRepository.getInstance(this);
         if (auth.getCurrentUser() != null) {
-            String userId = auth.getCurrentUser().getUid();
-
-            databaseReference.child(userId).addListenerForSingleValueEvent(new ValueEventListener() {
-                @Override
-                public void onDataChange(@NonNull DataSnapshot snapshot) {
-                    if (snapshot.exists()) {
-                        String userName = snapshot.child("name").getValue(String.class);
-                        if (userName != null && !userName.isEmpty()) {
-                            greetingText.setText("Hello " + userName);
-                        } else {
-                            greetingText.setText("Hello There!");
-                        }
-                    } else {
-                        greetingText.setText("Hello There!");
-                    }
-                }
+            sessionRepository.start(auth.getCurrentUser().getUid());
+            FavoritesRepository.getInstance(this).start(auth.getCurrentUser().getUid());
+            // Reminders and expiry of this user's approved appointments run off one alarm
+            AppointmentReminderScheduler.getInstance(this).start(auth.getCurrentUser().getUid());
+            requestNotificationPermission();
+        }
 
-                @Override
-                public void onCancelled(@NonNull DatabaseError error) {
-                    Toast.makeText(MainActivity.this, "Failed to load user data", Toast.LENGTH_SHORT).show();
-                    greetingText.setText("Hello There!");
-                }
-            });
-        } else {
-            greetingText.setText("Hello There!");
+        // Delivers the cached session immediately, then live updates
+        sessionListener = session -> {
+            currentSession = session;
+            if (isHomeAppBar) {
+                showGreeting();
+            }
+            updatePatientsTabVisibility(session.isVerifiedDoctor());
+        };
+        sessionRepository.addListener(sessionListener);
+
+        if (currentSession == null) {
+            showGreeting();
+            updatePatientsTabVisibility(false);
         }
     }
 
-    
-    private void checkUserRoleAndConfigureNav() {
-        if (auth.getCurrentUser() != null) {
-            String userId = auth.getCurrentUser().getUid();
-
-            databaseReference.child(userId).addListenerForSingleValueEvent(new ValueEventListener() {
-                @Override
-                public void onDataChange(@NonNull DataSnapshot snapshot) {
-                    if (snapshot.exists()) {
-                        String role = snapshot.child("role").getValue(String.class);
-                        Boolean isVerified = snapshot.child("isVerified").getValue(Boolean.class);
-                        
-
-                        if (role == null) role = "patient";
-                        if (isVerified == null) isVerified = false;
-
-                        boolean showPatientsTab = "doctor".equals(role) && isVerified;
-                        updatePatientsTabVisibility(showPatientsTab);
-                    } else {
-                        updatePatientsTabVisibility(false);
-                    }
-                }
+    private void requestNotificationPermission() {
+        // Reminders and chat messages are posted as system notifications, which need this on API 33+
+        if (Build.VERSION.SDK_INT < Build.VERSION_CODES.TIRAMISU) return;
+        if (ContextCompat.checkSelfPermission(this, Manifest.permission.POST_NOTIFICATIONS)
+                == PackageManager.PERMISSION_GRANTED) return;
+        notificationPermissionLauncher.launch(Manifest.permission.POST_NOTIFICATIONS);
+    }
 
-                @Override
-                public void onCancelled(@NonNull DatabaseError error) {
-                    Toast.makeText(MainActivity.this, "Failed to check user role", Toast.LENGTH_SHORT).show();
-                    updatePatientsTabVisibility(false);
-                }
-            });
+    
+    private void showGreeting() {
+        String userName = currentSession != null ? currentSession.name : null;
+        if (userName != null && !userName.isEmpty()) {
+            greetingText.setText("Hello " + userName);
         } else {
-            updatePatientsTabVisibility(false);
+            greetingText.setText("Hello There!");
         }
     }
 
@@ -259,10 +259,11 @@ public class MainActivity extends AppCompatActivity {
 
     
     private void updateAppBar(boolean isHome, String title, String subtitle) {
+        isHomeAppBar = isHome;
         if (isHome) {
             greetingText.setTextAlignment(View.TEXT_ALIGNMENT_VIEW_START);
             subtitleText.setVisibility(View.VISIBLE);
-            loadUserData();
+            showGreeting();
         } else {
             
             if (title != null) {
@@ -275,30 +276,27 @@ public class MainActivity extends AppCompatActivity {
     }
 
     
-    private void updateNotificationBadge() {
+    private void startNotificationBadge() {
         if (auth.getCurrentUser() == null) {
             notificationBadge.setVisibility(View.GONE);
             return;
         }
+        if (unreadCountListener != null) return;
 
         String userId = auth.getCurrentUser().getUid();
-        DatabaseReference notificationsRef = FirebaseDatabase.getInstance()
-                .getReference("notifications")
-                .child(userId);
+        unreadCountRef = NotificationUtils.getUnreadCountRef(userId);
 
-        notificationsRef.addValueEventListener(new ValueEventListener() {
+        unreadCountListener = new ValueEventListener() {
             @Override
             public void onDataChange(@NonNull DataSnapshot snapshot) {
-                int unreadCount = 0;
-                for (DataSnapshot child : snapshot.getChildren()) {
-                    Boolean isRead = child.child("read").getValue(Boolean.class);
-                    if (isRead != null && !isRead) {
-                        unreadCount++;
-                    }
+                Long count = snapshot.getValue(Long.class);
+                if (count == null) {
+                    NotificationUtils.rebuildUnreadCount(userId);
+                    count = 0L;
                 }
 
-                if (unreadCount > 0) {
-                    String badgeText = unreadCount > 99 ? "99+" : String.valueOf(unreadCount);
+                if (count > 0) {
+                    String badgeText = count > 99 ? "99+" : String.valueOf(count);
                     notificationBadge.setText(badgeText);
                     notificationBadge.setVisibility(View.VISIBLE);
                 } else {
@@ -310,10 +308,14 @@ public class MainActivity extends AppCompatActivity {
             public void onCancelled(@NonNull DatabaseError error) {
                 notificationBadge.setVisibility(View.GONE);
             }
-        });
+        };
+        unreadCountRef.addValueEventListener(unreadCountListener);
     }
-}
-
-
 
-     
\ No newline at end of file
+    private void stopNotificationBadge() {
+        if (unreadCountRef != null && unreadCountListener != null) {
+            unreadCountRef.removeEventListener(unreadCountListener);
+        }
+        unreadCountListener = null;
+    }
+}
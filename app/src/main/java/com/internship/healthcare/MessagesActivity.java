@@ -21,13 +21,18 @@ import com.google.firebase.database.FirebaseDatabase;
 import com.google.firebase.database.ValueEventListener;
 import com.internship.healthcare.adapters.ChatListAdapter;
 import com.internship.healthcare.models.Chat;
-import com.internship.healthcare.utils.MessagingUtils;
+import com.internship.healthcare.utils.PresenceManager;
 import com.internship.healthcare.utils.SessionManager;
 
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 /**
  * MessagesActivity.java
  * A comprehensive healthcare management Android application
@@ -64,6 +69,7 @@ public class MessagesActivity extends AppCompatActivity {
     private String currentUserId;
     private DatabaseReference chatsRef;
     private ValueEventListener chatsListener;
+    private final Map<String, PresenceManager.Subscription> presenceSubscriptions = new HashMap<>();
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
@@ -81,6 +87,8 @@ public class MessagesActivity extends AppCompatActivity {
 
         setupMessagesRecyclerView();
 
+        PresenceManager.getInstance().start();
+
         loadChats();
     }
 
@@ -132,6 +140,7 @@ public class MessagesActivity extends AppCompatActivity {
     
         });
         messagesRecyclerView.setAdapter(chatListAdapter);
+        chatListAdapter.attachPreloader(messagesRecyclerView);
     }
 
     private void loadChats() {
@@ -148,6 +157,10 @@ public class MessagesActivity extends AppCompatActivity {
                     Chat chat = chatSnapshot.getValue(Chat.class);
     
                     if (chat != null) {
+                        Boolean online = chat.getOtherUserId() != null
+                                ? PresenceManager.getInstance().getCachedOnline(chat.getOtherUserId())
+                                : null;
+                        chat.setOnline(online != null && online);
                         allChats.add(chat);
                         totalUnread += chat.getUnreadCount();
                     }
@@ -165,6 +178,7 @@ public class MessagesActivity extends AppCompatActivity {
                 filteredChats = new ArrayList<>(allChats);
                 chatListAdapter.updateChats(filteredChats);
                 updateUnreadBadge(totalUnread);
+                updatePresenceSubscriptions();
                 hideLoading();
             }
 
@@ -178,6 +192,32 @@ public class MessagesActivity extends AppCompatActivity {
         chatsRef.addValueEventListener(chatsListener);
     }
 
+    
+    private void updatePresenceSubscriptions() {
+        Set<String> contactIds = new HashSet<>();
+        for (Chat chat : allChats) {
+            if (chat.getOtherUserId() != null) {
+                contactIds.add(chat.getOtherUserId());
+            }
+        }
+
+        Iterator<Map.Entry<String, PresenceManager.Subscription>> it = presenceSubscriptions.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<String, PresenceManager.Subscription> entry = it.next();
+            if (!contactIds.contains(entry.getKey())) {
+                entry.getValue().cancel();
+                it.remove();
+            }
+        }
+
+        for (String contactId : contactIds) {
+            if (!presenceSubscriptions.containsKey(contactId)) {
+                presenceSubscriptions.put(contactId, PresenceManager.getInstance().subscribe(contactId,
+                        (userId, online, lastSeen) -> chatListAdapter.updateOnlineStatus(userId, online)));
+            }
+        }
+    }
+
     private void filterChats(String query) {
         if (query == null || query.trim().isEmpty()) {
             filteredChats = new ArrayList<>(allChats);
@@ -242,25 +282,16 @@ public class MessagesActivity extends AppCompatActivity {
         }
     }
 
-    @Override
-    protected void onResume() {
-        super.onResume();
-        MessagingUtils.updateOnlineStatus(currentUserId, true);
-    }
-    
-
-    @Override
-    protected void onPause() {
-        super.onPause();
-        MessagingUtils.updateOnlineStatus(currentUserId, false);
-    }
-
     @Override
     protected void onDestroy() {
         super.onDestroy();
         if (chatsListener != null && chatsRef != null) {
             chatsRef.removeEventListener(chatsListener);
         }
+        for (PresenceManager.Subscription subscription : presenceSubscriptions.values()) {
+            subscription.cancel();
+        }
+        presenceSubscriptions.clear();
     }
 }
 
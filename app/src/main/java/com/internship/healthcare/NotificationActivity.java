@@ -16,18 +16,21 @@ import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.google.firebase.auth.FirebaseAuth;
+import com.google.firebase.database.ChildEventListener;
 import com.google.firebase.database.DataSnapshot;
 import com.google.firebase.database.DatabaseError;
 import com.google.firebase.database.DatabaseReference;
 import com.google.firebase.database.FirebaseDatabase;
+import com.google.firebase.database.Query;
 import com.google.firebase.database.ValueEventListener;
 import com.internship.healthcare.adapters.NotificationAdapter;
 import com.internship.healthcare.models.Notification;
+import com.internship.healthcare.utils.NotificationUtils;
 
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.Comparator;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 /**
  * NotificationActivity.java
  * A comprehensive healthcare management Android application
@@ -61,7 +64,17 @@ public class NotificationActivity extends AppCompatActivity implements Notificat
 
     private FirebaseAuth auth;
     private DatabaseReference notificationsRef;
-    private ValueEventListener notificationsListener;
+    private Query newNotificationsQuery;
+    private ChildEventListener newNotificationsListener;
+
+    private static final int PAGE_SIZE = 20;
+    private static final int LOAD_MORE_THRESHOLD = 5;
+
+    private boolean isLoadingPage = false;
+    private boolean hasMorePages = true;
+    private long newestTimestamp = 0;
+    private long oldestTimestamp;
+    private String oldestKey;
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
@@ -92,6 +105,17 @@ public class NotificationActivity extends AppCompatActivity implements Notificat
 
         notificationAdapter = new NotificationAdapter(this);
         notificationsRecyclerView.setAdapter(notificationAdapter);
+
+        notificationsRecyclerView.addOnScrollListener(new RecyclerView.OnScrollListener() {
+            @Override
+            public void onScrolled(@NonNull RecyclerView recyclerView, int dx, int dy) {
+                if (dy <= 0) return;
+                int lastVisible = layoutManager.findLastVisibleItemPosition();
+                if (lastVisible >= notificationAdapter.getItemCount() - LOAD_MORE_THRESHOLD) {
+                    loadNextPage();
+                }
+            }
+        });
     }
 
     private void loadNotifications() {
@@ -106,61 +130,145 @@ public class NotificationActivity extends AppCompatActivity implements Notificat
                 .getReference("notifications")
                 .child(userId);
 
+        long retentionMs = TimeUnit.DAYS.toMillis(getResources().getInteger(R.integer.notification_retention_days));
+        NotificationUtils.pruneIfDue(this, userId, retentionMs);
+
         loadingIndicator.setVisibility(View.VISIBLE);
         emptyState.setVisibility(View.GONE);
         notificationsRecyclerView.setVisibility(View.GONE);
         clearAllButton.setVisibility(View.GONE);
 
-        notificationsListener = notificationsRef.addValueEventListener(new ValueEventListener() {
-            @Override
-    
-            public void onDataChange(@NonNull DataSnapshot snapshot) {
-                loadingIndicator.setVisibility(View.GONE);
-                
-                List<Notification> notifications = new ArrayList<>();
-                for (DataSnapshot child : snapshot.getChildren()) {
-                    Notification notification = child.getValue(Notification.class);
-                    if (notification != null) {
-                        if (notification.getId() == null || notification.getId().isEmpty()) {
-                            notification.setId(child.getKey());
+        // Newest page first; older pages are fetched as the list scrolls
+        isLoadingPage = true;
+        notificationsRef.orderByChild("timestamp")
+                .limitToLast(PAGE_SIZE)
+                .addListenerForSingleValueEvent(new ValueEventListener() {
+                    @Override
+                    public void onDataChange(@NonNull DataSnapshot snapshot) {
+                        isLoadingPage = false;
+                        loadingIndicator.setVisibility(View.GONE);
+
+                        List<Notification> page = readPageNewestFirst(snapshot, null);
+                        hasMorePages = snapshot.getChildrenCount() >= PAGE_SIZE;
+                        notificationAdapter.setNotifications(page);
+                        if (!page.isEmpty()) {
+                            newestTimestamp = page.get(0).getTimestamp();
+                            updateOldestCursor(page);
                         }
-    
-                        notifications.add(notification);
+                        updateEmptyState();
+                        listenForNewNotifications();
                     }
-                }
 
-                if (notifications.isEmpty()) {
-                    emptyState.setVisibility(View.VISIBLE);
-                    notificationsRecyclerView.setVisibility(View.GONE);
-                    clearAllButton.setVisibility(View.GONE);
-                } else {
-                    // Sort by timestamp (newest first)
-                    Collections.sort(notifications, new Comparator<Notification>() {
-                        @Override
-                        public int compare(Notification n1, Notification n2) {
-                            return Long.compare(n2.getTimestamp(), n1.getTimestamp());
+                    @Override
+                    public void onCancelled(@NonNull DatabaseError error) {
+                        isLoadingPage = false;
+                        loadingIndicator.setVisibility(View.GONE);
+                        emptyState.setVisibility(View.VISIBLE);
+                        Toast.makeText(NotificationActivity.this,
+                                "Failed to load notifications: " + error.getMessage(),
+                                Toast.LENGTH_SHORT).show();
+                    }
+                });
+    }
+
+    private void loadNextPage() {
+        if (isLoadingPage || !hasMorePages || oldestKey == null) return;
+        isLoadingPage = true;
+
+        // endAt is inclusive, so ask for one extra and drop the cursor item
+        notificationsRef.orderByChild("timestamp")
+                .endAt(oldestTimestamp, oldestKey)
+                .limitToLast(PAGE_SIZE + 1)
+                .addListenerForSingleValueEvent(new ValueEventListener() {
+                    @Override
+                    public void onDataChange(@NonNull DataSnapshot snapshot) {
+                        isLoadingPage = false;
+                        List<Notification> page = readPageNewestFirst(snapshot, oldestKey);
+                        hasMorePages = snapshot.getChildrenCount() > PAGE_SIZE;
+                        if (!page.isEmpty()) {
+                            updateOldestCursor(page);
+                            notificationAdapter.appendNotifications(page);
                         }
-                    });
-                    
-                    emptyState.setVisibility(View.GONE);
-                    notificationsRecyclerView.setVisibility(View.VISIBLE);
-                    clearAllButton.setVisibility(View.VISIBLE);
-                    notificationAdapter.setNotifications(notifications);
-    
+                    }
+
+                    @Override
+                    public void onCancelled(@NonNull DatabaseError error) {
+                        isLoadingPage = false;
+                    }
+                });
+    }
+
+    private void listenForNewNotifications() {
+        newNotificationsQuery = notificationsRef.orderByChild("timestamp").startAt(newestTimestamp + 1);
+        newNotificationsListener = newNotificationsQuery.addChildEventListener(new ChildEventListener() {
+            @Override
+            public void onChildAdded(@NonNull DataSnapshot snapshot, String previousChildName) {
+                Notification notification = readNotification(snapshot);
+                if (notification == null) return;
+
+                if (notificationAdapter.getItemCount() == 0) {
+                    oldestTimestamp = notification.getTimestamp();
+                    oldestKey = snapshot.getKey();
                 }
+                notificationAdapter.addNotificationAtTop(notification);
+                notificationsRecyclerView.scrollToPosition(0);
+                updateEmptyState();
             }
 
             @Override
-            public void onCancelled(@NonNull DatabaseError error) {
-                loadingIndicator.setVisibility(View.GONE);
-                emptyState.setVisibility(View.VISIBLE);
-                Toast.makeText(NotificationActivity.this, 
-                        "Failed to load notifications: " + error.getMessage(),
-                        Toast.LENGTH_SHORT).show();
-            }
+            public void onChildChanged(@NonNull DataSnapshot snapshot, String previousChildName) {}
+
+            @Override
+            public void onChildRemoved(@NonNull DataSnapshot snapshot) {}
+
+            @Override
+            public void onChildMoved(@NonNull DataSnapshot snapshot, String previousChildName) {}
+
+            @Override
+            public void onCancelled(@NonNull DatabaseError error) {}
         });
     }
 
+    private List<Notification> readPageNewestFirst(DataSnapshot snapshot, String skipKey) {
+        // Children arrive in ascending timestamp order
+        List<Notification> page = new ArrayList<>();
+        for (DataSnapshot child : snapshot.getChildren()) {
+            if (child.getKey() != null && child.getKey().equals(skipKey)) continue;
+            Notification notification = readNotification(child);
+            if (notification != null) {
+                page.add(notification);
+            }
+        }
+        Collections.reverse(page);
+        return page;
+    }
+
+    private Notification readNotification(DataSnapshot child) {
+        Notification notification = child.getValue(Notification.class);
+        if (notification != null && (notification.getId() == null || notification.getId().isEmpty())) {
+            notification.setId(child.getKey());
+        }
+        return notification;
+    }
+
+    private void updateOldestCursor(List<Notification> newestFirstPage) {
+        Notification oldest = newestFirstPage.get(newestFirstPage.size() - 1);
+        oldestTimestamp = oldest.getTimestamp();
+        oldestKey = oldest.getId();
+    }
+
+    private void updateEmptyState() {
+        if (notificationAdapter.getItemCount() == 0) {
+            emptyState.setVisibility(View.VISIBLE);
+            notificationsRecyclerView.setVisibility(View.GONE);
+            clearAllButton.setVisibility(View.GONE);
+        } else {
+            emptyState.setVisibility(View.GONE);
+            notificationsRecyclerView.setVisibility(View.VISIBLE);
+            clearAllButton.setVisibility(View.VISIBLE);
+        }
+    }
+
     @Override
     public void onNotificationClick(Notification notification) {
         // Mark as read
@@ -196,12 +304,9 @@ public class NotificationActivity extends AppCompatActivity implements Notificat
     
 
         String userId = auth.getCurrentUser().getUid();
-        FirebaseDatabase.getInstance()
-                .getReference("notifications")
-                .child(userId)
-                .child(notification.getId())
-                .child("read")
-                .setValue(true);
+        NotificationUtils.markAsRead(userId, notification.getId());
+        notification.setRead(true);
+        notificationAdapter.notifyNotificationChanged(notification);
     }
 
     private void deleteNotification(Notification notification) {
@@ -214,14 +319,11 @@ public class NotificationActivity extends AppCompatActivity implements Notificat
         }
 
         String userId = auth.getCurrentUser().getUid();
-        FirebaseDatabase.getInstance()
-                .getReference("notifications")
-                .child(userId)
-                .child(notification.getId())
-                .removeValue()
+        NotificationUtils.deleteNotification(userId, notification.getId(), notification.isRead())
                 .addOnSuccessListener(aVoid -> {
                     Toast.makeText(this, "Notification deleted", Toast.LENGTH_SHORT).show();
                     notificationAdapter.removeNotification(notification);
+                    updateEmptyState();
                 })
                 .addOnFailureListener(e -> {
                     Toast.makeText(this, "Failed to delete notification", Toast.LENGTH_SHORT).show();
@@ -242,13 +344,12 @@ public class NotificationActivity extends AppCompatActivity implements Notificat
         if (auth.getCurrentUser() == null) return;
 
         String userId = auth.getCurrentUser().getUid();
-    
-        FirebaseDatabase.getInstance()
-                .getReference("notifications")
-                .child(userId)
-                .removeValue()
+        NotificationUtils.clearAll(userId)
                 .addOnSuccessListener(aVoid -> {
                     Toast.makeText(this, "All notifications cleared", Toast.LENGTH_SHORT).show();
+                    hasMorePages = false;
+                    notificationAdapter.setNotifications(new ArrayList<>());
+                    updateEmptyState();
                 })
                 .addOnFailureListener(e -> {
                     Toast.makeText(this, "Failed to clear notifications", Toast.LENGTH_SHORT).show();
@@ -258,8 +359,8 @@ public class NotificationActivity extends AppCompatActivity implements Notificat
     @Override
     protected void onDestroy() {
         super.onDestroy();
-        if (notificationsRef != null && notificationsListener != null) {
-            notificationsRef.removeEventListener(notificationsListener);
+        if (newNotificationsQuery != null && newNotificationsListener != null) {
+            newNotificationsQuery.removeEventListener(newNotificationsListener);
         }
     }
 }
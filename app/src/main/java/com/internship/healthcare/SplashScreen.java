@@ -3,8 +3,6 @@ package com.internship.healthcare;
 import android.annotation.SuppressLint;
 import android.content.Intent;
 import android.os.Bundle;
-import android.os.Handler;
-import android.os.Looper;
 import android.util.Log;
 
 import androidx.activity.EdgeToEdge;
@@ -15,6 +13,7 @@ import androidx.core.view.WindowInsetsCompat;
 
 import com.google.firebase.auth.FirebaseAuth;
 import com.internship.healthcare.utils.SessionManager;
+import com.internship.healthcare.utils.StartupOrchestrator;
 
 /**
  * SplashScreen.java
@@ -54,11 +53,9 @@ public class SplashScreen extends AppCompatActivity {
         sessionManager = new SessionManager(this);
         auth = FirebaseAuth.getInstance();
 
-        new Handler(Looper.getMainLooper()).postDelayed(() -> {
-            if (!isNavigating) {
-                checkLoginStatus();
-            }
-        }, 1200);
+        // Auth state is local, so navigate as soon as the database connection is warming
+        StartupOrchestrator.prewarm();
+        checkLoginStatus();
     }
 
     @Override
@@ -1,5 +1,6 @@
 package com.internship.healthcare;
 
+import android.content.ActivityNotFoundException;
 import android.content.Intent;
 import android.net.Uri;
 import android.os.Bundle;
@@ -24,11 +25,12 @@ import com.google.firebase.database.DatabaseReference;
 import com.google.firebase.database.FirebaseDatabase;
 import com.google.firebase.database.ValueEventListener;
 import com.internship.healthcare.adapters.DocumentUrlAdapter;
-import com.internship.healthcare.models.DoctorProfile;
 import com.internship.healthcare.models.VerificationRequest;
+import com.internship.healthcare.utils.DocumentCache;
+import com.internship.healthcare.utils.VerificationUtils;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.util.ArrayList;
+import java.util.List;
 /**
  * VerificationReviewActivity.java
  * A comprehensive healthcare management Android application
@@ -68,10 +70,10 @@ public class VerificationReviewActivity extends AppCompatActivity {
     private FirebaseAuth auth;
     private DatabaseReference verificationRequestsRef;
     private DatabaseReference usersRef;
-    private DatabaseReference doctorProfilesRef;
 
     private String userId;
     private String requestId;
+    private String nextDocumentUrl;
     private VerificationRequest currentRequest;
 
     @Override
@@ -81,6 +83,7 @@ public class VerificationReviewActivity extends AppCompatActivity {
 
         userId = getIntent().getStringExtra("userId");
         requestId = getIntent().getStringExtra("requestId");
+        nextDocumentUrl = getIntent().getStringExtra("nextDocumentUrl");
 
         if (userId == null || requestId == null) {
             Toast.makeText(this, "Invalid request", Toast.LENGTH_SHORT).show();
@@ -91,7 +94,6 @@ public class VerificationReviewActivity extends AppCompatActivity {
         auth = FirebaseAuth.getInstance();
         verificationRequestsRef = FirebaseDatabase.getInstance().getReference("verificationRequests");
         usersRef = FirebaseDatabase.getInstance().getReference("users");
-        doctorProfilesRef = FirebaseDatabase.getInstance().getReference("doctorProfiles");
 
         initializeViews();
 
@@ -219,6 +221,12 @@ public class VerificationReviewActivity extends AppCompatActivity {
             );
             documentsRecycler.setLayoutManager(new LinearLayoutManager(this));
             documentsRecycler.setAdapter(adapter);
+
+            // Most reviews start with the first certificate
+            String firstDocument = currentRequest.getDocumentUrls().get(0);
+            if (DocumentCache.isPdf(firstDocument)) {
+                DocumentCache.prefetch(this, firstDocument);
+            }
         }
     }
     /**
@@ -226,9 +234,41 @@ public class VerificationReviewActivity extends AppCompatActivity {
      */
 
     private void openDocument(String documentUrl) {
-        Intent intent = new Intent(Intent.ACTION_VIEW);
-        intent.setData(Uri.parse(documentUrl));
-        startActivity(intent);
+        List<String> documentUrls = currentRequest != null && currentRequest.getDocumentUrls() != null
+                ? currentRequest.getDocumentUrls()
+                : new ArrayList<>();
+        int index = documentUrls.indexOf(documentUrl);
+
+        if (DocumentCache.isPdf(documentUrl)) {
+            // Later certificates of this request, then the next request in the queue
+            ArrayList<String> prefetchUrls = new ArrayList<>();
+            for (int i = index + 1; i < documentUrls.size(); i++) {
+                if (DocumentCache.isPdf(documentUrls.get(i))) {
+                    prefetchUrls.add(documentUrls.get(i));
+                }
+            }
+            if (DocumentCache.isPdf(nextDocumentUrl)) {
+                prefetchUrls.add(nextDocumentUrl);
+            }
+
+            Intent intent = new Intent(this, DocumentViewerActivity.class);
+            intent.putExtra(DocumentViewerActivity.EXTRA_DOCUMENT_URL, documentUrl);
+            intent.putExtra(DocumentViewerActivity.EXTRA_TITLE, "Certificate " + (index + 1));
+            intent.putStringArrayListExtra(DocumentViewerActivity.EXTRA_PREFETCH_URLS, prefetchUrls);
+            startActivity(intent);
+        } else if (isImage(documentUrl)) {
+            Intent intent = new Intent(this, ImageViewerActivity.class);
+            intent.putExtra("imageUrl", documentUrl);
+            startActivity(intent);
+        } else {
+            try {
+                Intent intent = new Intent(Intent.ACTION_VIEW);
+                intent.setData(Uri.parse(documentUrl));
+                startActivity(intent);
+            } catch (ActivityNotFoundException e) {
+                Toast.makeText(this, "No app available to open this document", Toast.LENGTH_SHORT).show();
+            }
+        }
     /**
      * Callback invoked when data change in patient information and records
      *
@@ -236,6 +276,13 @@ public class VerificationReviewActivity extends AppCompatActivity {
      */
     }
 
+    private boolean isImage(String url) {
+        String path = url.contains("?") ? url.substring(0, url.indexOf('?')) : url;
+        path = path.toLowerCase();
+        return path.endsWith(".jpg") || path.endsWith(".jpeg")
+                || path.endsWith(".png") || path.endsWith(".webp");
+    }
+
     private void showRejectionDialog() {
         View dialogView = getLayoutInflater().inflate(R.layout.dialog_rejection_reason, null);
         TextInputEditText reasonInput = dialogView.findViewById(R.id.rejection_reason_input);
@@ -282,77 +329,17 @@ public class VerificationReviewActivity extends AppCompatActivity {
 
         showProgress(true);
 
-        // 1. Update verification request
-        Map<String, Object> requestUpdates = new HashMap<>();
-        requestUpdates.put("status", "approved");
-        requestUpdates.put("reviewedBy", adminId);
-        requestUpdates.put("reviewedAt", currentTime);
-
-        verificationRequestsRef.child(requestId).updateChildren(requestUpdates)
-                .addOnSuccessListener(aVoid -> {
-    /**
-     * Performs open document operation and updates UI accordingly.
-     *
-     * @param documentUrl string value
-     */
-                    // 2. Update user status
-                    Map<String, Object> userUpdates = new HashMap<>();
-                    userUpdates.put("role", "doctor");
-                    userUpdates.put("isVerified", true);
-                    userUpdates.put("doctorVerificationStatus", "approved");
-
-                    usersRef.child(userId).updateChildren(userUpdates)
-                            .addOnSuccessListener(aVoid2 -> {
-                                // 3. Create doctor profile
-                                createDoctorProfile(adminId, currentTime);
-    /**
-     * Displays rejection dialog to user in patient information and records
-     */
-                            })
-                            .addOnFailureListener(e -> {
-                                showProgress(false);
-                                Toast.makeText(this, "Failed to update user: " + e.getMessage(),
-                                        Toast.LENGTH_SHORT).show();
-                            });
-                })
-                .addOnFailureListener(e -> {
-                    showProgress(false);
-                    Toast.makeText(this, "Failed to update request: " + e.getMessage(),
-                            Toast.LENGTH_SHORT).show();
-                });
-    }
-
-    private void createDoctorProfile(String adminId, long verifiedAt) {
-        DoctorProfile profile = new DoctorProfile();
-        profile.setUserId(userId);
-        profile.setSpecialty(currentRequest.getSpecialty());
-        profile.setDegree(currentRequest.getDegree());
-        profile.setUniversity(currentRequest.getUniversity());
-        profile.setExperienceYears(currentRequest.getExperienceYears());
-        profile.setConsultationFee(currentRequest.getConsultationFee());
-        profile.setCertificateUrls(currentRequest.getDocumentUrls());
-    /**
-     * Displays approval confirmation to user in patient information and records
-     */
-        profile.setVerifiedBy(adminId);
-        profile.setVerifiedAt(verifiedAt);
-        profile.setTotalPatients(0);
-        profile.setRating(0.0);
-        profile.setTotalRatings(0);
-
-        doctorProfilesRef.child(userId).setValue(profile)
+        // Request, user and doctor profile are committed together
+        VerificationUtils.approve(requestId, currentRequest, adminId, currentTime)
                 .addOnSuccessListener(aVoid -> {
                     showProgress(false);
                     Toast.makeText(this, "Application approved successfully!",
                             Toast.LENGTH_LONG).show();
-    /**
-     * Approves application request in patient information and records
-     */
                     finish();
                 })
                 .addOnFailureListener(e -> {
                     showProgress(false);
-                    Toast.makeText(this, "Failed to create doctor profile: " + e.getMessage(),
+                    Toast.makeText(this, "Failed to approve application: " + e.getMessage(),
                             Toast.LENGTH_SHORT).show();
                 });
     }
@@ -365,37 +352,13 @@ public class VerificationReviewActivity extends AppCompatActivity {
 
         showProgress(true);
 
-        Map<String, Object> requestUpdates = new HashMap<>();
-        requestUpdates.put("status", "rejected");
-        requestUpdates.put("reviewedBy", adminId);
-        requestUpdates.put("reviewedAt", currentTime);
-        requestUpdates.put("rejectionReason", rejectionReason);
-
-        verificationRequestsRef.child(requestId).updateChildren(requestUpdates)
+        VerificationUtils.reject(requestId, userId, adminId, rejectionReason, currentTime)
                 .addOnSuccessListener(aVoid -> {
-                    Map<String, Object> userUpdates = new HashMap<>();
-                    userUpdates.put("doctorVerificationStatus", "rejected");
-                    userUpdates.put("isVerified", false);
-
-                    usersRef.child(userId).updateChildren(userUpdates)
-                            .addOnSuccessListener(aVoid2 -> {
-                                showProgress(false);
-                                Toast.makeText(this, "Application rejected",
-                                        Toast.LENGTH_SHORT).show();
-                                finish();
-                            })
-                            .addOnFailureListener(e -> {
-                                showProgress(false);
-                                Toast.makeText(this, "Failed to update user: " + e.getMessage(),
-                                        Toast.LENGTH_SHORT).show();
-                            });
+                    showProgress(false);
+                    Toast.makeText(this, "Application rejected",
+                            Toast.LENGTH_SHORT).show();
+                    finish();
                 })
-    /**
-     * Creates new doctor profile instance in patient information and records to Firebase Realtime Database
-     *
-     * @param adminId string value
-     * @param verifiedAt long integer value
-     */
                 .addOnFailureListener(e -> {
                     showProgress(false);
                     Toast.makeText(this, "Failed to reject application: " + e.getMessage(),
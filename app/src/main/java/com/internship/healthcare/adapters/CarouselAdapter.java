@@ -7,6 +7,7 @@ import android.widget.ImageView;
 import androidx.annotation.NonNull;
 import androidx.recyclerview.widget.RecyclerView;
 
+import com.bumptech.glide.Glide;
 import com.internship.healthcare.R;
 
 import java.util.List;
@@ -40,7 +41,10 @@ public class CarouselAdapter extends RecyclerView.Adapter<CarouselAdapter.Carous
 
     @Override
     public void onBindViewHolder(@NonNull CarouselViewHolder holder, int position) {
-        holder.imageView.setImageResource(imageResources.get(position));
+        // Glide decodes off the main thread, downsampled to the item size
+        Glide.with(holder.imageView)
+                .load(imageResources.get(position))
+                .into(holder.imageView);
     }
 
     @Override
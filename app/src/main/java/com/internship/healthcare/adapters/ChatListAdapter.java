@@ -7,14 +7,21 @@ import android.widget.ImageView;
 import android.widget.TextView;
 
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.bumptech.glide.Glide;
+import com.bumptech.glide.ListPreloader;
+import com.bumptech.glide.RequestBuilder;
+import com.bumptech.glide.RequestManager;
+import com.bumptech.glide.integration.recyclerview.RecyclerViewPreloader;
+import com.bumptech.glide.util.ViewPreloadSizeProvider;
 import com.internship.healthcare.R;
 import com.internship.healthcare.models.Chat;
 
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
 import java.util.List;
 import java.util.Locale;
@@ -30,10 +37,16 @@ import java.util.Locale;
  */
 
 
-public class ChatListAdapter extends RecyclerView.Adapter<ChatListAdapter.ChatViewHolder> {
+public class ChatListAdapter extends RecyclerView.Adapter<ChatListAdapter.ChatViewHolder>
+        implements ListPreloader.PreloadModelProvider<String> {
+
+    // Avatars fetched ahead of the scroll position
+    private static final int MAX_PRELOAD = 10;
 
     private List<Chat> chats;
     private OnChatClickListener listener;
+    private final ViewPreloadSizeProvider<String> preloadSizeProvider = new ViewPreloadSizeProvider<>();
+    private RequestManager requestManager;
 
     public interface OnChatClickListener {
         void onChatClick(Chat chat);
@@ -74,6 +87,42 @@ public class ChatListAdapter extends RecyclerView.Adapter<ChatListAdapter.ChatVi
         notifyDataSetChanged();
     }
 
+    public void attachPreloader(RecyclerView recyclerView) {
+        requestManager = Glide.with(recyclerView);
+        recyclerView.addOnScrollListener(
+                new RecyclerViewPreloader<>(requestManager, this, preloadSizeProvider, MAX_PRELOAD));
+    }
+
+    @NonNull
+    @Override
+    public List<String> getPreloadItems(int position) {
+        if (position >= chats.size()) return Collections.emptyList();
+        String imageUrl = chats.get(position).getOtherUserImage();
+        if (imageUrl == null || imageUrl.isEmpty()) return Collections.emptyList();
+        return Collections.singletonList(imageUrl);
+    }
+
+    @Nullable
+    @Override
+    public RequestBuilder<?> getPreloadRequestBuilder(@NonNull String imageUrl) {
+        return requestManager != null ? avatarRequest(requestManager, imageUrl) : null;
+    }
+
+    private RequestBuilder<?> avatarRequest(RequestManager glide, String imageUrl) {
+        // Shared by bind and preload so both resolve to the same cache key
+        return glide.load(imageUrl).circleCrop();
+    }
+
+    public void updateOnlineStatus(String userId, boolean online) {
+        for (int i = 0; i < chats.size(); i++) {
+            Chat chat = chats.get(i);
+            if (userId.equals(chat.getOtherUserId()) && chat.isOnline() != online) {
+                chat.setOnline(online);
+                notifyItemChanged(i);
+            }
+        }
+    }
+
     private String formatTime(long timestamp) {
         Date messageDate = new Date(timestamp);
         Date today = new Date();
@@ -116,12 +165,11 @@ public class ChatListAdapter extends RecyclerView.Adapter<ChatListAdapter.ChatVi
                 nameText.setText("Unknown User");
             }
 
-            Glide.with(itemView.getContext())
-                    .load(chat.getOtherUserImage())
-                    .circleCrop()
+            avatarRequest(Glide.with(itemView.getContext()), chat.getOtherUserImage())
                     .placeholder(R.drawable.ic_profile)
                     .error(R.drawable.ic_profile)
                     .into(profileImage);
+            preloadSizeProvider.setView(profileImage);
 
             String lastMsg = chat.getLastMessage();
             if (lastMsg != null && !lastMsg.isEmpty()) {
@@ -1,5 +1,10 @@
 package com.internship.healthcare.adapters;
 
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.graphics.drawable.BitmapDrawable;
+import android.graphics.drawable.Drawable;
+import android.util.LruCache;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
@@ -10,9 +15,11 @@ import androidx.annotation.NonNull;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.bumptech.glide.Glide;
+import com.bumptech.glide.RequestManager;
 import com.google.android.material.card.MaterialCardView;
 import com.internship.healthcare.R;
 import com.internship.healthcare.models.ChatMessage;
+import com.internship.healthcare.utils.BlurHash;
 
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
@@ -36,9 +43,17 @@ public class ChatMessageAdapter extends RecyclerView.Adapter<RecyclerView.ViewHo
     private static final int VIEW_TYPE_SENT = 1;
     private static final int VIEW_TYPE_RECEIVED = 2;
 
+    // Image bubble bounds in dp; messages without dimensions keep the square default
+    private static final int IMAGE_MAX_WIDTH_DP = 240;
+    private static final int IMAGE_MAX_HEIGHT_DP = 320;
+    private static final int IMAGE_MIN_EDGE_DP = 120;
+    private static final int IMAGE_DEFAULT_EDGE_DP = 200;
+    private static final int PLACEHOLDER_EDGE_PX = 32;
+
     private List<ChatMessage> messages;
     private String currentUserId;
     private OnMessageClickListener listener;
+    private final LruCache<String, Bitmap> placeholderCache = new LruCache<>(64);
 
 /**
  * RecyclerView adapter managing chat message data binding and view recycling.
@@ -116,6 +131,69 @@ public class ChatMessageAdapter extends RecyclerView.Adapter<RecyclerView.ViewHo
         notifyItemInserted(messages.size() - 1);
     }
 
+
+    public void attachToRecyclerView(RecyclerView recyclerView) {
+        // Flinging past images only shows placeholders; loads resume once the list slows down
+        recyclerView.addOnScrollListener(new RecyclerView.OnScrollListener() {
+            @Override
+            public void onScrollStateChanged(@NonNull RecyclerView rv, int newState) {
+                RequestManager glide = Glide.with(rv);
+                if (newState == RecyclerView.SCROLL_STATE_SETTLING) {
+                    glide.pauseRequests();
+                } else {
+                    glide.resumeRequests();
+                }
+            }
+        });
+    }
+
+    private void bindImage(ChatMessage message, MaterialCardView imageCard, ImageView messageImage) {
+        Context context = imageCard.getContext();
+        float density = context.getResources().getDisplayMetrics().density;
+
+        // Size the bubble up front so it does not jump when the image arrives
+        int width = (int) (IMAGE_DEFAULT_EDGE_DP * density);
+        int height = width;
+        if (message.getImageWidth() > 0 && message.getImageHeight() > 0) {
+            float scale = Math.min(IMAGE_MAX_WIDTH_DP * density / message.getImageWidth(),
+                    IMAGE_MAX_HEIGHT_DP * density / message.getImageHeight());
+            int minEdge = (int) (IMAGE_MIN_EDGE_DP * density);
+            width = Math.max(minEdge, Math.round(message.getImageWidth() * scale));
+            height = Math.max(minEdge, Math.round(message.getImageHeight() * scale));
+        }
+        ViewGroup.LayoutParams params = imageCard.getLayoutParams();
+        if (params.width != width || params.height != height) {
+            params.width = width;
+            params.height = height;
+            imageCard.setLayoutParams(params);
+        }
+
+        Glide.with(imageCard)
+                .load(message.getImageUrl())
+                .override(width, height)
+                .centerCrop()
+                .placeholder(getPlaceholder(context, message))
+                .into(messageImage);
+    }
+
+    private Drawable getPlaceholder(Context context, ChatMessage message) {
+        String hash = message.getImagePlaceholder();
+        if (!BlurHash.isValid(hash)) return null;
+
+        Bitmap bitmap = placeholderCache.get(hash);
+        if (bitmap == null) {
+            int width = PLACEHOLDER_EDGE_PX;
+            int height = PLACEHOLDER_EDGE_PX;
+            if (message.getImageWidth() > 0 && message.getImageHeight() > 0) {
+                height = Math.max(1, Math.round(PLACEHOLDER_EDGE_PX
+                        * (float) message.getImageHeight() / message.getImageWidth()));
+            }
+            bitmap = BlurHash.decode(hash, width, Math.min(height, PLACEHOLDER_EDGE_PX * 4));
+            placeholderCache.put(hash, bitmap);
+        }
+        return new BitmapDrawable(context.getResources(), bitmap);
+    }
+
     private String formatTime(long timestamp) {
         SimpleDateFormat sdf = new SimpleDateFormat("hh:mm a", Locale.getDefault());
         return sdf.format(new Date(timestamp));
@@ -143,10 +221,7 @@ public class ChatMessageAdapter extends RecyclerView.Adapter<RecyclerView.ViewHo
                 messageCard.setVisibility(View.GONE);
                 imageCard.setVisibility(View.VISIBLE);
                 
-                Glide.with(itemView.getContext())
-                        .load(message.getImageUrl())
-                        .centerCrop()
-                        .into(messageImage);
+                bindImage(message, imageCard, messageImage);
 
                 imageCard.setOnClickListener(v -> {
                     if (listener != null) {
@@ -187,10 +262,7 @@ public class ChatMessageAdapter extends RecyclerView.Adapter<RecyclerView.ViewHo
                 messageCard.setVisibility(View.GONE);
                 imageCard.setVisibility(View.VISIBLE);
 
-                Glide.with(itemView.getContext())
-                        .load(message.getImageUrl())
-                        .centerCrop()
-                        .into(messageImage);
+                bindImage(message, imageCard, messageImage);
 
                 imageCard.setOnClickListener(v -> {
                     if (listener != null) {
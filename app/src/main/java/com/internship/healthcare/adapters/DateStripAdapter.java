@@ -0,0 +1,234 @@
+package com.internship.healthcare.adapters;
+
+import android.graphics.Color;
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.TextView;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.RecyclerView;
+
+import com.google.android.material.card.MaterialCardView;
+import com.internship.healthcare.R;
+import com.internship.healthcare.utils.SlotEngine;
+
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.List;
+import java.util.Locale;
+/**
+ * DateStripAdapter.java
+ * A comprehensive healthcare management Android application
+ *
+ * Package: com.internship.healthcare.adapters
+ * Horizontal booking date strip covering several weeks.
+ * Each day's labels, open-slot count and availability state are computed once
+ * when the doctor's schedule or bookings change, so binding, scrolling and
+ * selecting a date never format dates or recount slots. On the first day only
+ * slots after the given minute are counted, so a slot that has already started
+ * never makes today look open.
+ *
+ * @author Mustafa Merchant
+ * @version 1.0
+ * @since 2025
+ */
+
+
+public class DateStripAdapter extends RecyclerView.Adapter<DateStripAdapter.DateViewHolder> {
+
+    public static final int STATE_AVAILABLE = 0;
+    public static final int STATE_PARTIAL = 1;
+    public static final int STATE_FULL = 2;
+    public static final int STATE_UNAVAILABLE = 3;
+
+    private final OnDateSelectedListener listener;
+    private List<DateItem> items = new ArrayList<>();
+    private int selectedPosition = RecyclerView.NO_POSITION;
+
+    public static class DateItem {
+        public final Calendar date;
+        public final String dayLabel;
+        public final String fullDayLabel;
+        public final String dateLabel;
+        public final int totalSlots;
+        public final int openSlots;
+        public final int state;
+
+        DateItem(Calendar date, String dayLabel, String fullDayLabel, int totalSlots, int openSlots, int state) {
+            this.date = date;
+            this.dayLabel = dayLabel;
+            this.fullDayLabel = fullDayLabel;
+            this.dateLabel = String.valueOf(date.get(Calendar.DAY_OF_MONTH));
+            this.totalSlots = totalSlots;
+            this.openSlots = openSlots;
+            this.state = state;
+        }
+
+        public boolean isSelectable() {
+            return state != STATE_UNAVAILABLE;
+        }
+    }
+
+    public DateStripAdapter(OnDateSelectedListener listener) {
+        this.listener = listener;
+    }
+
+
+    public static List<DateItem> buildItems(Calendar firstDay, int days, SlotEngine engine,
+                                            SlotEngine.BookedIntervals booked, int firstDayAfterMinute) {
+        SimpleDateFormat dayFormat = new SimpleDateFormat("EEE", Locale.getDefault());
+        SimpleDateFormat fullDayFormat = new SimpleDateFormat("EEEE", Locale.getDefault());
+        int[] openCounts = engine != null
+                ? engine.countBookableSlots(firstDay, days, booked, firstDayAfterMinute) : null;
+
+        List<DateItem> items = new ArrayList<>(days);
+        Calendar day = (Calendar) firstDay.clone();
+        for (int i = 0; i < days; i++) {
+            Calendar date = (Calendar) day.clone();
+            int total = -1;
+            int open = -1;
+            int state = STATE_AVAILABLE;
+
+            // Before the schedule loads every day is shown as available without a count
+            if (engine != null) {
+                int dayOfWeek = date.get(Calendar.DAY_OF_WEEK);
+                total = i == 0 ? engine.countBookableSlots(dayOfWeek, null, firstDayAfterMinute)
+                        : engine.getSlotStarts(dayOfWeek).length;
+                open = i < openCounts.length ? openCounts[i] : total;
+                if (!engine.isWorkingDay(dayOfWeek)) {
+                    state = STATE_UNAVAILABLE;
+                } else if (open == 0) {
+                    state = STATE_FULL;
+                } else if (open < total) {
+                    state = STATE_PARTIAL;
+                }
+            }
+
+            String dayLabel = dayFormat.format(date.getTime());
+            if (dayLabel.length() > 3) dayLabel = dayLabel.substring(0, 3);
+            items.add(new DateItem(date, dayLabel, fullDayFormat.format(date.getTime()), total, open, state));
+            day.add(Calendar.DAY_OF_YEAR, 1);
+        }
+        return items;
+    }
+
+    public void setItems(List<DateItem> newItems, int selectedPosition) {
+        this.items = newItems;
+        this.selectedPosition = selectedPosition;
+        notifyDataSetChanged();
+    }
+
+    public DateItem getItem(int position) {
+        return items.get(position);
+    }
+
+    public int getSelectedPosition() {
+        return selectedPosition;
+    }
+
+    public int findPosition(Calendar date) {
+        for (int i = 0; i < items.size(); i++) {
+            Calendar itemDate = items.get(i).date;
+            if (itemDate.get(Calendar.YEAR) == date.get(Calendar.YEAR)
+                    && itemDate.get(Calendar.DAY_OF_YEAR) == date.get(Calendar.DAY_OF_YEAR)) {
+                return i;
+            }
+        }
+        return RecyclerView.NO_POSITION;
+    }
+
+    public void setSelectedPosition(int position) {
+        if (position == selectedPosition) return;
+        int previous = selectedPosition;
+        selectedPosition = position;
+        if (previous != RecyclerView.NO_POSITION) notifyItemChanged(previous);
+        if (position != RecyclerView.NO_POSITION) notifyItemChanged(position);
+    }
+
+    @NonNull
+    @Override
+    public DateViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+        View view = LayoutInflater.from(parent.getContext())
+                .inflate(R.layout.item_date_strip, parent, false);
+        return new DateViewHolder(view);
+    }
+
+    @Override
+    public void onBindViewHolder(@NonNull DateViewHolder holder, int position) {
+        DateItem item = items.get(position);
+        holder.dayText.setText(item.dayLabel);
+        holder.dateText.setText(item.dateLabel);
+
+        boolean isSelected = position == selectedPosition && item.isSelectable();
+        int textColor;
+        int availabilityColor;
+        if (item.state == STATE_UNAVAILABLE) {
+            // Grey out unavailable days
+            holder.card.setCardBackgroundColor(Color.parseColor("#E0E0E0"));
+            textColor = Color.parseColor("#9E9E9E");
+            availabilityColor = textColor;
+        } else if (isSelected) {
+            holder.card.setCardBackgroundColor(Color.parseColor("#4772F5"));
+            textColor = Color.WHITE;
+            availabilityColor = Color.WHITE;
+        } else {
+            holder.card.setCardBackgroundColor(Color.parseColor("#f4f8fb"));
+            textColor = Color.parseColor("#C4000000");
+            availabilityColor = item.state == STATE_FULL ? Color.parseColor("#D32F2F")
+                    : item.state == STATE_PARTIAL ? Color.parseColor("#FF9800")
+                    : Color.parseColor("#4CAF50");
+        }
+        holder.dayText.setTextColor(textColor);
+        holder.dateText.setTextColor(textColor);
+        holder.availabilityText.setTextColor(availabilityColor);
+
+        if (item.state == STATE_UNAVAILABLE) {
+            holder.availabilityText.setText("Off");
+            holder.availabilityText.setVisibility(View.VISIBLE);
+        } else if (item.state == STATE_FULL) {
+            holder.availabilityText.setText("Full");
+            holder.availabilityText.setVisibility(View.VISIBLE);
+        } else if (item.openSlots >= 0) {
+            holder.availabilityText.setText(item.openSlots + (item.openSlots == 1 ? " slot" : " slots"));
+            holder.availabilityText.setVisibility(View.VISIBLE);
+        } else {
+            holder.availabilityText.setVisibility(View.INVISIBLE);
+        }
+
+        holder.card.setOnClickListener(v -> {
+            int adapterPosition = holder.getBindingAdapterPosition();
+            if (adapterPosition == RecyclerView.NO_POSITION) return;
+            DateItem clicked = items.get(adapterPosition);
+            if (clicked.isSelectable()) {
+                setSelectedPosition(adapterPosition);
+            }
+            if (listener != null) {
+                listener.onDateSelected(clicked, adapterPosition);
+            }
+        });
+    }
+
+    @Override
+    public int getItemCount() {
+        return items.size();
+    }
+
+    static class DateViewHolder extends RecyclerView.ViewHolder {
+        MaterialCardView card;
+        TextView dayText, dateText, availabilityText;
+
+        DateViewHolder(@NonNull View itemView) {
+            super(itemView);
+            card = itemView.findViewById(R.id.date_card);
+            dayText = itemView.findViewById(R.id.day_text);
+            dateText = itemView.findViewById(R.id.date_text);
+            availabilityText = itemView.findViewById(R.id.availability_text);
+        }
+    }
+
+    public interface OnDateSelectedListener {
+        void onDateSelected(DateItem item, int position);
+    }
+}
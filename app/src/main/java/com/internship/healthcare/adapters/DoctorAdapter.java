@@ -9,13 +9,21 @@ import android.widget.ImageView;
 import android.widget.TextView;
 
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.bumptech.glide.Glide;
+import com.bumptech.glide.ListPreloader;
+import com.bumptech.glide.RequestBuilder;
+import com.bumptech.glide.RequestManager;
+import com.bumptech.glide.integration.recyclerview.RecyclerViewPreloader;
+import com.bumptech.glide.util.ViewPreloadSizeProvider;
 import com.google.android.material.card.MaterialCardView;
 import com.internship.healthcare.R;
 import com.internship.healthcare.models.Doctor;
+import com.internship.healthcare.utils.DwellPrefetchListener;
 
+import java.util.Collections;
 import java.util.List;
 /**
  * DoctorAdapter.java
@@ -29,10 +37,16 @@ import java.util.List;
  */
 
 
-public class DoctorAdapter extends RecyclerView.Adapter<DoctorAdapter.DoctorViewHolder> {
+public class DoctorAdapter extends RecyclerView.Adapter<DoctorAdapter.DoctorViewHolder>
+        implements ListPreloader.PreloadModelProvider<String> {
+
+    // Avatars fetched ahead of the scroll position
+    private static final int MAX_PRELOAD = 10;
 
     private List<Doctor> doctors;
     private OnDoctorClickListener listener;
+    private final ViewPreloadSizeProvider<String> preloadSizeProvider = new ViewPreloadSizeProvider<>();
+    private RequestManager requestManager;
     
     // Array of avatar background colors
     private final String[] avatarColors = {
@@ -76,17 +90,19 @@ public class DoctorAdapter extends RecyclerView.Adapter<DoctorAdapter.DoctorView
             holder.doctorRating.setText(doctor.getFormattedRating());
         }
         
-        String imageUrl = doctor.getImage();
+        String imageUrl = doctor.getThumbnailImage();
         if (imageUrl != null && !imageUrl.isEmpty()) {
-            Glide.with(holder.itemView.getContext())
-                .load(imageUrl)
+            // Padding is cleared first so the measured size matches the preloaded one
+            holder.avatarBackground.setCardBackgroundColor(Color.TRANSPARENT);
+            holder.doctorAvatar.setPadding(0, 0, 0, 0);
+            holder.doctorAvatar.setColorFilter(null);
+            avatarRequest(Glide.with(holder.itemView.getContext()), imageUrl)
                 .placeholder(R.drawable.ic_profile)
                 .error(R.drawable.ic_profile)
-                .circleCrop()
                 .into(holder.doctorAvatar);
-            holder.avatarBackground.setCardBackgroundColor(Color.TRANSPARENT);
-            holder.doctorAvatar.setPadding(0, 0, 0, 0);
+            preloadSizeProvider.setView(holder.doctorAvatar);
         } else {
+            Glide.with(holder.itemView.getContext()).clear(holder.doctorAvatar);
             String color = avatarColors[position % avatarColors.length];
             holder.avatarBackground.setCardBackgroundColor(Color.parseColor(color));
             holder.doctorAvatar.setImageResource(R.drawable.ic_profile);
@@ -117,6 +133,42 @@ public class DoctorAdapter extends RecyclerView.Adapter<DoctorAdapter.DoctorView
         this.doctors = newDoctors;
         notifyDataSetChanged();
     }
+
+
+    public void attachPreloader(RecyclerView recyclerView) {
+        requestManager = Glide.with(recyclerView);
+        recyclerView.addOnScrollListener(
+                new RecyclerViewPreloader<>(requestManager, this, preloadSizeProvider, MAX_PRELOAD));
+    }
+
+
+    public void attachDetailPrefetcher(RecyclerView recyclerView) {
+        DwellPrefetchListener.attach(recyclerView, this::getDoctorIdAt);
+    }
+
+    private String getDoctorIdAt(int position) {
+        return position < doctors.size() ? doctors.get(position).getId() : null;
+    }
+
+    @NonNull
+    @Override
+    public List<String> getPreloadItems(int position) {
+        if (position >= doctors.size()) return Collections.emptyList();
+        String imageUrl = doctors.get(position).getThumbnailImage();
+        if (imageUrl == null || imageUrl.isEmpty()) return Collections.emptyList();
+        return Collections.singletonList(imageUrl);
+    }
+
+    @Nullable
+    @Override
+    public RequestBuilder<?> getPreloadRequestBuilder(@NonNull String imageUrl) {
+        return requestManager != null ? avatarRequest(requestManager, imageUrl) : null;
+    }
+
+    private RequestBuilder<?> avatarRequest(RequestManager glide, String imageUrl) {
+        // Shared by bind and preload so both resolve to the same cache key
+        return glide.load(imageUrl).circleCrop();
+    }
     
     static class DoctorViewHolder extends RecyclerView.ViewHolder {
         MaterialCardView avatarBackground;
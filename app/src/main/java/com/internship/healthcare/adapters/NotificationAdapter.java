@@ -48,6 +48,24 @@ public class NotificationAdapter extends RecyclerView.Adapter<NotificationAdapte
         notifyDataSetChanged();
     }
 
+    public void appendNotifications(List<Notification> olderNotifications) {
+        int start = notifications.size();
+        notifications.addAll(olderNotifications);
+        notifyItemRangeInserted(start, olderNotifications.size());
+    }
+
+    public void addNotificationAtTop(Notification notification) {
+        notifications.add(0, notification);
+        notifyItemInserted(0);
+    }
+
+    public void notifyNotificationChanged(Notification notification) {
+        int position = notifications.indexOf(notification);
+        if (position != -1) {
+            notifyItemChanged(position);
+        }
+    }
+
     public void removeNotification(Notification notification) {
         int position = notifications.indexOf(notification);
         if (position != -1) {
@@ -0,0 +1,86 @@
+package com.internship.healthcare.adapters;
+
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.TextView;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.RecyclerView;
+
+import com.internship.healthcare.R;
+import com.internship.healthcare.models.Doctor;
+import com.internship.healthcare.utils.FirstAvailableFinder;
+
+import java.util.List;
+import java.util.Map;
+/**
+ * OpenSlotAdapter.java
+ * A comprehensive healthcare management Android application
+ *
+ * Package: com.internship.healthcare.adapters
+ * Lists the earliest open appointment slots found across a specialty.
+ *
+ * @author Mustafa Merchant
+ * @version 1.0
+ * @since 2025
+ */
+
+
+public class OpenSlotAdapter extends RecyclerView.Adapter<OpenSlotAdapter.SlotViewHolder> {
+
+    private final List<FirstAvailableFinder.OpenSlot> slots;
+    private final Map<String, Doctor> doctorsById;
+    private final OnSlotClickListener listener;
+
+    public OpenSlotAdapter(List<FirstAvailableFinder.OpenSlot> slots, Map<String, Doctor> doctorsById,
+                           OnSlotClickListener listener) {
+        this.slots = slots;
+        this.doctorsById = doctorsById;
+        this.listener = listener;
+    }
+
+    @NonNull
+    @Override
+    public SlotViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+        View view = LayoutInflater.from(parent.getContext())
+                .inflate(R.layout.item_open_slot, parent, false);
+        return new SlotViewHolder(view);
+    }
+
+    @Override
+    public void onBindViewHolder(@NonNull SlotViewHolder holder, int position) {
+        FirstAvailableFinder.OpenSlot slot = slots.get(position);
+        Doctor doctor = doctorsById.get(slot.doctorId);
+
+        holder.doctorName.setText(doctor != null ? doctor.getName() : "Doctor");
+        holder.date.setText(slot.dateLabel);
+        holder.time.setText(slot.timeLabel);
+
+        holder.itemView.setOnClickListener(v -> {
+            if (listener != null && doctor != null) {
+                listener.onSlotClick(doctor, slot);
+            }
+        });
+    }
+
+    @Override
+    public int getItemCount() {
+        return slots.size();
+    }
+
+    static class SlotViewHolder extends RecyclerView.ViewHolder {
+        TextView doctorName, date, time;
+
+        SlotViewHolder(@NonNull View itemView) {
+            super(itemView);
+            doctorName = itemView.findViewById(R.id.slot_doctor_name);
+            date = itemView.findViewById(R.id.slot_date);
+            time = itemView.findViewById(R.id.slot_time);
+        }
+    }
+
+    public interface OnSlotClickListener {
+        void onSlotClick(Doctor doctor, FirstAvailableFinder.OpenSlot slot);
+    }
+}
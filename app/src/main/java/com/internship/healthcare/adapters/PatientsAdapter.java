@@ -36,6 +36,7 @@ public class PatientsAdapter extends RecyclerView.Adapter<PatientsAdapter.Patien
     private List<PatientInfo> patientList;
     private List<PatientInfo> patientListFull; // For search functionality
     private OnPatientClickListener listener;
+    private String currentQuery;
 
     public interface OnPatientClickListener {
         void onPatientClick(PatientInfo patient);
@@ -72,25 +73,86 @@ public class PatientsAdapter extends RecyclerView.Adapter<PatientsAdapter.Patien
         notifyDataSetChanged();
     }
 
+    public void addPatient(PatientInfo patient) {
+        patientListFull.add(patient);
+        if (matches(patient, currentQuery)) {
+            patientList.add(patient);
+            notifyItemInserted(patientList.size() - 1);
+        }
+    }
+
+    public void updatePatient(PatientInfo patient) {
+        int fullIndex = indexOf(patientListFull, patient.getPatientId());
+        if (fullIndex == -1) {
+            addPatient(patient);
+            return;
+        }
+        patientListFull.set(fullIndex, patient);
+
+        int index = indexOf(patientList, patient.getPatientId());
+        boolean visible = matches(patient, currentQuery);
+        if (index != -1 && visible) {
+            patientList.set(index, patient);
+            notifyItemChanged(index);
+        } else if (index != -1) {
+            patientList.remove(index);
+            notifyItemRemoved(index);
+        } else if (visible) {
+            // Keep the filtered list in the same order as the full list
+            int insertAt = 0;
+            for (int i = 0; i < fullIndex; i++) {
+                if (matches(patientListFull.get(i), currentQuery)) insertAt++;
+            }
+            patientList.add(insertAt, patient);
+            notifyItemInserted(insertAt);
+        }
+    }
+
+    public void removePatient(String patientId) {
+        int fullIndex = indexOf(patientListFull, patientId);
+        if (fullIndex != -1) {
+            patientListFull.remove(fullIndex);
+        }
+        int index = indexOf(patientList, patientId);
+        if (index != -1) {
+            patientList.remove(index);
+            notifyItemRemoved(index);
+        }
+    }
+
     public void filter(String query) {
+        currentQuery = query;
         patientList.clear();
         
-        if (query == null || query.trim().isEmpty()) {
-            patientList.addAll(patientListFull);
-        } else {
-            String lowerCaseQuery = query.toLowerCase().trim();
-            for (PatientInfo patient : patientListFull) {
-                if (patient.getPatientName().toLowerCase().contains(lowerCaseQuery) ||
-                    patient.getPatientPhone().toLowerCase().contains(lowerCaseQuery) ||
-                    (patient.getPatientEmail() != null && 
-                     patient.getPatientEmail().toLowerCase().contains(lowerCaseQuery))) {
-                    patientList.add(patient);
-                }
+        for (PatientInfo patient : patientListFull) {
+            if (matches(patient, query)) {
+                patientList.add(patient);
             }
         }
         notifyDataSetChanged();
     }
 
+    private static boolean matches(PatientInfo patient, String query) {
+        if (query == null || query.trim().isEmpty()) return true;
+        String lowerCaseQuery = query.toLowerCase().trim();
+        return contains(patient.getPatientName(), lowerCaseQuery)
+                || contains(patient.getPatientPhone(), lowerCaseQuery)
+                || contains(patient.getPatientEmail(), lowerCaseQuery);
+    }
+
+    private static boolean contains(String value, String lowerCaseQuery) {
+        return value != null && value.toLowerCase().contains(lowerCaseQuery);
+    }
+
+    private static int indexOf(List<PatientInfo> patients, String patientId) {
+        for (int i = 0; i < patients.size(); i++) {
+            if (patients.get(i).getPatientId() != null && patients.get(i).getPatientId().equals(patientId)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
     class PatientViewHolder extends RecyclerView.ViewHolder {
         private ImageView ivPatientImage;
         private TextView tvPatientName;
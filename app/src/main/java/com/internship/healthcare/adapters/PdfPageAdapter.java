@@ -0,0 +1,84 @@
+package com.internship.healthcare.adapters;
+
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.ProgressBar;
+import android.widget.TextView;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.RecyclerView;
+
+import com.github.chrisbanes.photoview.PhotoView;
+import com.internship.healthcare.R;
+import com.internship.healthcare.utils.PdfPageRenderer;
+/**
+ * PdfPageAdapter.java
+ * A comprehensive healthcare management Android application
+ *
+ * Package: com.internship.healthcare.adapters
+ * Pager adapter showing one rendered PDF page per item.
+ *
+ * @author Mustafa Merchant
+ * @version 1.0
+ * @since 2025
+ */
+
+
+public class PdfPageAdapter extends RecyclerView.Adapter<PdfPageAdapter.PageViewHolder> {
+
+    private final PdfPageRenderer renderer;
+
+    public PdfPageAdapter(PdfPageRenderer renderer) {
+        this.renderer = renderer;
+    }
+
+    @NonNull
+    @Override
+    public PageViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+        View view = LayoutInflater.from(parent.getContext())
+                .inflate(R.layout.item_pdf_page, parent, false);
+        return new PageViewHolder(view);
+    }
+
+    @Override
+    public void onBindViewHolder(@NonNull PageViewHolder holder, int position) {
+        loadPage(holder, position);
+    }
+
+    private void loadPage(PageViewHolder holder, int position) {
+        holder.pageImage.setImageDrawable(null);
+        holder.pageProgress.setVisibility(View.VISIBLE);
+        holder.pageError.setVisibility(View.GONE);
+
+        renderer.renderPage(position, (index, bitmap) -> {
+            // The holder may have been rebound to another page meanwhile
+            if (holder.getBindingAdapterPosition() != index) return;
+            holder.pageProgress.setVisibility(View.GONE);
+            if (bitmap == null) {
+                holder.pageError.setVisibility(View.VISIBLE);
+                holder.pageError.setOnClickListener(v -> loadPage(holder, index));
+                return;
+            }
+            holder.pageImage.setImageBitmap(bitmap);
+        });
+    }
+
+    @Override
+    public int getItemCount() {
+        return renderer.getPageCount();
+    }
+
+    static class PageViewHolder extends RecyclerView.ViewHolder {
+        PhotoView pageImage;
+        ProgressBar pageProgress;
+        TextView pageError;
+
+        PageViewHolder(@NonNull View itemView) {
+            super(itemView);
+            pageImage = itemView.findViewById(R.id.page_image);
+            pageProgress = itemView.findViewById(R.id.page_progress);
+            pageError = itemView.findViewById(R.id.page_error);
+        }
+    }
+}
@@ -15,6 +15,7 @@ import com.bumptech.glide.Glide;
 import com.google.android.material.card.MaterialCardView;
 import com.internship.healthcare.R;
 import com.internship.healthcare.models.Doctor;
+import com.internship.healthcare.utils.DwellPrefetchListener;
 
 import java.util.List;
 /**
@@ -72,7 +73,7 @@ public class TopDoctorAdapter extends RecyclerView.Adapter<TopDoctorAdapter.TopD
         holder.doctorSpeciality.setText(doctor.getSpeciality());
         
         holder.doctorRating.setText(doctor.getFormattedRating());
-        String imageUrl = doctor.getImage();
+        String imageUrl = doctor.getThumbnailImage();
         if (imageUrl != null && !imageUrl.isEmpty()) {
             Glide.with(holder.itemView.getContext())
                     .load(imageUrl)
@@ -117,6 +118,15 @@ public class TopDoctorAdapter extends RecyclerView.Adapter<TopDoctorAdapter.TopD
         this.doctors = newDoctors;
         notifyDataSetChanged();
     }
+
+
+    public void attachDetailPrefetcher(RecyclerView recyclerView) {
+        DwellPrefetchListener.attach(recyclerView, this::getDoctorIdAt);
+    }
+
+    private String getDoctorIdAt(int position) {
+        return position < doctors.size() ? doctors.get(position).getId() : null;
+    }
     
     static class TopDoctorViewHolder extends RecyclerView.ViewHolder {
         MaterialCardView avatarBackground;
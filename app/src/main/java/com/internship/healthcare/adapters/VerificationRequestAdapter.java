@@ -97,6 +97,16 @@ public class VerificationRequestAdapter extends RecyclerView.Adapter<Verificatio
         notifyDataSetChanged();
     }
 
+    public void addRequest(int position, VerificationRequest request) {
+        requests.add(position, request);
+        notifyItemInserted(position);
+    }
+
+    public void removeRequest(int position) {
+        requests.remove(position);
+        notifyItemRemoved(position);
+    }
+
     static class ViewHolder extends RecyclerView.ViewHolder {
         TextView doctorName, specialty, degree, university, experience;
         TextView consultationFee, documentsCount, submittedDate;
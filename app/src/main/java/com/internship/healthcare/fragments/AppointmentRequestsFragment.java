@@ -24,6 +24,7 @@ import com.google.firebase.database.ValueEventListener;
 import com.internship.healthcare.R;
 import com.internship.healthcare.adapters.AppointmentRequestAdapter;
 import com.internship.healthcare.models.UserAppointment;
+import com.internship.healthcare.utils.NotificationUtils;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -248,7 +249,7 @@ public class AppointmentRequestsFragment extends Fragment implements Appointment
         notification.put("doctorImage", appointment.getDoctorImage());
         notification.put("read", false);
 
-        notificationsRef.child(notificationId).setValue(notification);
+        NotificationUtils.createNotification(appointment.getUserId(), notificationId, notification);
     }
 
     @Override
@@ -36,6 +36,7 @@ import com.internship.healthcare.models.Doctor;
 import com.internship.healthcare.models.DoctorCategory;
 import com.internship.healthcare.models.DoctorProfile;
 import com.internship.healthcare.models.User;
+import com.internship.healthcare.utils.ProfileImageRenditions;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -150,6 +151,8 @@ public class CategoryFragment extends Fragment {
             openDoctorDetails(doctor);
         });
         doctorsRecycler.setAdapter(doctorAdapter);
+        doctorAdapter.attachPreloader(doctorsRecycler);
+        doctorAdapter.attachDetailPrefetcher(doctorsRecycler);
 
         setupSearch();
 
@@ -282,6 +285,12 @@ public class CategoryFragment extends Fragment {
                                 doctor.setExperience(doctorProfile.getExperienceYears());
                                 doctor.setDegree(doctorProfile.getDegree());
                                 doctor.setUniversity(doctorProfile.getUniversity());
+                                doctor.setImage(doctorProfile.getProfileImageUrl());
+                                doctor.setThumbnailImage(ProfileImageRenditions.pick(
+                                        doctorProfile.getProfileImageThumbUrl(),
+                                        doctorProfile.getProfileImageMediumUrl(),
+                                        doctorProfile.getProfileImageUrl(),
+                                        ProfileImageRenditions.THUMB_SIZE_PX));
 
                                 // Use getMobile() instead of getPhone() since that's what's in Firebase
                                 doctor.setMobile(user.getMobile());
@@ -32,6 +32,9 @@ import com.internship.healthcare.adapters.TopDoctorAdapter;
 import com.internship.healthcare.models.Doctor;
 import com.internship.healthcare.models.Service;
 import com.internship.healthcare.models.UserAppointment;
+import com.internship.healthcare.utils.DoctorDirectory;
+import com.internship.healthcare.utils.ProfileImageRenditions;
+import com.internship.healthcare.utils.StartupOrchestrator;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -159,12 +162,13 @@ public class HomeFragment extends Fragment {
     }
     
     private void hideSkeleton() {
-        new android.os.Handler(android.os.Looper.getMainLooper()).postDelayed(() -> {
-            if (isAdded() && skeletonLoading != null && homeContent != null) {
-                skeletonLoading.setVisibility(View.GONE);
-                homeContent.setVisibility(View.VISIBLE);
-            }
-        }, 1000);
+        // Shown as soon as data is available; with disk persistence this is usually the local cache
+        if (isAdded() && skeletonLoading != null && homeContent != null
+                && skeletonLoading.getVisibility() == View.VISIBLE) {
+            skeletonLoading.setVisibility(View.GONE);
+            homeContent.setVisibility(View.VISIBLE);
+            StartupOrchestrator.reportFirstContent("home");
+        }
     }
     
     private void setupCarousel() {
@@ -251,6 +255,7 @@ public class HomeFragment extends Fragment {
         });
         
         topDoctorsRecyclerView.setAdapter(topDoctorAdapter);
+        topDoctorAdapter.attachDetailPrefetcher(topDoctorsRecyclerView);
         
         loadTopDoctorsFromFirebase();
     }
@@ -286,6 +291,9 @@ public class HomeFragment extends Fragment {
                 // Take top 5
                 int count = Math.min(5, doctorSnapshots.size());
                 final int[] pendingLoads = {count};
+                if (count == 0) {
+                    hideSkeleton();
+                }
                 
                 for (int i = 0; i < count; i++) {
                     DataSnapshot doctorSnapshot = doctorSnapshots.get(i);
@@ -314,6 +322,8 @@ public class HomeFragment extends Fragment {
                                 doctor.setName(name != null ? name : "Dr. Unknown");
                                 doctor.setSpeciality(specialty != null ? specialty : "General");
                                 doctor.setImage(profileImageUrl != null ? profileImageUrl : "");
+                                doctor.setThumbnailImage(ProfileImageRenditions.pick(doctorSnapshot,
+                                        ProfileImageRenditions.THUMB_SIZE_PX));
                                 doctor.setConsultationFee(consultationFee != null ? consultationFee : 0);
                                 doctor.setMobile(contactNumber != null ? contactNumber : "");
                                 doctor.setRating(rating != null ? rating : 0.0);
@@ -322,6 +332,7 @@ public class HomeFragment extends Fragment {
                                 doctor.setDegree(degree != null ? degree : "");
                                 doctor.setUniversity(university != null ? university : "");
                                 
+                                DoctorDirectory.put(doctor);
                                 topDoctorsList.add(doctor);
                                 
                                 pendingLoads[0]--;
@@ -337,10 +348,22 @@ public class HomeFragment extends Fragment {
                             @Override
                             public void onCancelled(@NonNull DatabaseError error) {
                                 pendingLoads[0]--;
+                                if (pendingLoads[0] == 0) {
+                                    if (topDoctorAdapter != null) {
+                                        topDoctorAdapter.updateDoctors(topDoctorsList);
+                                    }
+                                    hideSkeleton();
+                                }
                             }
                         });
                     } else {
                         pendingLoads[0]--;
+                        if (pendingLoads[0] == 0) {
+                            if (topDoctorAdapter != null) {
+                                topDoctorAdapter.updateDoctors(topDoctorsList);
+                            }
+                            hideSkeleton();
+                        }
                     }
                 }
             }
@@ -366,10 +389,13 @@ public class HomeFragment extends Fragment {
             return;
         }
         
-        DatabaseReference appointmentsRef = FirebaseDatabase.getInstance().getReference("appointments");
+        // The user's own copy under users/{uid} is kept synced, so this resolves from the local cache
+        DatabaseReference appointmentsRef = FirebaseDatabase.getInstance()
+                .getReference("users")
+                .child(currentUserId)
+                .child("appointments");
         
-        // Query appointments for current user
-        appointmentsRef.orderByChild("userId").equalTo(currentUserId)
+        appointmentsRef
             .addListenerForSingleValueEvent(new ValueEventListener() {
                 @Override
                 public void onDataChange(@NonNull DataSnapshot dataSnapshot) {
@@ -438,6 +464,13 @@ public class HomeFragment extends Fragment {
         appointmentCard.setOnClickListener(v -> {
             Intent intent = new Intent(getActivity(), AppointmentDetailActivity.class);
             intent.putExtra("appointmentId", appointment.getId());
+            intent.putExtra("doctorId", appointment.getDoctorId());
+            intent.putExtra("doctorName", appointment.getDoctorName());
+            intent.putExtra("doctorSpeciality", appointment.getDoctorSpeciality());
+            intent.putExtra("doctorImage", appointment.getDoctorImage());
+            intent.putExtra("appointmentDate", appointment.getAppointmentDate());
+            intent.putExtra("appointmentTime", appointment.getAppointmentTime());
+            intent.putExtra("status", appointment.getStatus());
             startActivity(intent);
         });
     }
@@ -28,11 +28,18 @@ import com.internship.healthcare.AdminVerificationActivity;
 import com.internship.healthcare.DoctorScheduleActivity;
 import com.internship.healthcare.DoctorVerificationActivity;
 import com.internship.healthcare.EditDoctorProfileActivity;
+import com.internship.healthcare.FavoritesActivity;
 import com.internship.healthcare.LocationActivity;
 import com.internship.healthcare.PaymentMethodsActivity;
 import com.internship.healthcare.R;
 import com.internship.healthcare.SignInScreen;
+import com.internship.healthcare.utils.FCMTokenCache;
+import com.internship.healthcare.utils.AppointmentReminderScheduler;
+import com.internship.healthcare.utils.FavoritesRepository;
+import com.internship.healthcare.utils.PresenceManager;
 import com.internship.healthcare.utils.SessionManager;
+import com.internship.healthcare.utils.StartupOrchestrator;
+import com.internship.healthcare.utils.UserSessionRepository;
 /**
  * ProfileFragment.java
  * A comprehensive healthcare management Android application
@@ -64,6 +71,7 @@ public class ProfileFragment extends Fragment {
     private TextView userEmail;
     private MaterialCardView accountInfoCard;
     private MaterialCardView paymentMethodsCard;
+    private MaterialCardView favoritesCard;
     private MaterialCardView locationCard;
     private MaterialCardView supportCard;
     private MaterialCardView logoutCard;
@@ -80,8 +88,10 @@ public class ProfileFragment extends Fragment {
     
     private SessionManager sessionManager;
     private FirebaseAuth auth;
-    private DatabaseReference databaseReference;
     private DatabaseReference doctorProfilesRef;
+    private DatabaseReference doctorStatsRef;
+    private ValueEventListener doctorStatsListener;
+    private UserSessionRepository.OnSessionChangeListener sessionListener;
 
     @Nullable
     @Override
@@ -100,7 +110,6 @@ public class ProfileFragment extends Fragment {
         
         sessionManager = new SessionManager(requireContext());
         auth = FirebaseAuth.getInstance();
-        databaseReference = FirebaseDatabase.getInstance().getReference("users");
         doctorProfilesRef = FirebaseDatabase.getInstance().getReference("doctorProfiles");
         
         profileImage = view.findViewById(R.id.profile_image);
@@ -110,6 +119,7 @@ public class ProfileFragment extends Fragment {
         userEmail = view.findViewById(R.id.user_email);
         accountInfoCard = view.findViewById(R.id.account_info_card);
         paymentMethodsCard = view.findViewById(R.id.payment_methods_card);
+        favoritesCard = view.findViewById(R.id.favorites_card);
         locationCard = view.findViewById(R.id.location_card);
         supportCard = view.findViewById(R.id.support_card);
         logoutCard = view.findViewById(R.id.logout_card);
@@ -123,64 +133,39 @@ public class ProfileFragment extends Fragment {
         totalPatientsText = view.findViewById(R.id.total_patients_text);
         ratingText = view.findViewById(R.id.rating_text);
         
-        loadUserData();
-        checkUserRole();
+        observeUserSession();
         
         setupClickListeners();
     }
     
-    private void loadUserData() {
-        if (auth.getCurrentUser() != null) {
-            String userId = auth.getCurrentUser().getUid();
-            String email = auth.getCurrentUser().getEmail();
-            
-            if (email != null) {
-                userEmail.setText(email);
-            }
-            
-            databaseReference.child(userId).addValueEventListener(new ValueEventListener() {
-                @Override
-                public void onDataChange(@NonNull DataSnapshot snapshot) {
-                    if (!isAdded() || getActivity() == null) {
-                        return;
-                    }
-                    
-                    if (snapshot.exists()) {
-                        String name = snapshot.child("name").getValue(String.class);
-                        if (name != null && !name.isEmpty()) {
-                            userName.setText(name);
-                        } else {
-                            userName.setText("User");
-                            name = "User";
-                        }
-                        
-                        String profileImageUrl = snapshot.child("profileImageUrl").getValue(String.class);
-                        String role = snapshot.child("role").getValue(String.class);
-                        
-                        // If doctor, try to get image from doctor profile
-                        if ("doctor".equals(role)) {
-                            loadDoctorProfileImage(userId, name);
-                        } else {
-                            loadProfileImage(profileImageUrl, name);
-                        }
-                        
-                        hideSkeleton();
-                    } else {
-                        userName.setText("User");
-                        showInitials("User");
-                        hideSkeleton();
-                    }
-                }
+    private void observeUserSession() {
+        if (auth.getCurrentUser() == null) return;
 
-                @Override
-                public void onCancelled(@NonNull DatabaseError error) {
-                    Toast.makeText(getContext(), "Failed to load user data", Toast.LENGTH_SHORT).show();
-                    userName.setText("User");
-                    showInitials("User");
-                    hideSkeleton();
-                }
-            });
+        String email = auth.getCurrentUser().getEmail();
+        if (email != null) {
+            userEmail.setText(email);
         }
+
+        UserSessionRepository sessionRepository = UserSessionRepository.getInstance(requireContext());
+        sessionRepository.start(auth.getCurrentUser().getUid());
+
+        sessionListener = session -> {
+            if (!isAdded() || getActivity() == null) {
+                return;
+            }
+
+            String name = session.name;
+            if (name != null && !name.isEmpty()) {
+                userName.setText(name);
+            } else {
+                userName.setText("User");
+                name = "User";
+            }
+            loadProfileImage(session.avatarUrl, name);
+            applyRole(session);
+            hideSkeleton();
+        };
+        sessionRepository.addListener(sessionListener);
     }
     
     private void showSkeleton() {
@@ -191,55 +176,10 @@ public class ProfileFragment extends Fragment {
     }
     
     private void hideSkeleton() {
-        new android.os.Handler(android.os.Looper.getMainLooper()).postDelayed(() -> {
-            if (isAdded() && skeletonLoading != null && profileContent != null) {
-                skeletonLoading.setVisibility(View.GONE);
-                profileContent.setVisibility(View.VISIBLE);
-            }
-        }, 1000);
-    }
-    
-    private void loadDoctorProfileImage(String userId, String name) {
-        doctorProfilesRef.child(userId).addListenerForSingleValueEvent(new ValueEventListener() {
-            @Override
-            public void onDataChange(@NonNull DataSnapshot snapshot) {
-                if (!isAdded() || getActivity() == null) {
-                    return;
-                }
-                
-                if (snapshot.exists()) {
-                    String profileImageUrl = snapshot.child("profileImageUrl").getValue(String.class);
-                    loadProfileImage(profileImageUrl, name);
-                } else {
-                    // No doctor profile, check user profile
-                    databaseReference.child(userId).child("profileImageUrl")
-                            .addListenerForSingleValueEvent(new ValueEventListener() {
-                                @Override
-                                public void onDataChange(@NonNull DataSnapshot userSnapshot) {
-                                    if (!isAdded() || getActivity() == null) {
-                                        return;
-                                    }
-                                    String profileImageUrl = userSnapshot.getValue(String.class);
-                                    loadProfileImage(profileImageUrl, name);
-                                }
-
-                                @Override
-                                public void onCancelled(@NonNull DatabaseError error) {
-                                    if (isAdded() && getActivity() != null) {
-                                        showInitials(name);
-                                    }
-                                }
-                            });
-                }
-            }
-
-            @Override
-            public void onCancelled(@NonNull DatabaseError error) {
-                if (isAdded() && getActivity() != null) {
-                    showInitials(name);
-                }
-            }
-        });
+        if (isAdded() && skeletonLoading != null && profileContent != null) {
+            skeletonLoading.setVisibility(View.GONE);
+            profileContent.setVisibility(View.VISIBLE);
+        }
     }
     
     private void loadProfileImage(String imageUrl, String name) {
@@ -305,52 +245,24 @@ public class ProfileFragment extends Fragment {
         return Color.parseColor(colors[index]);
     }
     
-    private void checkUserRole() {
-        if (auth.getCurrentUser() != null) {
-            String userId = auth.getCurrentUser().getUid();
-            databaseReference.child(userId).addListenerForSingleValueEvent(new ValueEventListener() {
-                @Override
-                public void onDataChange(@NonNull DataSnapshot snapshot) {
-                    if (snapshot.exists()) {
-                        String role = snapshot.child("role").getValue(String.class);
-                        Boolean isVerified = snapshot.child("isVerified").getValue(Boolean.class);
-                        String verificationStatus = snapshot.child("doctorVerificationStatus").getValue(String.class);
-                        
-                        if (role == null) role = "patient";
-                        if (isVerified == null) isVerified = false;
-                        if (verificationStatus == null) verificationStatus = "none";
-                        
-                        // Show admin verification card only for admins
-                        if ("admin".equals(role)) {
-                            adminVerificationCard.setVisibility(View.VISIBLE);
-                        } else {
-                            adminVerificationCard.setVisibility(View.GONE);
-                        }
-                        
-                        if ("doctor".equals(role) && isVerified) {
-                            // Verified doctor - show stats and edit profile
-                            setupVerifiedDoctorView();
-                            loadDoctorStats();
-                        } else if ("doctor".equals(role) && !isVerified) {
-                            // Doctor with pending verification
-                            setupPendingDoctorView(verificationStatus);
-                        } else {
-                            // Patient - show "Become a Doctor" option
-                            setupPatientView();
-                        }
-                    } else {
-                        // Default to patient view
-                        adminVerificationCard.setVisibility(View.GONE);
-                        setupPatientView();
-                    }
-                }
+    private void applyRole(UserSessionRepository.UserSession session) {
+        // Show admin verification card only for admins
+        if (session.isAdmin()) {
+            adminVerificationCard.setVisibility(View.VISIBLE);
+        } else {
+            adminVerificationCard.setVisibility(View.GONE);
+        }
 
-                @Override
-                public void onCancelled(@NonNull DatabaseError error) {
-                    Toast.makeText(getContext(), "Failed to check user role", Toast.LENGTH_SHORT).show();
-                    setupPatientView(); // Default to patient view on error
-                }
-            });
+        if (session.isVerifiedDoctor()) {
+            // Verified doctor - show stats and edit profile
+            setupVerifiedDoctorView();
+            loadDoctorStats();
+        } else if (session.isDoctor()) {
+            // Doctor with pending verification
+            setupPendingDoctorView(session.verificationStatus);
+        } else {
+            // Patient - show "Become a Doctor" option
+            setupPatientView();
         }
     }
     
@@ -384,10 +296,13 @@ public class ProfileFragment extends Fragment {
     }
     
     private void loadDoctorStats() {
+        if (doctorStatsListener != null) return;
+
         if (auth.getCurrentUser() != null) {
             String userId = auth.getCurrentUser().getUid();
             
-            doctorProfilesRef.child(userId).addValueEventListener(new ValueEventListener() {
+            doctorStatsRef = doctorProfilesRef.child(userId);
+            doctorStatsListener = doctorStatsRef.addValueEventListener(new ValueEventListener() {
                 @Override
                 public void onDataChange(@NonNull DataSnapshot snapshot) {
                     if (snapshot.exists()) {
@@ -436,6 +351,11 @@ public class ProfileFragment extends Fragment {
             startActivity(intent);
         });
         
+        favoritesCard.setOnClickListener(v -> {
+            Intent intent = new Intent(requireActivity(), FavoritesActivity.class);
+            startActivity(intent);
+        });
+        
         locationCard.setOnClickListener(v -> {
             Intent intent = new Intent(requireActivity(), LocationActivity.class);
             startActivity(intent);
@@ -475,8 +395,27 @@ public class ProfileFragment extends Fragment {
         });
     }
     
+    @Override
+    public void onDestroyView() {
+        super.onDestroyView();
+        if (sessionListener != null) {
+            UserSessionRepository.getInstance(requireContext()).removeListener(sessionListener);
+            sessionListener = null;
+        }
+        if (doctorStatsRef != null && doctorStatsListener != null) {
+            doctorStatsRef.removeEventListener(doctorStatsListener);
+            doctorStatsListener = null;
+        }
+    }
+    
     private void performLogout() {
+        PresenceManager.getInstance().stop();
+        UserSessionRepository.getInstance(requireContext()).clear();
+        FavoritesRepository.getInstance(requireContext()).clear();
+        AppointmentReminderScheduler.getInstance(requireContext()).stop();
         sessionManager.logout();
+        FCMTokenCache.clear();
+        StartupOrchestrator.releaseUserDataSync();
         // Sign out from Firebase
         auth.signOut();
         
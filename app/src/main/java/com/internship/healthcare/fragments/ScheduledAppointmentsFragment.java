@@ -162,6 +162,13 @@ public class ScheduledAppointmentsFragment extends Fragment {
     private void openAppointmentDetail(AppointmentDetail appointment) {
         Intent intent = new Intent(getActivity(), AppointmentDetailActivity.class);
         intent.putExtra("appointmentId", appointment.getId());
+        intent.putExtra("doctorId", appointment.getDoctorId());
+        intent.putExtra("doctorName", appointment.getDoctorName());
+        intent.putExtra("doctorSpeciality", appointment.getDoctorCategory());
+        intent.putExtra("doctorImage", appointment.getDoctorImage());
+        intent.putExtra("appointmentDate", appointment.getAppointmentDate());
+        intent.putExtra("appointmentTime", appointment.getAppointmentTime());
+        intent.putExtra("status", appointment.getStatus());
         startActivity(intent);
     }
 
@@ -18,6 +18,9 @@ public class ChatMessage {
     private boolean isRead;
     private String messageType; // "text", "image"
     private String imageUrl;
+    private int imageWidth;
+    private int imageHeight;
+    private String imagePlaceholder; // BlurHash of the image
 
     private String senderName;
     
@@ -118,6 +121,30 @@ public class ChatMessage {
         this.senderName = senderName;
     }
 
+    public int getImageWidth() {
+        return imageWidth;
+    }
+
+    public void setImageWidth(int imageWidth) {
+        this.imageWidth = imageWidth;
+    }
+
+    public int getImageHeight() {
+        return imageHeight;
+    }
+
+    public void setImageHeight(int imageHeight) {
+        this.imageHeight = imageHeight;
+    }
+
+    public String getImagePlaceholder() {
+        return imagePlaceholder;
+    }
+
+    public void setImagePlaceholder(String imagePlaceholder) {
+        this.imagePlaceholder = imagePlaceholder;
+    }
+
 }
 
 
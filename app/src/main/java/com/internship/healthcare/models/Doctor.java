@@ -17,6 +17,7 @@ public class Doctor {
     private String name;
     private String speciality;
     private String image;
+    private String thumbnailImage;
     private double consultationFee;
     private String mobile;
     private double rating;
@@ -146,6 +147,15 @@ public class Doctor {
 
     }
 
+    public String getThumbnailImage() {
+        // Profiles without renditions only have the full image
+        return thumbnailImage != null && !thumbnailImage.isEmpty() ? thumbnailImage : image;
+    }
+
+    public void setThumbnailImage(String thumbnailImage) {
+        this.thumbnailImage = thumbnailImage;
+    }
+
     public void setConsultationFee(double consultationFee) {
         this.consultationFee = consultationFee;
     }
@@ -32,6 +32,8 @@ public class DoctorProfile {
     private double rating;
     private int totalRatings;
     private String profileImageUrl;
+    private String profileImageThumbUrl;
+    private String profileImageMediumUrl;
     private long verifiedAt; // Timestamp when approved
     private String verifiedBy; // Admin ID who approved
 
@@ -201,6 +203,22 @@ public class DoctorProfile {
         this.profileImageUrl = profileImageUrl;
     }
 
+    public String getProfileImageThumbUrl() {
+        return profileImageThumbUrl;
+    }
+
+    public void setProfileImageThumbUrl(String profileImageThumbUrl) {
+        this.profileImageThumbUrl = profileImageThumbUrl;
+    }
+
+    public String getProfileImageMediumUrl() {
+        return profileImageMediumUrl;
+    }
+
+    public void setProfileImageMediumUrl(String profileImageMediumUrl) {
+        this.profileImageMediumUrl = profileImageMediumUrl;
+    }
+
 
     public long getVerifiedAt() {
         return verifiedAt;
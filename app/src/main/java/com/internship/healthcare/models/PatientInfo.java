@@ -11,6 +11,8 @@
 
 package com.internship.healthcare.models;
 
+import java.util.Map;
+
 public class PatientInfo {
     private String patientId;
     private String patientName;
@@ -22,6 +24,7 @@ public class PatientInfo {
     private long firstVisitDate;
 
     private String lastAppointmentStatus; // "completed", "cancelled", "upcoming"
+    private Map<String, Long> visitedAppointments; // appointmentId -> visit time, for counting each visit once
 
     public PatientInfo() {
         // Required empty constructor for Firebase
@@ -117,6 +120,14 @@ public class PatientInfo {
         this.lastAppointmentStatus = lastAppointmentStatus;
     }
 
+    public Map<String, Long> getVisitedAppointments() {
+        return visitedAppointments;
+    }
+
+    public void setVisitedAppointments(Map<String, Long> visitedAppointments) {
+        this.visitedAppointments = visitedAppointments;
+    }
+
     // Helper methods
     public boolean hasVisited() {
         return totalAppointments > 0;
@@ -31,6 +31,7 @@ public class UserAppointment {
     private String doctorPhone; // Doctor's contact number
     private boolean patientCounted; // Track if this patient has been counted in doctor's total
     private boolean ratingGiven; // Track if patient has rated this appointment
+    private boolean reminderSent; // Claimed by the device that wrote the in-app reminder
 
     public UserAppointment() {
         // Required empty constructor for Firebase
@@ -237,6 +238,15 @@ public class UserAppointment {
         this.patientCounted = patientCounted;
     }
 
+    public boolean isReminderSent() {
+        return reminderSent;
+    }
+
+
+    public void setReminderSent(boolean reminderSent) {
+        this.reminderSent = reminderSent;
+    }
+
     public boolean isRatingGiven() {
         return ratingGiven;
     }
@@ -0,0 +1,51 @@
+package com.internship.healthcare.services;
+
+import android.content.BroadcastReceiver;
+import android.content.Context;
+import android.content.Intent;
+
+import com.google.firebase.auth.FirebaseAuth;
+import com.google.firebase.auth.FirebaseUser;
+import com.internship.healthcare.utils.AppointmentReminderScheduler;
+/**
+ * AppointmentAlarmReceiver.java
+ * A comprehensive healthcare management Android application
+ *
+ * Package: com.internship.healthcare.services
+ * Receives the single appointment alarm armed by {@link AppointmentReminderScheduler}
+ * and hands it back to the scheduler, which posts due reminders, completes
+ * expired appointments and arms the next alarm. Alarms do not survive a reboot
+ * or an app update, so those broadcasts rebuild the schedule the same way.
+ *
+ * <p>Extends: {@link BroadcastReceiver}</p>
+ *
+ * <h3>Firebase Integration:</h3>
+ * <ul>
+ *   <li>Authentication</li>
+ * </ul>
+ * @author Mustafa Merchant
+ * @version 1.0
+ * @since 2025
+ */
+
+
+public class AppointmentAlarmReceiver extends BroadcastReceiver {
+
+    public static final String ACTION_APPOINTMENT_DUE = "com.internship.healthcare.action.APPOINTMENT_DUE";
+
+    @Override
+    public void onReceive(Context context, Intent intent) {
+        String action = intent.getAction();
+        if (!ACTION_APPOINTMENT_DUE.equals(action)
+                && !Intent.ACTION_BOOT_COMPLETED.equals(action)
+                && !Intent.ACTION_MY_PACKAGE_REPLACED.equals(action)) {
+            return;
+        }
+
+        FirebaseUser user = FirebaseAuth.getInstance().getCurrentUser();
+        // Kept alive until the scheduler has loaded the appointments and handled what is due
+        PendingResult result = goAsync();
+        AppointmentReminderScheduler.getInstance(context)
+                .onAlarm(user != null ? user.getUid() : null, result::finish);
+    }
+}
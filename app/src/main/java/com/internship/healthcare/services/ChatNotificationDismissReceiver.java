@@ -0,0 +1,34 @@
+package com.internship.healthcare.services;
+
+import android.content.BroadcastReceiver;
+import android.content.Context;
+import android.content.Intent;
+/**
+ * ChatNotificationDismissReceiver.java
+ * A comprehensive healthcare management Android application
+ *
+ * Package: com.internship.healthcare.services
+ * Receives the delete intent of a chat notification when the user swipes it
+ * away, and drops that chat's pending messages in
+ * {@link MyFirebaseMessagingService} so they are not shown again with the next
+ * message and the group summary stops counting the chat.
+ *
+ * <p>Extends: {@link BroadcastReceiver}</p>
+ *
+ * @author Mustafa Merchant
+ * @version 1.0
+ * @since 2025
+ */
+
+
+public class ChatNotificationDismissReceiver extends BroadcastReceiver {
+
+    public static final String ACTION_CHAT_DISMISSED = "com.internship.healthcare.action.CHAT_DISMISSED";
+    public static final String EXTRA_CHAT_ID = "chatId";
+
+    @Override
+    public void onReceive(Context context, Intent intent) {
+        if (!ACTION_CHAT_DISMISSED.equals(intent.getAction())) return;
+        MyFirebaseMessagingService.clearChatNotification(context, intent.getStringExtra(EXTRA_CHAT_ID));
+    }
+}
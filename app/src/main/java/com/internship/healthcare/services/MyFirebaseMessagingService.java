@@ -8,16 +8,23 @@ import android.content.Intent;
 import android.media.RingtoneManager;
 import android.net.Uri;
 import android.os.Build;
+import android.os.Handler;
+import android.os.Looper;
 
 import androidx.core.app.NotificationCompat;
+import androidx.core.app.Person;
 
-import com.google.firebase.database.DatabaseReference;
-import com.google.firebase.database.FirebaseDatabase;
 import com.google.firebase.messaging.FirebaseMessagingService;
 import com.google.firebase.messaging.RemoteMessage;
 import com.internship.healthcare.ChatActivity;
 import com.internship.healthcare.R;
+import com.internship.healthcare.utils.FCMNotificationSender;
 import com.internship.healthcare.utils.SessionManager;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 /**
  * MyFirebaseMessagingService.java
  * A comprehensive healthcare management Android application
@@ -42,25 +49,45 @@ public class MyFirebaseMessagingService extends FirebaseMessagingService {
 
     private static final String CHANNEL_ID = "healthcare_messages";
     private static final String CHANNEL_NAME = "Messages";
+    private static final String GROUP_KEY_MESSAGES = "com.internship.healthcare.MESSAGES";
     private static final int NOTIFICATION_ID = 1001;
+    private static final int SUMMARY_NOTIFICATION_ID = 1002;
+
+    // Reposts for the same chat are held back to at most one per window during bursts
+    private static final long REPOST_WINDOW_MS = 1500;
+    private static final int MAX_MESSAGES_PER_CHAT = 8;
+
+    private static volatile boolean channelCreated = false;
+    private static final Map<String, ChatNotificationState> chatStates = new HashMap<>();
+    private static final Handler mainHandler = new Handler(Looper.getMainLooper());
+
+    private static class ChatNotificationState {
+        final List<NotificationCompat.MessagingStyle.Message> messages = new ArrayList<>();
+        String senderId;
+        String senderName;
+        String senderImage;
+        String senderRole;
+        long lastPostedAt;
+        boolean repostScheduled;
+    }
 
     @Override
     public void onMessageReceived(RemoteMessage remoteMessage) {
         super.onMessageReceived(remoteMessage);
 
+        ensureNotificationChannel(this);
 
-        if (remoteMessage.getData().size() > 0) {
-            String messageType = remoteMessage.getData().get("type");
-            
-            if ("chat_message".equals(messageType)) {
-                handleChatMessage(remoteMessage);
-            }
+        if (remoteMessage.getData().size() > 0
+                && "chat_message".equals(remoteMessage.getData().get("type"))) {
+            // The notification block of a chat push duplicates the data payload
+            handleChatMessage(remoteMessage);
+            return;
         }
 
         if (remoteMessage.getNotification() != null) {
             String title = remoteMessage.getNotification().getTitle();
             String body = remoteMessage.getNotification().getBody();
-            sendNotification(title, body, null, null, null, null, null);
+            sendNotification(title, body);
         }
     }
 
@@ -68,7 +95,6 @@ public class MyFirebaseMessagingService extends FirebaseMessagingService {
         String senderName = remoteMessage.getData().get("senderName");
         String message = remoteMessage.getData().get("message");
         String chatId = remoteMessage.getData().get("chatId");
-    
         String senderId = remoteMessage.getData().get("senderId");
         String senderImage = remoteMessage.getData().get("senderImage");
         String senderRole = remoteMessage.getData().get("senderRole");
@@ -79,27 +105,151 @@ public class MyFirebaseMessagingService extends FirebaseMessagingService {
             notificationBody = "📷 Photo";
         }
 
-        sendNotification(senderName, notificationBody, chatId, senderId, senderName, senderImage, senderRole);
-    }
+        if (chatId == null || senderId == null) {
+            sendNotification(senderName, notificationBody);
+            return;
+        }
 
-    private void sendNotification(String title, String messageBody, String chatId, 
-                                  String senderId, String senderName, String senderImage, String senderRole) {
-        Intent intent;
-        
-        if (chatId != null && senderId != null) {
-            intent = new Intent(this, ChatActivity.class);
-            intent.putExtra("chatId", chatId);
-            intent.putExtra("otherUserId", senderId);
-            intent.putExtra("otherUserName", senderName);
-    
-            intent.putExtra("otherUserImage", senderImage);
-            intent.putExtra("otherUserRole", senderRole);
-            intent.addFlags(Intent.FLAG_ACTIVITY_CLEAR_TOP | Intent.FLAG_ACTIVITY_SINGLE_TOP);
+        Context appContext = getApplicationContext();
+        long now = System.currentTimeMillis();
+        long delay = -1;
+
+        synchronized (chatStates) {
+            ChatNotificationState state = chatStates.get(chatId);
+            if (state == null) {
+                state = new ChatNotificationState();
+                chatStates.put(chatId, state);
+            }
+            state.senderId = senderId;
+            state.senderName = senderName;
+            state.senderImage = senderImage;
+            state.senderRole = senderRole;
+
+            Person sender = new Person.Builder()
+                    .setName(senderName != null ? senderName : "Unknown")
+                    .setKey(senderId)
+                    .build();
+            state.messages.add(new NotificationCompat.MessagingStyle.Message(notificationBody, now, sender));
+            while (state.messages.size() > MAX_MESSAGES_PER_CHAT) {
+                state.messages.remove(0);
+            }
+
+            long sinceLastPost = now - state.lastPostedAt;
+            if (sinceLastPost >= REPOST_WINDOW_MS) {
+                state.lastPostedAt = now;
+            } else if (!state.repostScheduled) {
+                state.repostScheduled = true;
+                delay = REPOST_WINDOW_MS - sinceLastPost;
+            } else {
+                // A coalesced repost is already pending and will include this message
+                return;
+            }
+        }
+
+        if (delay < 0) {
+            postChatNotification(appContext, chatId, false);
         } else {
-            intent = new Intent(this, com.internship.healthcare.MainActivity.class);
-            intent.addFlags(Intent.FLAG_ACTIVITY_CLEAR_TOP);
+            mainHandler.postDelayed(() -> {
+                synchronized (chatStates) {
+                    ChatNotificationState state = chatStates.get(chatId);
+                    if (state == null) return;
+                    state.repostScheduled = false;
+                    state.lastPostedAt = System.currentTimeMillis();
+                }
+                postChatNotification(appContext, chatId, true);
+            }, delay);
+        }
+    }
+
+    private static void postChatNotification(Context context, String chatId, boolean silentUpdate) {
+        NotificationCompat.MessagingStyle style = new NotificationCompat.MessagingStyle(
+                new Person.Builder().setName("You").build());
+        String senderId;
+        String senderName;
+        String senderImage;
+        String senderRole;
+        int activeChats;
+
+        synchronized (chatStates) {
+            ChatNotificationState state = chatStates.get(chatId);
+            if (state == null || state.messages.isEmpty()) return;
+            for (NotificationCompat.MessagingStyle.Message message : state.messages) {
+                style.addMessage(message);
+            }
+            senderId = state.senderId;
+            senderName = state.senderName;
+            senderImage = state.senderImage;
+            senderRole = state.senderRole;
+            activeChats = chatStates.size();
         }
 
+        Intent intent = new Intent(context, ChatActivity.class);
+        intent.putExtra("chatId", chatId);
+        intent.putExtra("otherUserId", senderId);
+        intent.putExtra("otherUserName", senderName);
+        intent.putExtra("otherUserImage", senderImage);
+        intent.putExtra("otherUserRole", senderRole);
+        intent.addFlags(Intent.FLAG_ACTIVITY_CLEAR_TOP | Intent.FLAG_ACTIVITY_SINGLE_TOP);
+
+        int notificationId = getChatNotificationId(chatId);
+        PendingIntent pendingIntent = PendingIntent.getActivity(
+            context,
+            notificationId,
+            intent,
+            PendingIntent.FLAG_UPDATE_CURRENT | PendingIntent.FLAG_IMMUTABLE
+        );
+
+        // Swiping the notification away drops its messages, so they are not shown again
+        Intent dismissIntent = new Intent(context, ChatNotificationDismissReceiver.class)
+                .setAction(ChatNotificationDismissReceiver.ACTION_CHAT_DISMISSED)
+                .putExtra(ChatNotificationDismissReceiver.EXTRA_CHAT_ID, chatId);
+        PendingIntent deleteIntent = PendingIntent.getBroadcast(
+            context,
+            notificationId,
+            dismissIntent,
+            PendingIntent.FLAG_UPDATE_CURRENT | PendingIntent.FLAG_IMMUTABLE
+        );
+
+        NotificationCompat.Builder notificationBuilder =
+                new NotificationCompat.Builder(context, CHANNEL_ID)
+                        .setSmallIcon(R.drawable.ic_notification)
+                        .setStyle(style)
+                        .setAutoCancel(true)
+                        .setOnlyAlertOnce(silentUpdate)
+                        .setSound(RingtoneManager.getDefaultUri(RingtoneManager.TYPE_NOTIFICATION))
+                        .setContentIntent(pendingIntent)
+                        .setDeleteIntent(deleteIntent)
+                        .setGroup(GROUP_KEY_MESSAGES)
+                        .setPriority(NotificationCompat.PRIORITY_HIGH)
+                        .setCategory(NotificationCompat.CATEGORY_MESSAGE);
+
+        NotificationManager notificationManager =
+                (NotificationManager) context.getSystemService(Context.NOTIFICATION_SERVICE);
+        notificationManager.notify(notificationId, notificationBuilder.build());
+        updateSummary(context, notificationManager, activeChats);
+    }
+
+    private static void updateSummary(Context context, NotificationManager notificationManager, int activeChats) {
+        if (activeChats <= 1) {
+            notificationManager.cancel(SUMMARY_NOTIFICATION_ID);
+            return;
+        }
+        NotificationCompat.Builder summaryBuilder =
+                new NotificationCompat.Builder(context, CHANNEL_ID)
+                        .setSmallIcon(R.drawable.ic_notification)
+                        .setContentTitle("New messages")
+                        .setContentText(activeChats + " conversations")
+                        .setGroup(GROUP_KEY_MESSAGES)
+                        .setGroupSummary(true)
+                        .setOnlyAlertOnce(true)
+                        .setAutoCancel(true);
+        notificationManager.notify(SUMMARY_NOTIFICATION_ID, summaryBuilder.build());
+    }
+
+    private void sendNotification(String title, String messageBody) {
+        Intent intent = new Intent(this, com.internship.healthcare.MainActivity.class);
+        intent.addFlags(Intent.FLAG_ACTIVITY_CLEAR_TOP);
+
         PendingIntent pendingIntent = PendingIntent.getActivity(
             this, 
             0, 
@@ -107,13 +257,11 @@ public class MyFirebaseMessagingService extends FirebaseMessagingService {
             PendingIntent.FLAG_ONE_SHOT | PendingIntent.FLAG_IMMUTABLE
         );
 
-        String channelId = CHANNEL_ID;
         Uri defaultSoundUri = RingtoneManager.getDefaultUri(RingtoneManager.TYPE_NOTIFICATION);
         
         NotificationCompat.Builder notificationBuilder =
-                new NotificationCompat.Builder(this, channelId)
+                new NotificationCompat.Builder(this, CHANNEL_ID)
                         .setSmallIcon(R.drawable.ic_notification)
-    
                         .setContentTitle(title)
                         .setContentText(messageBody)
                         .setAutoCancel(true)
@@ -124,19 +272,50 @@ public class MyFirebaseMessagingService extends FirebaseMessagingService {
 
         NotificationManager notificationManager =
                 (NotificationManager) getSystemService(Context.NOTIFICATION_SERVICE);
+        notificationManager.notify(NOTIFICATION_ID, notificationBuilder.build());
+    }
 
-        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.O) {
-            NotificationChannel channel = new NotificationChannel(
-                    channelId,
-                    CHANNEL_NAME,
-                    NotificationManager.IMPORTANCE_HIGH
-            );
-            channel.setDescription("Healthcare message notifications");
-            channel.enableVibration(true);
-            notificationManager.createNotificationChannel(channel);
+    
+    public static void clearChatNotification(Context context, String chatId) {
+        if (chatId == null) return;
+
+        int remainingChats;
+        synchronized (chatStates) {
+            if (chatStates.remove(chatId) == null) return;
+            remainingChats = chatStates.size();
         }
 
-        notificationManager.notify(NOTIFICATION_ID, notificationBuilder.build());
+        NotificationManager notificationManager =
+                (NotificationManager) context.getSystemService(Context.NOTIFICATION_SERVICE);
+        notificationManager.cancel(getChatNotificationId(chatId));
+        // Recounted so the summary never includes a chat that was read or dismissed
+        updateSummary(context, notificationManager, remainingChats);
+    }
+
+    private static int getChatNotificationId(String chatId) {
+        // Keep clear of the fixed general and summary IDs
+        int id = chatId.hashCode();
+        return id == NOTIFICATION_ID || id == SUMMARY_NOTIFICATION_ID ? id + 2 : id;
+    }
+
+    private static void ensureNotificationChannel(Context context) {
+        if (channelCreated) return;
+
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.O) {
+            NotificationManager notificationManager =
+                    (NotificationManager) context.getSystemService(Context.NOTIFICATION_SERVICE);
+            if (notificationManager.getNotificationChannel(CHANNEL_ID) == null) {
+                NotificationChannel channel = new NotificationChannel(
+                        CHANNEL_ID,
+                        CHANNEL_NAME,
+                        NotificationManager.IMPORTANCE_HIGH
+                );
+                channel.setDescription("Healthcare message notifications");
+                channel.enableVibration(true);
+                notificationManager.createNotificationChannel(channel);
+            }
+        }
+        channelCreated = true;
     }
 
     @Override
@@ -152,12 +331,8 @@ public class MyFirebaseMessagingService extends FirebaseMessagingService {
         SessionManager sessionManager = new SessionManager(this);
         String userId = sessionManager.getUserId();
 
-        if (userId != null && !userId.isEmpty()) {
-            DatabaseReference userRef = FirebaseDatabase.getInstance()
-                    .getReference("users")
-                    .child(userId);
-            userRef.child("fcmToken").setValue(token);
-        }
+        // Also refreshes the cached token for this user
+        FCMNotificationSender.saveFCMToken(userId, token);
 
     }
 }
@@ -0,0 +1,465 @@
+package com.internship.healthcare.utils;
+
+import android.app.AlarmManager;
+import android.app.NotificationChannel;
+import android.app.NotificationManager;
+import android.app.PendingIntent;
+import android.content.Context;
+import android.content.Intent;
+import android.content.SharedPreferences;
+import android.os.Build;
+import android.os.Handler;
+import android.os.Looper;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.core.app.NotificationCompat;
+
+import com.google.firebase.database.ChildEventListener;
+import com.google.firebase.database.DataSnapshot;
+import com.google.firebase.database.DatabaseError;
+import com.google.firebase.database.DatabaseReference;
+import com.google.firebase.database.FirebaseDatabase;
+import com.google.firebase.database.MutableData;
+import com.google.firebase.database.Transaction;
+import com.google.firebase.database.ValueEventListener;
+import com.internship.healthcare.AppointmentDetailActivity;
+import com.internship.healthcare.R;
+import com.internship.healthcare.models.UserAppointment;
+import com.internship.healthcare.services.AppointmentAlarmReceiver;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+/**
+ * AppointmentReminderScheduler.java
+ * A comprehensive healthcare management Android application
+ *
+ * Package: com.internship.healthcare.utils
+ * Posts appointment reminders and completes approved appointments once their
+ * time has passed, using a single alarm.
+ * Every approved appointment of the signed-in user contributes up to two due
+ * items, a reminder {@link #REMINDER_LEAD_MS} before the start (patients only)
+ * and an expiry at the start, kept in a min-heap ordered by due time. One alarm
+ * is armed for the head of the heap and is only re-armed when the head changes.
+ * When it fires, every due item is handled and the next head is armed. The
+ * heap is fed by child listeners on users/{uid}/appointments and
+ * doctorAppointments/{uid}, both kept synced by {@link StartupOrchestrator}, so
+ * a rebuild after process death is served from the local cache.
+ * Each device posts its own system reminder, but the inbox record is written by
+ * whichever device first claims appointments/{id}/reminderSent, so the unread
+ * badge counts a reminder once however many devices are signed in.
+ *
+ * <h3>Firebase Integration:</h3>
+ * <ul>
+ *   <li>Realtime Database</li>
+ * </ul>
+ * @author Mustafa Merchant
+ * @version 1.0
+ * @since 2025
+ */
+
+
+public class AppointmentReminderScheduler {
+
+    private static final String PREF_NAME = "HealthcareReminders";
+    private static final String KEY_REMINDED = "reminded";
+    private static final String CHANNEL_ID = "healthcare_reminders";
+    private static final String CHANNEL_NAME = "Appointment reminders";
+    private static final int ALARM_REQUEST_CODE = 2001;
+
+    public static final long REMINDER_LEAD_MS = 60 * 60 * 1000L;
+    // Items this close to due are handled now rather than re-armed for a few seconds later
+    private static final long DUE_SLACK_MS = 5 * 1000L;
+    // A receiver woken from a cold start gets this long to rebuild the heap
+    private static final long ALARM_HANDLING_TIMEOUT_MS = 9 * 1000L;
+    private static final long NOT_ARMED = -1;
+
+    private static final int KIND_REMINDER = 0;
+    private static final int KIND_EXPIRY = 1;
+
+    private static AppointmentReminderScheduler instance;
+
+    private final Context context;
+    private final SharedPreferences preferences;
+    private final AlarmManager alarmManager;
+    private final Handler handler = new Handler(Looper.getMainLooper());
+    private final PriorityQueue<DueItem> heap =
+            new PriorityQueue<>(Comparator.comparingLong((DueItem item) -> item.dueAt));
+    private final Map<String, List<DueItem>> itemsByAppointment = new HashMap<>();
+    private final List<Runnable> pendingAlarmCallbacks = new ArrayList<>();
+    private final List<Source> sources = new ArrayList<>();
+    private String userId;
+    private long armedAt = NOT_ARMED;
+
+    private AppointmentReminderScheduler(Context context) {
+        this.context = context.getApplicationContext();
+        preferences = this.context.getSharedPreferences(PREF_NAME, Context.MODE_PRIVATE);
+        alarmManager = (AlarmManager) this.context.getSystemService(Context.ALARM_SERVICE);
+    }
+
+    public static synchronized AppointmentReminderScheduler getInstance(Context context) {
+        if (instance == null) {
+            instance = new AppointmentReminderScheduler(context);
+        }
+        return instance;
+    }
+
+
+    public void start(String userId) {
+        if (userId == null || userId.equals(this.userId)) return;
+        stopListening();
+
+        this.userId = userId;
+        armedAt = NOT_ARMED;
+        FirebaseDatabase database = FirebaseDatabase.getInstance();
+        sources.add(new Source(database.getReference("users").child(userId).child("appointments"), true));
+        sources.add(new Source(database.getReference("doctorAppointments").child(userId), false));
+    }
+
+
+    public void stop() {
+        stopListening();
+        alarmManager.cancel(alarmIntent());
+        armedAt = NOT_ARMED;
+        preferences.edit().clear().apply();
+    }
+
+
+    public void onAlarm(String signedInUserId, Runnable onHandled) {
+        if (signedInUserId == null) {
+            onHandled.run();
+            return;
+        }
+        start(signedInUserId);
+        if (isLoaded()) {
+            processDue();
+            onHandled.run();
+            return;
+        }
+
+        // Cold start: the due items are handled once both sources have loaded
+        pendingAlarmCallbacks.add(onHandled);
+        handler.postDelayed(() -> {
+            if (pendingAlarmCallbacks.remove(onHandled)) onHandled.run();
+        }, ALARM_HANDLING_TIMEOUT_MS);
+    }
+
+    private void stopListening() {
+        for (Source source : sources) {
+            source.detach();
+        }
+        sources.clear();
+        heap.clear();
+        itemsByAppointment.clear();
+        userId = null;
+        runPendingAlarmCallbacks();
+    }
+
+    private boolean isLoaded() {
+        if (sources.isEmpty()) return false;
+        for (Source source : sources) {
+            if (!source.loaded) return false;
+        }
+        return true;
+    }
+
+    private void onAppointmentChanged(DataSnapshot snapshot, boolean isPatientCopy) {
+        String appointmentId = snapshot.getKey();
+        removeItems(appointmentId);
+
+        UserAppointment appointment = snapshot.getValue(UserAppointment.class);
+        if (appointment == null || !"approved".equals(appointment.getStatus())) {
+            forgetReminded(appointmentId);
+            onQueueChanged();
+            return;
+        }
+        appointment.setId(appointmentId);
+
+        Date start = AppointmentStatusUpdater.parseDateTime(
+                appointment.getAppointmentDate(), appointment.getAppointmentTime());
+        if (start == null) {
+            onQueueChanged();
+            return;
+        }
+
+        List<DueItem> items = new ArrayList<>(2);
+        long startAt = start.getTime();
+        if (isPatientCopy && startAt > System.currentTimeMillis() && !wasReminded(appointmentId)) {
+            items.add(new DueItem(KIND_REMINDER, startAt - REMINDER_LEAD_MS, appointment));
+        }
+        // Expiry matches AppointmentStatusUpdater: completed once the start time has passed
+        items.add(new DueItem(KIND_EXPIRY, startAt + 1, appointment));
+        itemsByAppointment.put(appointmentId, items);
+        heap.addAll(items);
+        onQueueChanged();
+    }
+
+    private void removeItems(String appointmentId) {
+        List<DueItem> items = itemsByAppointment.remove(appointmentId);
+        if (items != null) {
+            heap.removeAll(items);
+        }
+    }
+
+    private void onQueueChanged() {
+        // Until both sources are loaded the heap is partial, so nothing is armed yet
+        if (!isLoaded()) return;
+        DueItem head = heap.peek();
+        if (head != null && head.dueAt <= System.currentTimeMillis() + DUE_SLACK_MS) {
+            processDue();
+        } else {
+            rearm();
+        }
+    }
+
+    private void processDue() {
+        long now = System.currentTimeMillis();
+        List<DueItem> due = new ArrayList<>();
+        while (!heap.isEmpty() && heap.peek().dueAt <= now + DUE_SLACK_MS) {
+            DueItem item = heap.poll();
+            List<DueItem> remaining = itemsByAppointment.get(item.appointment.getId());
+            if (remaining != null) {
+                remaining.remove(item);
+                if (remaining.isEmpty()) itemsByAppointment.remove(item.appointment.getId());
+            }
+            due.add(item);
+        }
+        rearm();
+
+        for (DueItem item : due) {
+            if (item.kind == KIND_REMINDER) {
+                postReminder(item.appointment);
+            } else {
+                // The status write comes back through the listeners and drops the appointment
+                AppointmentStatusUpdater.complete(item.appointment, null);
+            }
+        }
+    }
+
+    private void rearm() {
+        DueItem head = heap.peek();
+        long dueAt = head != null ? head.dueAt : NOT_ARMED;
+        if (dueAt == armedAt) return;
+
+        armedAt = dueAt;
+        PendingIntent alarmIntent = alarmIntent();
+        if (head == null) {
+            alarmManager.cancel(alarmIntent);
+        } else if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.S && !alarmManager.canScheduleExactAlarms()) {
+            // Without the exact alarm grant the system may deliver it a few minutes late
+            alarmManager.setAndAllowWhileIdle(AlarmManager.RTC_WAKEUP, dueAt, alarmIntent);
+        } else {
+            alarmManager.setExactAndAllowWhileIdle(AlarmManager.RTC_WAKEUP, dueAt, alarmIntent);
+        }
+    }
+
+    private PendingIntent alarmIntent() {
+        // One request code and one action, so arming always replaces the previous alarm
+        Intent intent = new Intent(context, AppointmentAlarmReceiver.class)
+                .setAction(AppointmentAlarmReceiver.ACTION_APPOINTMENT_DUE);
+        return PendingIntent.getBroadcast(context, ALARM_REQUEST_CODE, intent,
+                PendingIntent.FLAG_UPDATE_CURRENT | PendingIntent.FLAG_IMMUTABLE);
+    }
+
+    private void postReminder(UserAppointment appointment) {
+        if (userId == null || wasReminded(appointment.getId())) return;
+        markReminded(appointment.getId());
+
+        String doctorName = appointment.getDoctorName() != null
+                ? "Dr. " + appointment.getDoctorName() : "your doctor";
+        String title = "Upcoming Appointment";
+        String message = "Your appointment with " + doctorName + " is coming up at "
+                + appointment.getAppointmentTime() + " on " + appointment.getAppointmentDate() + ".";
+
+        // The in-app record makes the reminder show up in NotificationActivity as well
+        String notificationId = "reminder_" + appointment.getId();
+        claimInboxReminder(userId, appointment, notificationId, title, message);
+
+        Intent intent = new Intent(context, AppointmentDetailActivity.class);
+        intent.addFlags(Intent.FLAG_ACTIVITY_NEW_TASK);
+        intent.putExtra("appointmentId", appointment.getId());
+        intent.putExtra("doctorId", appointment.getDoctorId());
+        intent.putExtra("doctorName", appointment.getDoctorName());
+        intent.putExtra("doctorSpeciality", appointment.getDoctorSpeciality());
+        intent.putExtra("doctorImage", appointment.getDoctorImage());
+        intent.putExtra("appointmentDate", appointment.getAppointmentDate());
+        intent.putExtra("appointmentTime", appointment.getAppointmentTime());
+        intent.putExtra("status", appointment.getStatus());
+        PendingIntent contentIntent = PendingIntent.getActivity(context, appointment.getId().hashCode(),
+                intent, PendingIntent.FLAG_UPDATE_CURRENT | PendingIntent.FLAG_IMMUTABLE);
+
+        NotificationManager notificationManager =
+                (NotificationManager) context.getSystemService(Context.NOTIFICATION_SERVICE);
+        ensureNotificationChannel(notificationManager);
+        NotificationCompat.Builder builder = new NotificationCompat.Builder(context, CHANNEL_ID)
+                .setSmallIcon(R.drawable.ic_notification)
+                .setContentTitle(title)
+                .setContentText(message)
+                .setAutoCancel(true)
+                .setContentIntent(contentIntent)
+                .setPriority(NotificationCompat.PRIORITY_HIGH)
+                .setCategory(NotificationCompat.CATEGORY_REMINDER);
+        notificationManager.notify(notificationId.hashCode(), builder.build());
+    }
+
+    private void claimInboxReminder(String userId, UserAppointment appointment, String notificationId,
+                                    String title, String message) {
+        DatabaseReference claimRef = FirebaseDatabase.getInstance()
+                .getReference("appointments")
+                .child(appointment.getId())
+                .child("reminderSent");
+        claimRef.runTransaction(new Transaction.Handler() {
+            @NonNull
+            @Override
+            public Transaction.Result doTransaction(@NonNull MutableData currentData) {
+                Boolean sent = currentData.getValue(Boolean.class);
+                if (sent != null && sent) {
+                    return Transaction.abort();
+                }
+                currentData.setValue(true);
+                return Transaction.success(currentData);
+            }
+
+            @Override
+            public void onComplete(DatabaseError error, boolean committed, DataSnapshot currentData) {
+                // Another device already wrote the record, or the claim could not be made
+                if (error != null || !committed) return;
+
+                Map<String, Object> notification = new HashMap<>();
+                notification.put("id", notificationId);
+                notification.put("userId", userId);
+                notification.put("title", title);
+                notification.put("message", message);
+                notification.put("timestamp", System.currentTimeMillis());
+                notification.put("type", "appointment_reminder");
+                notification.put("relatedId", appointment.getId());
+                notification.put("doctorId", appointment.getDoctorId());
+                notification.put("doctorName", appointment.getDoctorName());
+                notification.put("doctorImage", appointment.getDoctorImage());
+                notification.put("read", false);
+
+                NotificationUtils.createNotification(userId, notificationId, notification)
+                        .addOnFailureListener(e -> claimRef.setValue(false));
+            }
+        });
+    }
+
+    private void ensureNotificationChannel(NotificationManager notificationManager) {
+        if (Build.VERSION.SDK_INT < Build.VERSION_CODES.O) return;
+        if (notificationManager.getNotificationChannel(CHANNEL_ID) != null) return;
+        NotificationChannel channel = new NotificationChannel(
+                CHANNEL_ID,
+                CHANNEL_NAME,
+                NotificationManager.IMPORTANCE_HIGH
+        );
+        channel.setDescription("Reminders before approved appointments");
+        notificationManager.createNotificationChannel(channel);
+    }
+
+    private boolean wasReminded(String appointmentId) {
+        return preferences.getStringSet(KEY_REMINDED, new HashSet<>()).contains(appointmentId);
+    }
+
+    private void markReminded(String appointmentId) {
+        Set<String> reminded = new HashSet<>(preferences.getStringSet(KEY_REMINDED, new HashSet<>()));
+        reminded.add(appointmentId);
+        preferences.edit().putStringSet(KEY_REMINDED, reminded).apply();
+    }
+
+    private void forgetReminded(String appointmentId) {
+        Set<String> stored = preferences.getStringSet(KEY_REMINDED, new HashSet<>());
+        if (!stored.contains(appointmentId)) return;
+        Set<String> reminded = new HashSet<>(stored);
+        reminded.remove(appointmentId);
+        preferences.edit().putStringSet(KEY_REMINDED, reminded).apply();
+    }
+
+    private void onSourceLoaded() {
+        if (!isLoaded()) return;
+        onQueueChanged();
+        runPendingAlarmCallbacks();
+    }
+
+    private void runPendingAlarmCallbacks() {
+        List<Runnable> callbacks = new ArrayList<>(pendingAlarmCallbacks);
+        pendingAlarmCallbacks.clear();
+        for (Runnable callback : callbacks) {
+            callback.run();
+        }
+    }
+
+    private static class DueItem {
+        final int kind;
+        final long dueAt;
+        final UserAppointment appointment;
+
+        DueItem(int kind, long dueAt, UserAppointment appointment) {
+            this.kind = kind;
+            this.dueAt = dueAt;
+            this.appointment = appointment;
+        }
+    }
+
+    private class Source {
+        private final DatabaseReference ref;
+        private final ChildEventListener childListener;
+        private final ValueEventListener loadedListener;
+        private boolean loaded;
+
+        Source(DatabaseReference ref, boolean isPatientCopy) {
+            this.ref = ref;
+            childListener = new ChildEventListener() {
+                @Override
+                public void onChildAdded(@NonNull DataSnapshot snapshot, @Nullable String previousChildName) {
+                    onAppointmentChanged(snapshot, isPatientCopy);
+                }
+
+                @Override
+                public void onChildChanged(@NonNull DataSnapshot snapshot, @Nullable String previousChildName) {
+                    onAppointmentChanged(snapshot, isPatientCopy);
+                }
+
+                @Override
+                public void onChildRemoved(@NonNull DataSnapshot snapshot) {
+                    removeItems(snapshot.getKey());
+                    forgetReminded(snapshot.getKey());
+                    onQueueChanged();
+                }
+
+                @Override
+                public void onChildMoved(@NonNull DataSnapshot snapshot, @Nullable String previousChildName) {}
+
+                @Override
+                public void onCancelled(@NonNull DatabaseError error) {}
+            };
+            // Fires after the initial children, which marks the heap as complete for this source
+            loadedListener = new ValueEventListener() {
+                @Override
+                public void onDataChange(@NonNull DataSnapshot snapshot) {
+                    loaded = true;
+                    onSourceLoaded();
+                }
+
+                @Override
+                public void onCancelled(@NonNull DatabaseError error) {
+                    loaded = true;
+                    onSourceLoaded();
+                }
+            };
+            ref.addChildEventListener(childListener);
+            ref.addListenerForSingleValueEvent(loadedListener);
+        }
+
+        void detach() {
+            ref.removeEventListener(childListener);
+            ref.removeEventListener(loadedListener);
+        }
+    }
+}
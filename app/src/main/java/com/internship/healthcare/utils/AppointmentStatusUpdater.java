@@ -1,24 +1,40 @@
 package com.internship.healthcare.utils;
 
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+
 import androidx.annotation.NonNull;
 
 import com.google.firebase.database.DataSnapshot;
 import com.google.firebase.database.DatabaseError;
 import com.google.firebase.database.DatabaseReference;
 import com.google.firebase.database.FirebaseDatabase;
-import com.google.firebase.database.ValueEventListener;
+import com.google.firebase.database.MutableData;
+import com.google.firebase.database.ServerValue;
+import com.google.firebase.database.Transaction;
+import com.internship.healthcare.models.UserAppointment;
 
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.Locale;
+import java.util.Map;
 /**
  * AppointmentStatusUpdater.java
  * A comprehensive healthcare management Android application
  * 
  * Package: com.internship.healthcare.utils
  * Utility class to automatically update appointment statuses
- * based on their dates
+ * based on their dates. Expired approved appointments are handed to
+ * {@link #complete} by {@link AppointmentReminderScheduler} when their time
+ * passes, and by the detail screen when one is opened. Completing an
+ * appointment counts the visit once, increments the doctor's totalPatients and
+ * updates the patient's row in doctorPatients/{doctorId} (visit count, first
+ * and last visit). If the status update fails the claim on patientCounted is
+ * released so a later attempt counts the visit. The patient row keeps the IDs
+ * of the appointments it has counted, so recording a visit is safe to retry.
  * @author Mustafa Merchant
  * @version 1.0
  * @since 2025
@@ -29,115 +45,157 @@ import java.util.Locale;
 public class AppointmentStatusUpdater {
 
     private static final String TAG = "AppointmentStatusUpdater";
+    private static final String VISITED_APPOINTMENTS = "visitedAppointments";
+    private static final int MAX_VISIT_ATTEMPTS = 3;
+    private static final long VISIT_RETRY_DELAY_MS = 2000;
 
     
-    public static void updateExpiredAppointments() {
-        DatabaseReference appointmentsRef = FirebaseDatabase.getInstance()
-                .getReference("appointments");
+    public static void complete(UserAppointment appointment, OnCompletedListener listener) {
+        DatabaseReference appointmentRef = FirebaseDatabase.getInstance()
+                .getReference("appointments")
+                .child(appointment.getId());
+
+        // Claiming patientCounted in a transaction means only one client ever counts the visit
+        appointmentRef.child("patientCounted").runTransaction(new Transaction.Handler() {
+            @NonNull
+            @Override
+            public Transaction.Result doTransaction(@NonNull MutableData currentData) {
+                Boolean counted = currentData.getValue(Boolean.class);
+                if (counted != null && counted) {
+                    return Transaction.abort();
+                }
+                currentData.setValue(true);
+                return Transaction.success(currentData);
+            }
 
-        appointmentsRef.addListenerForSingleValueEvent(new ValueEventListener() {
             @Override
-            public void onDataChange(@NonNull DataSnapshot snapshot) {
-                for (DataSnapshot appointmentSnapshot : snapshot.getChildren()) {
-                    String appointmentId = appointmentSnapshot.getKey();
-                    String status = appointmentSnapshot.child("status").getValue(String.class);
-                    String dateStr = appointmentSnapshot.child("appointmentDate").getValue(String.class);
-                    String timeStr = appointmentSnapshot.child("appointmentTime").getValue(String.class);
-                    String doctorId = appointmentSnapshot.child("doctorId").getValue(String.class);
-                    Boolean patientCounted = appointmentSnapshot.child("patientCounted").getValue(Boolean.class);
+            public void onComplete(DatabaseError error, boolean committed, DataSnapshot currentData) {
+                if (error != null) {
+                    Log.e(TAG, "Failed to complete appointment " + appointment.getId() + ": " + error.getMessage());
+                    return;
+                }
 
-    
-                    // Only update approved appointments (scheduled/upcoming/pending means still waiting)
-                    // Approved means doctor accepted the appointment
-                    if (status != null && dateStr != null && doctorId != null &&
-                            status.equals("approved")) {
-
-                        if (isDateTimePassed(dateStr, timeStr)) {
-                            if (patientCounted == null || !patientCounted) {
-                                appointmentSnapshot.getRef().child("status").setValue("completed");
-                                appointmentSnapshot.getRef().child("patientCounted").setValue(true);
-                                
-                                // Increment doctor's patient count
-                                incrementDoctorPatientCount(doctorId);
-                            } else if (!"completed".equals(status)) {
-                                // Just update status if already counted
-                                appointmentSnapshot.getRef().child("status").setValue("completed");
-                            }
-                        }
+                Map<String, Object> updates = new HashMap<>();
+                updates.put("appointments/" + appointment.getId() + "/status", "completed");
+                if (appointment.getUserId() != null) {
+                    updates.put("users/" + appointment.getUserId() + "/appointments/"
+                            + appointment.getId() + "/status", "completed");
+                }
+                if (appointment.getDoctorId() != null) {
+                    updates.put("doctorAppointments/" + appointment.getDoctorId() + "/"
+                            + appointment.getId() + "/status", "completed");
+                    if (committed) {
+                        updates.put("doctorProfiles/" + appointment.getDoctorId() + "/totalPatients",
+                                ServerValue.increment(1));
                     }
                 }
-            }
 
-            @Override
-            public void onCancelled(@NonNull DatabaseError error) {
+                FirebaseDatabase.getInstance().getReference().updateChildren(updates)
+                        .addOnSuccessListener(aVoid -> {
+                            // Also run when another client holds the claim: a visit it
+                            // failed to record is picked up here, and one already
+                            // recorded is skipped
+                            recordVisit(appointment, 1);
+                            if (listener != null) {
+                                listener.onCompleted(committed);
+                            }
+                        })
+                        .addOnFailureListener(e -> {
+                            Log.e(TAG, "Failed to complete appointment " + appointment.getId() + ": " + e.getMessage());
+                            // Without the increment the claim would hide this visit from every retry
+                            if (committed) {
+                                appointmentRef.child("patientCounted").setValue(false);
+                            }
+                        });
             }
         });
     }
 
-    
-    private static void incrementDoctorPatientCount(String doctorId) {
-        DatabaseReference doctorRef = FirebaseDatabase.getInstance()
-                .getReference("doctorProfiles")
-                .child(doctorId)
-                .child("totalPatients");
-    
+    private static void recordVisit(UserAppointment appointment, int attempt) {
+        if (appointment.getDoctorId() == null || appointment.getUserId() == null) return;
+
+        Date visitDate = parseDateTime(appointment.getAppointmentDate(), appointment.getAppointmentTime());
+        long visitTime = visitDate != null ? visitDate.getTime() : System.currentTimeMillis();
+
+        // Only this patient's row changes; the doctor's patient list is never rebuilt
+        FirebaseDatabase.getInstance().getReference("doctorPatients")
+                .child(appointment.getDoctorId())
+                .child(appointment.getUserId())
+                .runTransaction(new Transaction.Handler() {
+                    @NonNull
+                    @Override
+                    public Transaction.Result doTransaction(@NonNull MutableData currentData) {
+                        MutableData visited = currentData.child(VISITED_APPOINTMENTS).child(appointment.getId());
+                        if (visited.getValue() != null) {
+                            return Transaction.abort();
+                        }
+                        visited.setValue(visitTime);
 
-        doctorRef.addListenerForSingleValueEvent(new ValueEventListener() {
-            @Override
-            public void onDataChange(@NonNull DataSnapshot snapshot) {
-                Integer currentCount = snapshot.getValue(Integer.class);
-                if (currentCount == null) {
-                    currentCount = 0;
-                }
-                doctorRef.setValue(currentCount + 1);
-            }
+                        Long visits = currentData.child("totalAppointments").getValue(Long.class);
+                        Long lastVisit = currentData.child("lastVisitDate").getValue(Long.class);
+                        Long firstVisit = currentData.child("firstVisitDate").getValue(Long.class);
 
-            @Override
-            public void onCancelled(@NonNull DatabaseError error) {
-            }
-        });
+                        currentData.child("totalAppointments").setValue((visits != null ? visits : 0) + 1);
+                        if (lastVisit == null || visitTime >= lastVisit) {
+                            currentData.child("lastVisitDate").setValue(visitTime);
+                            currentData.child("lastAppointmentStatus").setValue("completed");
+                        }
+                        if (firstVisit == null || firstVisit == 0 || visitTime < firstVisit) {
+                            currentData.child("firstVisitDate").setValue(visitTime);
+                        }
+                        if (appointment.getPatientName() != null && !appointment.getPatientName().isEmpty()) {
+                            currentData.child("patientName").setValue(appointment.getPatientName());
+                        }
+                        if (appointment.getPatientPhone() != null && !appointment.getPatientPhone().isEmpty()) {
+                            currentData.child("patientPhone").setValue(appointment.getPatientPhone());
+                        }
+                        return Transaction.success(currentData);
+                    }
+
+                    @Override
+                    public void onComplete(DatabaseError error, boolean committed, DataSnapshot currentData) {
+                        if (error == null) return;
+                        Log.e(TAG, "Failed to record visit for " + appointment.getId() + ": " + error.getMessage());
+                        if (attempt < MAX_VISIT_ATTEMPTS && error.getCode() != DatabaseError.PERMISSION_DENIED) {
+                            new Handler(Looper.getMainLooper()).postDelayed(
+                                    () -> recordVisit(appointment, attempt + 1), VISIT_RETRY_DELAY_MS * attempt);
+                        }
+                    }
+                });
     }
 
-    
-    
-    private static boolean isDateTimePassed(String dateStr, String timeStr) {
-        try {
-            // Combine date and time
-            String dateTimeStr = dateStr;
-            if (timeStr != null && !timeStr.isEmpty()) {
-                dateTimeStr += " " + timeStr;
-            }
+    static Date parseDateTime(String dateStr, String timeStr) {
+        if (dateStr == null) return null;
 
-            // Try different date formats - PRIORITIZE formats with year
-            SimpleDateFormat[] formats = {
-                    new SimpleDateFormat("MMM dd, yyyy hh:mm a", Locale.ENGLISH),
-                    new SimpleDateFormat("MMM dd, yyyy", Locale.ENGLISH),
-                    new SimpleDateFormat("MMM dd, yyyy HH:mm", Locale.ENGLISH),
-    
-                    new SimpleDateFormat("yyyy-MM-dd HH:mm:ss", Locale.ENGLISH),
-                    new SimpleDateFormat("yyyy-MM-dd HH:mm", Locale.ENGLISH),
-                    new SimpleDateFormat("yyyy-MM-dd", Locale.ENGLISH)
-            };
-
-            Date appointmentDateTime = null;
-            for (SimpleDateFormat format : formats) {
-                try {
-                    appointmentDateTime = format.parse(dateTimeStr);
-                    if (appointmentDateTime != null) break;
-                } catch (ParseException e) {
-                    // Try next format
-                }
-            }
+        // Combine date and time
+        String dateTimeStr = dateStr;
+        if (timeStr != null && !timeStr.isEmpty()) {
+            dateTimeStr += " " + timeStr;
+        }
 
-            if (appointmentDateTime != null) {
-                Date now = new Date();
-                return now.after(appointmentDateTime);
+        // Try different date formats - PRIORITIZE formats with year
+        SimpleDateFormat[] formats = {
+                new SimpleDateFormat("MMM dd, yyyy hh:mm a", Locale.ENGLISH),
+                new SimpleDateFormat("MMM dd, yyyy", Locale.ENGLISH),
+                new SimpleDateFormat("MMM dd, yyyy HH:mm", Locale.ENGLISH),
+    
+                new SimpleDateFormat("yyyy-MM-dd HH:mm:ss", Locale.ENGLISH),
+                new SimpleDateFormat("yyyy-MM-dd HH:mm", Locale.ENGLISH),
+                new SimpleDateFormat("yyyy-MM-dd", Locale.ENGLISH)
+        };
+
+        for (SimpleDateFormat format : formats) {
+            try {
+                Date parsed = format.parse(dateTimeStr);
+                if (parsed != null) return parsed;
+            } catch (ParseException e) {
+                // Try next format
             }
-
-        } catch (Exception e) {
-            e.printStackTrace();
         }
+        return null;
+    }
 
-        return false;
+    public interface OnCompletedListener {
+        void onCompleted(boolean counted);
     }
 }
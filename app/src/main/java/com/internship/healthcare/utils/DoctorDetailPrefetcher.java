@@ -0,0 +1,212 @@
+package com.internship.healthcare.utils;
+
+import android.os.SystemClock;
+import android.util.LruCache;
+
+import androidx.annotation.NonNull;
+
+import com.google.firebase.database.DataSnapshot;
+import com.google.firebase.database.DatabaseError;
+import com.google.firebase.database.DatabaseReference;
+import com.google.firebase.database.FirebaseDatabase;
+import com.google.firebase.database.ValueEventListener;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+/**
+ * DoctorDetailPrefetcher.java
+ * A comprehensive healthcare management Android application
+ *
+ * Package: com.internship.healthcare.utils
+ * Bounded cache of the data DoctorDetailsActivity needs for one doctor: the
+ * profile, the user record, the weekly schedule and the rating aggregate.
+ * List screens queue prefetches for doctors that stay on screen (see
+ * {@link DwellPrefetchListener}); at most {@link #MAX_IN_FLIGHT} of those run at
+ * once and queued ones are dropped when they scroll away. A detail open calls
+ * {@link #load}, which answers from memory, joins a prefetch already in flight,
+ * or starts its own fetch ahead of the queue. Entries expire after a few minutes
+ * so schedule edits are picked up. Booked slots are not part of the bundle; the
+ * detail screen always reads them fresh. Must be used from the main thread.
+ *
+ * <h3>Firebase Integration:</h3>
+ * <ul>
+ *   <li>Realtime Database</li>
+ * </ul>
+ * @author Mustafa Merchant
+ * @version 1.0
+ * @since 2025
+ */
+
+
+public class DoctorDetailPrefetcher {
+
+    private static final int MAX_ENTRIES = 20;
+    private static final int MAX_IN_FLIGHT = 2;
+    private static final int MAX_QUEUED = 8;
+    private static final long MAX_AGE_MS = 3 * 60 * 1000L;
+
+    private static final LruCache<String, DetailBundle> cache = new LruCache<>(MAX_ENTRIES);
+    private static final ArrayDeque<String> queue = new ArrayDeque<>();
+    private static final Map<String, List<OnDetailLoadedListener>> inFlight = new HashMap<>();
+
+
+    public static void prefetch(String doctorId) {
+        if (doctorId == null || get(doctorId) != null) return;
+        if (inFlight.containsKey(doctorId) || queue.contains(doctorId)) return;
+
+        // The newest request is the one most likely to be tapped, so the oldest is dropped
+        if (queue.size() >= MAX_QUEUED) {
+            queue.pollFirst();
+        }
+        queue.addLast(doctorId);
+        startQueued();
+    }
+
+
+    public static void cancel(String doctorId) {
+        queue.remove(doctorId);
+    }
+
+
+    public static DetailBundle get(String doctorId) {
+        if (doctorId == null) return null;
+        DetailBundle bundle = cache.get(doctorId);
+        if (bundle != null && SystemClock.elapsedRealtime() - bundle.loadedAt > MAX_AGE_MS) {
+            cache.remove(doctorId);
+            return null;
+        }
+        return bundle;
+    }
+
+
+    public static void load(String doctorId, OnDetailLoadedListener listener) {
+        DetailBundle cached = get(doctorId);
+        if (cached != null) {
+            listener.onDetailLoaded(cached);
+            return;
+        }
+
+        queue.remove(doctorId);
+        List<OnDetailLoadedListener> waiting = inFlight.get(doctorId);
+        if (waiting != null) {
+            waiting.add(listener);
+            return;
+        }
+        // A tap is never held behind the prefetch limit
+        fetch(doctorId, listener);
+    }
+
+
+    public static void invalidate(String doctorId) {
+        if (doctorId != null) {
+            cache.remove(doctorId);
+        }
+    }
+
+    private static void startQueued() {
+        while (inFlight.size() < MAX_IN_FLIGHT && !queue.isEmpty()) {
+            fetch(queue.pollFirst(), null);
+        }
+    }
+
+    private static void fetch(String doctorId, OnDetailLoadedListener listener) {
+        List<OnDetailLoadedListener> waiting = new ArrayList<>();
+        if (listener != null) waiting.add(listener);
+        inFlight.put(doctorId, waiting);
+
+        FirebaseDatabase database = FirebaseDatabase.getInstance();
+        DataSnapshot[] parts = new DataSnapshot[4];
+        DatabaseError[] errors = new DatabaseError[4];
+        int[] remaining = {parts.length};
+        Runnable onPartLoaded = () -> {
+            if (--remaining[0] > 0) return;
+            DetailBundle bundle = new DetailBundle(parts[0], parts[1], parts[2], parts[3],
+                    errors[0] != null ? errors[0] : errors[1]);
+            boolean complete = true;
+            for (DatabaseError error : errors) {
+                if (error != null) complete = false;
+            }
+            if (complete) {
+                cache.put(doctorId, bundle);
+            }
+            List<OnDetailLoadedListener> listeners = inFlight.remove(doctorId);
+            if (listeners != null) {
+                for (OnDetailLoadedListener waiter : listeners) {
+                    waiter.onDetailLoaded(bundle);
+                }
+            }
+            startQueued();
+        };
+
+        // All four parts are requested together so the bundle costs one round trip
+        readOnce(database.getReference("doctorProfiles").child(doctorId), 0, parts, errors, onPartLoaded);
+        readOnce(database.getReference("users").child(doctorId), 1, parts, errors, onPartLoaded);
+        readOnce(database.getReference("doctorSchedules").child(doctorId), 2, parts, errors, onPartLoaded);
+        readOnce(RatingStats.getStatsRef(doctorId), 3, parts, errors, onPartLoaded);
+    }
+
+    private static void readOnce(DatabaseReference ref, int index, DataSnapshot[] parts,
+                                 DatabaseError[] errors, Runnable onPartLoaded) {
+        ref.addListenerForSingleValueEvent(new ValueEventListener() {
+            @Override
+            public void onDataChange(@NonNull DataSnapshot snapshot) {
+                parts[index] = snapshot;
+                onPartLoaded.run();
+            }
+
+            @Override
+            public void onCancelled(@NonNull DatabaseError error) {
+                errors[index] = error;
+                onPartLoaded.run();
+            }
+        });
+    }
+
+    public static class DetailBundle {
+        private final DataSnapshot profile;
+        private final DataSnapshot user;
+        private final DataSnapshot schedule;
+        private final DataSnapshot ratingStats;
+        private final DatabaseError error;
+        private final long loadedAt = SystemClock.elapsedRealtime();
+
+        DetailBundle(DataSnapshot profile, DataSnapshot user, DataSnapshot schedule,
+                     DataSnapshot ratingStats, DatabaseError error) {
+            this.profile = profile;
+            this.user = user;
+            this.schedule = schedule;
+            this.ratingStats = ratingStats;
+            this.error = error;
+        }
+
+        public DataSnapshot getProfile() {
+            return profile;
+        }
+
+        public DataSnapshot getUser() {
+            return user;
+        }
+
+        /** Null when the schedule could not be read. */
+        public DataSnapshot getSchedule() {
+            return schedule;
+        }
+
+        /** Null when the rating aggregate could not be read. */
+        public DataSnapshot getRatingStats() {
+            return ratingStats;
+        }
+
+        /** Set when the profile or the user record could not be read. */
+        public DatabaseError getError() {
+            return error;
+        }
+    }
+
+    public interface OnDetailLoadedListener {
+        void onDetailLoaded(DetailBundle bundle);
+    }
+}
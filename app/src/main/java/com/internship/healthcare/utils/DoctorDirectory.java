@@ -0,0 +1,184 @@
+package com.internship.healthcare.utils;
+
+import android.os.SystemClock;
+import android.util.LruCache;
+
+import androidx.annotation.NonNull;
+
+import com.google.firebase.database.DataSnapshot;
+import com.google.firebase.database.DatabaseError;
+import com.google.firebase.database.DatabaseReference;
+import com.google.firebase.database.FirebaseDatabase;
+import com.google.firebase.database.ValueEventListener;
+import com.internship.healthcare.models.Doctor;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+/**
+ * DoctorDirectory.java
+ * A comprehensive healthcare management Android application
+ *
+ * Package: com.internship.healthcare.utils
+ * In-memory directory of doctor summaries keyed by doctor ID.
+ * Screens that already load doctors put them here, and {@link #load} hydrates a
+ * list of IDs in one batch: cached doctors are returned as-is and every miss is
+ * requested at once over the shared database connection, so the batch costs one
+ * round trip instead of one per doctor. doctorProfiles is kept synced for
+ * signed-in users, which lets most misses resolve from the local cache.
+ * Entries expire after a few minutes so profile edits and rating changes are
+ * picked up, the same as in {@link DoctorDetailPrefetcher}.
+ *
+ * <h3>Firebase Integration:</h3>
+ * <ul>
+ *   <li>Realtime Database</li>
+ * </ul>
+ * @author Mustafa Merchant
+ * @version 1.0
+ * @since 2025
+ */
+
+
+public class DoctorDirectory {
+
+    private static final int MAX_ENTRIES = 100;
+    private static final long MAX_AGE_MS = 5 * 60 * 1000L;
+
+    private static final LruCache<String, Entry> cache = new LruCache<>(MAX_ENTRIES);
+
+
+    public static void put(Doctor doctor) {
+        if (doctor != null && doctor.getId() != null) {
+            cache.put(doctor.getId(), new Entry(doctor));
+        }
+    }
+
+
+    public static Doctor get(String doctorId) {
+        if (doctorId == null) return null;
+        Entry entry = cache.get(doctorId);
+        if (entry == null) return null;
+        if (SystemClock.elapsedRealtime() - entry.cachedAt > MAX_AGE_MS) {
+            cache.remove(doctorId);
+            return null;
+        }
+        return entry.doctor;
+    }
+
+
+    public static Doctor fromSnapshot(String doctorId, DataSnapshot profile, String name) {
+        String specialty = profile.child("specialty").getValue(String.class);
+        String profileImageUrl = profile.child("profileImageUrl").getValue(String.class);
+        Double consultationFee = profile.child("consultationFee").getValue(Double.class);
+        String contactNumber = profile.child("contactNumber").getValue(String.class);
+        Double rating = profile.child("rating").getValue(Double.class);
+        Integer experienceYears = profile.child("experienceYears").getValue(Integer.class);
+        String about = profile.child("about").getValue(String.class);
+        String degree = profile.child("degree").getValue(String.class);
+        String university = profile.child("university").getValue(String.class);
+
+        Doctor doctor = new Doctor();
+        doctor.setId(doctorId);
+        doctor.setName(name != null ? name : "Dr. Unknown");
+        doctor.setSpeciality(specialty != null ? specialty : "General");
+        doctor.setImage(profileImageUrl != null ? profileImageUrl : "");
+        doctor.setThumbnailImage(ProfileImageRenditions.pick(profile, ProfileImageRenditions.THUMB_SIZE_PX));
+        doctor.setConsultationFee(consultationFee != null ? consultationFee : 0);
+        doctor.setMobile(contactNumber != null ? contactNumber : "");
+        doctor.setRating(rating != null ? rating : 0.0);
+        doctor.setExperience(experienceYears != null ? experienceYears : 0);
+        doctor.setAbout(about != null ? about : "");
+        doctor.setDegree(degree != null ? degree : "");
+        doctor.setUniversity(university != null ? university : "");
+        return doctor;
+    }
+
+
+    public static void load(List<String> doctorIds, OnDoctorsLoadedListener listener) {
+        Map<String, Doctor> found = new HashMap<>();
+        List<String> missing = new ArrayList<>();
+        for (String doctorId : doctorIds) {
+            Doctor cached = get(doctorId);
+            if (cached != null) {
+                found.put(doctorId, cached);
+            } else {
+                missing.add(doctorId);
+            }
+        }
+
+        if (missing.isEmpty()) {
+            listener.onDoctorsLoaded(inOrder(doctorIds, found));
+            return;
+        }
+
+        // Every miss is requested before any answer arrives, so they share one round trip
+        FirebaseDatabase database = FirebaseDatabase.getInstance();
+        int[] remaining = {missing.size()};
+        for (String doctorId : missing) {
+            DataSnapshot[] profile = new DataSnapshot[1];
+            String[] name = new String[1];
+            int[] parts = {2};
+            Runnable onPartLoaded = () -> {
+                if (--parts[0] > 0) return;
+                if (profile[0] != null && profile[0].exists()) {
+                    Doctor doctor = fromSnapshot(doctorId, profile[0], name[0]);
+                    put(doctor);
+                    found.put(doctorId, doctor);
+                }
+                if (--remaining[0] == 0) {
+                    listener.onDoctorsLoaded(inOrder(doctorIds, found));
+                }
+            };
+
+            readOnce(database.getReference("doctorProfiles").child(doctorId), snapshot -> {
+                profile[0] = snapshot;
+                onPartLoaded.run();
+            });
+            readOnce(database.getReference("users").child(doctorId).child("name"), snapshot -> {
+                name[0] = snapshot != null ? snapshot.getValue(String.class) : null;
+                onPartLoaded.run();
+            });
+        }
+    }
+
+    private static void readOnce(DatabaseReference ref, SnapshotCallback callback) {
+        ref.addListenerForSingleValueEvent(new ValueEventListener() {
+            @Override
+            public void onDataChange(@NonNull DataSnapshot snapshot) {
+                callback.onSnapshot(snapshot);
+            }
+
+            @Override
+            public void onCancelled(@NonNull DatabaseError error) {
+                callback.onSnapshot(null);
+            }
+        });
+    }
+
+    private static List<Doctor> inOrder(List<String> doctorIds, Map<String, Doctor> found) {
+        List<Doctor> doctors = new ArrayList<>(found.size());
+        for (String doctorId : doctorIds) {
+            Doctor doctor = found.get(doctorId);
+            if (doctor != null) doctors.add(doctor);
+        }
+        return doctors;
+    }
+
+    private static class Entry {
+        final Doctor doctor;
+        final long cachedAt = SystemClock.elapsedRealtime();
+
+        Entry(Doctor doctor) {
+            this.doctor = doctor;
+        }
+    }
+
+    private interface SnapshotCallback {
+        void onSnapshot(DataSnapshot snapshot);
+    }
+
+    public interface OnDoctorsLoadedListener {
+        void onDoctorsLoaded(List<Doctor> doctors);
+    }
+}
@@ -0,0 +1,195 @@
+package com.internship.healthcare.utils;
+
+import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+/**
+ * DocumentCache.java
+ * A comprehensive healthcare management Android application
+ *
+ * Package: com.internship.healthcare.utils
+ * Utility class that streams remote documents such as verification certificates
+ * into the app's cache directory so they can be rendered in-app.
+ * Concurrent requests for the same URL share one download, downloads are written
+ * to a temporary file and renamed when complete, and the directory is trimmed to
+ * a fixed size by evicting the least recently used files.
+ *
+ * @author Mustafa Merchant
+ * @version 1.0
+ * @since 2025
+ */
+
+
+public class DocumentCache {
+
+    private static final String TAG = "DocumentCache";
+    private static final String CACHE_DIR = "documents";
+    private static final long MAX_CACHE_BYTES = 100L * 1024 * 1024;
+    private static final int CONNECT_TIMEOUT_MS = 15000;
+    private static final int READ_TIMEOUT_MS = 30000;
+
+    private static final ExecutorService executor = Executors.newFixedThreadPool(2);
+    private static final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private static final Map<String, List<OnDocumentReadyListener>> inFlight = new HashMap<>();
+
+
+    public static void fetch(Context context, String url, OnDocumentReadyListener listener) {
+        File file = getCacheFile(context, url);
+        if (file.exists()) {
+            // Touch so trimming treats it as recently used
+            file.setLastModified(System.currentTimeMillis());
+            if (listener != null) listener.onDocumentReady(file);
+            return;
+        }
+
+        synchronized (inFlight) {
+            List<OnDocumentReadyListener> waiting = inFlight.get(url);
+            if (waiting != null) {
+                if (listener != null) waiting.add(listener);
+                return;
+            }
+            waiting = new ArrayList<>();
+            if (listener != null) waiting.add(listener);
+            inFlight.put(url, waiting);
+        }
+
+        File directory = file.getParentFile();
+        executor.execute(() -> {
+            Exception failure = null;
+            try {
+                download(url, file);
+                trim(directory);
+            } catch (IOException e) {
+                Log.e(TAG, "Download failed for " + url + ": " + e.getMessage());
+                failure = e;
+            }
+
+            List<OnDocumentReadyListener> waiting;
+            synchronized (inFlight) {
+                waiting = inFlight.remove(url);
+            }
+            Exception error = failure;
+            mainHandler.post(() -> {
+                if (waiting == null) return;
+                for (OnDocumentReadyListener callback : waiting) {
+                    if (error == null) {
+                        callback.onDocumentReady(file);
+                    } else {
+                        callback.onDocumentFailed(error.getMessage());
+                    }
+                }
+            });
+        });
+    }
+
+
+    public static void prefetch(Context context, String url) {
+        if (url == null || url.isEmpty()) return;
+        fetch(context.getApplicationContext(), url, null);
+    }
+
+
+    public static boolean isPdf(String url) {
+        if (url == null) return false;
+        String path = url;
+        int query = path.indexOf('?');
+        if (query >= 0) path = path.substring(0, query);
+        return path.toLowerCase().endsWith(".pdf");
+    }
+
+    private static File getCacheFile(Context context, String url) {
+        File directory = new File(context.getCacheDir(), CACHE_DIR);
+        if (!directory.exists()) {
+            directory.mkdirs();
+        }
+        String extension = isPdf(url) ? ".pdf" : "";
+        return new File(directory, sha1(url) + extension);
+    }
+
+    private static void download(String url, File target) throws IOException {
+        File partial = new File(target.getParentFile(), target.getName() + ".part");
+        HttpURLConnection connection = (HttpURLConnection) new URL(url).openConnection();
+        connection.setConnectTimeout(CONNECT_TIMEOUT_MS);
+        connection.setReadTimeout(READ_TIMEOUT_MS);
+        try {
+            int status = connection.getResponseCode();
+            if (status != HttpURLConnection.HTTP_OK) {
+                throw new IOException("HTTP " + status);
+            }
+            try (InputStream input = connection.getInputStream();
+                 OutputStream output = new FileOutputStream(partial)) {
+                byte[] buffer = new byte[16 * 1024];
+                int read;
+                while ((read = input.read(buffer)) != -1) {
+                    output.write(buffer, 0, read);
+                }
+            }
+            if (!partial.renameTo(target)) {
+                throw new IOException("Could not move downloaded file into the cache");
+            }
+        } finally {
+            connection.disconnect();
+            if (partial.exists()) {
+                partial.delete();
+            }
+        }
+    }
+
+    private static void trim(File directory) {
+        File[] files = directory.listFiles();
+        if (files == null) return;
+
+        long total = 0;
+        for (File file : files) {
+            total += file.length();
+        }
+        if (total <= MAX_CACHE_BYTES) return;
+
+        Arrays.sort(files, (a, b) -> Long.compare(a.lastModified(), b.lastModified()));
+        for (File file : files) {
+            if (total <= MAX_CACHE_BYTES) break;
+            if (file.getName().endsWith(".part")) continue;
+            long length = file.length();
+            if (file.delete()) {
+                total -= length;
+            }
+        }
+    }
+
+    private static String sha1(String value) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-1").digest(value.getBytes(StandardCharsets.UTF_8));
+            StringBuilder hex = new StringBuilder();
+            for (byte b : digest) {
+                hex.append(String.format("%02x", b));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            return Integer.toHexString(value.hashCode());
+        }
+    }
+
+    public interface OnDocumentReadyListener {
+        void onDocumentReady(File file);
+        void onDocumentFailed(String error);
+    }
+}
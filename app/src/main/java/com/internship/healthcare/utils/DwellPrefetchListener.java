@@ -0,0 +1,105 @@
+package com.internship.healthcare.utils;
+
+import android.os.SystemClock;
+import android.view.View;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.RecyclerView;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+/**
+ * DwellPrefetchListener.java
+ * A comprehensive healthcare management Android application
+ *
+ * Package: com.internship.healthcare.utils
+ * Prefetches doctor details for list rows that stay on screen.
+ * RecyclerView only attaches the rows it lays out, so attach and detach events
+ * mark when a doctor becomes visible and when it leaves. A doctor that is still
+ * attached after {@link #DWELL_MS} is handed to {@link DoctorDetailPrefetcher};
+ * rows that only fly past during a fling never reach the threshold, and a queued
+ * prefetch is cancelled as soon as its row is detached.
+ *
+ * @author Mustafa Merchant
+ * @version 1.0
+ * @since 2025
+ */
+
+
+public class DwellPrefetchListener implements RecyclerView.OnChildAttachStateChangeListener {
+
+    private static final long DWELL_MS = 600;
+
+    private final RecyclerView recyclerView;
+    private final DoctorIdLookup lookup;
+    private final Map<View, String> attachedIds = new HashMap<>();
+    private final Map<String, Long> visibleSince = new HashMap<>();
+    private final Runnable dwellCheck = this::prefetchDwelled;
+    private boolean checkPending;
+
+    private DwellPrefetchListener(RecyclerView recyclerView, DoctorIdLookup lookup) {
+        this.recyclerView = recyclerView;
+        this.lookup = lookup;
+    }
+
+
+    public static void attach(RecyclerView recyclerView, DoctorIdLookup lookup) {
+        recyclerView.addOnChildAttachStateChangeListener(new DwellPrefetchListener(recyclerView, lookup));
+    }
+
+    @Override
+    public void onChildViewAttachedToWindow(@NonNull View view) {
+        int position = recyclerView.getChildAdapterPosition(view);
+        if (position == RecyclerView.NO_POSITION) return;
+        String doctorId = lookup.getDoctorIdAt(position);
+        if (doctorId == null) return;
+
+        attachedIds.put(view, doctorId);
+        if (!visibleSince.containsKey(doctorId)) {
+            visibleSince.put(doctorId, SystemClock.uptimeMillis());
+        }
+        scheduleCheck(DWELL_MS);
+    }
+
+    @Override
+    public void onChildViewDetachedFromWindow(@NonNull View view) {
+        // Looked up by view: the adapter position is already gone after a data change
+        String doctorId = attachedIds.remove(view);
+        if (doctorId == null || attachedIds.containsValue(doctorId)) return;
+        visibleSince.remove(doctorId);
+        DoctorDetailPrefetcher.cancel(doctorId);
+    }
+
+    private void scheduleCheck(long delayMs) {
+        if (checkPending) return;
+        checkPending = true;
+        recyclerView.postDelayed(dwellCheck, delayMs);
+    }
+
+    private void prefetchDwelled() {
+        checkPending = false;
+        if (!recyclerView.isAttachedToWindow()) return;
+
+        long now = SystemClock.uptimeMillis();
+        long nextDue = Long.MAX_VALUE;
+        Iterator<Map.Entry<String, Long>> entries = visibleSince.entrySet().iterator();
+        while (entries.hasNext()) {
+            Map.Entry<String, Long> entry = entries.next();
+            long dueAt = entry.getValue() + DWELL_MS;
+            if (dueAt <= now) {
+                DoctorDetailPrefetcher.prefetch(entry.getKey());
+                entries.remove();
+            } else {
+                nextDue = Math.min(nextDue, dueAt);
+            }
+        }
+        if (nextDue != Long.MAX_VALUE) {
+            scheduleCheck(nextDue - now);
+        }
+    }
+
+    public interface DoctorIdLookup {
+        String getDoctorIdAt(int position);
+    }
+}
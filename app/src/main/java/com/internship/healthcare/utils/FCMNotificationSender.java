@@ -2,11 +2,8 @@ package com.internship.healthcare.utils;
 
 import android.util.Log;
 
-import com.google.firebase.database.DataSnapshot;
-import com.google.firebase.database.DatabaseError;
 import com.google.firebase.database.DatabaseReference;
 import com.google.firebase.database.FirebaseDatabase;
-import com.google.firebase.database.ValueEventListener;
 
 import org.json.JSONException;
 import org.json.JSONObject;
@@ -50,26 +47,11 @@ public class FCMNotificationSender {
     public static void sendChatNotification(String receiverId, String senderName, 
                                            String message, String chatId, String senderId,
                                            String senderImage, String senderRole, String messageType) {
-        DatabaseReference userRef = FirebaseDatabase.getInstance()
-                .getReference("users")
-                .child(receiverId)
-                .child("fcmToken");
-
-        userRef.addListenerForSingleValueEvent(new ValueEventListener() {
-            @Override
-            public void onDataChange(DataSnapshot snapshot) {
-                if (snapshot.exists()) {
-                    String fcmToken = snapshot.getValue(String.class);
-                    if (fcmToken != null && !fcmToken.isEmpty()) {
-                        sendNotificationToToken(fcmToken, senderName, message, chatId, 
-                                senderId, senderName, senderImage, senderRole, messageType);
-                    }
-                }
-            }
-
-            @Override
-            public void onCancelled(DatabaseError error) {
-                Log.e(TAG, "Failed to get FCM token: " + error.getMessage());
+        // Resolved from memory after the first lookup for this receiver
+        FCMTokenCache.getToken(receiverId, fcmToken -> {
+            if (fcmToken != null) {
+                sendNotificationToToken(fcmToken, senderName, message, chatId,
+                        senderId, senderName, senderImage, senderRole, messageType);
             }
         });
     }
@@ -139,7 +121,10 @@ public class FCMNotificationSender {
                     .getReference("users")
                     .child(userId);
             userRef.child("fcmToken").setValue(token)
-                    .addOnSuccessListener(aVoid -> Log.d(TAG, "FCM token saved successfully"))
+                    .addOnSuccessListener(aVoid -> {
+                        FCMTokenCache.onTokenChanged(userId, token);
+                        Log.d(TAG, "FCM token saved successfully");
+                    })
                     .addOnFailureListener(e -> Log.e(TAG, "Failed to save FCM token: " + e.getMessage()));
         }
     }
@@ -151,6 +136,7 @@ public class FCMNotificationSender {
                     .getReference("users")
                     .child(userId);
             userRef.child("fcmToken").removeValue();
+            FCMTokenCache.onTokenChanged(userId, null);
         }
     }
 }
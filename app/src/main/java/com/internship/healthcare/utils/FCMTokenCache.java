@@ -0,0 +1,175 @@
+package com.internship.healthcare.utils;
+
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+
+import com.google.firebase.database.DataSnapshot;
+import com.google.firebase.database.DatabaseError;
+import com.google.firebase.database.DatabaseReference;
+import com.google.firebase.database.FirebaseDatabase;
+import com.google.firebase.database.ValueEventListener;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+/**
+ * FCMTokenCache.java
+ * A comprehensive healthcare management Android application
+ *
+ * Package: com.internship.healthcare.utils
+ * In-memory cache of receiver FCM tokens keyed by user ID.
+ * The first lookup for a user attaches a value listener to users/{userId}/fcmToken,
+ * which then keeps the cached token current, so repeated sends to the same user
+ * do not read the database again. Local token changes are applied directly, and
+ * logout drops every entry and its listener through {@link #clear()}.
+ *
+ * <h3>Firebase Integration:</h3>
+ * <ul>
+ *   <li>Realtime Database</li>
+ * </ul>
+ * @author Mustafa Merchant
+ * @version 1.0
+ * @since 2025
+ */
+
+
+public class FCMTokenCache {
+
+    private static final String TAG = "FCMTokenCache";
+    // Upper bound on watched users; least recently used entries drop their listener
+    private static final int MAX_ENTRIES = 32;
+
+    private static final Map<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    private static class Entry {
+        String token;
+        boolean loaded;
+        DatabaseReference ref;
+        ValueEventListener listener;
+        final List<OnTokenResolvedListener> pending = new ArrayList<>();
+    }
+
+
+    public static void getToken(String userId, OnTokenResolvedListener callback) {
+        if (userId == null || userId.isEmpty()) {
+            callback.onTokenResolved(null);
+            return;
+        }
+
+        String cachedToken;
+        synchronized (entries) {
+            Entry entry = entries.get(userId);
+            if (entry == null) {
+                entry = new Entry();
+                entry.pending.add(callback);
+                entries.put(userId, entry);
+                attach(userId, entry);
+                trimToSize();
+                return;
+            }
+            if (!entry.loaded) {
+                // A lookup for this user is already in flight
+                entry.pending.add(callback);
+                return;
+            }
+            cachedToken = entry.token;
+        }
+        deliver(callback, cachedToken);
+    }
+
+
+    public static void onTokenChanged(String userId, String token) {
+        if (userId == null || userId.isEmpty()) return;
+
+        List<OnTokenResolvedListener> waiting = null;
+        synchronized (entries) {
+            Entry entry = entries.get(userId);
+            if (entry == null) return;
+
+            entry.token = token != null && !token.isEmpty() ? token : null;
+            if (!entry.loaded) {
+                entry.loaded = true;
+                waiting = new ArrayList<>(entry.pending);
+                entry.pending.clear();
+            }
+        }
+        notifyWaiting(waiting, token);
+    }
+
+
+    public static void clear() {
+        synchronized (entries) {
+            for (Entry entry : entries.values()) {
+                detach(entry);
+            }
+            entries.clear();
+        }
+    }
+
+    private static void attach(String userId, Entry entry) {
+        entry.ref = FirebaseDatabase.getInstance()
+                .getReference("users")
+                .child(userId)
+                .child("fcmToken");
+
+        entry.listener = new ValueEventListener() {
+            @Override
+            public void onDataChange(@NonNull DataSnapshot snapshot) {
+                String token = snapshot.exists() ? snapshot.getValue(String.class) : null;
+                onTokenChanged(userId, token);
+            }
+
+            @Override
+            public void onCancelled(@NonNull DatabaseError error) {
+                Log.e(TAG, "Token listener cancelled: " + error.getMessage());
+
+                List<OnTokenResolvedListener> waiting;
+                synchronized (entries) {
+                    // Drop the entry so the next lookup retries
+                    Entry current = entries.get(userId);
+                    if (current != entry) return;
+                    entries.remove(userId);
+                    waiting = new ArrayList<>(entry.pending);
+                    entry.pending.clear();
+                }
+                notifyWaiting(waiting, null);
+            }
+        };
+        entry.ref.addValueEventListener(entry.listener);
+    }
+
+    private static void detach(Entry entry) {
+        if (entry.ref != null && entry.listener != null) {
+            entry.ref.removeEventListener(entry.listener);
+        }
+        entry.pending.clear();
+    }
+
+    private static void trimToSize() {
+        Iterator<Map.Entry<String, Entry>> it = entries.entrySet().iterator();
+        while (entries.size() > MAX_ENTRIES && it.hasNext()) {
+            Entry eldest = it.next().getValue();
+            if (!eldest.loaded) continue;
+            detach(eldest);
+            it.remove();
+        }
+    }
+
+    private static void notifyWaiting(List<OnTokenResolvedListener> waiting, String token) {
+        if (waiting == null) return;
+        for (OnTokenResolvedListener callback : waiting) {
+            deliver(callback, token);
+        }
+    }
+
+    private static void deliver(OnTokenResolvedListener callback, String token) {
+        callback.onTokenResolved(token != null && !token.isEmpty() ? token : null);
+    }
+
+    public interface OnTokenResolvedListener {
+        void onTokenResolved(String token);
+    }
+}
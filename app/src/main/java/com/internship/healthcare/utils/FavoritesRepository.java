@@ -0,0 +1,198 @@
+package com.internship.healthcare.utils;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+
+import androidx.annotation.NonNull;
+
+import com.google.android.gms.tasks.Task;
+import com.google.firebase.database.DataSnapshot;
+import com.google.firebase.database.DatabaseError;
+import com.google.firebase.database.DatabaseReference;
+import com.google.firebase.database.FirebaseDatabase;
+import com.google.firebase.database.ValueEventListener;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+/**
+ * FavoritesRepository.java
+ * A comprehensive healthcare management Android application
+ *
+ * Package: com.internship.healthcare.utils
+ * Holds the signed-in user's favorite doctors as a set of doctor IDs.
+ * Favorites are stored as users/{uid}/favoriteDoctors/{doctorId} = true; doctor
+ * details are never copied, they are hydrated from {@link DoctorDirectory}.
+ * One value listener keeps the set current, and the last known set is cached in
+ * SharedPreferences so isFavorite answers without a read on every doctor page.
+ *
+ * <h3>Firebase Integration:</h3>
+ * <ul>
+ *   <li>Realtime Database</li>
+ * </ul>
+ * @author Mustafa Merchant
+ * @version 1.0
+ * @since 2025
+ */
+
+
+public class FavoritesRepository {
+
+    private static final String PREF_NAME = "HealthcareFavorites";
+    private static final String KEY_USER_ID = "userId";
+    private static final String KEY_DOCTOR_IDS = "doctorIds";
+
+    private static FavoritesRepository instance;
+
+    private final SharedPreferences preferences;
+    private final List<OnFavoritesChangeListener> listeners = new ArrayList<>();
+    private Set<String> favoriteIds = new LinkedHashSet<>();
+    private String userId;
+    private boolean hasData;
+    private DatabaseReference favoritesRef;
+    private ValueEventListener favoritesListener;
+
+    private FavoritesRepository(Context context) {
+        preferences = context.getApplicationContext().getSharedPreferences(PREF_NAME, Context.MODE_PRIVATE);
+    }
+
+    public static synchronized FavoritesRepository getInstance(Context context) {
+        if (instance == null) {
+            instance = new FavoritesRepository(context);
+        }
+        return instance;
+    }
+
+
+    public void start(String userId) {
+        if (userId == null || userId.equals(this.userId)) return;
+        stop();
+
+        this.userId = userId;
+        if (userId.equals(preferences.getString(KEY_USER_ID, null))) {
+            favoriteIds = new LinkedHashSet<>(preferences.getStringSet(KEY_DOCTOR_IDS, Collections.emptySet()));
+            hasData = true;
+        }
+
+        favoritesRef = FirebaseDatabase.getInstance()
+                .getReference("users")
+                .child(userId)
+                .child("favoriteDoctors");
+        favoritesListener = new ValueEventListener() {
+            @Override
+            public void onDataChange(@NonNull DataSnapshot snapshot) {
+                Set<String> ids = new LinkedHashSet<>();
+                Map<String, Object> compacted = new HashMap<>();
+                for (DataSnapshot child : snapshot.getChildren()) {
+                    ids.add(child.getKey());
+                    // Older favorites hold a full doctor copy; shrink them to a flag
+                    if (!(child.getValue() instanceof Boolean)) {
+                        compacted.put(child.getKey(), true);
+                    }
+                }
+                if (!compacted.isEmpty()) {
+                    snapshot.getRef().updateChildren(compacted);
+                }
+                publish(ids);
+            }
+
+            @Override
+            public void onCancelled(@NonNull DatabaseError error) {}
+        };
+        favoritesRef.addValueEventListener(favoritesListener);
+    }
+
+
+    public void stop() {
+        if (favoritesRef != null && favoritesListener != null) {
+            favoritesRef.removeEventListener(favoritesListener);
+        }
+        favoritesRef = null;
+        favoritesListener = null;
+        userId = null;
+        hasData = false;
+        favoriteIds = new LinkedHashSet<>();
+    }
+
+
+    public void clear() {
+        stop();
+        preferences.edit().clear().apply();
+    }
+
+
+    public boolean isFavorite(String doctorId) {
+        return doctorId != null && favoriteIds.contains(doctorId);
+    }
+
+
+    public List<String> getFavoriteIds() {
+        return new ArrayList<>(favoriteIds);
+    }
+
+
+    public Task<Void> setFavorite(String doctorId, boolean favorite) {
+        // Applied locally first so every open screen reflects the tap immediately
+        publishChange(doctorId, favorite);
+
+        String writeUserId = userId;
+        DatabaseReference doctorRef = favoritesRef.child(doctorId);
+        Task<Void> write = favorite ? doctorRef.setValue(true) : doctorRef.removeValue();
+        // A rejected write is only undone in memory; the value listener then
+        // republishes the server state, so no second write is issued
+        write.addOnFailureListener(e -> {
+            if (writeUserId.equals(userId)) {
+                publishChange(doctorId, !favorite);
+            }
+        });
+        return write;
+    }
+
+
+    public boolean isStarted() {
+        return favoritesRef != null;
+    }
+
+
+    public void addListener(OnFavoritesChangeListener listener) {
+        listeners.add(listener);
+        if (hasData) {
+            listener.onFavoritesChanged(getFavoriteIds());
+        }
+    }
+
+
+    public void removeListener(OnFavoritesChangeListener listener) {
+        listeners.remove(listener);
+    }
+
+    private void publishChange(String doctorId, boolean favorite) {
+        Set<String> ids = new LinkedHashSet<>(favoriteIds);
+        if (favorite) {
+            ids.add(doctorId);
+        } else {
+            ids.remove(doctorId);
+        }
+        publish(ids);
+    }
+
+    private void publish(Set<String> ids) {
+        favoriteIds = ids;
+        hasData = true;
+        preferences.edit()
+                .putString(KEY_USER_ID, userId)
+                .putStringSet(KEY_DOCTOR_IDS, new LinkedHashSet<>(ids))
+                .apply();
+        for (OnFavoritesChangeListener listener : new ArrayList<>(listeners)) {
+            listener.onFavoritesChanged(getFavoriteIds());
+        }
+    }
+
+    public interface OnFavoritesChangeListener {
+        void onFavoritesChanged(List<String> doctorIds);
+    }
+}
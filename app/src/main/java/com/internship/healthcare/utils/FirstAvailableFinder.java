@@ -0,0 +1,281 @@
+package com.internship.healthcare.utils;
+
+import android.os.SystemClock;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+
+import com.google.firebase.database.DataSnapshot;
+import com.google.firebase.database.DatabaseError;
+import com.google.firebase.database.FirebaseDatabase;
+import com.google.firebase.database.ValueEventListener;
+import com.internship.healthcare.models.DoctorSchedule;
+
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+/**
+ * FirstAvailableFinder.java
+ * A comprehensive healthcare management Android application
+ *
+ * Package: com.internship.healthcare.utils
+ * Finds the earliest open appointment slots across every doctor in a specialty.
+ * All schedules are read in one request and each doctor's recent bookings in
+ * parallel; each doctor then becomes a chronological stream of open slots from
+ * {@link SlotEngine}, and the streams are k-way merged through a priority queue
+ * until the requested number of slots is found. Results are cached per specialty
+ * for a short time so reopening the search does not read again.
+ *
+ * <h3>Firebase Integration:</h3>
+ * <ul>
+ *   <li>Realtime Database</li>
+ * </ul>
+ * @author Mustafa Merchant
+ * @version 1.0
+ * @since 2025
+ */
+
+
+public class FirstAvailableFinder {
+
+    private static final String TAG = "FirstAvailableFinder";
+    public static final int SEARCH_DAYS = 8 * 7;
+    public static final int DEFAULT_LIMIT = 10;
+    private static final long CACHE_TTL_MS = 60 * 1000;
+    private static final long DAY_MS = 24L * 60 * 60 * 1000;
+
+    private static final Map<String, CacheEntry> cache = new HashMap<>();
+
+    private static class CacheEntry {
+        final List<OpenSlot> slots;
+        final long createdAt;
+
+        CacheEntry(List<OpenSlot> slots) {
+            this.slots = slots;
+            this.createdAt = SystemClock.elapsedRealtime();
+        }
+
+        boolean isFresh() {
+            return SystemClock.elapsedRealtime() - createdAt < CACHE_TTL_MS;
+        }
+    }
+
+    public static class OpenSlot {
+        public final String doctorId;
+        public final Calendar date;
+        public final int minuteOfDay;
+        public final String dateLabel;
+        public final String timeLabel;
+
+        OpenSlot(String doctorId, Calendar date, int minuteOfDay, String dateLabel) {
+            this.doctorId = doctorId;
+            this.date = date;
+            this.minuteOfDay = minuteOfDay;
+            this.dateLabel = dateLabel;
+            this.timeLabel = SlotEngine.formatTime(minuteOfDay);
+        }
+    }
+
+    private static class DoctorCursor {
+        final String doctorId;
+        final SlotEngine engine;
+        final SlotEngine.BookedIntervals booked;
+        int day = 0;
+        int slotIndex = -1;
+        int minute;
+
+        DoctorCursor(String doctorId, SlotEngine engine, SlotEngine.BookedIntervals booked) {
+            this.doctorId = doctorId;
+            this.engine = engine;
+            this.booked = booked;
+        }
+
+        boolean advance(Calendar[] days, int nowMinute) {
+            // Moves to the next open slot in time order; false once the window is exhausted
+            slotIndex++;
+            while (day < days.length) {
+                int[] starts = engine.getSlotStarts(days[day].get(Calendar.DAY_OF_WEEK));
+                long[] bookedMinutes = booked.get(days[day]);
+                for (; slotIndex < starts.length; slotIndex++) {
+                    int start = starts[slotIndex];
+                    if (day == 0 && start <= nowMinute) continue;
+                    if (engine.isBooked(bookedMinutes, start)) continue;
+                    minute = start;
+                    return true;
+                }
+                day++;
+                slotIndex = 0;
+            }
+            return false;
+        }
+    }
+
+
+    public static void find(String specialty, List<String> doctorIds, int limit, OnSlotsFoundListener listener) {
+        String key = specialty.toLowerCase(Locale.ROOT) + "|" + limit;
+        CacheEntry cached = cache.get(key);
+        if (cached != null && cached.isFresh()) {
+            listener.onSlotsFound(cached.slots);
+            return;
+        }
+        if (doctorIds.isEmpty()) {
+            listener.onSlotsFound(new ArrayList<>());
+            return;
+        }
+
+        long startedAt = SystemClock.elapsedRealtime();
+        FirebaseDatabase.getInstance().getReference("doctorSchedules")
+                .addListenerForSingleValueEvent(new ValueEventListener() {
+                    @Override
+                    public void onDataChange(@NonNull DataSnapshot snapshot) {
+                        Map<String, SlotEngine> engines = new HashMap<>();
+                        for (String doctorId : doctorIds) {
+                            SlotEngine engine = readEngine(snapshot.child(doctorId));
+                            if (engine != null) {
+                                engines.put(doctorId, engine);
+                            }
+                        }
+                        loadBookings(engines, key, limit, startedAt, listener);
+                    }
+
+                    @Override
+                    public void onCancelled(@NonNull DatabaseError error) {
+                        listener.onError(error.getMessage());
+                    }
+                });
+    }
+
+
+    public static void invalidate(String specialty) {
+        String prefix = specialty.toLowerCase(Locale.ROOT) + "|";
+        cache.keySet().removeIf(key -> key.startsWith(prefix));
+    }
+
+
+    public static SlotEngine.BookedIntervals readBookedIntervals(DataSnapshot appointments, int duration) {
+        // Dates and times are parsed once here, never while walking slots
+        SimpleDateFormat dateFormat = new SimpleDateFormat("MMM dd, yyyy", Locale.getDefault());
+        SlotEngine.BookedIntervals booked = new SlotEngine.BookedIntervals();
+        Calendar date = Calendar.getInstance();
+
+        for (DataSnapshot child : appointments.getChildren()) {
+            String status = child.child("status").getValue(String.class);
+            if (!"pending".equals(status) && !"approved".equals(status)) continue;
+
+            String dateText = child.child("appointmentDate").getValue(String.class);
+            int startMinute = SlotEngine.parseTime12(child.child("appointmentTime").getValue(String.class));
+            if (dateText == null || startMinute < 0) continue;
+            try {
+                date.setTime(dateFormat.parse(dateText));
+            } catch (ParseException e) {
+                continue;
+            }
+            booked.add(date, startMinute, duration);
+        }
+        return booked;
+    }
+
+    private static SlotEngine readEngine(DataSnapshot scheduleSnapshot) {
+        if (!scheduleSnapshot.exists()) return null;
+
+        Integer duration = scheduleSnapshot.child("appointmentDuration").getValue(Integer.class);
+        Map<String, DoctorSchedule.DaySchedule> weekSchedule = new HashMap<>();
+        for (DataSnapshot daySnapshot : scheduleSnapshot.child("weekSchedule").getChildren()) {
+            DoctorSchedule.DaySchedule daySchedule = daySnapshot.getValue(DoctorSchedule.DaySchedule.class);
+            if (daySnapshot.getKey() != null && daySchedule != null) {
+                weekSchedule.put(daySnapshot.getKey().toLowerCase(Locale.ROOT), daySchedule);
+            }
+        }
+
+        SlotEngine engine = new SlotEngine(weekSchedule, duration != null ? duration : 0);
+        for (int day = Calendar.SUNDAY; day <= Calendar.SATURDAY; day++) {
+            if (engine.isWorkingDay(day)) return engine;
+        }
+        return null;
+    }
+
+    private static void loadBookings(Map<String, SlotEngine> engines, String key, int limit,
+                                     long startedAt, OnSlotsFoundListener listener) {
+        if (engines.isEmpty()) {
+            finish(new ArrayList<>(), key, limit, startedAt, listener);
+            return;
+        }
+
+        // Anything bookable in the window was created at most SEARCH_DAYS ago
+        long createdAfter = System.currentTimeMillis() - SEARCH_DAYS * DAY_MS;
+        List<DoctorCursor> cursors = new ArrayList<>();
+        int[] remaining = {engines.size()};
+
+        for (Map.Entry<String, SlotEngine> entry : engines.entrySet()) {
+            String doctorId = entry.getKey();
+            SlotEngine engine = entry.getValue();
+            FirebaseDatabase.getInstance().getReference("doctorAppointments").child(doctorId)
+                    .orderByChild("timestamp")
+                    .startAt(createdAfter)
+                    .addListenerForSingleValueEvent(new ValueEventListener() {
+                        @Override
+                        public void onDataChange(@NonNull DataSnapshot snapshot) {
+                            cursors.add(new DoctorCursor(doctorId, engine,
+                                    readBookedIntervals(snapshot, engine.getDuration())));
+                            if (--remaining[0] == 0) finish(cursors, key, limit, startedAt, listener);
+                        }
+
+                        @Override
+                        public void onCancelled(@NonNull DatabaseError error) {
+                            // Without bookings this doctor's slots cannot be trusted; leave them out
+                            Log.e(TAG, "Bookings read failed for " + doctorId + ": " + error.getMessage());
+                            if (--remaining[0] == 0) finish(cursors, key, limit, startedAt, listener);
+                        }
+                    });
+        }
+    }
+
+    private static void finish(List<DoctorCursor> cursors, String key, int limit,
+                               long startedAt, OnSlotsFoundListener listener) {
+        List<OpenSlot> slots = merge(cursors, limit);
+        cache.put(key, new CacheEntry(slots));
+        Log.i(TAG, "Found " + slots.size() + " slots across " + cursors.size() + " doctors in "
+                + (SystemClock.elapsedRealtime() - startedAt) + " ms");
+        listener.onSlotsFound(slots);
+    }
+
+    private static List<OpenSlot> merge(List<DoctorCursor> cursors, int limit) {
+        Calendar[] days = new Calendar[SEARCH_DAYS];
+        Calendar today = Calendar.getInstance();
+        int nowMinute = SlotEngine.getMinuteOfDay(today);
+        for (int i = 0; i < days.length; i++) {
+            days[i] = (Calendar) today.clone();
+            days[i].add(Calendar.DAY_OF_YEAR, i);
+        }
+
+        PriorityQueue<DoctorCursor> queue = new PriorityQueue<>(Math.max(1, cursors.size()), (a, b) -> {
+            if (a.day != b.day) return Integer.compare(a.day, b.day);
+            if (a.minute != b.minute) return Integer.compare(a.minute, b.minute);
+            return a.doctorId.compareTo(b.doctorId);
+        });
+        for (DoctorCursor cursor : cursors) {
+            if (cursor.advance(days, nowMinute)) queue.add(cursor);
+        }
+
+        SimpleDateFormat dateFormat = new SimpleDateFormat("MMM dd, yyyy", Locale.getDefault());
+        List<OpenSlot> slots = new ArrayList<>(limit);
+        while (slots.size() < limit && !queue.isEmpty()) {
+            DoctorCursor cursor = queue.poll();
+            Calendar date = days[cursor.day];
+            slots.add(new OpenSlot(cursor.doctorId, date, cursor.minute, dateFormat.format(date.getTime())));
+            if (cursor.advance(days, nowMinute)) queue.add(cursor);
+        }
+        return slots;
+    }
+
+    public interface OnSlotsFoundListener {
+        void onSlotsFound(List<OpenSlot> slots);
+        void onError(String message);
+    }
+}
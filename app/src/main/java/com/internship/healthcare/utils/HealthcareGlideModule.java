@@ -0,0 +1,75 @@
+package com.internship.healthcare.utils;
+
+import android.app.ActivityManager;
+import android.content.Context;
+
+import androidx.annotation.NonNull;
+
+import com.bumptech.glide.Glide;
+import com.bumptech.glide.GlideBuilder;
+import com.bumptech.glide.Registry;
+import com.bumptech.glide.annotation.GlideModule;
+import com.bumptech.glide.load.DecodeFormat;
+import com.bumptech.glide.load.engine.cache.InternalCacheDiskCacheFactory;
+import com.bumptech.glide.load.engine.cache.LruResourceCache;
+import com.bumptech.glide.load.engine.cache.MemorySizeCalculator;
+import com.bumptech.glide.module.AppGlideModule;
+import com.bumptech.glide.request.RequestOptions;
+import com.internship.healthcare.R;
+
+import java.io.InputStream;
+/**
+ * HealthcareGlideModule.java
+ * A comprehensive healthcare management Android application
+ *
+ * Package: com.internship.healthcare.utils
+ * App-wide Glide configuration.
+ * Sizes the memory cache and bitmap pool for a couple of screens of avatars,
+ * gives the disk cache a fixed budget, and registers {@link SupabaseImageUrlLoader}
+ * so Supabase storage images are fetched as renditions at the target size
+ * instead of the original upload. The rewrite is skipped entirely when the
+ * {@code supabase_image_transforms} resource is false.
+ *
+ * @author Mustafa Merchant
+ * @version 1.0
+ * @since 2025
+ */
+
+
+@GlideModule
+public class HealthcareGlideModule extends AppGlideModule {
+
+    private static final String DISK_CACHE_DIR = "image_cache";
+    private static final long DISK_CACHE_SIZE_BYTES = 150L * 1024 * 1024;
+    private static final float MEMORY_CACHE_SCREENS = 2f;
+    private static final float BITMAP_POOL_SCREENS = 3f;
+
+    @Override
+    public void applyOptions(@NonNull Context context, @NonNull GlideBuilder builder) {
+        MemorySizeCalculator calculator = new MemorySizeCalculator.Builder(context)
+                .setMemoryCacheScreens(MEMORY_CACHE_SCREENS)
+                .setBitmapPoolScreens(BITMAP_POOL_SCREENS)
+                .build();
+        builder.setMemoryCache(new LruResourceCache(calculator.getMemoryCacheSize()));
+        builder.setMemorySizeCalculator(calculator);
+        builder.setDiskCache(new InternalCacheDiskCacheFactory(context, DISK_CACHE_DIR, DISK_CACHE_SIZE_BYTES));
+
+        // Half the bitmap memory on devices that report themselves as low RAM
+        ActivityManager activityManager = (ActivityManager) context.getSystemService(Context.ACTIVITY_SERVICE);
+        if (activityManager != null && activityManager.isLowRamDevice()) {
+            builder.setDefaultRequestOptions(new RequestOptions().format(DecodeFormat.PREFER_RGB_565));
+        }
+    }
+
+    @Override
+    public void registerComponents(@NonNull Context context, @NonNull Glide glide, @NonNull Registry registry) {
+        if (context.getResources().getBoolean(R.bool.supabase_image_transforms)) {
+            registry.prepend(String.class, InputStream.class, new SupabaseImageUrlLoader.Factory());
+        }
+    }
+
+    @Override
+    public boolean isManifestParsingEnabled() {
+        return false;
+    }
+}
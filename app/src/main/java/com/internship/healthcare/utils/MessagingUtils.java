@@ -71,7 +71,8 @@ public class MessagingUtils {
 
     
     public static void sendImageMessage(String chatId, String senderId, String receiverId,
-                                       String imageUrl, String senderName,
+                                       String imageUrl, int imageWidth, int imageHeight,
+                                       String imagePlaceholder, String senderName,
                                        OnMessageSentListener listener) {
         String messageId = messagesRef.child(chatId).push().getKey();
         if (messageId == null) {
@@ -90,6 +91,10 @@ public class MessagingUtils {
                 imageUrl,
                 senderName
         );
+        // Lets the receiving bubble lay out at its final size before downloading
+        chatMessage.setImageWidth(imageWidth);
+        chatMessage.setImageHeight(imageHeight);
+        chatMessage.setImagePlaceholder(imagePlaceholder);
 
         messagesRef.child(chatId).child(messageId).setValue(chatMessage)
                 .addOnSuccessListener(aVoid -> {
@@ -207,14 +212,6 @@ public class MessagingUtils {
     }
 
     
-    public static void updateOnlineStatus(String userId, boolean isOnline) {
-        DatabaseReference presenceRef = FirebaseDatabase.getInstance().getReference("presence").child(userId);
-        Map<String, Object> presenceData = new HashMap<>();
-        presenceData.put("online", isOnline);
-        presenceData.put("lastSeen", System.currentTimeMillis());
-        presenceRef.updateChildren(presenceData);
-    }
-
     public interface OnMessageSentListener {
         void onSuccess(String messageId);
         void onFailure(String error);
@@ -0,0 +1,218 @@
+package com.internship.healthcare.utils;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+
+import androidx.annotation.NonNull;
+
+import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.TaskCompletionSource;
+import com.google.firebase.database.DataSnapshot;
+import com.google.firebase.database.DatabaseError;
+import com.google.firebase.database.DatabaseReference;
+import com.google.firebase.database.FirebaseDatabase;
+import com.google.firebase.database.MutableData;
+import com.google.firebase.database.ServerValue;
+import com.google.firebase.database.Transaction;
+import com.google.firebase.database.ValueEventListener;
+
+import java.util.HashMap;
+import java.util.Map;
+/**
+ * NotificationUtils.java
+ * A comprehensive healthcare management Android application
+ *
+ * Package: com.internship.healthcare.utils
+ * Utility class for writing in-app notifications under notifications/{uid}.
+ * Every write that creates, reads or deletes an unread notification also adjusts
+ * notificationCounts/{uid}/unreadCount, so the badge can watch a single small
+ * node instead of the whole inbox. Marking as read only decrements the counter
+ * when this client's transaction is the one that flipped the flag.
+ * Notifications older than the retention age are pruned at most once a day.
+ *
+ * <h3>Firebase Integration:</h3>
+ * <ul>
+ *   <li>Realtime Database</li>
+ * </ul>
+ * @author Mustafa Merchant
+ * @version 1.0
+ * @since 2025
+ */
+
+
+public class NotificationUtils {
+
+    private static final String NOTIFICATIONS = "notifications";
+    private static final String NOTIFICATION_COUNTS = "notificationCounts";
+    private static final String UNREAD_COUNT = "unreadCount";
+
+    // Older notifications are deleted in batches, at most once per interval
+    private static final long RETENTION_INTERVAL_MS = 24L * 60 * 60 * 1000;
+    private static final int RETENTION_BATCH_SIZE = 100;
+    private static final String PREF_NAME = "HealthcareNotifications";
+    private static final String KEY_LAST_PRUNE = "lastPrune_";
+
+
+    public static DatabaseReference getUnreadCountRef(String userId) {
+        return FirebaseDatabase.getInstance()
+                .getReference(NOTIFICATION_COUNTS)
+                .child(userId)
+                .child(UNREAD_COUNT);
+    }
+
+
+    public static Task<Void> createNotification(String userId, String notificationId,
+                                                Map<String, Object> notification) {
+        Map<String, Object> updates = new HashMap<>();
+        updates.put(NOTIFICATIONS + "/" + userId + "/" + notificationId, notification);
+        Object read = notification.get("read");
+        if (!Boolean.TRUE.equals(read)) {
+            updates.put(unreadCountPath(userId), ServerValue.increment(1));
+        }
+        return FirebaseDatabase.getInstance().getReference().updateChildren(updates);
+    }
+
+
+    public static Task<Void> markAsRead(String userId, String notificationId) {
+        // Flip the flag in a transaction so a second device, or a double tap,
+        // that finds it already read does not decrement the counter again
+        TaskCompletionSource<Void> source = new TaskCompletionSource<>();
+        FirebaseDatabase.getInstance()
+                .getReference(NOTIFICATIONS)
+                .child(userId)
+                .child(notificationId)
+                .child("read")
+                .runTransaction(new Transaction.Handler() {
+                    @NonNull
+                    @Override
+                    public Transaction.Result doTransaction(@NonNull MutableData currentData) {
+                        // Missing means the notification was deleted; don't recreate it
+                        if (!Boolean.FALSE.equals(currentData.getValue(Boolean.class))) {
+                            return Transaction.abort();
+                        }
+                        currentData.setValue(true);
+                        return Transaction.success(currentData);
+                    }
+
+                    @Override
+                    public void onComplete(DatabaseError error, boolean committed, DataSnapshot currentData) {
+                        if (error != null) {
+                            source.trySetException(error.toException());
+                        } else if (!committed) {
+                            source.trySetResult(null);
+                        } else {
+                            getUnreadCountRef(userId).setValue(ServerValue.increment(-1))
+                                    .addOnCompleteListener(task -> {
+                                        if (task.isSuccessful()) {
+                                            source.trySetResult(null);
+                                        } else {
+                                            source.trySetException(task.getException());
+                                        }
+                                    });
+                        }
+                    }
+                });
+        return source.getTask();
+    }
+
+
+    public static Task<Void> deleteNotification(String userId, String notificationId, boolean wasRead) {
+        Map<String, Object> updates = new HashMap<>();
+        updates.put(NOTIFICATIONS + "/" + userId + "/" + notificationId, null);
+        if (!wasRead) {
+            updates.put(unreadCountPath(userId), ServerValue.increment(-1));
+        }
+        return FirebaseDatabase.getInstance().getReference().updateChildren(updates);
+    }
+
+
+    public static Task<Void> clearAll(String userId) {
+        Map<String, Object> updates = new HashMap<>();
+        updates.put(NOTIFICATIONS + "/" + userId, null);
+        updates.put(unreadCountPath(userId), 0);
+        return FirebaseDatabase.getInstance().getReference().updateChildren(updates);
+    }
+
+
+    public static void rebuildUnreadCount(String userId) {
+        // One-off seed for accounts created before the counter existed
+        FirebaseDatabase.getInstance()
+                .getReference(NOTIFICATIONS)
+                .child(userId)
+                .orderByChild("read")
+                .equalTo(false)
+                .addListenerForSingleValueEvent(new ValueEventListener() {
+                    @Override
+                    public void onDataChange(@NonNull DataSnapshot snapshot) {
+                        long unread = snapshot.getChildrenCount();
+                        getUnreadCountRef(userId).runTransaction(new Transaction.Handler() {
+                            @NonNull
+                            @Override
+                            public Transaction.Result doTransaction(@NonNull MutableData currentData) {
+                                if (currentData.getValue() == null) {
+                                    currentData.setValue(unread);
+                                }
+                                return Transaction.success(currentData);
+                            }
+
+                            @Override
+                            public void onComplete(DatabaseError error, boolean committed, DataSnapshot currentData) {}
+                        });
+                    }
+
+                    @Override
+                    public void onCancelled(@NonNull DatabaseError error) {}
+                });
+    }
+
+    public static void pruneIfDue(Context context, String userId, long maxAgeMs) {
+        SharedPreferences preferences = context.getSharedPreferences(PREF_NAME, Context.MODE_PRIVATE);
+        long now = System.currentTimeMillis();
+        if (now - preferences.getLong(KEY_LAST_PRUNE + userId, 0) < RETENTION_INTERVAL_MS) return;
+
+        preferences.edit().putLong(KEY_LAST_PRUNE + userId, now).apply();
+        pruneOlderThan(userId, now - maxAgeMs);
+    }
+
+
+    public static void pruneOlderThan(String userId, long cutoffTimestamp) {
+        FirebaseDatabase.getInstance()
+                .getReference(NOTIFICATIONS)
+                .child(userId)
+                .orderByChild("timestamp")
+                .endAt(cutoffTimestamp)
+                .limitToFirst(RETENTION_BATCH_SIZE)
+                .addListenerForSingleValueEvent(new ValueEventListener() {
+                    @Override
+                    public void onDataChange(@NonNull DataSnapshot snapshot) {
+                        if (!snapshot.hasChildren()) return;
+
+                        Map<String, Object> updates = new HashMap<>();
+                        int unreadRemoved = 0;
+                        for (DataSnapshot child : snapshot.getChildren()) {
+                            updates.put(NOTIFICATIONS + "/" + userId + "/" + child.getKey(), null);
+                            Boolean read = child.child("read").getValue(Boolean.class);
+                            if (read == null || !read) unreadRemoved++;
+                        }
+                        if (unreadRemoved > 0) {
+                            updates.put(unreadCountPath(userId), ServerValue.increment(-unreadRemoved));
+                        }
+
+                        boolean fullBatch = snapshot.getChildrenCount() >= RETENTION_BATCH_SIZE;
+                        FirebaseDatabase.getInstance().getReference().updateChildren(updates)
+                                .addOnSuccessListener(aVoid -> {
+                                    if (fullBatch) {
+                                        pruneOlderThan(userId, cutoffTimestamp);
+                                    }
+                                });
+                    }
+
+                    @Override
+                    public void onCancelled(@NonNull DatabaseError error) {}
+                });
+    }
+
+    private static String unreadCountPath(String userId) {
+        return NOTIFICATION_COUNTS + "/" + userId + "/" + UNREAD_COUNT;
+    }
+}
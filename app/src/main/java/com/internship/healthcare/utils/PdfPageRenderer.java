@@ -0,0 +1,186 @@
+package com.internship.healthcare.utils;
+
+import android.graphics.Bitmap;
+import android.graphics.Color;
+import android.graphics.pdf.PdfRenderer;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.ParcelFileDescriptor;
+import android.util.Log;
+import android.util.LruCache;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+/**
+ * PdfPageRenderer.java
+ * A comprehensive healthcare management Android application
+ *
+ * Package: com.internship.healthcare.utils
+ * Renders the pages of a local PDF file with {@link PdfRenderer} on a background thread.
+ * PdfRenderer can only have one page open at a time, so all rendering is serialized
+ * on a single executor. Rendered pages are kept in a byte-bounded LRU cache, and
+ * callers can prefetch pages they expect to show next. A page that fails to
+ * render is reported with a null bitmap and is not cached, so asking again retries it.
+ *
+ * @author Mustafa Merchant
+ * @version 1.0
+ * @since 2025
+ */
+
+
+public class PdfPageRenderer {
+
+    private static final String TAG = "PdfPageRenderer";
+    private static final long MAX_CACHE_BYTES = 32L * 1024 * 1024;
+
+    private final File file;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final LruCache<Integer, Bitmap> pageCache;
+    // Main thread only; a page in this map is already queued for rendering
+    private final Map<Integer, List<OnPageRenderedListener>> pendingPages = new HashMap<>();
+
+    // Touched only on the render thread
+    private ParcelFileDescriptor descriptor;
+    private PdfRenderer renderer;
+
+    private volatile boolean closed = false;
+    private int pageCount = 0;
+    private int pageWidth = 0;
+
+    public PdfPageRenderer(File file) {
+        this.file = file;
+        int cacheBytes = (int) Math.min(MAX_CACHE_BYTES, Runtime.getRuntime().maxMemory() / 8);
+        pageCache = new LruCache<Integer, Bitmap>(cacheBytes) {
+            @Override
+            protected int sizeOf(Integer key, Bitmap bitmap) {
+                return bitmap.getByteCount();
+            }
+        };
+    }
+
+
+    public void open(OnOpenListener listener) {
+        executor.execute(() -> {
+            try {
+                descriptor = ParcelFileDescriptor.open(file, ParcelFileDescriptor.MODE_READ_ONLY);
+                renderer = new PdfRenderer(descriptor);
+                int count = renderer.getPageCount();
+                mainHandler.post(() -> {
+                    if (closed) return;
+                    pageCount = count;
+                    listener.onOpened(count);
+                });
+            } catch (IOException | SecurityException e) {
+                Log.e(TAG, "Could not open " + file + ": " + e.getMessage());
+                mainHandler.post(() -> {
+                    if (!closed) listener.onError(e.getMessage());
+                });
+            }
+        });
+    }
+
+
+    public int getPageCount() {
+        return pageCount;
+    }
+
+
+    public void setPageWidth(int width) {
+        if (width == pageWidth) return;
+        // Cached pages were rendered for the old width
+        pageWidth = width;
+        pageCache.evictAll();
+    }
+
+
+    public void renderPage(int index, OnPageRenderedListener listener) {
+        if (closed || index < 0 || index >= pageCount || pageWidth <= 0) return;
+
+        Bitmap cached = pageCache.get(index);
+        if (cached != null) {
+            if (listener != null) listener.onPageRendered(index, cached);
+            return;
+        }
+
+        List<OnPageRenderedListener> waiting = pendingPages.get(index);
+        if (waiting != null) {
+            if (listener != null) waiting.add(listener);
+            return;
+        }
+        waiting = new ArrayList<>();
+        if (listener != null) waiting.add(listener);
+        pendingPages.put(index, waiting);
+
+        int width = pageWidth;
+        executor.execute(() -> {
+            Bitmap bitmap = closed ? null : render(index, width);
+            mainHandler.post(() -> {
+                List<OnPageRenderedListener> callbacks = pendingPages.remove(index);
+                if (closed) return;
+                if (bitmap != null && width == pageWidth) {
+                    pageCache.put(index, bitmap);
+                }
+                if (callbacks != null) {
+                    for (OnPageRenderedListener callback : callbacks) {
+                        callback.onPageRendered(index, bitmap);
+                    }
+                }
+            });
+        });
+    }
+
+
+    public void prefetch(int index) {
+        renderPage(index, null);
+    }
+
+
+    public void close() {
+        closed = true;
+        pendingPages.clear();
+        pageCache.evictAll();
+        executor.execute(() -> {
+            try {
+                if (renderer != null) renderer.close();
+                if (descriptor != null) descriptor.close();
+            } catch (IOException | IllegalStateException e) {
+                Log.w(TAG, "Error closing renderer: " + e.getMessage());
+            }
+            renderer = null;
+            descriptor = null;
+        });
+        executor.shutdown();
+    }
+
+    private Bitmap render(int index, int width) {
+        if (renderer == null) return null;
+        try (PdfRenderer.Page page = renderer.openPage(index)) {
+            int height = Math.max(1, Math.round((float) width * page.getHeight() / page.getWidth()));
+            Bitmap bitmap = Bitmap.createBitmap(width, height, Bitmap.Config.ARGB_8888);
+            // PDF pages are transparent where nothing is drawn
+            bitmap.eraseColor(Color.WHITE);
+            page.render(bitmap, null, null, PdfRenderer.Page.RENDER_MODE_FOR_DISPLAY);
+            return bitmap;
+        } catch (IllegalStateException | OutOfMemoryError e) {
+            Log.e(TAG, "Could not render page " + index + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    public interface OnOpenListener {
+        void onOpened(int pageCount);
+        void onError(String error);
+    }
+
+    public interface OnPageRenderedListener {
+        /** {@code bitmap} is null when the page could not be rendered. */
+        void onPageRendered(int index, Bitmap bitmap);
+    }
+}
@@ -0,0 +1,278 @@
+package com.internship.healthcare.utils;
+
+import android.app.Activity;
+import android.app.Application;
+import android.content.Context;
+import android.os.Bundle;
+import android.os.Handler;
+import android.os.Looper;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.google.firebase.database.DataSnapshot;
+import com.google.firebase.database.DatabaseError;
+import com.google.firebase.database.DatabaseReference;
+import com.google.firebase.database.FirebaseDatabase;
+import com.google.firebase.database.ServerValue;
+import com.google.firebase.database.ValueEventListener;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+/**
+ * PresenceManager.java
+ * A comprehensive healthcare management Android application
+ *
+ * Package: com.internship.healthcare.utils
+ * Manager class owning the presence/{uid} node for the signed-in user and
+ * shared presence subscriptions for contacts.
+ * Foreground/background is tracked app-wide through activity lifecycle callbacks
+ * registered from HealthcareApplication, and going offline is debounced so moving between screens does not write.
+ * An onDisconnect() hook marks the user offline if the app dies or loses connection.
+ * Contacts are watched with one listener each, shared by every subscriber.
+ *
+ * <h3>Firebase Integration:</h3>
+ * <ul>
+ *   <li>Realtime Database</li>
+ * </ul>
+ * @author Mustafa Merchant
+ * @version 1.0
+ * @since 2025
+ */
+
+
+public class PresenceManager {
+
+    private static final long OFFLINE_DEBOUNCE_MS = 5000;
+
+    private static PresenceManager instance;
+
+    private final Handler handler = new Handler(Looper.getMainLooper());
+    private final DatabaseReference presenceRoot = FirebaseDatabase.getInstance().getReference("presence");
+    private final DatabaseReference connectedRef = FirebaseDatabase.getInstance().getReference(".info/connected");
+    private final Map<String, ContactWatch> contactWatches = new HashMap<>();
+
+    private Context appContext;
+    private int startedActivities = 0;
+    private boolean online = false;
+    private String onlineUserId;
+    private ValueEventListener connectedListener;
+
+    private final Runnable goOfflineRunnable = this::goOffline;
+
+    private static class ContactWatch {
+        final DatabaseReference ref;
+        final List<OnPresenceChangeListener> listeners = new ArrayList<>();
+        ValueEventListener valueListener;
+        boolean loaded;
+        boolean online;
+        Long lastSeen;
+
+        ContactWatch(DatabaseReference ref) {
+            this.ref = ref;
+        }
+    }
+
+    private PresenceManager() {
+    }
+
+    public static synchronized PresenceManager getInstance() {
+        if (instance == null) {
+            instance = new PresenceManager();
+        }
+        return instance;
+    }
+
+
+    public void init(Application application) {
+        if (appContext != null) return;
+
+        // Registered before the first activity starts, so the started count is never short
+        appContext = application.getApplicationContext();
+        application.registerActivityLifecycleCallbacks(new Application.ActivityLifecycleCallbacks() {
+            @Override
+            public void onActivityStarted(@NonNull Activity activity) {
+                startedActivities++;
+                if (startedActivities == 1) {
+                    onAppForeground();
+                }
+            }
+
+            @Override
+            public void onActivityStopped(@NonNull Activity activity) {
+                startedActivities = Math.max(0, startedActivities - 1);
+                if (startedActivities == 0) {
+                    onAppBackground();
+                }
+            }
+
+            @Override
+            public void onActivityCreated(@NonNull Activity activity, @Nullable Bundle savedInstanceState) {}
+
+            @Override
+            public void onActivityResumed(@NonNull Activity activity) {}
+
+            @Override
+            public void onActivityPaused(@NonNull Activity activity) {}
+
+            @Override
+            public void onActivitySaveInstanceState(@NonNull Activity activity, @NonNull Bundle outState) {}
+
+            @Override
+            public void onActivityDestroyed(@NonNull Activity activity) {}
+        });
+    }
+
+
+    public void start() {
+        // Picks up a user who signed in while the app was already in the foreground
+        if (startedActivities > 0) onAppForeground();
+    }
+
+
+    public void stop() {
+        handler.removeCallbacks(goOfflineRunnable);
+        goOffline();
+    }
+
+    private void onAppForeground() {
+        // Returning within the debounce window keeps the existing online state
+        handler.removeCallbacks(goOfflineRunnable);
+        goOnline();
+    }
+
+    private void onAppBackground() {
+        handler.removeCallbacks(goOfflineRunnable);
+        handler.postDelayed(goOfflineRunnable, OFFLINE_DEBOUNCE_MS);
+    }
+
+    private void goOnline() {
+        String userId = appContext != null ? new SessionManager(appContext).getUserId() : null;
+        if (userId == null || userId.isEmpty()) return;
+        if (online && userId.equals(onlineUserId)) return;
+        if (online) goOffline();
+
+        online = true;
+        onlineUserId = userId;
+        DatabaseReference userPresenceRef = presenceRoot.child(userId);
+
+        // Re-arm the disconnect hook every time the connection is re-established
+        connectedListener = new ValueEventListener() {
+            @Override
+            public void onDataChange(@NonNull DataSnapshot snapshot) {
+                Boolean connected = snapshot.getValue(Boolean.class);
+                if (connected == null || !connected) return;
+
+                Map<String, Object> offlineData = new HashMap<>();
+                offlineData.put("online", false);
+                offlineData.put("lastSeen", ServerValue.TIMESTAMP);
+
+                userPresenceRef.onDisconnect().updateChildren(offlineData)
+                        .addOnSuccessListener(aVoid -> {
+                            Map<String, Object> onlineData = new HashMap<>();
+                            onlineData.put("online", true);
+                            onlineData.put("lastSeen", ServerValue.TIMESTAMP);
+                            userPresenceRef.updateChildren(onlineData);
+                        });
+            }
+
+            @Override
+            public void onCancelled(@NonNull DatabaseError error) {}
+        };
+        connectedRef.addValueEventListener(connectedListener);
+    }
+
+    private void goOffline() {
+        if (!online) return;
+
+        if (connectedListener != null) {
+            connectedRef.removeEventListener(connectedListener);
+            connectedListener = null;
+        }
+
+        DatabaseReference userPresenceRef = presenceRoot.child(onlineUserId);
+        Map<String, Object> offlineData = new HashMap<>();
+        offlineData.put("online", false);
+        offlineData.put("lastSeen", ServerValue.TIMESTAMP);
+        userPresenceRef.updateChildren(offlineData);
+        userPresenceRef.onDisconnect().cancel();
+
+        online = false;
+        onlineUserId = null;
+    }
+
+
+    public Subscription subscribe(String userId, OnPresenceChangeListener listener) {
+        ContactWatch watch = contactWatches.get(userId);
+        if (watch == null) {
+            watch = new ContactWatch(presenceRoot.child(userId));
+            attach(watch);
+            contactWatches.put(userId, watch);
+        } else if (watch.loaded) {
+            listener.onPresenceChanged(userId, watch.online, watch.lastSeen);
+        }
+        watch.listeners.add(listener);
+        return new Subscription(userId, listener);
+    }
+
+
+    @Nullable
+    public Boolean getCachedOnline(String userId) {
+        ContactWatch watch = contactWatches.get(userId);
+        return watch != null && watch.loaded ? watch.online : null;
+    }
+
+    private void unsubscribe(String userId, OnPresenceChangeListener listener) {
+        ContactWatch watch = contactWatches.get(userId);
+        if (watch == null) return;
+
+        watch.listeners.remove(listener);
+        if (watch.listeners.isEmpty()) {
+            watch.ref.removeEventListener(watch.valueListener);
+            contactWatches.remove(userId);
+        }
+    }
+
+    private void attach(ContactWatch watch) {
+        String userId = watch.ref.getKey();
+        watch.valueListener = new ValueEventListener() {
+            @Override
+            public void onDataChange(@NonNull DataSnapshot snapshot) {
+                Boolean isOnline = snapshot.child("online").getValue(Boolean.class);
+                watch.online = isOnline != null && isOnline;
+                watch.lastSeen = snapshot.child("lastSeen").getValue(Long.class);
+                watch.loaded = true;
+
+                for (OnPresenceChangeListener listener : new ArrayList<>(watch.listeners)) {
+                    listener.onPresenceChanged(userId, watch.online, watch.lastSeen);
+                }
+            }
+
+            @Override
+            public void onCancelled(@NonNull DatabaseError error) {}
+        };
+        watch.ref.addValueEventListener(watch.valueListener);
+    }
+
+    public class Subscription {
+        private final String userId;
+        private OnPresenceChangeListener listener;
+
+        private Subscription(String userId, OnPresenceChangeListener listener) {
+            this.userId = userId;
+            this.listener = listener;
+        }
+
+        public void cancel() {
+            if (listener == null) return;
+            unsubscribe(userId, listener);
+            listener = null;
+        }
+    }
+
+    public interface OnPresenceChangeListener {
+        void onPresenceChanged(String userId, boolean online, @Nullable Long lastSeen);
+    }
+}
@@ -0,0 +1,65 @@
+package com.internship.healthcare.utils;
+
+import com.google.firebase.database.DataSnapshot;
+
+import java.util.HashMap;
+import java.util.Map;
+/**
+ * ProfileImageRenditions.java
+ * A comprehensive healthcare management Android application
+ *
+ * Package: com.internship.healthcare.utils
+ * Utility class describing the profile photo renditions stored on doctorProfiles/{uid}.
+ * Uploads write a thumbnail, a medium and a full rendition; readers pick the smallest
+ * one that still covers the size they draw at. Profiles written before renditions
+ * existed only carry profileImageUrl, which is used as the fallback for every size.
+ *
+ * <h3>Firebase Integration:</h3>
+ * <ul>
+ *   <li>Realtime Database</li>
+ * </ul>
+ * @author Mustafa Merchant
+ * @version 1.0
+ * @since 2025
+ */
+
+
+public class ProfileImageRenditions {
+
+    public static final String KEY_THUMB = "profileImageThumbUrl";
+    public static final String KEY_MEDIUM = "profileImageMediumUrl";
+    public static final String KEY_FULL = "profileImageUrl";
+
+    // Longest edge in pixels; the thumbnail covers a 48 dp avatar at xxxhdpi
+    public static final int THUMB_SIZE_PX = 192;
+    public static final int MEDIUM_SIZE_PX = 512;
+    public static final int FULL_SIZE_PX = 1280;
+
+
+    public static String pick(DataSnapshot profileSnapshot, int sizePx) {
+        return pick(profileSnapshot.child(KEY_THUMB).getValue(String.class),
+                profileSnapshot.child(KEY_MEDIUM).getValue(String.class),
+                profileSnapshot.child(KEY_FULL).getValue(String.class),
+                sizePx);
+    }
+
+
+    public static String pick(String thumbUrl, String mediumUrl, String fullUrl, int sizePx) {
+        if (sizePx <= THUMB_SIZE_PX && isUsable(thumbUrl)) return thumbUrl;
+        if (sizePx <= MEDIUM_SIZE_PX && isUsable(mediumUrl)) return mediumUrl;
+        return isUsable(fullUrl) ? fullUrl : null;
+    }
+
+
+    public static Map<String, Object> toUpdates(String thumbUrl, String mediumUrl, String fullUrl) {
+        Map<String, Object> updates = new HashMap<>();
+        updates.put(KEY_THUMB, thumbUrl);
+        updates.put(KEY_MEDIUM, mediumUrl);
+        updates.put(KEY_FULL, fullUrl);
+        return updates;
+    }
+
+    private static boolean isUsable(String url) {
+        return url != null && !url.isEmpty() && !url.equals("null");
+    }
+}
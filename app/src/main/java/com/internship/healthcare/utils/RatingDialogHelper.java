@@ -12,19 +12,11 @@ import android.widget.RatingBar;
 import android.widget.TextView;
 import android.widget.Toast;
 
-import androidx.annotation.NonNull;
-
 import com.google.android.material.card.MaterialCardView;
-import com.google.firebase.database.DataSnapshot;
-import com.google.firebase.database.DatabaseError;
 import com.google.firebase.database.DatabaseReference;
 import com.google.firebase.database.FirebaseDatabase;
-import com.google.firebase.database.ValueEventListener;
 import com.internship.healthcare.R;
 import com.internship.healthcare.models.DoctorRating;
-
-import java.util.HashMap;
-import java.util.Map;
 /**
  * RatingDialogHelper.java
  * A comprehensive healthcare management Android application
@@ -114,10 +106,6 @@ public class RatingDialogHelper {
                                      OnRatingSubmittedListener listener) {
         
         DatabaseReference ratingsRef = FirebaseDatabase.getInstance().getReference("doctorRatings");
-        DatabaseReference doctorProfileRef = FirebaseDatabase.getInstance()
-                .getReference("doctorProfiles").child(doctorId);
-        DatabaseReference appointmentRef = FirebaseDatabase.getInstance()
-                .getReference("appointments").child(appointmentId);
         
         String ratingId = ratingsRef.push().getKey();
         if (ratingId == null) {
@@ -131,12 +119,11 @@ public class RatingDialogHelper {
             rating, review, System.currentTimeMillis()
         );
         
-        ratingsRef.child(doctorId).child(ratingId).setValue(doctorRating)
+        // The rating, its aggregate increments and the rated flag land in one write
+        RatingStats.ensureSeeded(doctorId, () -> RatingStats.submit(doctorRating)
             .addOnSuccessListener(aVoid -> {
-                updateDoctorRating(doctorId, rating);
-                
-                // Mark appointment as rated
-                appointmentRef.child("ratingGiven").setValue(true);
+                RatingStats.refreshProfileAverage(doctorId);
+                DoctorDetailPrefetcher.invalidate(doctorId);
                 
                 Toast.makeText(context, "Thank you for your feedback!", Toast.LENGTH_SHORT).show();
                 
@@ -148,41 +135,7 @@ public class RatingDialogHelper {
             .addOnFailureListener(e -> {
                 Toast.makeText(context, "Failed to submit rating: " + e.getMessage(), 
                         Toast.LENGTH_SHORT).show();
-            });
-    }
-    
-    private static void updateDoctorRating(String doctorId, float newRating) {
-        DatabaseReference doctorRef = FirebaseDatabase.getInstance()
-                .getReference("doctorProfiles").child(doctorId);
-        
-        doctorRef.addListenerForSingleValueEvent(new ValueEventListener() {
-            @Override
-            public void onDataChange(@NonNull DataSnapshot snapshot) {
-                if (snapshot.exists()) {
-                    Double currentRating = snapshot.child("rating").getValue(Double.class);
-                    Integer totalRatings = snapshot.child("totalRatings").getValue(Integer.class);
-                    
-                    if (currentRating == null) currentRating = 0.0;
-                    if (totalRatings == null) totalRatings = 0;
-                    
-                    // Calculate new average
-                    double totalScore = currentRating * totalRatings;
-                    totalScore += newRating;
-                    totalRatings += 1;
-                    double newAverage = totalScore / totalRatings;
-                    
-                    Map<String, Object> updates = new HashMap<>();
-                    updates.put("rating", newAverage);
-                    updates.put("totalRatings", totalRatings);
-                    
-                    doctorRef.updateChildren(updates);
-                }
-            }
-            
-            @Override
-            public void onCancelled(@NonNull DatabaseError error) {
-            }
-        });
+            }));
     }
     
     private static void markRatingAsGiven(String appointmentId) {
@@ -0,0 +1,187 @@
+package com.internship.healthcare.utils;
+
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+
+import com.google.android.gms.tasks.Task;
+import com.google.firebase.database.DataSnapshot;
+import com.google.firebase.database.DatabaseError;
+import com.google.firebase.database.DatabaseReference;
+import com.google.firebase.database.FirebaseDatabase;
+import com.google.firebase.database.MutableData;
+import com.google.firebase.database.ServerValue;
+import com.google.firebase.database.Transaction;
+import com.google.firebase.database.ValueEventListener;
+import com.internship.healthcare.models.DoctorRating;
+
+import java.util.HashMap;
+import java.util.Map;
+/**
+ * RatingStats.java
+ * A comprehensive healthcare management Android application
+ *
+ * Package: com.internship.healthcare.utils
+ * Utility class owning the per-doctor rating aggregate at doctorRatingStats/{doctorId}.
+ * The aggregate keeps the exact sum and count of ratings plus a 1-5 star histogram.
+ * A new rating is inserted in the same multi-path update that applies server-side
+ * increments to the aggregate, so concurrent reviews never overwrite each other.
+ * The rating and totalRatings on doctorProfiles are only display copies for list
+ * screens, rewritten from the aggregate after each review.
+ *
+ * <h3>Firebase Integration:</h3>
+ * <ul>
+ *   <li>Realtime Database</li>
+ * </ul>
+ * @author Mustafa Merchant
+ * @version 1.0
+ * @since 2025
+ */
+
+
+public class RatingStats {
+
+    private static final String TAG = "RatingStats";
+    public static final String NODE = "doctorRatingStats";
+    public static final String KEY_SUM = "ratingSum";
+    public static final String KEY_COUNT = "ratingCount";
+    public static final String KEY_HISTOGRAM = "histogram";
+
+
+    public static DatabaseReference getStatsRef(String doctorId) {
+        return FirebaseDatabase.getInstance().getReference(NODE).child(doctorId);
+    }
+
+
+    public static String bucketKey(double rating) {
+        // Half stars round up, so 4.5 counts as a five-star review
+        int stars = (int) Math.max(1, Math.min(5, Math.round(rating)));
+        return "star" + stars;
+    }
+
+
+    public static Task<Void> submit(DoctorRating rating) {
+        String doctorId = rating.getDoctorId();
+        String statsPath = NODE + "/" + doctorId + "/";
+
+        Map<String, Object> updates = new HashMap<>();
+        updates.put("doctorRatings/" + doctorId + "/" + rating.getId(), rating);
+        // Half-star steps are exact in binary floating point, so the sum does not drift
+        updates.put(statsPath + KEY_SUM, ServerValue.increment(rating.getRating()));
+        updates.put(statsPath + KEY_COUNT, ServerValue.increment(1));
+        updates.put(statsPath + KEY_HISTOGRAM + "/" + bucketKey(rating.getRating()), ServerValue.increment(1));
+        if (rating.getAppointmentId() != null) {
+            updates.put("appointments/" + rating.getAppointmentId() + "/ratingGiven", true);
+        }
+        return FirebaseDatabase.getInstance().getReference().updateChildren(updates);
+    }
+
+
+    public static void ensureSeeded(String doctorId, Runnable onReady) {
+        // One-off backfill for doctors rated before the aggregate existed
+        getStatsRef(doctorId).addListenerForSingleValueEvent(new ValueEventListener() {
+            @Override
+            public void onDataChange(@NonNull DataSnapshot snapshot) {
+                if (snapshot.exists()) {
+                    onReady.run();
+                    return;
+                }
+                seedFromRatings(doctorId, onReady);
+            }
+
+            @Override
+            public void onCancelled(@NonNull DatabaseError error) {
+                onReady.run();
+            }
+        });
+    }
+
+    private static void seedFromRatings(String doctorId, Runnable onReady) {
+        FirebaseDatabase.getInstance().getReference("doctorRatings").child(doctorId)
+                .addListenerForSingleValueEvent(new ValueEventListener() {
+                    @Override
+                    public void onDataChange(@NonNull DataSnapshot snapshot) {
+                        double sum = 0;
+                        long count = 0;
+                        Map<String, Object> histogram = new HashMap<>();
+                        for (DataSnapshot child : snapshot.getChildren()) {
+                            Double value = child.child("rating").getValue(Double.class);
+                            if (value == null || value <= 0) continue;
+                            sum += value;
+                            count++;
+                            String bucket = bucketKey(value);
+                            Long current = (Long) histogram.get(bucket);
+                            histogram.put(bucket, current != null ? current + 1 : 1L);
+                        }
+
+                        Map<String, Object> seed = new HashMap<>();
+                        seed.put(KEY_SUM, sum);
+                        seed.put(KEY_COUNT, count);
+                        seed.put(KEY_HISTOGRAM, histogram);
+
+                        getStatsRef(doctorId).runTransaction(new Transaction.Handler() {
+                            @NonNull
+                            @Override
+                            public Transaction.Result doTransaction(@NonNull MutableData currentData) {
+                                if (currentData.getValue() == null) {
+                                    currentData.setValue(seed);
+                                }
+                                return Transaction.success(currentData);
+                            }
+
+                            @Override
+                            public void onComplete(DatabaseError error, boolean committed, DataSnapshot currentData) {
+                                if (error != null) {
+                                    Log.e(TAG, "Rating stats seed failed: " + error.getMessage());
+                                }
+                                onReady.run();
+                            }
+                        });
+                    }
+
+                    @Override
+                    public void onCancelled(@NonNull DatabaseError error) {
+                        onReady.run();
+                    }
+                });
+    }
+
+
+    public static void refreshProfileAverage(String doctorId) {
+        getStatsRef(doctorId).addListenerForSingleValueEvent(new ValueEventListener() {
+            @Override
+            public void onDataChange(@NonNull DataSnapshot snapshot) {
+                long count = getCount(snapshot);
+                if (count == 0) return;
+                Map<String, Object> updates = new HashMap<>();
+                updates.put("rating", getAverage(snapshot));
+                updates.put("totalRatings", count);
+                FirebaseDatabase.getInstance().getReference("doctorProfiles")
+                        .child(doctorId)
+                        .updateChildren(updates);
+            }
+
+            @Override
+            public void onCancelled(@NonNull DatabaseError error) {}
+        });
+    }
+
+
+    public static long getCount(DataSnapshot stats) {
+        Long count = stats.child(KEY_COUNT).getValue(Long.class);
+        return count != null ? count : 0;
+    }
+
+
+    public static double getAverage(DataSnapshot stats) {
+        long count = getCount(stats);
+        Double sum = stats.child(KEY_SUM).getValue(Double.class);
+        return count > 0 && sum != null ? sum / count : 0.0;
+    }
+
+
+    public static long getBucketCount(DataSnapshot stats, int stars) {
+        Long value = stats.child(KEY_HISTOGRAM).child("star" + stars).getValue(Long.class);
+        return value != null ? value : 0;
+    }
+}
@@ -0,0 +1,345 @@
+package com.internship.healthcare.utils;
+
+import com.internship.healthcare.models.DoctorSchedule;
+
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.HashMap;
+import java.util.Map;
+/**
+ * SlotEngine.java
+ * A comprehensive healthcare management Android application
+ *
+ * Package: com.internship.healthcare.utils
+ * Computes bookable appointment slots from a doctor's weekly schedule.
+ * Each weekday is compiled once into a minute-of-day bitset of open minutes
+ * (working hours minus the break) plus the list of slot start minutes that fit
+ * the appointment duration. Booked appointments are kept as per-date bitsets,
+ * so checking a slot or counting a day's open slots is word-wise bit arithmetic
+ * with no date or string parsing, for a single day or a window of up to 90 days.
+ *
+ * @author Mustafa Merchant
+ * @version 1.0
+ * @since 2025
+ */
+
+
+public class SlotEngine {
+
+    public static final int MINUTES_PER_DAY = 24 * 60;
+    public static final int MAX_WINDOW_DAYS = 90;
+    private static final int WORDS_PER_DAY = (MINUTES_PER_DAY + 63) / 64;
+    private static final int DEFAULT_DURATION = 30;
+
+    public static final int MORNING = 0;
+    public static final int AFTERNOON = 1;
+    public static final int EVENING = 2;
+    public static final int NIGHT = 3;
+
+    // Indexed by Calendar.DAY_OF_WEEK (SUNDAY = 1)
+    private static final String[] DAY_KEYS = {
+            null, "sunday", "monday", "tuesday", "wednesday", "thursday", "friday", "saturday"
+    };
+    private static final int[] NO_SLOTS = new int[0];
+
+    private final int duration;
+    private final long[][] openMinutes = new long[8][];
+    private final int[][] slotStarts = new int[8][];
+
+    public SlotEngine(Map<String, DoctorSchedule.DaySchedule> weekSchedule, int appointmentDuration) {
+        this.duration = appointmentDuration > 0 ? appointmentDuration : DEFAULT_DURATION;
+
+        for (int day = Calendar.SUNDAY; day <= Calendar.SATURDAY; day++) {
+            DoctorSchedule.DaySchedule schedule = weekSchedule != null ? weekSchedule.get(DAY_KEYS[day]) : null;
+            long[] open = compileDay(schedule);
+            openMinutes[day] = open;
+            slotStarts[day] = open != null ? computeSlotStarts(open, duration) : NO_SLOTS;
+        }
+    }
+
+    public int getDuration() {
+        return duration;
+    }
+
+    public boolean isWorkingDay(int dayOfWeek) {
+        return slotStarts[dayOfWeek].length > 0;
+    }
+
+
+    public int[] getSlotStarts(int dayOfWeek) {
+        return slotStarts[dayOfWeek];
+    }
+
+
+    public boolean isBooked(long[] booked, int slotStart) {
+        return booked != null && anySet(booked, slotStart, slotStart + duration);
+    }
+
+
+    public int[] getBookableSlots(int dayOfWeek, long[] booked) {
+        int[] starts = slotStarts[dayOfWeek];
+        if (booked == null) return starts;
+
+        int[] bookable = new int[starts.length];
+        int count = 0;
+        for (int start : starts) {
+            if (!anySet(booked, start, start + duration)) {
+                bookable[count++] = start;
+            }
+        }
+        return count == starts.length ? starts : Arrays.copyOf(bookable, count);
+    }
+
+
+    public int countBookableSlots(int dayOfWeek, long[] booked) {
+        return countBookableSlots(dayOfWeek, booked, -1);
+    }
+
+
+    /** Counts open slots that start after {@code afterMinute}; -1 counts the whole day. */
+    public int countBookableSlots(int dayOfWeek, long[] booked, int afterMinute) {
+        int count = 0;
+        for (int start : slotStarts[dayOfWeek]) {
+            if (start <= afterMinute) continue;
+            if (booked == null || !anySet(booked, start, start + duration)) count++;
+        }
+        return count;
+    }
+
+
+    public int[] countBookableSlots(Calendar firstDay, int days, BookedIntervals booked) {
+        return countBookableSlots(firstDay, days, booked, -1);
+    }
+
+
+    /**
+     * Per-day open slot counts for a window. On the first day only slots starting
+     * after {@code firstDayAfterMinute} count, so today's past slots are not open.
+     */
+    public int[] countBookableSlots(Calendar firstDay, int days, BookedIntervals booked, int firstDayAfterMinute) {
+        int windowDays = Math.max(0, Math.min(days, MAX_WINDOW_DAYS));
+        int[] counts = new int[windowDays];
+
+        Calendar day = (Calendar) firstDay.clone();
+        for (int i = 0; i < windowDays; i++) {
+            int dayOfWeek = day.get(Calendar.DAY_OF_WEEK);
+            long[] bookedMinutes = booked != null ? booked.get(day) : null;
+            counts[i] = countBookableSlots(dayOfWeek, bookedMinutes, i == 0 ? firstDayAfterMinute : -1);
+            day.add(Calendar.DAY_OF_YEAR, 1);
+        }
+        return counts;
+    }
+
+
+    public static String getDayKey(int dayOfWeek) {
+        return DAY_KEYS[dayOfWeek];
+    }
+
+
+    public static int getMinuteOfDay(Calendar time) {
+        return time.get(Calendar.HOUR_OF_DAY) * 60 + time.get(Calendar.MINUTE);
+    }
+
+
+    public static int getTimeOfDay(int minuteOfDay) {
+        // Morning before noon, afternoon until 5 PM, evening until 8 PM, then night
+        if (minuteOfDay < 12 * 60) return MORNING;
+        if (minuteOfDay < 17 * 60) return AFTERNOON;
+        if (minuteOfDay < 20 * 60) return EVENING;
+        return NIGHT;
+    }
+
+
+    public static String formatTime(int minuteOfDay) {
+        int hour = minuteOfDay / 60;
+        int minute = minuteOfDay % 60;
+        int hour12 = hour % 12 == 0 ? 12 : hour % 12;
+        char[] text = {
+                (char) ('0' + hour12 / 10), (char) ('0' + hour12 % 10), ':',
+                (char) ('0' + minute / 10), (char) ('0' + minute % 10), ' ',
+                hour < 12 ? 'A' : 'P', 'M'
+        };
+        return new String(text);
+    }
+
+
+    public static int parseTime24(String time) {
+        // "HH:mm"; returns -1 when the value is missing or malformed
+        if (time == null) return -1;
+        int colon = time.indexOf(':');
+        if (colon <= 0 || colon > 2 || time.length() != colon + 3) return -1;
+
+        int hour = parseDigits(time, 0, colon);
+        int minute = parseDigits(time, colon + 1, colon + 3);
+        if (hour < 0 || minute < 0 || minute > 59) return -1;
+
+        int minuteOfDay = hour * 60 + minute;
+        return minuteOfDay <= MINUTES_PER_DAY ? minuteOfDay : -1;
+    }
+
+
+    public static int parseTime12(String time) {
+        // "hh:mm AM" as stored on appointments; returns -1 when malformed
+        if (time == null) return -1;
+        String trimmed = time.trim();
+        int space = trimmed.lastIndexOf(' ');
+        if (space < 0) return -1;
+
+        int minuteOfDay = parseTime24(trimmed.substring(0, space));
+        if (minuteOfDay < 0 || minuteOfDay >= 13 * 60) return -1;
+
+        String marker = trimmed.substring(space + 1);
+        int hour = minuteOfDay / 60 % 12;
+        if (marker.equalsIgnoreCase("PM")) {
+            hour += 12;
+        } else if (!marker.equalsIgnoreCase("AM")) {
+            return -1;
+        }
+        return hour * 60 + minuteOfDay % 60;
+    }
+
+    private static int parseDigits(String text, int from, int to) {
+        int value = 0;
+        for (int i = from; i < to; i++) {
+            char c = text.charAt(i);
+            if (c < '0' || c > '9') return -1;
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    private static long[] compileDay(DoctorSchedule.DaySchedule schedule) {
+        if (schedule == null || !schedule.isAvailable()) return null;
+
+        int start = parseTime24(schedule.getStartTime());
+        int end = parseTime24(schedule.getEndTime());
+        if (start < 0 || end <= start) return null;
+
+        long[] open = new long[WORDS_PER_DAY];
+        setRange(open, start, end);
+
+        if (schedule.hasBreak()) {
+            int breakStart = parseTime24(schedule.getBreakStartTime());
+            int breakEnd = parseTime24(schedule.getBreakEndTime());
+            if (breakStart >= 0 && breakEnd > breakStart) {
+                clearRange(open, breakStart, breakEnd);
+            }
+        }
+        return open;
+    }
+
+    private static int[] computeSlotStarts(long[] open, int duration) {
+        int[] starts = new int[MINUTES_PER_DAY / duration + 1];
+        int count = 0;
+
+        int start = nextSet(open, 0);
+        while (start >= 0 && start + duration <= MINUTES_PER_DAY) {
+            int blocked = firstClear(open, start, start + duration);
+            if (blocked < 0) {
+                starts[count++] = start;
+                start += duration;
+                if (start < MINUTES_PER_DAY && !isSet(open, start)) {
+                    start = nextSet(open, start);
+                }
+            } else {
+                // Resume at the next open minute, e.g. the end of the break
+                start = nextSet(open, blocked);
+            }
+        }
+        return Arrays.copyOf(starts, count);
+    }
+
+    private static boolean isSet(long[] bits, int index) {
+        return (bits[index >>> 6] & (1L << index)) != 0;
+    }
+
+    private static long rangeMask(int from, int span) {
+        long mask = span == 64 ? -1L : (1L << span) - 1;
+        return mask << (from & 63);
+    }
+
+    static void setRange(long[] bits, int from, int to) {
+        while (from < to) {
+            int span = Math.min(64 - (from & 63), to - from);
+            bits[from >>> 6] |= rangeMask(from, span);
+            from += span;
+        }
+    }
+
+    static void clearRange(long[] bits, int from, int to) {
+        while (from < to) {
+            int span = Math.min(64 - (from & 63), to - from);
+            bits[from >>> 6] &= ~rangeMask(from, span);
+            from += span;
+        }
+    }
+
+    static boolean anySet(long[] bits, int from, int to) {
+        to = Math.min(to, MINUTES_PER_DAY);
+        while (from < to) {
+            int span = Math.min(64 - (from & 63), to - from);
+            if ((bits[from >>> 6] & rangeMask(from, span)) != 0) return true;
+            from += span;
+        }
+        return false;
+    }
+
+    private static int firstClear(long[] bits, int from, int to) {
+        while (from < to) {
+            int span = Math.min(64 - (from & 63), to - from);
+            long clear = ~bits[from >>> 6] & rangeMask(from, span);
+            if (clear != 0) {
+                return (from & ~63) + Long.numberOfTrailingZeros(clear);
+            }
+            from += span;
+        }
+        return -1;
+    }
+
+    private static int nextSet(long[] bits, int from) {
+        if (from >= MINUTES_PER_DAY) return -1;
+        int word = from >>> 6;
+        long remaining = bits[word] & (-1L << from);
+        while (true) {
+            if (remaining != 0) {
+                int index = word * 64 + Long.numberOfTrailingZeros(remaining);
+                return index < MINUTES_PER_DAY ? index : -1;
+            }
+            if (++word == bits.length) return -1;
+            remaining = bits[word];
+        }
+    }
+
+    /**
+     * Booked minutes per calendar date, filled once from the doctor's appointments.
+     */
+    public static class BookedIntervals {
+        private final Map<Integer, long[]> days = new HashMap<>();
+
+        public void add(int year, int month, int dayOfMonth, int startMinute, int durationMinutes) {
+            if (startMinute < 0 || durationMinutes <= 0) return;
+
+            int key = dateKey(year, month, dayOfMonth);
+            long[] bits = days.get(key);
+            if (bits == null) {
+                bits = new long[WORDS_PER_DAY];
+                days.put(key, bits);
+            }
+            setRange(bits, startMinute, Math.min(startMinute + durationMinutes, MINUTES_PER_DAY));
+        }
+
+        public void add(Calendar date, int startMinute, int durationMinutes) {
+            add(date.get(Calendar.YEAR), date.get(Calendar.MONTH), date.get(Calendar.DAY_OF_MONTH),
+                    startMinute, durationMinutes);
+        }
+
+        public long[] get(Calendar date) {
+            return days.get(dateKey(date.get(Calendar.YEAR), date.get(Calendar.MONTH),
+                    date.get(Calendar.DAY_OF_MONTH)));
+        }
+
+        private static int dateKey(int year, int month, int dayOfMonth) {
+            return (year * 100 + month) * 100 + dayOfMonth;
+        }
+    }
+}
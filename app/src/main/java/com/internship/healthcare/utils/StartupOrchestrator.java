@@ -0,0 +1,114 @@
+package com.internship.healthcare.utils;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.os.SystemClock;
+import android.util.Log;
+
+import com.google.firebase.auth.FirebaseAuth;
+import com.google.firebase.auth.FirebaseUser;
+import com.google.firebase.database.DatabaseReference;
+import com.google.firebase.database.FirebaseDatabase;
+/**
+ * StartupOrchestrator.java
+ * A comprehensive healthcare management Android application
+ *
+ * Package: com.internship.healthcare.utils
+ * Coordinates cold start so screens can render from the local cache as soon as possible.
+ * Enables Realtime Database disk persistence, warms the auth state and database
+ * connection while the splash is showing, keeps the signed-in user's own nodes synced,
+ * and records time-to-first-content for each launch.
+ *
+ * <h3>Firebase Integration:</h3>
+ * <ul>
+ *   <li>Authentication</li>
+ *   <li>Realtime Database</li>
+ * </ul>
+ * @author Mustafa Merchant
+ * @version 1.0
+ * @since 2025
+ */
+
+
+public class StartupOrchestrator {
+
+    private static final String TAG = "StartupOrchestrator";
+    private static final String PREF_NAME = "HealthcareStartup";
+    private static final String KEY_LAST_TTFC = "lastTimeToFirstContentMs";
+    private static final String KEY_LAST_TTFC_SCREEN = "lastTimeToFirstContentScreen";
+    private static final long DATABASE_CACHE_SIZE_BYTES = 20L * 1024 * 1024;
+
+    private static long processStartRealtime = 0;
+    private static boolean firstContentReported = false;
+    private static String syncedUserId;
+    private static Context appContext;
+
+
+    public static void init(Context context) {
+        appContext = context.getApplicationContext();
+        processStartRealtime = SystemClock.elapsedRealtime();
+
+        // Must run before any other FirebaseDatabase usage in the process
+        FirebaseDatabase database = FirebaseDatabase.getInstance();
+        database.setPersistenceEnabled(true);
+        database.setPersistenceCacheSizeBytes(DATABASE_CACHE_SIZE_BYTES);
+    }
+
+
+    public static FirebaseUser prewarm() {
+        // Opens the database connection while the first screen inflates
+        FirebaseDatabase.getInstance().goOnline();
+
+        FirebaseUser user = FirebaseAuth.getInstance().getCurrentUser();
+        if (user != null) {
+            keepUserDataSynced(user.getUid());
+        }
+        return user;
+    }
+
+
+    public static void keepUserDataSynced(String userId) {
+        if (userId == null || userId.equals(syncedUserId)) return;
+        if (syncedUserId != null) {
+            releaseUserDataSync();
+        }
+
+        setUserDataSynced(userId, true);
+        syncedUserId = userId;
+    }
+
+
+    public static void releaseUserDataSync() {
+        if (syncedUserId == null) return;
+
+        setUserDataSynced(syncedUserId, false);
+        syncedUserId = null;
+    }
+
+    private static void setUserDataSynced(String userId, boolean synced) {
+        FirebaseDatabase database = FirebaseDatabase.getInstance();
+
+        DatabaseReference userRef = database.getReference("users").child(userId);
+        userRef.keepSynced(synced);
+        // Patient screens read users/{uid}/appointments, which is covered by the user node above
+        database.getReference("doctorAppointments").child(userId).keepSynced(synced);
+        database.getReference("doctorProfiles").keepSynced(synced);
+    }
+
+
+    public static void reportFirstContent(String screen) {
+        if (firstContentReported || processStartRealtime == 0) return;
+        firstContentReported = true;
+
+        long elapsed = SystemClock.elapsedRealtime() - processStartRealtime;
+        Log.i(TAG, "Time to first content (" + screen + "): " + elapsed + " ms");
+
+        if (appContext != null) {
+            SharedPreferences preferences = appContext.getSharedPreferences(PREF_NAME, Context.MODE_PRIVATE);
+            preferences.edit()
+                    .putLong(KEY_LAST_TTFC, elapsed)
+                    .putString(KEY_LAST_TTFC_SCREEN, screen)
+                    .apply();
+        }
+    }
+}
@@ -1,6 +1,10 @@
 package com.internship.healthcare.utils
 
 import android.content.Context
+import android.graphics.Bitmap
+import android.graphics.BitmapFactory
+import android.graphics.Matrix
+import android.media.ExifInterface
 import android.net.Uri
 import io.github.jan.supabase.storage.storage
 import kotlinx.coroutines.CoroutineScope
@@ -8,6 +12,7 @@ import kotlinx.coroutines.Dispatchers
 import kotlinx.coroutines.launch
 import kotlinx.coroutines.withContext
 import java.io.ByteArrayOutputStream
+import kotlin.math.roundToInt
 
 /**
  * Utility class for uploading images to Supabase Storage.
@@ -24,6 +29,16 @@ class SupabaseImageUploader(private val context: Context) {
         fun onFailure(error: String)
     }
 
+    interface ChatImageCallback {
+        fun onSuccess(publicUrl: String, width: Int, height: Int, placeholder: String?)
+        fun onFailure(error: String)
+    }
+
+    interface RenditionsCallback {
+        fun onSuccess(thumbUrl: String, mediumUrl: String, fullUrl: String)
+        fun onFailure(error: String)
+    }
+
     
     fun uploadImage(
         imageUri: Uri,
@@ -98,6 +113,168 @@ class SupabaseImageUploader(private val context: Context) {
         }
     }
 
+    /**
+     * Decodes the image once at the full rendition size, derives the medium and
+     * thumbnail sizes from that bitmap, and uploads thumbnail, medium and full
+     * JPEGs as {baseName}_thumb.jpg, {baseName}_medium.jpg and {baseName}_full.jpg.
+     */
+    fun uploadProfileRenditions(
+        imageUri: Uri,
+        bucketName: String,
+        baseName: String,
+        callback: RenditionsCallback
+    ) {
+        CoroutineScope(Dispatchers.IO).launch {
+            try {
+                val encoded = encodeRenditions(imageUri)
+                    ?: throw IllegalStateException("Failed to read image file")
+
+                val bucket = storage.from(bucketName)
+                val urls = RENDITIONS.map { (suffix, _, _) ->
+                    val fileName = "${baseName}_$suffix.jpg"
+                    bucket.upload(fileName, encoded.getValue(suffix)) {
+                        upsert = false
+                    }
+                    bucket.publicUrl(fileName)
+                }
+
+                withContext(Dispatchers.Main) {
+                    callback.onSuccess(urls[0], urls[1], urls[2])
+                }
+
+            } catch (e: Exception) {
+                withContext(Dispatchers.Main) {
+                    callback.onFailure("Upload failed: ${e.message}")
+                }
+            }
+        }
+    }
+
+    /**
+     * Uploads a chat photo capped at [CHAT_IMAGE_MAX_EDGE] and reports its final
+     * dimensions and a BlurHash placeholder, so the message can be laid out at
+     * its real size before the image itself is downloaded.
+     */
+    fun uploadChatImage(
+        imageUri: Uri,
+        bucketName: String,
+        fileName: String,
+        callback: ChatImageCallback
+    ) {
+        CoroutineScope(Dispatchers.IO).launch {
+            try {
+                val bitmap = decodeScaled(imageUri, CHAT_IMAGE_MAX_EDGE)
+                    ?: throw IllegalStateException("Failed to read image file")
+                val width = bitmap.width
+                val height = bitmap.height
+                val placeholder = encodePlaceholder(bitmap)
+
+                val output = ByteArrayOutputStream()
+                bitmap.compress(Bitmap.CompressFormat.JPEG, CHAT_IMAGE_QUALITY, output)
+                bitmap.recycle()
+
+                val bucket = storage.from(bucketName)
+                bucket.upload(fileName, output.toByteArray()) {
+                    upsert = false
+                }
+                val publicUrl = bucket.publicUrl(fileName)
+
+                withContext(Dispatchers.Main) {
+                    callback.onSuccess(publicUrl, width, height, placeholder)
+                }
+
+            } catch (e: Exception) {
+                withContext(Dispatchers.Main) {
+                    callback.onFailure("Upload failed: ${e.message}")
+                }
+            }
+        }
+    }
+
+    private fun encodePlaceholder(bitmap: Bitmap): String? = try {
+        // The hash only keeps a few cosine components, so a tiny copy is enough
+        val scale = PLACEHOLDER_SOURCE_EDGE.toFloat() / maxOf(bitmap.width, bitmap.height)
+        val small = Bitmap.createScaledBitmap(
+            bitmap,
+            maxOf(1, (bitmap.width * scale).toInt()),
+            maxOf(1, (bitmap.height * scale).toInt()),
+            true
+        )
+        val hash = BlurHash.encode(small)
+        if (small !== bitmap) small.recycle()
+        hash
+    } catch (e: Exception) {
+        null
+    }
+
+    private fun encodeRenditions(uri: Uri): Map<String, ByteArray>? {
+        val full = decodeScaled(uri, ProfileImageRenditions.FULL_SIZE_PX) ?: return null
+        val encoded = HashMap<String, ByteArray>()
+
+        // Largest first, so each smaller size is scaled from the one above it
+        var source = full
+        RENDITIONS.sortedByDescending { it.second }.forEach { (suffix, maxEdge, quality) ->
+            val scale = minOf(1f, maxEdge.toFloat() / maxOf(source.width, source.height))
+            val rendition = if (scale < 1f) {
+                Bitmap.createScaledBitmap(
+                    source,
+                    maxOf(1, (source.width * scale).roundToInt()),
+                    maxOf(1, (source.height * scale).roundToInt()),
+                    true
+                )
+            } else {
+                source
+            }
+            if (rendition !== source) source.recycle()
+
+            val output = ByteArrayOutputStream()
+            rendition.compress(Bitmap.CompressFormat.JPEG, quality, output)
+            encoded[suffix] = output.toByteArray()
+            source = rendition
+        }
+        source.recycle()
+        return encoded
+    }
+
+    private fun decodeScaled(uri: Uri, maxEdge: Int): Bitmap? {
+        val resolver = context.contentResolver
+
+        val bounds = BitmapFactory.Options().apply { inJustDecodeBounds = true }
+        resolver.openInputStream(uri)?.use { BitmapFactory.decodeStream(it, null, bounds) } ?: return null
+        if (bounds.outWidth <= 0 || bounds.outHeight <= 0) return null
+
+        var sampleSize = 1
+        while (maxOf(bounds.outWidth, bounds.outHeight) / (sampleSize * 2) >= maxEdge) {
+            sampleSize *= 2
+        }
+        val decodeOptions = BitmapFactory.Options().apply { inSampleSize = sampleSize }
+        val sampled = resolver.openInputStream(uri)?.use {
+            BitmapFactory.decodeStream(it, null, decodeOptions)
+        } ?: return null
+
+        val scale = minOf(1f, maxEdge.toFloat() / maxOf(sampled.width, sampled.height))
+        val matrix = Matrix().apply {
+            postRotate(readRotation(uri).toFloat())
+            postScale(scale, scale)
+        }
+        val scaled = Bitmap.createBitmap(sampled, 0, 0, sampled.width, sampled.height, matrix, true)
+        if (scaled !== sampled) sampled.recycle()
+        return scaled
+    }
+
+    private fun readRotation(uri: Uri): Int = try {
+        context.contentResolver.openInputStream(uri)?.use {
+            when (ExifInterface(it).getAttributeInt(ExifInterface.TAG_ORIENTATION, ExifInterface.ORIENTATION_NORMAL)) {
+                ExifInterface.ORIENTATION_ROTATE_90 -> 90
+                ExifInterface.ORIENTATION_ROTATE_180 -> 180
+                ExifInterface.ORIENTATION_ROTATE_270 -> 270
+                else -> 0
+            }
+        } ?: 0
+    } catch (e: Exception) {
+        0
+    }
+
     private suspend fun readBytesFromUri(uri: Uri): ByteArray? = withContext(Dispatchers.IO) {
         try {
             context.contentResolver.openInputStream(uri)?.use { inputStream ->
@@ -120,5 +297,16 @@ class SupabaseImageUploader(private val context: Context) {
         const val BUCKET_DOCTOR_PROFILES = "doctor-profiles"
         const val BUCKET_USER_PROFILES = "user-profiles"
         const val BUCKET_DOCTOR_CERTIFICATES = "doctor-certificates"
+
+        private const val CHAT_IMAGE_MAX_EDGE = 1600
+        private const val CHAT_IMAGE_QUALITY = 85
+        private const val PLACEHOLDER_SOURCE_EDGE = 32
+
+        // Suffix, longest edge in pixels and JPEG quality, smallest first
+        private val RENDITIONS = listOf(
+            Triple("thumb", ProfileImageRenditions.THUMB_SIZE_PX, 80),
+            Triple("medium", ProfileImageRenditions.MEDIUM_SIZE_PX, 82),
+            Triple("full", ProfileImageRenditions.FULL_SIZE_PX, 85)
+        )
     }
 }
\ No newline at end of file
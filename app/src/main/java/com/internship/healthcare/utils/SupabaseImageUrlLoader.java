@@ -0,0 +1,155 @@
+package com.internship.healthcare.utils;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.bumptech.glide.Priority;
+import com.bumptech.glide.load.DataSource;
+import com.bumptech.glide.load.Options;
+import com.bumptech.glide.load.data.DataFetcher;
+import com.bumptech.glide.load.model.GlideUrl;
+import com.bumptech.glide.load.model.ModelLoader;
+import com.bumptech.glide.load.model.ModelLoaderFactory;
+import com.bumptech.glide.load.model.MultiModelLoaderFactory;
+import com.bumptech.glide.request.target.Target;
+
+import java.io.InputStream;
+/**
+ * SupabaseImageUrlLoader.java
+ * A comprehensive healthcare management Android application
+ *
+ * Package: com.internship.healthcare.utils
+ * Glide model loader that rewrites Supabase public object URLs to the storage
+ * image-transform endpoint, requesting a rendition at the exact pixel size of
+ * the target. A 48 dp avatar then downloads a few kilobytes instead of the
+ * full photo. Requests with {@link Target#SIZE_ORIGINAL} keep the original URL,
+ * and any URL outside Supabase storage falls through to Glide's default loaders.
+ * If the transform endpoint rejects a request (for example on a plan without
+ * image transformations) the original object URL is fetched instead, so an
+ * image never fails to load only because its rendition did.
+ *
+ * @author Mustafa Merchant
+ * @version 1.0
+ * @since 2025
+ */
+
+
+public class SupabaseImageUrlLoader implements ModelLoader<String, InputStream> {
+
+    private static final String OBJECT_PATH = "/storage/v1/object/public/";
+    private static final String RENDER_PATH = "/storage/v1/render/image/public/";
+    // Limits accepted by the Supabase transform endpoint
+    private static final int MAX_DIMENSION = 2500;
+    private static final int QUALITY = 75;
+
+    private final ModelLoader<GlideUrl, InputStream> concreteLoader;
+
+    SupabaseImageUrlLoader(ModelLoader<GlideUrl, InputStream> concreteLoader) {
+        this.concreteLoader = concreteLoader;
+    }
+
+    @Override
+    public boolean handles(@NonNull String model) {
+        return model.startsWith("https://") && model.contains(OBJECT_PATH);
+    }
+
+    @Nullable
+    @Override
+    public LoadData<InputStream> buildLoadData(@NonNull String model, int width, int height,
+                                               @NonNull Options options) {
+        String renditionUrl = buildRenditionUrl(model, width, height);
+        LoadData<InputStream> original = concreteLoader.buildLoadData(new GlideUrl(model), width, height, options);
+        if (renditionUrl.equals(model)) return original;
+
+        LoadData<InputStream> rendition = concreteLoader.buildLoadData(new GlideUrl(renditionUrl), width, height, options);
+        if (rendition == null || original == null) return original;
+        // Cached under the rendition key even when the fallback served the bytes;
+        // Glide still downsamples them to the target size on decode
+        return new LoadData<>(rendition.sourceKey, new FallbackFetcher(rendition.fetcher, original.fetcher));
+    }
+
+
+    public static String buildRenditionUrl(String url, int width, int height) {
+        if (url == null || !url.contains(OBJECT_PATH)) return url;
+        if (width == Target.SIZE_ORIGINAL || height == Target.SIZE_ORIGINAL) return url;
+        if (width <= 0 || height <= 0) return url;
+
+        String separator = url.contains("?") ? "&" : "?";
+        return url.replace(OBJECT_PATH, RENDER_PATH)
+                + separator + "width=" + Math.min(width, MAX_DIMENSION)
+                + "&height=" + Math.min(height, MAX_DIMENSION)
+                + "&resize=cover"
+                + "&quality=" + QUALITY;
+    }
+
+    /**
+     * Fetches the rendition and, if that fails, the original object.
+     */
+    private static class FallbackFetcher implements DataFetcher<InputStream> {
+        private final DataFetcher<InputStream> rendition;
+        private final DataFetcher<InputStream> original;
+        private volatile boolean cancelled;
+
+        FallbackFetcher(DataFetcher<InputStream> rendition, DataFetcher<InputStream> original) {
+            this.rendition = rendition;
+            this.original = original;
+        }
+
+        @Override
+        public void loadData(@NonNull Priority priority, @NonNull DataCallback<? super InputStream> callback) {
+            rendition.loadData(priority, new DataCallback<InputStream>() {
+                @Override
+                public void onDataReady(@Nullable InputStream data) {
+                    callback.onDataReady(data);
+                }
+
+                @Override
+                public void onLoadFailed(@NonNull Exception e) {
+                    if (cancelled) {
+                        callback.onLoadFailed(e);
+                        return;
+                    }
+                    original.loadData(priority, callback);
+                }
+            });
+        }
+
+        @Override
+        public void cleanup() {
+            rendition.cleanup();
+            original.cleanup();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            rendition.cancel();
+            original.cancel();
+        }
+
+        @NonNull
+        @Override
+        public Class<InputStream> getDataClass() {
+            return InputStream.class;
+        }
+
+        @NonNull
+        @Override
+        public DataSource getDataSource() {
+            return DataSource.REMOTE;
+        }
+    }
+
+    public static class Factory implements ModelLoaderFactory<String, InputStream> {
+
+        @NonNull
+        @Override
+        public ModelLoader<String, InputStream> build(@NonNull MultiModelLoaderFactory multiFactory) {
+            return new SupabaseImageUrlLoader(multiFactory.build(GlideUrl.class, InputStream.class));
+        }
+
+        @Override
+        public void teardown() {
+        }
+    }
+}
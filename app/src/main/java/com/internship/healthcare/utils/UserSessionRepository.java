@@ -0,0 +1,255 @@
+package com.internship.healthcare.utils;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.google.firebase.database.DataSnapshot;
+import com.google.firebase.database.DatabaseError;
+import com.google.firebase.database.DatabaseReference;
+import com.google.firebase.database.FirebaseDatabase;
+import com.google.firebase.database.ValueEventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+/**
+ * UserSessionRepository.java
+ * A comprehensive healthcare management Android application
+ *
+ * Package: com.internship.healthcare.utils
+ * Single live source for the signed-in user's role, verification status, name and avatar.
+ * One value listener on users/{uid} feeds every screen that registers a listener.
+ * The last known session is cached in SharedPreferences and delivered immediately,
+ * so role-dependent UI such as the bottom navigation never waits on the network.
+ *
+ * <h3>Firebase Integration:</h3>
+ * <ul>
+ *   <li>Realtime Database</li>
+ * </ul>
+ * @author Mustafa Merchant
+ * @version 1.0
+ * @since 2025
+ */
+
+
+public class UserSessionRepository {
+
+    private static final String PREF_NAME = "HealthcareUserSession";
+    private static final String KEY_USER_ID = "userId";
+    private static final String KEY_NAME = "name";
+    private static final String KEY_ROLE = "role";
+    private static final String KEY_IS_VERIFIED = "isVerified";
+    private static final String KEY_VERIFICATION_STATUS = "verificationStatus";
+    private static final String KEY_AVATAR_URL = "avatarUrl";
+
+    private static UserSessionRepository instance;
+
+    private final SharedPreferences preferences;
+    private final List<OnSessionChangeListener> listeners = new ArrayList<>();
+
+    private String userId;
+    private UserSession session;
+    private DatabaseReference userRef;
+    private ValueEventListener userListener;
+    private DatabaseReference doctorImageRef;
+    private ValueEventListener doctorImageListener;
+    private String userImageUrl;
+    private String doctorImageUrl;
+
+    public static class UserSession {
+        public final String userId;
+        public final String name;
+        public final String role;
+        public final boolean isVerified;
+        public final String verificationStatus;
+        public final String avatarUrl;
+        public final boolean fromCache;
+
+        UserSession(String userId, String name, String role, boolean isVerified,
+                    String verificationStatus, String avatarUrl, boolean fromCache) {
+            this.userId = userId;
+            this.name = name;
+            this.role = role != null ? role : "patient";
+            this.isVerified = isVerified;
+            this.verificationStatus = verificationStatus != null ? verificationStatus : "none";
+            this.avatarUrl = avatarUrl;
+            this.fromCache = fromCache;
+        }
+
+        public boolean isDoctor() {
+            return "doctor".equals(role);
+        }
+
+        public boolean isVerifiedDoctor() {
+            return isDoctor() && isVerified;
+        }
+
+        public boolean isAdmin() {
+            return "admin".equals(role);
+        }
+    }
+
+    private UserSessionRepository(Context context) {
+        preferences = context.getApplicationContext().getSharedPreferences(PREF_NAME, Context.MODE_PRIVATE);
+    }
+
+    public static synchronized UserSessionRepository getInstance(Context context) {
+        if (instance == null) {
+            instance = new UserSessionRepository(context);
+        }
+        return instance;
+    }
+
+
+    public void start(String userId) {
+        if (userId == null || userId.equals(this.userId)) return;
+        stop();
+
+        this.userId = userId;
+        session = readCachedSession(userId);
+
+        userRef = FirebaseDatabase.getInstance().getReference("users").child(userId);
+        userListener = new ValueEventListener() {
+            @Override
+            public void onDataChange(@NonNull DataSnapshot snapshot) {
+                String name = snapshot.child("name").getValue(String.class);
+                String role = snapshot.child("role").getValue(String.class);
+                Boolean isVerified = snapshot.child("isVerified").getValue(Boolean.class);
+                String verificationStatus = snapshot.child("doctorVerificationStatus").getValue(String.class);
+                userImageUrl = snapshot.child("profileImageUrl").getValue(String.class);
+
+                // Doctors keep their public photo on doctorProfiles
+                if ("doctor".equals(role)) {
+                    watchDoctorImage(userId);
+                } else {
+                    unwatchDoctorImage();
+                }
+
+                publish(new UserSession(userId, name, role, isVerified != null && isVerified,
+                        verificationStatus, resolveAvatar(), false));
+            }
+
+            @Override
+            public void onCancelled(@NonNull DatabaseError error) {}
+        };
+        userRef.addValueEventListener(userListener);
+    }
+
+
+    public void stop() {
+        if (userRef != null && userListener != null) {
+            userRef.removeEventListener(userListener);
+        }
+        unwatchDoctorImage();
+        userRef = null;
+        userListener = null;
+        userId = null;
+        session = null;
+        userImageUrl = null;
+    }
+
+
+    public void clear() {
+        stop();
+        preferences.edit().clear().apply();
+    }
+
+
+    @Nullable
+    public UserSession getSession() {
+        return session;
+    }
+
+
+    public void addListener(OnSessionChangeListener listener) {
+        listeners.add(listener);
+        if (session != null) {
+            listener.onSessionChanged(session);
+        }
+    }
+
+
+    public void removeListener(OnSessionChangeListener listener) {
+        listeners.remove(listener);
+    }
+
+    private void watchDoctorImage(String userId) {
+        if (doctorImageListener != null) return;
+
+        doctorImageRef = FirebaseDatabase.getInstance()
+                .getReference("doctorProfiles")
+                .child(userId)
+                .child("profileImageUrl");
+        doctorImageListener = new ValueEventListener() {
+            @Override
+            public void onDataChange(@NonNull DataSnapshot snapshot) {
+                doctorImageUrl = snapshot.getValue(String.class);
+                if (session != null && !session.fromCache) {
+                    publish(new UserSession(session.userId, session.name, session.role, session.isVerified,
+                            session.verificationStatus, resolveAvatar(), false));
+                }
+            }
+
+            @Override
+            public void onCancelled(@NonNull DatabaseError error) {}
+        };
+        doctorImageRef.addValueEventListener(doctorImageListener);
+    }
+
+    private void unwatchDoctorImage() {
+        if (doctorImageRef != null && doctorImageListener != null) {
+            doctorImageRef.removeEventListener(doctorImageListener);
+        }
+        doctorImageRef = null;
+        doctorImageListener = null;
+        doctorImageUrl = null;
+    }
+
+    private String resolveAvatar() {
+        if (isUsableUrl(doctorImageUrl)) return doctorImageUrl;
+        if (isUsableUrl(userImageUrl)) return userImageUrl;
+        return null;
+    }
+
+    private boolean isUsableUrl(String url) {
+        return url != null && !url.isEmpty() && !url.equals("null");
+    }
+
+    private void publish(UserSession newSession) {
+        session = newSession;
+        writeCachedSession(newSession);
+        for (OnSessionChangeListener listener : new ArrayList<>(listeners)) {
+            listener.onSessionChanged(newSession);
+        }
+    }
+
+    @Nullable
+    private UserSession readCachedSession(String userId) {
+        if (!userId.equals(preferences.getString(KEY_USER_ID, null))) return null;
+
+        return new UserSession(userId,
+                preferences.getString(KEY_NAME, null),
+                preferences.getString(KEY_ROLE, null),
+                preferences.getBoolean(KEY_IS_VERIFIED, false),
+                preferences.getString(KEY_VERIFICATION_STATUS, null),
+                preferences.getString(KEY_AVATAR_URL, null),
+                true);
+    }
+
+    private void writeCachedSession(UserSession session) {
+        preferences.edit()
+                .putString(KEY_USER_ID, session.userId)
+                .putString(KEY_NAME, session.name)
+                .putString(KEY_ROLE, session.role)
+                .putBoolean(KEY_IS_VERIFIED, session.isVerified)
+                .putString(KEY_VERIFICATION_STATUS, session.verificationStatus)
+                .putString(KEY_AVATAR_URL, session.avatarUrl)
+                .apply();
+    }
+
+    public interface OnSessionChangeListener {
+        void onSessionChanged(UserSession session);
+    }
+}
@@ -0,0 +1,248 @@
+package com.internship.healthcare.utils;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.os.SystemClock;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+
+import com.google.android.gms.tasks.Task;
+import com.google.firebase.database.DataSnapshot;
+import com.google.firebase.database.DatabaseError;
+import com.google.firebase.database.DatabaseReference;
+import com.google.firebase.database.FirebaseDatabase;
+import com.google.firebase.database.ValueEventListener;
+import com.internship.healthcare.models.DoctorProfile;
+import com.internship.healthcare.models.VerificationRequest;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+/**
+ * VerificationUtils.java
+ * A comprehensive healthcare management Android application
+ *
+ * Package: com.internship.healthcare.utils
+ * Utility class for submitting, approving and rejecting doctor verification requests.
+ * A single approval touches the request, the user record and a new doctorProfiles
+ * entry; all of them are written in one multi-path update so an approval is never
+ * half applied. Bulk approval groups requests into chunks, commits each chunk as
+ * one update, reports progress after every chunk and carries on past failed chunks.
+ * pendingVerifications/{requestId} holds the submission time of every pending request
+ * and is kept in the same updates, so the admin queue can page by submission time
+ * without reading request bodies it does not show.
+ *
+ * <h3>Firebase Integration:</h3>
+ * <ul>
+ *   <li>Realtime Database</li>
+ * </ul>
+ * @author Mustafa Merchant
+ * @version 1.0
+ * @since 2025
+ */
+
+
+public class VerificationUtils {
+
+    private static final String TAG = "VerificationUtils";
+    private static final String VERIFICATION_REQUESTS = "verificationRequests";
+    private static final String PENDING_VERIFICATIONS = "pendingVerifications";
+    private static final String PREF_NAME = "HealthcareVerification";
+    private static final String KEY_INDEX_SEEDED = "pendingIndexSeeded";
+    // Requests per multi-path update; each request writes eight paths
+    public static final int APPROVAL_CHUNK_SIZE = 25;
+
+
+    public static DatabaseReference getPendingIndexRef() {
+        return FirebaseDatabase.getInstance().getReference(PENDING_VERIFICATIONS);
+    }
+
+
+    public static Task<Void> removeFromPendingIndex(String requestId) {
+        return getPendingIndexRef().child(requestId).removeValue();
+    }
+
+
+    public static Task<Void> submit(String requestId, VerificationRequest request) {
+        Map<String, Object> updates = new HashMap<>();
+        updates.put(VERIFICATION_REQUESTS + "/" + requestId, request);
+        updates.put(PENDING_VERIFICATIONS + "/" + requestId, request.getSubmittedAt());
+        return FirebaseDatabase.getInstance().getReference().updateChildren(updates);
+    }
+
+
+    public static Task<Void> reject(String requestId, String userId, String adminId,
+                                    String rejectionReason, long reviewedAt) {
+        Map<String, Object> updates = new HashMap<>();
+        String requestPath = VERIFICATION_REQUESTS + "/" + requestId + "/";
+        updates.put(requestPath + "status", "rejected");
+        updates.put(requestPath + "reviewedBy", adminId);
+        updates.put(requestPath + "reviewedAt", reviewedAt);
+        updates.put(requestPath + "rejectionReason", rejectionReason);
+
+        String userPath = "users/" + userId + "/";
+        updates.put(userPath + "doctorVerificationStatus", "rejected");
+        updates.put(userPath + "isVerified", false);
+
+        updates.put(PENDING_VERIFICATIONS + "/" + requestId, null);
+        return FirebaseDatabase.getInstance().getReference().updateChildren(updates);
+    }
+
+
+    public static Task<Void> approve(String requestId, VerificationRequest request,
+                                     String adminId, long reviewedAt) {
+        Map<String, Object> updates = new HashMap<>();
+        putApproval(updates, requestId, request, adminId, reviewedAt);
+        return FirebaseDatabase.getInstance().getReference().updateChildren(updates);
+    }
+
+
+    public static void approveAll(Map<String, VerificationRequest> requestsById, String adminId,
+                                  OnBulkApprovalListener listener) {
+        List<String> requestIds = new ArrayList<>(requestsById.keySet());
+        long reviewedAt = System.currentTimeMillis();
+        BulkApproval approval = new BulkApproval(requestIds, requestsById, adminId, reviewedAt, listener);
+        approval.commitNextChunk();
+    }
+
+    private static void putApproval(Map<String, Object> updates, String requestId,
+                                    VerificationRequest request, String adminId, long reviewedAt) {
+        String userId = request.getUserId();
+
+        String requestPath = VERIFICATION_REQUESTS + "/" + requestId + "/";
+        updates.put(requestPath + "status", "approved");
+        updates.put(requestPath + "reviewedBy", adminId);
+        updates.put(requestPath + "reviewedAt", reviewedAt);
+
+        String userPath = "users/" + userId + "/";
+        updates.put(userPath + "role", "doctor");
+        updates.put(userPath + "isVerified", true);
+        updates.put(userPath + "doctorVerificationStatus", "approved");
+
+        updates.put("doctorProfiles/" + userId, buildDoctorProfile(request, adminId, reviewedAt));
+        updates.put(PENDING_VERIFICATIONS + "/" + requestId, null);
+    }
+
+
+    public static void seedPendingIndex(Context context) {
+        // One-off backfill for requests submitted before the index existed
+        SharedPreferences preferences = context.getSharedPreferences(PREF_NAME, Context.MODE_PRIVATE);
+        if (preferences.getBoolean(KEY_INDEX_SEEDED, false)) return;
+
+        FirebaseDatabase.getInstance()
+                .getReference(VERIFICATION_REQUESTS)
+                .orderByChild("status")
+                .equalTo("pending")
+                .addListenerForSingleValueEvent(new ValueEventListener() {
+                    @Override
+                    public void onDataChange(@NonNull DataSnapshot snapshot) {
+                        Map<String, Object> updates = new HashMap<>();
+                        for (DataSnapshot child : snapshot.getChildren()) {
+                            Long submittedAt = child.child("submittedAt").getValue(Long.class);
+                            updates.put(PENDING_VERIFICATIONS + "/" + child.getKey(),
+                                    submittedAt != null ? submittedAt : 0L);
+                        }
+                        if (updates.isEmpty()) {
+                            preferences.edit().putBoolean(KEY_INDEX_SEEDED, true).apply();
+                            return;
+                        }
+                        FirebaseDatabase.getInstance().getReference().updateChildren(updates)
+                                .addOnSuccessListener(aVoid ->
+                                        preferences.edit().putBoolean(KEY_INDEX_SEEDED, true).apply());
+                    }
+
+                    @Override
+                    public void onCancelled(@NonNull DatabaseError error) {
+                        Log.e(TAG, "Pending index seed failed: " + error.getMessage());
+                    }
+                });
+    }
+
+
+    public static DoctorProfile buildDoctorProfile(VerificationRequest request, String adminId, long verifiedAt) {
+        DoctorProfile profile = new DoctorProfile();
+        profile.setUserId(request.getUserId());
+        profile.setSpecialty(request.getSpecialty());
+        profile.setDegree(request.getDegree());
+        profile.setUniversity(request.getUniversity());
+        profile.setExperienceYears(request.getExperienceYears());
+        profile.setConsultationFee(request.getConsultationFee());
+        profile.setCertificateUrls(request.getDocumentUrls());
+        profile.setVerifiedBy(adminId);
+        profile.setVerifiedAt(verifiedAt);
+        profile.setTotalPatients(0);
+        profile.setRating(0.0);
+        profile.setTotalRatings(0);
+        return profile;
+    }
+
+    private static class BulkApproval {
+        final List<String> requestIds;
+        final Map<String, VerificationRequest> requestsById;
+        final String adminId;
+        final long reviewedAt;
+        final OnBulkApprovalListener listener;
+        final List<String> failedRequestIds = new ArrayList<>();
+        final long startedAt = SystemClock.elapsedRealtime();
+        int nextIndex = 0;
+        int approvedCount = 0;
+        String firstError;
+
+        BulkApproval(List<String> requestIds, Map<String, VerificationRequest> requestsById,
+                     String adminId, long reviewedAt, OnBulkApprovalListener listener) {
+            this.requestIds = requestIds;
+            this.requestsById = requestsById;
+            this.adminId = adminId;
+            this.reviewedAt = reviewedAt;
+            this.listener = listener;
+        }
+
+        void commitNextChunk() {
+            if (nextIndex >= requestIds.size()) {
+                finish();
+                return;
+            }
+
+            List<String> chunk = requestIds.subList(nextIndex,
+                    Math.min(nextIndex + APPROVAL_CHUNK_SIZE, requestIds.size()));
+            nextIndex += chunk.size();
+
+            Map<String, Object> updates = new HashMap<>();
+            for (String requestId : chunk) {
+                putApproval(updates, requestId, requestsById.get(requestId), adminId, reviewedAt);
+            }
+
+            // Chunks are committed one after another so progress reflects what is on the server
+            FirebaseDatabase.getInstance().getReference().updateChildren(updates)
+                    .addOnSuccessListener(aVoid -> {
+                        approvedCount += chunk.size();
+                        onChunkDone();
+                    })
+                    .addOnFailureListener(e -> {
+                        Log.e(TAG, "Approval chunk failed: " + e.getMessage());
+                        failedRequestIds.addAll(chunk);
+                        if (firstError == null) firstError = e.getMessage();
+                        onChunkDone();
+                    });
+        }
+
+        void onChunkDone() {
+            listener.onProgress(nextIndex, requestIds.size());
+            commitNextChunk();
+        }
+
+        void finish() {
+            long elapsed = Math.max(1, SystemClock.elapsedRealtime() - startedAt);
+            Log.i(TAG, "Approved " + approvedCount + "/" + requestIds.size() + " requests in "
+                    + elapsed + " ms (" + (approvedCount * 1000L / elapsed) + " requests/s)");
+            listener.onComplete(approvedCount, failedRequestIds, firstError);
+        }
+    }
+
+    public interface OnBulkApprovalListener {
+        void onProgress(int processed, int total);
+        void onComplete(int approved, List<String> failedRequestIds, String firstError);
+    }
+}
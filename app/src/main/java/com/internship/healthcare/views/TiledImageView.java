@@ -0,0 +1,401 @@
+package com.internship.healthcare.views;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+import android.graphics.BitmapRegionDecoder;
+import android.graphics.Canvas;
+import android.graphics.Matrix;
+import android.graphics.Paint;
+import android.graphics.Rect;
+import android.graphics.RectF;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.AttributeSet;
+import android.util.LruCache;
+import android.view.GestureDetector;
+import android.view.MotionEvent;
+import android.view.ScaleGestureDetector;
+import android.view.View;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.io.File;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+/**
+ * TiledImageView.java
+ * A comprehensive healthcare management Android application
+ *
+ * Package: com.internship.healthcare.views
+ * Zoomable image view for very large images such as certificate scans.
+ * A low-resolution base layer of the whole image is decoded once; on top of it,
+ * only the tiles covering the visible area are decoded with {@link BitmapRegionDecoder}
+ * at the sample size matching the current zoom. Tiles live in a byte-bounded LRU cache,
+ * so memory use does not grow with the source resolution.
+ *
+ * @author Mustafa Merchant
+ * @version 1.0
+ * @since 2025
+ */
+
+
+public class TiledImageView extends View {
+
+    // Edge of a decoded tile bitmap in pixels, whatever the sample size
+    private static final int TILE_SIZE = 512;
+    private static final int BASE_LAYER_MAX_EDGE = 1024;
+    // At full zoom one source pixel covers this many screen pixels
+    private static final float MAX_PIXEL_ZOOM = 2f;
+    private static final float DOUBLE_TAP_ZOOM = 3f;
+    private static final long MAX_TILE_CACHE_BYTES = 48L * 1024 * 1024;
+
+    private final Matrix matrix = new Matrix();
+    private final Matrix inverse = new Matrix();
+    private final RectF drawRect = new RectF();
+    private final RectF viewportRect = new RectF();
+    private final Paint bitmapPaint = new Paint(Paint.FILTER_BITMAP_FLAG);
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final ExecutorService decodeExecutor = Executors.newSingleThreadExecutor();
+    private final LruCache<String, Bitmap> tileCache;
+    private final Set<String> pendingTiles = new HashSet<>();
+    private volatile Set<String> wantedTiles = Collections.emptySet();
+    private volatile int generation = 0;
+
+    private final ScaleGestureDetector scaleDetector;
+    private final GestureDetector gestureDetector;
+
+    // Touched only on the decode thread
+    private BitmapRegionDecoder decoder;
+
+    private int sourceWidth;
+    private int sourceHeight;
+    private int rotation;
+    private Bitmap baseLayer;
+    private int baseSample;
+    private boolean matrixReady = false;
+    private float minScale;
+    private float maxScale;
+    private OnImageEventListener imageEventListener;
+
+    public TiledImageView(Context context) {
+        this(context, null);
+    }
+
+    public TiledImageView(Context context, @Nullable AttributeSet attrs) {
+        super(context, attrs);
+
+        int cacheBytes = (int) Math.min(MAX_TILE_CACHE_BYTES, Runtime.getRuntime().maxMemory() / 8);
+        tileCache = new LruCache<String, Bitmap>(cacheBytes) {
+            @Override
+            protected int sizeOf(String key, Bitmap bitmap) {
+                return bitmap.getByteCount();
+            }
+        };
+
+        scaleDetector = new ScaleGestureDetector(context, new ScaleGestureDetector.SimpleOnScaleGestureListener() {
+            @Override
+            public boolean onScale(@NonNull ScaleGestureDetector detector) {
+                zoomBy(detector.getScaleFactor(), detector.getFocusX(), detector.getFocusY());
+                return true;
+            }
+        });
+
+        gestureDetector = new GestureDetector(context, new GestureDetector.SimpleOnGestureListener() {
+            @Override
+            public boolean onDown(@NonNull MotionEvent e) {
+                return true;
+            }
+
+            @Override
+            public boolean onScroll(@Nullable MotionEvent e1, @NonNull MotionEvent e2, float distanceX, float distanceY) {
+                if (!matrixReady) return false;
+                matrix.postTranslate(-distanceX, -distanceY);
+                onMatrixChanged();
+                return true;
+            }
+
+            @Override
+            public boolean onDoubleTap(@NonNull MotionEvent e) {
+                if (!matrixReady) return false;
+                float target = getScale() < minScale * 1.5f
+                        ? Math.min(maxScale, minScale * DOUBLE_TAP_ZOOM)
+                        : minScale;
+                zoomBy(target / getScale(), e.getX(), e.getY());
+                return true;
+            }
+        });
+    }
+
+
+    public void setOnImageEventListener(OnImageEventListener listener) {
+        this.imageEventListener = listener;
+    }
+
+
+    public void setImageFile(File file, int rotationDegrees) {
+        int loadGeneration = ++generation;
+        tileCache.evictAll();
+        pendingTiles.clear();
+        baseLayer = null;
+        matrixReady = false;
+
+        decodeExecutor.execute(() -> {
+            try {
+                if (decoder != null) {
+                    decoder.recycle();
+                }
+                decoder = BitmapRegionDecoder.newInstance(file.getAbsolutePath(), false);
+                int width = decoder.getWidth();
+                int height = decoder.getHeight();
+
+                int sample = 1;
+                while (Math.max(width, height) / sample > BASE_LAYER_MAX_EDGE) {
+                    sample *= 2;
+                }
+                Bitmap base = decoder.decodeRegion(new Rect(0, 0, width, height), decodeOptions(sample));
+                if (base == null) throw new IllegalStateException("Could not decode image");
+
+                int baseLayerSample = sample;
+                mainHandler.post(() -> {
+                    if (loadGeneration != generation) return;
+                    sourceWidth = width;
+                    sourceHeight = height;
+                    rotation = ((rotationDegrees % 360) + 360) % 360;
+                    baseLayer = base;
+                    baseSample = baseLayerSample;
+                    resetMatrix();
+                    if (imageEventListener != null) imageEventListener.onImageReady();
+                });
+            } catch (Exception e) {
+                mainHandler.post(() -> {
+                    if (loadGeneration != generation) return;
+                    if (imageEventListener != null) imageEventListener.onImageError(e);
+                });
+            }
+        });
+    }
+
+
+    public void recycle() {
+        generation++;
+        wantedTiles = Collections.emptySet();
+        tileCache.evictAll();
+        pendingTiles.clear();
+        baseLayer = null;
+        decodeExecutor.execute(() -> {
+            if (decoder != null) {
+                decoder.recycle();
+                decoder = null;
+            }
+        });
+        decodeExecutor.shutdown();
+    }
+
+    @Override
+    protected void onSizeChanged(int w, int h, int oldw, int oldh) {
+        super.onSizeChanged(w, h, oldw, oldh);
+        if (baseLayer != null) {
+            resetMatrix();
+        }
+    }
+
+    @Override
+    public boolean onTouchEvent(MotionEvent event) {
+        boolean handled = scaleDetector.onTouchEvent(event);
+        handled = gestureDetector.onTouchEvent(event) || handled;
+        return handled || super.onTouchEvent(event);
+    }
+
+    @Override
+    protected void onDraw(@NonNull Canvas canvas) {
+        super.onDraw(canvas);
+        if (baseLayer == null || !matrixReady) return;
+
+        canvas.save();
+        // Everything below is drawn in source image coordinates
+        canvas.concat(matrix);
+        drawRect.set(0, 0, sourceWidth, sourceHeight);
+        canvas.drawBitmap(baseLayer, null, drawRect, bitmapPaint);
+
+        int sample = currentSample();
+        if (sample < baseSample) {
+            Rect tiles = visibleTileRange(sample);
+            int tileSourceSize = TILE_SIZE * sample;
+            for (int row = tiles.top; row <= tiles.bottom; row++) {
+                for (int col = tiles.left; col <= tiles.right; col++) {
+                    Bitmap tile = tileCache.get(tileKey(sample, col, row));
+                    if (tile == null) continue;
+                    drawRect.set(col * tileSourceSize, row * tileSourceSize,
+                            Math.min(sourceWidth, (col + 1) * tileSourceSize),
+                            Math.min(sourceHeight, (row + 1) * tileSourceSize));
+                    canvas.drawBitmap(tile, null, drawRect, bitmapPaint);
+                }
+            }
+        }
+        canvas.restore();
+    }
+
+    private void resetMatrix() {
+        int viewWidth = getWidth();
+        int viewHeight = getHeight();
+        if (viewWidth == 0 || viewHeight == 0 || sourceWidth == 0) return;
+
+        matrix.reset();
+        matrix.postRotate(rotation);
+        drawRect.set(0, 0, sourceWidth, sourceHeight);
+        matrix.mapRect(drawRect);
+        matrix.postTranslate(-drawRect.left, -drawRect.top);
+
+        float rotatedWidth = drawRect.width();
+        float rotatedHeight = drawRect.height();
+        minScale = Math.min(viewWidth / rotatedWidth, viewHeight / rotatedHeight);
+        maxScale = Math.max(minScale * 2, MAX_PIXEL_ZOOM);
+        matrix.postScale(minScale, minScale);
+        matrix.postTranslate((viewWidth - rotatedWidth * minScale) / 2f,
+                (viewHeight - rotatedHeight * minScale) / 2f);
+
+        matrixReady = true;
+        onMatrixChanged();
+    }
+
+    private void zoomBy(float factor, float focusX, float focusY) {
+        if (!matrixReady) return;
+        float scale = getScale();
+        float target = Math.max(minScale, Math.min(maxScale, scale * factor));
+        matrix.postScale(target / scale, target / scale, focusX, focusY);
+        onMatrixChanged();
+    }
+
+    private void onMatrixChanged() {
+        constrainMatrix();
+        requestVisibleTiles();
+        invalidate();
+    }
+
+    private void constrainMatrix() {
+        drawRect.set(0, 0, sourceWidth, sourceHeight);
+        matrix.mapRect(drawRect);
+
+        float dx = constrainOffset(drawRect.left, drawRect.right, getWidth());
+        float dy = constrainOffset(drawRect.top, drawRect.bottom, getHeight());
+        matrix.postTranslate(dx, dy);
+    }
+
+    private float constrainOffset(float start, float end, int viewSize) {
+        float size = end - start;
+        // Centre when smaller than the view, otherwise keep the edges outside it
+        if (size <= viewSize) return (viewSize - size) / 2f - start;
+        if (start > 0) return -start;
+        if (end < viewSize) return viewSize - end;
+        return 0;
+    }
+
+    private float getScale() {
+        return matrix.mapRadius(1f);
+    }
+
+    private int currentSample() {
+        float sourcePixelsPerScreenPixel = 1f / getScale();
+        int sample = 1;
+        while (sample * 2 <= sourcePixelsPerScreenPixel) {
+            sample *= 2;
+        }
+        return sample;
+    }
+
+    private Rect visibleTileRange(int sample) {
+        matrix.invert(inverse);
+        viewportRect.set(0, 0, getWidth(), getHeight());
+        inverse.mapRect(viewportRect);
+
+        float left = Math.max(0, viewportRect.left);
+        float top = Math.max(0, viewportRect.top);
+        float right = Math.min(sourceWidth, viewportRect.right);
+        float bottom = Math.min(sourceHeight, viewportRect.bottom);
+        if (right <= left || bottom <= top) return new Rect(0, 0, -1, -1);
+
+        int tileSourceSize = TILE_SIZE * sample;
+        return new Rect(
+                (int) (left / tileSourceSize),
+                (int) (top / tileSourceSize),
+                (int) ((right - 1) / tileSourceSize),
+                (int) ((bottom - 1) / tileSourceSize));
+    }
+
+    private void requestVisibleTiles() {
+        int sample = currentSample();
+        if (sample >= baseSample) {
+            // The base layer is already sharp enough at this zoom
+            wantedTiles = Collections.emptySet();
+            return;
+        }
+
+        Rect tiles = visibleTileRange(sample);
+        Set<String> wanted = new HashSet<>();
+        for (int row = tiles.top; row <= tiles.bottom; row++) {
+            for (int col = tiles.left; col <= tiles.right; col++) {
+                wanted.add(tileKey(sample, col, row));
+            }
+        }
+        wantedTiles = wanted;
+
+        int tileSourceSize = TILE_SIZE * sample;
+        for (int row = tiles.top; row <= tiles.bottom; row++) {
+            for (int col = tiles.left; col <= tiles.right; col++) {
+                String key = tileKey(sample, col, row);
+                if (tileCache.get(key) != null || pendingTiles.contains(key)) continue;
+
+                Rect region = new Rect(col * tileSourceSize, row * tileSourceSize,
+                        Math.min(sourceWidth, (col + 1) * tileSourceSize),
+                        Math.min(sourceHeight, (row + 1) * tileSourceSize));
+                pendingTiles.add(key);
+                decodeTile(key, region, sample);
+            }
+        }
+    }
+
+    private void decodeTile(String key, Rect region, int sample) {
+        int tileGeneration = generation;
+        decodeExecutor.execute(() -> {
+            Bitmap tile = null;
+            // Tiles scrolled out of view before their turn are skipped
+            if (tileGeneration == generation && wantedTiles.contains(key) && decoder != null) {
+                try {
+                    tile = decoder.decodeRegion(region, decodeOptions(sample));
+                } catch (Exception ignored) {
+                }
+            }
+
+            Bitmap decoded = tile;
+            mainHandler.post(() -> {
+                if (tileGeneration != generation) return;
+                pendingTiles.remove(key);
+                if (decoded != null) {
+                    tileCache.put(key, decoded);
+                    invalidate();
+                }
+            });
+        });
+    }
+
+    private static BitmapFactory.Options decodeOptions(int sample) {
+        BitmapFactory.Options options = new BitmapFactory.Options();
+        options.inSampleSize = sample;
+        options.inPreferredConfig = Bitmap.Config.RGB_565;
+        return options;
+    }
+
+    private static String tileKey(int sample, int col, int row) {
+        return sample + ":" + col + ":" + row;
+    }
+
+    public interface OnImageEventListener {
+        void onImageReady();
+        void onImageError(Exception e);
+    }
+}
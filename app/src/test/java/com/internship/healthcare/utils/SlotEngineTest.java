@@ -0,0 +1,140 @@
+package com.internship.healthcare.utils;
+
+import com.internship.healthcare.models.DoctorSchedule;
+
+import org.junit.Test;
+
+import java.util.Calendar;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+/**
+ * Local unit tests for {@link SlotEngine}.
+ */
+public class SlotEngineTest {
+
+    private static Map<String, DoctorSchedule.DaySchedule> weekWith(String day, DoctorSchedule.DaySchedule schedule) {
+        Map<String, DoctorSchedule.DaySchedule> week = new HashMap<>();
+        week.put(day, schedule);
+        return week;
+    }
+
+    @Test
+    public void slotsFillWorkingHours() {
+        SlotEngine engine = new SlotEngine(weekWith("monday",
+                new DoctorSchedule.DaySchedule(true, "09:00", "11:00")), 30);
+
+        assertArrayEquals(new int[]{540, 570, 600, 630}, engine.getSlotStarts(Calendar.MONDAY));
+        assertEquals(0, engine.getSlotStarts(Calendar.TUESDAY).length);
+        assertFalse(engine.isWorkingDay(Calendar.SUNDAY));
+    }
+
+    @Test
+    public void slotsSkipBreakAndResumeAtBreakEnd() {
+        SlotEngine engine = new SlotEngine(weekWith("monday",
+                new DoctorSchedule.DaySchedule(true, "09:00", "14:00", "11:15", "12:00")), 45);
+
+        // 09:00, 09:45, 10:30 fit before the break; 12:00, 12:45 after; 13:30 would overrun 14:00
+        assertArrayEquals(new int[]{540, 585, 630, 720, 765}, engine.getSlotStarts(Calendar.MONDAY));
+    }
+
+    @Test
+    public void unavailableAndMalformedDaysHaveNoSlots() {
+        Map<String, DoctorSchedule.DaySchedule> week = new HashMap<>();
+        week.put("monday", new DoctorSchedule.DaySchedule(false, "09:00", "17:00"));
+        week.put("tuesday", new DoctorSchedule.DaySchedule(true, "17:00", "09:00"));
+        week.put("wednesday", new DoctorSchedule.DaySchedule(true, "9am", "17:00"));
+        SlotEngine engine = new SlotEngine(week, 30);
+
+        assertEquals(0, engine.getSlotStarts(Calendar.MONDAY).length);
+        assertEquals(0, engine.getSlotStarts(Calendar.TUESDAY).length);
+        assertEquals(0, engine.getSlotStarts(Calendar.WEDNESDAY).length);
+    }
+
+    @Test
+    public void bookedIntervalsBlockOverlappingSlots() {
+        SlotEngine engine = new SlotEngine(weekWith("monday",
+                new DoctorSchedule.DaySchedule(true, "09:00", "11:00")), 30);
+        Calendar monday = Calendar.getInstance();
+        monday.set(2025, Calendar.JUNE, 2);
+
+        SlotEngine.BookedIntervals booked = new SlotEngine.BookedIntervals();
+        booked.add(monday, 570, 30);
+        booked.add(monday, 615, 10);
+        long[] bookedMinutes = booked.get(monday);
+
+        assertTrue(engine.isBooked(bookedMinutes, 570));
+        assertTrue(engine.isBooked(bookedMinutes, 600));
+        assertFalse(engine.isBooked(bookedMinutes, 540));
+        assertArrayEquals(new int[]{540, 630}, engine.getBookableSlots(Calendar.MONDAY, bookedMinutes));
+        assertEquals(2, engine.countBookableSlots(Calendar.MONDAY, bookedMinutes));
+    }
+
+    @Test
+    public void windowCountsFollowWeekdaysAndBookings() {
+        Map<String, DoctorSchedule.DaySchedule> week = new HashMap<>();
+        week.put("monday", new DoctorSchedule.DaySchedule(true, "09:00", "10:00"));
+        week.put("wednesday", new DoctorSchedule.DaySchedule(true, "09:00", "12:00", "10:00", "11:00"));
+        SlotEngine engine = new SlotEngine(week, 30);
+
+        Calendar sunday = Calendar.getInstance();
+        sunday.set(2025, Calendar.JUNE, 1);
+        Calendar nextMonday = (Calendar) sunday.clone();
+        nextMonday.add(Calendar.DAY_OF_YEAR, 8);
+
+        SlotEngine.BookedIntervals booked = new SlotEngine.BookedIntervals();
+        booked.add(nextMonday, 540, 30);
+
+        int[] counts = engine.countBookableSlots(sunday, 14, booked);
+        assertArrayEquals(new int[]{0, 2, 0, 4, 0, 0, 0, 0, 1, 0, 4, 0, 0, 0}, counts);
+        assertEquals(SlotEngine.MAX_WINDOW_DAYS, engine.countBookableSlots(sunday, 365, null).length);
+    }
+
+    @Test
+    public void timeParsingAndFormattingRoundTrip() {
+        assertEquals(0, SlotEngine.parseTime24("00:00"));
+        assertEquals(9 * 60 + 5, SlotEngine.parseTime24("9:05"));
+        assertEquals(SlotEngine.MINUTES_PER_DAY, SlotEngine.parseTime24("24:00"));
+        assertEquals(-1, SlotEngine.parseTime24("12:60"));
+        assertEquals(-1, SlotEngine.parseTime24(null));
+
+        assertEquals("12:00 AM", SlotEngine.formatTime(0));
+        assertEquals("09:30 AM", SlotEngine.formatTime(570));
+        assertEquals("12:15 PM", SlotEngine.formatTime(735));
+        assertEquals("11:45 PM", SlotEngine.formatTime(1425));
+
+        for (int minute = 0; minute < SlotEngine.MINUTES_PER_DAY; minute += 15) {
+            assertEquals(minute, SlotEngine.parseTime12(SlotEngine.formatTime(minute)));
+        }
+        assertEquals(13 * 60, SlotEngine.parseTime12(" 01:00 pm "));
+        assertEquals(-1, SlotEngine.parseTime12("13:00 PM"));
+    }
+
+    @Test
+    public void timeOfDayBuckets() {
+        assertEquals(SlotEngine.MORNING, SlotEngine.getTimeOfDay(11 * 60 + 59));
+        assertEquals(SlotEngine.AFTERNOON, SlotEngine.getTimeOfDay(12 * 60));
+        assertEquals(SlotEngine.EVENING, SlotEngine.getTimeOfDay(17 * 60));
+        assertEquals(SlotEngine.NIGHT, SlotEngine.getTimeOfDay(20 * 60));
+    }
+
+    @Test
+    public void firstDayOnlyCountsSlotsAfterGivenMinute() {
+        SlotEngine engine = new SlotEngine(weekWith("monday",
+                new DoctorSchedule.DaySchedule(true, "09:00", "11:00")), 30);
+        Calendar monday = Calendar.getInstance();
+        monday.set(2025, Calendar.JUNE, 2);
+
+        SlotEngine.BookedIntervals booked = new SlotEngine.BookedIntervals();
+        booked.add(monday, 630, 30);
+
+        // At 09:30 the 09:00 and 09:30 slots have started and 10:30 is booked
+        assertEquals(1, engine.countBookableSlots(Calendar.MONDAY, booked.get(monday), 570));
+        assertEquals(3, engine.countBookableSlots(Calendar.MONDAY, null, 570 - 1));
+        int[] counts = engine.countBookableSlots(monday, 8, booked, 570);
+        assertEquals(1, counts[0]);
+        assertEquals(4, counts[7]);
+    }
+}
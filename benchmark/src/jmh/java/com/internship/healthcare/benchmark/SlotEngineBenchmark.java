@@ -0,0 +1,93 @@
+package com.internship.healthcare.benchmark;
+
+import com.internship.healthcare.models.DoctorSchedule;
+import com.internship.healthcare.utils.SlotEngine;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Calendar;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+/**
+ * SlotEngineBenchmark.java
+ * A comprehensive healthcare management Android application
+ *
+ * Package: com.internship.healthcare.benchmark
+ * JMH benchmarks for {@link SlotEngine} on a busy doctor: weekday hours with a
+ * lunch break, Saturday mornings, 15-minute appointments and roughly half of
+ * the slots booked across the full booking window. Covers compiling the week,
+ * the single-day slot list shown on the detail screen, and the per-day counts
+ * for the whole window.
+ *
+ * @author Mustafa Merchant
+ * @version 1.0
+ * @since 2025
+ */
+
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SlotEngineBenchmark {
+
+    private static final int DURATION = 15;
+
+    private Map<String, DoctorSchedule.DaySchedule> week;
+    private SlotEngine engine;
+    private SlotEngine.BookedIntervals booked;
+    private Calendar firstDay;
+    private int sampleDayOfWeek;
+    private long[] sampleDayBookings;
+
+    @Setup
+    public void setUp() {
+        week = new HashMap<>();
+        for (String day : new String[]{"monday", "tuesday", "wednesday", "thursday", "friday"}) {
+            week.put(day, new DoctorSchedule.DaySchedule(true, "08:00", "18:00", "12:30", "13:30"));
+        }
+        week.put("saturday", new DoctorSchedule.DaySchedule(true, "09:00", "13:00"));
+        engine = new SlotEngine(week, DURATION);
+
+        firstDay = Calendar.getInstance();
+        firstDay.set(2025, Calendar.JUNE, 2, 0, 0, 0);
+
+        // Fixed seed so every run books the same slots
+        Random random = new Random(42);
+        booked = new SlotEngine.BookedIntervals();
+        Calendar day = (Calendar) firstDay.clone();
+        for (int i = 0; i < SlotEngine.MAX_WINDOW_DAYS; i++) {
+            for (int start : engine.getSlotStarts(day.get(Calendar.DAY_OF_WEEK))) {
+                if (random.nextBoolean()) {
+                    booked.add(day, start, DURATION);
+                }
+            }
+            day.add(Calendar.DAY_OF_YEAR, 1);
+        }
+
+        sampleDayOfWeek = firstDay.get(Calendar.DAY_OF_WEEK);
+        sampleDayBookings = booked.get(firstDay);
+    }
+
+    @Benchmark
+    public SlotEngine compileWeek() {
+        return new SlotEngine(week, DURATION);
+    }
+
+    @Benchmark
+    public int[] bookableSlotsForOneDay() {
+        return engine.getBookableSlots(sampleDayOfWeek, sampleDayBookings);
+    }
+
+    @Benchmark
+    public int[] countBookableSlotsForWindow() {
+        return engine.countBookableSlots(firstDay, SlotEngine.MAX_WINDOW_DAYS, booked);
+    }
+}
@@ -0,0 +1,17 @@
+plugins {
+    application
+}
+
+java {
+    sourceCompatibility = JavaVersion.VERSION_17
+    targetCompatibility = JavaVersion.VERSION_17
+}
+
+application {
+    mainClass.set("com.internship.healthcare.maintenance.AggregateRepair")
+}
+
+dependencies {
+    implementation(libs.gson)
+    testImplementation(libs.junit)
+}
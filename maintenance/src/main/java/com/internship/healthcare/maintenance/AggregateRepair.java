@@ -0,0 +1,211 @@
+package com.internship.healthcare.maintenance;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+/**
+ * AggregateRepair.java
+ * A comprehensive healthcare management Android application
+ *
+ * Package: com.internship.healthcare.maintenance
+ * Command-line tool that repairs the per-doctor aggregates on doctorProfiles
+ * (rating, totalRatings, totalPatients) and the doctorRatingStats node.
+ * doctorRatings and appointments are streamed in key-ordered pages, so memory
+ * grows with the number of doctors rather than with ratings or appointments.
+ * Only values that differ from the recomputed ones are written, in chunked
+ * multi-path updates. totalPatients counts completed appointments, matching how
+ * the app increments it. Run it while the app is quiet: a rating or completion
+ * landing mid-run can be overwritten by the recomputed value.
+ *
+ * <h3>Firebase Integration:</h3>
+ * <ul>
+ *   <li>Realtime Database (REST API)</li>
+ * </ul>
+ * @author Mustafa Merchant
+ * @version 1.0
+ * @since 2025
+ */
+
+
+public class AggregateRepair {
+
+    private static final String USAGE = String.join("\n",
+            "Usage: AggregateRepair (--url <databaseUrl> --token <accessToken> | --emulator <host:port> --ns <namespace>)",
+            "                       [--page-size <n>] [--chunk-size <n>] [--dry-run]",
+            "",
+            "  --url         Database URL, e.g. https://healthcare-34d6e-default-rtdb.firebaseio.com",
+            "  --token       OAuth2 access token with the firebase.database and userinfo.email scopes",
+            "  --emulator    Realtime Database emulator host; defaults to FIREBASE_DATABASE_EMULATOR_HOST",
+            "  --ns          Emulator namespace, e.g. healthcare-34d6e-default-rtdb",
+            "  --page-size   Children read per request (default 500)",
+            "  --chunk-size  Paths written per multi-path update (default 200)",
+            "  --dry-run     Print the corrections without writing them");
+
+    private final RtdbClient client;
+    private final Options options;
+
+    static class Options {
+        String url;
+        String namespace;
+        String token;
+        int pageSize = 500;
+        int chunkSize = 200;
+        boolean dryRun;
+
+        static Options parse(String[] args) {
+            Options options = new Options();
+            String emulatorHost = System.getenv("FIREBASE_DATABASE_EMULATOR_HOST");
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--url": options.url = value(args, ++i); break;
+                    case "--token": options.token = value(args, ++i); break;
+                    case "--emulator": emulatorHost = value(args, ++i); break;
+                    case "--ns": options.namespace = value(args, ++i); break;
+                    case "--page-size": options.pageSize = positive(args, ++i); break;
+                    case "--chunk-size": options.chunkSize = positive(args, ++i); break;
+                    case "--dry-run": options.dryRun = true; break;
+                    default: throw new IllegalArgumentException("Unknown option: " + args[i]);
+                }
+            }
+
+            if (options.url == null && emulatorHost != null) {
+                if (options.namespace == null) {
+                    throw new IllegalArgumentException("--ns is required with the emulator");
+                }
+                options.url = "http://" + emulatorHost;
+                // The emulator treats the "owner" token as an admin and skips security rules
+                if (options.token == null) options.token = "owner";
+            }
+            if (options.url == null) {
+                throw new IllegalArgumentException("Either --url or --emulator is required");
+            }
+            return options;
+        }
+
+        private static String value(String[] args, int index) {
+            if (index >= args.length) {
+                throw new IllegalArgumentException("Missing value for " + args[index - 1]);
+            }
+            return args[index];
+        }
+
+        private static int positive(String[] args, int index) {
+            String text = value(args, index);
+            try {
+                int value = Integer.parseInt(text);
+                if (value > 0) return value;
+            } catch (NumberFormatException ignored) {
+            }
+            throw new IllegalArgumentException(args[index - 1] + " must be a positive number: " + text);
+        }
+    }
+
+    public AggregateRepair(RtdbClient client, Options options) {
+        this.client = client;
+        this.options = options;
+    }
+
+    public static void main(String[] args) {
+        Options options;
+        try {
+            options = Options.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(USAGE);
+            System.exit(2);
+            return;
+        }
+
+        RtdbClient client = new RtdbClient(options.url, options.namespace, options.token);
+        try {
+            new AggregateRepair(client, options).run();
+        } catch (IOException e) {
+            System.err.println("Aggregate repair failed: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    public void run() throws IOException {
+        long startedAt = System.nanoTime();
+        int pageSize = options.pageSize;
+
+        Map<String, DoctorAggregate> doctors = new TreeMap<>(RtdbClient.KEY_ORDER);
+        int profiles = client.forEachChild("doctorProfiles", pageSize, (doctorId, profile) -> {
+            DoctorAggregate aggregate = new DoctorAggregate();
+            aggregate.readProfile(profile);
+            doctors.put(doctorId, aggregate);
+        });
+        log("Read %d doctor profiles", profiles);
+
+        client.forEachChild("doctorRatingStats", pageSize, (doctorId, stats) -> {
+            DoctorAggregate aggregate = doctors.get(doctorId);
+            if (aggregate != null) aggregate.readStats(stats);
+        });
+
+        // Paged per doctor so a single heavily reviewed doctor never loads in one response
+        long ratings = 0;
+        for (Map.Entry<String, DoctorAggregate> entry : doctors.entrySet()) {
+            DoctorAggregate aggregate = entry.getValue();
+            ratings += client.forEachChild("doctorRatings/" + entry.getKey(), pageSize,
+                    (ratingId, rating) -> aggregate.addRating(rating));
+        }
+        log("Streamed %d ratings", ratings);
+
+        int appointments = client.forEachChild("appointments", pageSize, (appointmentId, appointment) -> {
+            if (!appointment.isJsonObject()) return;
+            JsonObject object = appointment.getAsJsonObject();
+            if (!"completed".equals(readString(object.get("status")))) return;
+            String doctorId = readString(object.get("doctorId"));
+            DoctorAggregate aggregate = doctorId != null ? doctors.get(doctorId) : null;
+            if (aggregate != null) aggregate.addCompletedAppointment();
+        });
+        log("Streamed %d appointments", appointments);
+
+        int corrected = writeCorrections(doctors);
+        double seconds = (System.nanoTime() - startedAt) / 1e9;
+        log("%s %d values across %d doctors in %.1f s (%.0f records/s)",
+                options.dryRun ? "Would correct" : "Corrected", corrected, doctors.size(), seconds,
+                (profiles + ratings + appointments) / Math.max(seconds, 0.001));
+    }
+
+    private int writeCorrections(Map<String, DoctorAggregate> doctors) throws IOException {
+        Map<String, Object> chunk = new LinkedHashMap<>();
+        Map<String, Object> previous = new LinkedHashMap<>();
+        int corrected = 0;
+
+        for (Map.Entry<String, DoctorAggregate> entry : doctors.entrySet()) {
+            entry.getValue().collectCorrections(entry.getKey(), chunk, previous);
+            if (chunk.size() >= options.chunkSize) {
+                corrected += flush(chunk, previous);
+            }
+        }
+        return corrected + flush(chunk, previous);
+    }
+
+    private int flush(Map<String, Object> chunk, Map<String, Object> previous) throws IOException {
+        int size = chunk.size();
+        if (size == 0) return 0;
+        for (Map.Entry<String, Object> correction : chunk.entrySet()) {
+            log("  %s: %s -> %s", correction.getKey(), previous.get(correction.getKey()), correction.getValue());
+        }
+        if (!options.dryRun) {
+            client.update(chunk);
+        }
+        chunk.clear();
+        previous.clear();
+        return size;
+    }
+
+    private static String readString(JsonElement element) {
+        return element != null && element.isJsonPrimitive() ? element.getAsString() : null;
+    }
+
+    private static void log(String format, Object... args) {
+        System.out.println(String.format(Locale.ROOT, format, args));
+    }
+}
@@ -0,0 +1,147 @@
+package com.internship.healthcare.maintenance;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+/**
+ * DoctorAggregate.java
+ * A comprehensive healthcare management Android application
+ *
+ * Package: com.internship.healthcare.maintenance
+ * Running totals for one doctor, recomputed from source data.
+ * Holds the values currently stored on doctorProfiles and doctorRatingStats next
+ * to the ones rebuilt from doctorRatings and appointments, so the corrections can
+ * be produced without keeping any individual rating or appointment in memory.
+ * Key names and star buckets mirror RatingStats in the app.
+ *
+ * @author Mustafa Merchant
+ * @version 1.0
+ * @since 2025
+ */
+
+
+public class DoctorAggregate {
+
+    static final String KEY_SUM = "ratingSum";
+    static final String KEY_COUNT = "ratingCount";
+    static final String KEY_HISTOGRAM = "histogram";
+    private static final int STARS = 5;
+    private static final double RATING_EPSILON = 1e-9;
+
+    private double ratingSum;
+    private long ratingCount;
+    private final long[] histogram = new long[STARS];
+    private long completedAppointments;
+
+    private Double storedRating;
+    private Long storedTotalRatings;
+    private Long storedTotalPatients;
+    private JsonObject storedStats;
+
+    public void readProfile(JsonElement profile) {
+        if (profile == null || !profile.isJsonObject()) return;
+        JsonObject object = profile.getAsJsonObject();
+        storedRating = readDouble(object.get("rating"));
+        storedTotalRatings = readLong(object.get("totalRatings"));
+        storedTotalPatients = readLong(object.get("totalPatients"));
+    }
+
+    public void readStats(JsonElement stats) {
+        storedStats = stats != null && stats.isJsonObject() ? stats.getAsJsonObject() : null;
+    }
+
+    public void addRating(JsonElement rating) {
+        if (rating == null || !rating.isJsonObject()) return;
+        Double value = readDouble(rating.getAsJsonObject().get("rating"));
+        if (value == null || value <= 0) return;
+        ratingSum += value;
+        ratingCount++;
+        histogram[bucket(value) - 1]++;
+    }
+
+    public void addCompletedAppointment() {
+        completedAppointments++;
+    }
+
+    public long getRatingCount() {
+        return ratingCount;
+    }
+
+    public double getAverage() {
+        return ratingCount > 0 ? ratingSum / ratingCount : 0.0;
+    }
+
+    public void collectCorrections(String doctorId, Map<String, Object> corrections,
+                                   Map<String, Object> previous) {
+        String profilePath = "doctorProfiles/" + doctorId + "/";
+        double average = getAverage();
+        if (storedRating == null || Math.abs(storedRating - average) > RATING_EPSILON) {
+            corrections.put(profilePath + "rating", average);
+            previous.put(profilePath + "rating", storedRating);
+        }
+        if (storedTotalRatings == null || storedTotalRatings != ratingCount) {
+            corrections.put(profilePath + "totalRatings", ratingCount);
+            previous.put(profilePath + "totalRatings", storedTotalRatings);
+        }
+        if (storedTotalPatients == null || storedTotalPatients != completedAppointments) {
+            corrections.put(profilePath + "totalPatients", completedAppointments);
+            previous.put(profilePath + "totalPatients", storedTotalPatients);
+        }
+
+        // Doctors that were never rated do not need an empty aggregate
+        if (ratingCount == 0 && storedStats == null) return;
+        if (!statsMatch()) {
+            String statsPath = "doctorRatingStats/" + doctorId;
+            corrections.put(statsPath, toStats());
+            previous.put(statsPath, storedStats);
+        }
+    }
+
+    private boolean statsMatch() {
+        if (storedStats == null) return false;
+        Double sum = readDouble(storedStats.get(KEY_SUM));
+        Long count = readLong(storedStats.get(KEY_COUNT));
+        if (sum == null || Math.abs(sum - ratingSum) > RATING_EPSILON) return false;
+        if (count == null || count != ratingCount) return false;
+
+        JsonElement storedHistogram = storedStats.get(KEY_HISTOGRAM);
+        JsonObject buckets = storedHistogram != null && storedHistogram.isJsonObject()
+                ? storedHistogram.getAsJsonObject() : new JsonObject();
+        for (int stars = 1; stars <= STARS; stars++) {
+            Long bucketCount = readLong(buckets.get("star" + stars));
+            if ((bucketCount != null ? bucketCount : 0) != histogram[stars - 1]) return false;
+        }
+        return true;
+    }
+
+    private Map<String, Object> toStats() {
+        Map<String, Object> buckets = new LinkedHashMap<>();
+        for (int stars = 1; stars <= STARS; stars++) {
+            if (histogram[stars - 1] > 0) {
+                buckets.put("star" + stars, histogram[stars - 1]);
+            }
+        }
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put(KEY_SUM, ratingSum);
+        stats.put(KEY_COUNT, ratingCount);
+        stats.put(KEY_HISTOGRAM, buckets);
+        return stats;
+    }
+
+    static int bucket(double rating) {
+        // Half stars round up, so 4.5 counts as a five-star review
+        return (int) Math.max(1, Math.min(STARS, Math.round(rating)));
+    }
+
+    static Double readDouble(JsonElement element) {
+        if (element == null || !element.isJsonPrimitive() || !element.getAsJsonPrimitive().isNumber()) return null;
+        return element.getAsDouble();
+    }
+
+    static Long readLong(JsonElement element) {
+        Double value = readDouble(element);
+        return value != null ? Math.round(value) : null;
+    }
+}
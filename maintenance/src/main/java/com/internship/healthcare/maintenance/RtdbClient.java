@@ -0,0 +1,164 @@
+package com.internship.healthcare.maintenance;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+/**
+ * RtdbClient.java
+ * A comprehensive healthcare management Android application
+ *
+ * Package: com.internship.healthcare.maintenance
+ * Minimal Realtime Database REST client for the maintenance tools.
+ * Children are read in key-ordered pages so a node of any size is streamed with
+ * one page in memory at a time, and corrections are written as multi-path
+ * PATCH requests against the database root. Works the same against production
+ * and the local Realtime Database emulator.
+ *
+ * <h3>Firebase Integration:</h3>
+ * <ul>
+ *   <li>Realtime Database (REST API)</li>
+ * </ul>
+ * @author Mustafa Merchant
+ * @version 1.0
+ * @since 2025
+ */
+
+
+public class RtdbClient {
+
+    private static final Gson GSON = new Gson();
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(60);
+
+    // Same order as orderBy="$key": 32-bit integer keys numerically first, then strings
+    static final Comparator<String> KEY_ORDER = (a, b) -> {
+        Integer intA = parseIntKey(a);
+        Integer intB = parseIntKey(b);
+        if (intA != null && intB != null) return Integer.compare(intA, intB);
+        if (intA != null) return -1;
+        if (intB != null) return 1;
+        return a.compareTo(b);
+    };
+
+    private final HttpClient http = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+    private final String baseUrl;
+    private final String namespace;
+    private final String accessToken;
+
+    public RtdbClient(String baseUrl, String namespace, String accessToken) {
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        this.namespace = namespace;
+        this.accessToken = accessToken;
+    }
+
+    public int forEachChild(String path, int pageSize, ChildVisitor visitor) throws IOException {
+        String afterKey = null;
+        int visited = 0;
+        while (true) {
+            JsonObject page = readPage(path, afterKey, pageSize);
+            List<String> keys = new ArrayList<>(page.keySet());
+            keys.sort(KEY_ORDER);
+            for (String key : keys) {
+                visitor.visit(key, page.get(key));
+            }
+            visited += keys.size();
+            if (keys.size() < pageSize) return visited;
+            afterKey = keys.get(keys.size() - 1);
+        }
+    }
+
+    public void update(Map<String, Object> updates) throws IOException {
+        send("PATCH", "", null, GSON.toJson(updates));
+    }
+
+    private JsonObject readPage(String path, String afterKey, int pageSize) throws IOException {
+        // startAt is inclusive, so the previous page's last key is fetched again and dropped
+        StringBuilder query = new StringBuilder("orderBy=").append(encode("\"$key\""));
+        int limit = pageSize;
+        if (afterKey != null) {
+            query.append("&startAt=").append(encode(GSON.toJson(afterKey)));
+            limit++;
+        }
+        query.append("&limitToFirst=").append(limit);
+
+        JsonElement body = send("GET", path, query.toString(), null);
+        JsonObject page = body != null && body.isJsonObject() ? body.getAsJsonObject() : new JsonObject();
+        if (afterKey != null) {
+            page.remove(afterKey);
+        }
+        return page;
+    }
+
+    private JsonElement send(String method, String path, String query, String body) throws IOException {
+        StringBuilder url = new StringBuilder(baseUrl);
+        for (String segment : path.split("/")) {
+            if (segment.isEmpty()) continue;
+            url.append('/').append(encode(segment));
+        }
+        url.append("/.json");
+
+        List<String> params = new ArrayList<>();
+        if (query != null) params.add(query);
+        if (namespace != null) params.add("ns=" + encode(namespace));
+        if (!params.isEmpty()) url.append('?').append(String.join("&", params));
+
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(url.toString()))
+                .timeout(REQUEST_TIMEOUT)
+                .method(method, body != null
+                        ? HttpRequest.BodyPublishers.ofString(body, StandardCharsets.UTF_8)
+                        : HttpRequest.BodyPublishers.noBody());
+        if (body != null) {
+            request.header("Content-Type", "application/json");
+        }
+        if (accessToken != null) {
+            request.header("Authorization", "Bearer " + accessToken);
+        }
+
+        HttpResponse<String> response;
+        try {
+            response = http.send(request.build(), HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException(method + " /" + path + " interrupted", e);
+        }
+        if (response.statusCode() / 100 != 2) {
+            throw new IOException(method + " /" + path + " failed with HTTP "
+                    + response.statusCode() + ": " + response.body());
+        }
+        return JsonParser.parseString(response.body());
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8).replace("+", "%20");
+    }
+
+    private static Integer parseIntKey(String key) {
+        if (key.isEmpty() || key.length() > 11) return null;
+        // Leading zeros make a key a plain string in RTDB ordering
+        if (key.length() > 1 && (key.charAt(0) == '0' || key.startsWith("-0"))) return null;
+        try {
+            return Integer.parseInt(key);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    public interface ChildVisitor {
+        void visit(String key, JsonElement value);
+    }
+}
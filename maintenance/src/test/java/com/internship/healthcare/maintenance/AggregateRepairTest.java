@@ -0,0 +1,120 @@
+package com.internship.healthcare.maintenance;
+
+import com.google.gson.JsonObject;
+
+import org.junit.Test;
+
+import java.io.IOException;
+
+import static org.junit.Assert.*;
+
+/**
+ * Local unit tests for {@link AggregateRepair} against {@link FakeRtdbServer}
+ * seeded from aggregate-fixture.json, which holds one already-correct, one
+ * drifted and one doctor with missing aggregates.
+ */
+public class AggregateRepairTest {
+
+    private static final String FIXTURE = "aggregate-fixture.json";
+
+    private static void repair(FakeRtdbServer server, int pageSize, int chunkSize, boolean dryRun)
+            throws IOException {
+        AggregateRepair.Options options = new AggregateRepair.Options();
+        options.url = server.url();
+        options.pageSize = pageSize;
+        options.chunkSize = chunkSize;
+        options.dryRun = dryRun;
+        new AggregateRepair(new RtdbClient(options.url, null, null), options).run();
+    }
+
+    @Test
+    public void repairsDriftedAndMissingDoctorsOnly() throws IOException {
+        try (FakeRtdbServer server = FakeRtdbServer.fromResource(FIXTURE)) {
+            JsonObject correctBefore = server.get("doctorProfiles/doc-correct").deepCopy().getAsJsonObject();
+
+            repair(server, 2, 200, false);
+
+            assertEquals(correctBefore, server.get("doctorProfiles/doc-correct"));
+            for (JsonObject patch : server.patches) {
+                for (String path : patch.keySet()) {
+                    assertFalse(path, path.contains("doc-correct"));
+                }
+            }
+
+            JsonObject drifted = server.get("doctorProfiles/doc-drifted").getAsJsonObject();
+            assertEquals(3.0, drifted.get("rating").getAsDouble(), 1e-9);
+            assertEquals(2, drifted.get("totalRatings").getAsInt());
+            assertEquals(2, drifted.get("totalPatients").getAsInt());
+            JsonObject driftedStats = server.get("doctorRatingStats/doc-drifted").getAsJsonObject();
+            assertEquals(6.0, driftedStats.get("ratingSum").getAsDouble(), 1e-9);
+            assertEquals(1, driftedStats.getAsJsonObject("histogram").get("star2").getAsInt());
+            assertFalse(driftedStats.getAsJsonObject("histogram").has("star3"));
+
+            JsonObject missing = server.get("doctorProfiles/doc-missing").getAsJsonObject();
+            assertEquals("Cardiology", missing.get("specialty").getAsString());
+            assertEquals(5.0, missing.get("rating").getAsDouble(), 1e-9);
+            assertEquals(1, missing.get("totalRatings").getAsInt());
+            // The pending appointment is not counted
+            assertEquals(1, missing.get("totalPatients").getAsInt());
+            assertEquals(1, server.get("doctorRatingStats/doc-missing/ratingCount").getAsInt());
+        }
+    }
+
+    @Test
+    public void correctionsAreWrittenInChunksWithoutSplittingADoctor() throws IOException {
+        try (FakeRtdbServer server = FakeRtdbServer.fromResource(FIXTURE)) {
+            // doc-drifted needs 3 corrections and doc-missing 4; a chunk is flushed
+            // once it reaches the chunk size, after the doctor that filled it
+            repair(server, 500, 2, false);
+
+            assertEquals(2, server.patches.size());
+            assertEquals(3, server.patches.get(0).size());
+            assertEquals(4, server.patches.get(1).size());
+        }
+    }
+
+    @Test
+    public void largeChunkSizeWritesOneUpdate() throws IOException {
+        try (FakeRtdbServer server = FakeRtdbServer.fromResource(FIXTURE)) {
+            repair(server, 500, 200, false);
+
+            assertEquals(1, server.patches.size());
+            assertEquals(7, server.patches.get(0).size());
+        }
+    }
+
+    @Test
+    public void secondRunFindsNothingToCorrect() throws IOException {
+        try (FakeRtdbServer server = FakeRtdbServer.fromResource(FIXTURE)) {
+            repair(server, 2, 2, false);
+            int patchesAfterFirstRun = server.patches.size();
+
+            repair(server, 2, 2, false);
+
+            assertEquals(patchesAfterFirstRun, server.patches.size());
+        }
+    }
+
+    @Test
+    public void dryRunWritesNothing() throws IOException {
+        try (FakeRtdbServer server = FakeRtdbServer.fromResource(FIXTURE)) {
+            repair(server, 2, 2, true);
+
+            assertTrue(server.patches.isEmpty());
+            assertEquals(5, server.get("doctorProfiles/doc-drifted/totalRatings").getAsInt());
+        }
+    }
+
+    @Test
+    public void streamsAppointmentsInPages() throws IOException {
+        try (FakeRtdbServer server = FakeRtdbServer.fromResource(FIXTURE)) {
+            repair(server, 2, 200, true);
+
+            long appointmentPages = server.reads.stream()
+                    .filter(read -> "/appointments".equals(read.get("path")))
+                    .count();
+            // 5 appointments at 2 per page
+            assertEquals(3, appointmentPages);
+        }
+    }
+}
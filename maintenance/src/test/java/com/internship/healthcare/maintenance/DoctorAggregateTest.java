@@ -0,0 +1,119 @@
+package com.internship.healthcare.maintenance;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+import org.junit.Test;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+/**
+ * Local unit tests for {@link DoctorAggregate}.
+ */
+public class DoctorAggregateTest {
+
+    private static JsonObject json(String text) {
+        return JsonParser.parseString(text).getAsJsonObject();
+    }
+
+    private static DoctorAggregate aggregate(String profile, String stats, int completed, double... ratings) {
+        DoctorAggregate aggregate = new DoctorAggregate();
+        aggregate.readProfile(profile != null ? json(profile) : null);
+        aggregate.readStats(stats != null ? json(stats) : null);
+        for (double rating : ratings) {
+            aggregate.addRating(json("{\"rating\":" + rating + "}"));
+        }
+        for (int i = 0; i < completed; i++) {
+            aggregate.addCompletedAppointment();
+        }
+        return aggregate;
+    }
+
+    @Test
+    public void alreadyCorrectDoctorHasNoCorrections() {
+        DoctorAggregate aggregate = aggregate(
+                "{\"rating\":4.5,\"totalRatings\":2,\"totalPatients\":1}",
+                "{\"ratingSum\":9.0,\"ratingCount\":2,\"histogram\":{\"star4\":1,\"star5\":1}}",
+                1, 4, 5);
+
+        Map<String, Object> corrections = new LinkedHashMap<>();
+        Map<String, Object> previous = new LinkedHashMap<>();
+        aggregate.collectCorrections("doc", corrections, previous);
+
+        assertTrue(corrections.isEmpty());
+        assertTrue(previous.isEmpty());
+    }
+
+    @Test
+    public void driftedDoctorCorrectsOnlyDriftedValues() {
+        // Stored average happens to match; the count, patients and stats have drifted
+        DoctorAggregate aggregate = aggregate(
+                "{\"rating\":3.0,\"totalRatings\":5,\"totalPatients\":0}",
+                "{\"ratingSum\":3.0,\"ratingCount\":1,\"histogram\":{\"star3\":1}}",
+                2, 2, 4);
+
+        Map<String, Object> corrections = new LinkedHashMap<>();
+        Map<String, Object> previous = new LinkedHashMap<>();
+        aggregate.collectCorrections("doc", corrections, previous);
+
+        assertFalse(corrections.containsKey("doctorProfiles/doc/rating"));
+        assertEquals(2L, corrections.get("doctorProfiles/doc/totalRatings"));
+        assertEquals(5L, previous.get("doctorProfiles/doc/totalRatings"));
+        assertEquals(2L, corrections.get("doctorProfiles/doc/totalPatients"));
+        assertEquals(0L, previous.get("doctorProfiles/doc/totalPatients"));
+
+        @SuppressWarnings("unchecked")
+        Map<String, Object> stats = (Map<String, Object>) corrections.get("doctorRatingStats/doc");
+        assertEquals(6.0, (double) stats.get(DoctorAggregate.KEY_SUM), 1e-9);
+        assertEquals(2L, stats.get(DoctorAggregate.KEY_COUNT));
+        Map<String, Object> histogram = new LinkedHashMap<>();
+        histogram.put("star2", 1L);
+        histogram.put("star4", 1L);
+        assertEquals(histogram, stats.get(DoctorAggregate.KEY_HISTOGRAM));
+        assertEquals(3, corrections.size());
+    }
+
+    @Test
+    public void missingAggregatesAreWrittenWithNullPrevious() {
+        DoctorAggregate aggregate = aggregate("{\"specialty\":\"Cardiology\"}", null, 1, 5);
+
+        Map<String, Object> corrections = new LinkedHashMap<>();
+        Map<String, Object> previous = new LinkedHashMap<>();
+        aggregate.collectCorrections("doc", corrections, previous);
+
+        assertEquals(5.0, corrections.get("doctorProfiles/doc/rating"));
+        assertEquals(1L, corrections.get("doctorProfiles/doc/totalRatings"));
+        assertEquals(1L, corrections.get("doctorProfiles/doc/totalPatients"));
+        assertTrue(corrections.containsKey("doctorRatingStats/doc"));
+        assertEquals(corrections.keySet(), previous.keySet());
+        for (Object value : previous.values()) {
+            assertNull(value);
+        }
+    }
+
+    @Test
+    public void neverRatedDoctorGetsNoEmptyStats() {
+        DoctorAggregate aggregate = aggregate("{}", null, 0);
+
+        Map<String, Object> corrections = new LinkedHashMap<>();
+        aggregate.collectCorrections("doc", corrections, new LinkedHashMap<>());
+
+        assertEquals(0.0, corrections.get("doctorProfiles/doc/rating"));
+        assertFalse(corrections.containsKey("doctorRatingStats/doc"));
+    }
+
+    @Test
+    public void halfStarsRoundUpAndInvalidRatingsAreIgnored() {
+        assertEquals(5, DoctorAggregate.bucket(4.5));
+        assertEquals(1, DoctorAggregate.bucket(0.4));
+
+        DoctorAggregate aggregate = new DoctorAggregate();
+        aggregate.addRating(json("{\"rating\":0}"));
+        aggregate.addRating(json("{\"rating\":\"five\"}"));
+        aggregate.addRating(json("{}"));
+        assertEquals(0, aggregate.getRatingCount());
+    }
+}
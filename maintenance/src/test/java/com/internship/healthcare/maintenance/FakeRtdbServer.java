@@ -0,0 +1,156 @@
+package com.internship.healthcare.maintenance;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * In-memory stand-in for the Realtime Database REST API. Supports key-ordered
+ * paged reads (orderBy="$key", startAt, limitToFirst) and multi-path PATCH
+ * against the root, and records every request so tests can check paging and
+ * chunking.
+ */
+class FakeRtdbServer implements AutoCloseable {
+
+    final List<Map<String, String>> reads = new ArrayList<>();
+    final List<JsonObject> patches = new ArrayList<>();
+
+    private final HttpServer server;
+    private JsonObject root;
+
+    FakeRtdbServer(JsonObject root) throws IOException {
+        this.root = root;
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", this::handle);
+        server.start();
+    }
+
+    static FakeRtdbServer fromResource(String name) throws IOException {
+        try (InputStream in = FakeRtdbServer.class.getClassLoader().getResourceAsStream(name)) {
+            if (in == null) throw new IOException("Missing fixture " + name);
+            return new FakeRtdbServer(JsonParser.parseReader(
+                    new InputStreamReader(in, StandardCharsets.UTF_8)).getAsJsonObject());
+        }
+    }
+
+    String url() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    JsonElement get(String path) {
+        JsonElement node = root;
+        for (String segment : path.split("/")) {
+            if (segment.isEmpty()) continue;
+            if (node == null || !node.isJsonObject()) return null;
+            node = node.getAsJsonObject().get(segment);
+        }
+        return node;
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+
+    private synchronized void handle(HttpExchange exchange) throws IOException {
+        String path = exchange.getRequestURI().getPath();
+        if (!path.endsWith("/.json")) {
+            respond(exchange, 404, "{\"error\":\"not found\"}");
+            return;
+        }
+        path = path.substring(0, path.length() - "/.json".length());
+
+        if ("GET".equals(exchange.getRequestMethod())) {
+            Map<String, String> query = parseQuery(exchange.getRequestURI().getRawQuery());
+            query.put("path", path);
+            reads.add(query);
+            respond(exchange, 200, String.valueOf(page(get(path), query)));
+        } else if ("PATCH".equals(exchange.getRequestMethod()) && path.isEmpty()) {
+            JsonObject updates;
+            try (InputStream in = exchange.getRequestBody()) {
+                updates = JsonParser.parseReader(new InputStreamReader(in, StandardCharsets.UTF_8)).getAsJsonObject();
+            }
+            patches.add(updates);
+            for (Map.Entry<String, JsonElement> update : updates.entrySet()) {
+                set(update.getKey(), update.getValue());
+            }
+            respond(exchange, 200, updates.toString());
+        } else {
+            respond(exchange, 400, "{\"error\":\"unsupported\"}");
+        }
+    }
+
+    private static JsonElement page(JsonElement node, Map<String, String> query) {
+        if (node == null) return JsonNull.INSTANCE;
+        if (!"\"$key\"".equals(query.get("orderBy")) || !node.isJsonObject()) return node;
+
+        List<String> keys = new ArrayList<>(node.getAsJsonObject().keySet());
+        keys.sort(RtdbClient.KEY_ORDER);
+        String startAt = query.containsKey("startAt")
+                ? JsonParser.parseString(query.get("startAt")).getAsString() : null;
+        int limit = query.containsKey("limitToFirst")
+                ? Integer.parseInt(query.get("limitToFirst")) : Integer.MAX_VALUE;
+
+        JsonObject page = new JsonObject();
+        for (String key : keys) {
+            if (page.size() >= limit) break;
+            if (startAt != null && RtdbClient.KEY_ORDER.compare(key, startAt) < 0) continue;
+            page.add(key, node.getAsJsonObject().get(key));
+        }
+        return page;
+    }
+
+    private void set(String path, JsonElement value) {
+        String[] segments = path.split("/");
+        JsonObject parent = root;
+        for (int i = 0; i < segments.length - 1; i++) {
+            JsonElement child = parent.get(segments[i]);
+            if (child == null || !child.isJsonObject()) {
+                child = new JsonObject();
+                parent.add(segments[i], child);
+            }
+            parent = child.getAsJsonObject();
+        }
+        if (value == null || value.isJsonNull()) {
+            parent.remove(segments[segments.length - 1]);
+        } else {
+            parent.add(segments[segments.length - 1], value);
+        }
+    }
+
+    private static Map<String, String> parseQuery(String rawQuery) {
+        Map<String, String> query = new HashMap<>();
+        if (rawQuery == null) return query;
+        for (String pair : rawQuery.split("&")) {
+            int split = pair.indexOf('=');
+            if (split < 0) continue;
+            query.put(URLDecoder.decode(pair.substring(0, split), StandardCharsets.UTF_8),
+                    URLDecoder.decode(pair.substring(split + 1), StandardCharsets.UTF_8));
+        }
+        return query;
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.internship.healthcare.maintenance;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+/**
+ * Local unit tests for {@link RtdbClient} against {@link FakeRtdbServer}.
+ */
+public class RtdbClientTest {
+
+    private static JsonObject nodeWithKeys(String... keys) {
+        JsonObject children = new JsonObject();
+        for (String key : keys) {
+            children.addProperty(key, key.length());
+        }
+        JsonObject root = new JsonObject();
+        root.add("items", children);
+        return root;
+    }
+
+    @Test
+    public void keyOrderPutsIntegerKeysFirst() {
+        List<String> keys = new ArrayList<>(Arrays.asList("b", "10", "007", "2", "a", "-3"));
+        keys.sort(RtdbClient.KEY_ORDER);
+        assertEquals(Arrays.asList("-3", "2", "10", "007", "a", "b"), keys);
+    }
+
+    @Test
+    public void pagesThroughChildrenInKeyOrder() throws IOException {
+        try (FakeRtdbServer server = new FakeRtdbServer(
+                nodeWithKeys("b", "10", "007", "2", "a", "-3", "c"))) {
+            RtdbClient client = new RtdbClient(server.url() + "/", null, null);
+
+            List<String> visited = new ArrayList<>();
+            int count = client.forEachChild("items", 3, (key, value) -> visited.add(key));
+
+            assertEquals(7, count);
+            assertEquals(Arrays.asList("-3", "2", "10", "007", "a", "b", "c"), visited);
+            assertEquals(3, server.reads.size());
+
+            // Later pages restart at the last key seen and ask for one extra child
+            Map<String, String> first = server.reads.get(0);
+            assertEquals("\"$key\"", first.get("orderBy"));
+            assertNull(first.get("startAt"));
+            assertEquals("3", first.get("limitToFirst"));
+            assertEquals("\"10\"", server.reads.get(1).get("startAt"));
+            assertEquals("4", server.reads.get(1).get("limitToFirst"));
+            assertEquals("\"b\"", server.reads.get(2).get("startAt"));
+        }
+    }
+
+    @Test
+    public void exactlyFullLastPageEndsOnEmptyPage() throws IOException {
+        try (FakeRtdbServer server = new FakeRtdbServer(nodeWithKeys("a", "b", "c", "d"))) {
+            RtdbClient client = new RtdbClient(server.url(), null, null);
+
+            int count = client.forEachChild("items", 2, (key, value) -> {});
+
+            assertEquals(4, count);
+            assertEquals(3, server.reads.size());
+        }
+    }
+
+    @Test
+    public void missingNodeVisitsNothing() throws IOException {
+        try (FakeRtdbServer server = new FakeRtdbServer(new JsonObject())) {
+            RtdbClient client = new RtdbClient(server.url(), "test-ns", "owner");
+
+            assertEquals(0, client.forEachChild("doctorRatings/nobody", 10, (key, value) -> fail()));
+            assertEquals("test-ns", server.reads.get(0).get("ns"));
+        }
+    }
+
+    @Test
+    public void updateSendsOneMultiPathPatch() throws IOException {
+        try (FakeRtdbServer server = new FakeRtdbServer(
+                JsonParser.parseString("{\"doctorProfiles\":{\"d1\":{\"rating\":1.0}}}").getAsJsonObject())) {
+            RtdbClient client = new RtdbClient(server.url(), null, null);
+
+            Map<String, Object> updates = new LinkedHashMap<>();
+            updates.put("doctorProfiles/d1/rating", 4.0);
+            updates.put("doctorProfiles/d1/totalRatings", 3L);
+            client.update(updates);
+
+            assertEquals(1, server.patches.size());
+            JsonElement profile = server.get("doctorProfiles/d1");
+            assertEquals(4.0, profile.getAsJsonObject().get("rating").getAsDouble(), 1e-9);
+            assertEquals(3, profile.getAsJsonObject().get("totalRatings").getAsInt());
+        }
+    }
+}
@@ -22,4 +22,6 @@ dependencyResolutionManagement {
 
 rootProject.name = "Healthcare"
 include(":app")
+include(":maintenance")
+include(":benchmark")
  
\ No newline at end of file